@@ -2,11 +2,12 @@ package org.sunbird.badge.actors;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -15,9 +16,8 @@ import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.badge.dao.ContentBadgeAssociationDao;
 import org.sunbird.badge.dao.impl.ContentBadgeAssociationDaoImpl;
 import org.sunbird.badge.service.BadgeAssociationService;
-import org.sunbird.badge.service.BadgingService;
 import org.sunbird.badge.service.impl.BadgeAssociationServiceImpl;
-import org.sunbird.badge.service.impl.BadgingFactory;
+import org.sunbird.badge.service.impl.BadgeClassCache;
 import org.sunbird.common.Constants;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
@@ -30,7 +30,9 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.content.service.ContentService;
 import org.sunbird.learner.actors.coursebatch.CourseEnrollmentActor;
+import org.sunbird.learner.util.ActorPipeUtil;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
+import scala.concurrent.ExecutionContextExecutor;
 
 @ActorConfig(
   tasks = {"createBadgeAssociation", "removeBadgeAssociation"},
@@ -38,7 +40,6 @@ import org.sunbird.learner.util.CourseBatchSchedulerUtil;
 )
 public class BadgeAssociationActor extends BaseActor {
 
-  private BadgingService service = BadgingFactory.getInstance();
   private BadgeAssociationService associationService = new BadgeAssociationServiceImpl();
   private ContentBadgeAssociationDao contentBadgeAssociationDao =
       new ContentBadgeAssociationDaoImpl();
@@ -65,69 +66,115 @@ public class BadgeAssociationActor extends BaseActor {
   private void createBadgeAssociation(Request request) {
     String contentId = (String) request.getRequest().get(JsonKey.CONTENT_ID);
     String requestedBy = (String) request.getContext().get(JsonKey.REQUESTED_BY);
-    Map<String, Object> contentDetails = getContentDetails(contentId);
-    List<Map<String, Object>> activeBadges =
-        (List<Map<String, Object>>) contentDetails.get(BadgingJsonKey.BADGE_ASSOCIATIONS);
     List<String> requestedBadges =
         (List<String>) request.getRequest().get(BadgingJsonKey.BADGE_IDs);
+    ExecutionContextExecutor dispatcher = getContext().dispatcher();
+    CompletionStage<Response> response =
+        getContentDetails(contentId)
+            .thenComposeAsync(
+                contentDetails ->
+                    createBadgeAssociation(
+                        contentId, requestedBy, contentDetails, requestedBadges, dispatcher),
+                dispatcher);
+    ActorPipeUtil.pipe(response, reply -> reply, sender(), self(), dispatcher);
+  }
+
+  @SuppressWarnings("unchecked")
+  private CompletionStage<Response> createBadgeAssociation(
+      String contentId,
+      String requestedBy,
+      Map<String, Object> contentDetails,
+      List<String> requestedBadges,
+      ExecutionContextExecutor dispatcher) {
+    List<Map<String, Object>> activeBadges =
+        (List<Map<String, Object>>) contentDetails.get(BadgingJsonKey.BADGE_ASSOCIATIONS);
     List<Map<String, Object>> badgesTobeAddedList =
         getBadgesDetailsToBeAdded(activeBadges, requestedBadges);
-    List<Map<String, Object>> cassandraCreateMapList = new ArrayList<>();
-    Response response = new Response();
-    if (!CollectionUtils.isEmpty(badgesTobeAddedList)) {
-      activeBadges = createActiveBadgeForContentUpdate(badgesTobeAddedList, activeBadges);
-      ProjectLogger.log(
-          "BadgeAssociationActor:createBadgeAssociation: new list of badgeAssociation details for "
-              + contentId
-              + " is : "
-              + activeBadges,
-          LoggerEnum.INFO);
-      boolean flag =
-          ContentService.updateEkstepContent(
-              contentId, BadgingJsonKey.BADGE_ASSOCIATIONS, activeBadges);
-      if (flag) {
-        ProjectLogger.log(
-            "BadgeAssociationActor:createBadgeAssociation: adding content badge association details in cassandra for "
-                + contentId
-                + " is : "
-                + badgesTobeAddedList,
-            LoggerEnum.INFO);
-        cassandraCreateMapList = newActiveBadgeMap(badgesTobeAddedList, requestedBy, contentId);
-        response = contentBadgeAssociationDao.insertBadgeAssociation(cassandraCreateMapList);
-      }
-    }
-    sender().tell(response, self());
-    if (Constants.SUCCESS.equals(response.get(JsonKey.RESPONSE))) {
-      associationService.syncToES(cassandraCreateMapList, true);
+    if (CollectionUtils.isEmpty(badgesTobeAddedList)) {
+      return CompletableFuture.completedFuture(new Response());
     }
+    activeBadges = createActiveBadgeForContentUpdate(badgesTobeAddedList, activeBadges);
+    ProjectLogger.log(
+        "BadgeAssociationActor:createBadgeAssociation: new list of badgeAssociation details for "
+            + contentId
+            + " is : "
+            + activeBadges,
+        LoggerEnum.INFO);
+    List<Map<String, Object>> cassandraCreateMapList =
+        newActiveBadgeMap(badgesTobeAddedList, requestedBy, contentId);
+    CompletionStage<Response> response =
+        ContentService.updateEkstepContentAsync(
+                contentId, BadgingJsonKey.BADGE_ASSOCIATIONS, activeBadges)
+            .thenApplyAsync(
+                flag -> {
+                  if (!flag) {
+                    return new Response();
+                  }
+                  ProjectLogger.log(
+                      "BadgeAssociationActor:createBadgeAssociation: adding content badge association details in cassandra for "
+                          + contentId
+                          + " is : "
+                          + badgesTobeAddedList,
+                      LoggerEnum.INFO);
+                  return contentBadgeAssociationDao.insertBadgeAssociation(cassandraCreateMapList);
+                },
+                dispatcher);
+    response.thenAcceptAsync(
+        reply -> {
+          if (Constants.SUCCESS.equals(reply.get(JsonKey.RESPONSE))) {
+            associationService.syncToES(cassandraCreateMapList, true);
+          }
+        },
+        dispatcher);
+    return response;
   }
 
   @SuppressWarnings("unchecked")
   private void removeBadgeAssociation(Request request) {
     String contentId = (String) request.getRequest().get(JsonKey.CONTENT_ID);
     String requestedBy = (String) request.getContext().get(JsonKey.REQUESTED_BY);
-    Map<String, Object> contentDetails = getContentDetails(contentId);
+    List<String> reqestedBadges = (List<String>) request.getRequest().get(BadgingJsonKey.BADGE_IDs);
+    ExecutionContextExecutor dispatcher = getContext().dispatcher();
+    CompletionStage<Response> response =
+        getContentDetails(contentId)
+            .thenComposeAsync(
+                contentDetails ->
+                    removeBadgeAssociation(
+                        contentId, requestedBy, contentDetails, reqestedBadges, dispatcher),
+                dispatcher);
+    ActorPipeUtil.pipe(response, reply -> reply, sender(), self(), dispatcher);
+  }
+
+  @SuppressWarnings("unchecked")
+  private CompletionStage<Response> removeBadgeAssociation(
+      String contentId,
+      String requestedBy,
+      Map<String, Object> contentDetails,
+      List<String> reqestedBadges,
+      ExecutionContextExecutor dispatcher) {
     List<Map<String, Object>> activeBadges =
         (List<Map<String, Object>>) contentDetails.get(BadgingJsonKey.BADGE_ASSOCIATIONS);
-    List<String> reqestedBadges = (List<String>) request.getRequest().get(BadgingJsonKey.BADGE_IDs);
     List<String> associationIds = getAssociationIdsToBeRemoved(activeBadges, reqestedBadges);
     List<Map<String, Object>> updatedActiveBadges =
         getUpdatedActiveBadges(activeBadges, associationIds);
-    List<Map<String, Object>> updateMapList = new ArrayList<>();
-    Response response = new Response();
-    boolean flag = false;
-    if (CollectionUtils.isNotEmpty(associationIds)) {
-      flag =
-          ContentService.updateEkstepContent(
-              contentId, BadgingJsonKey.BADGE_ASSOCIATIONS, updatedActiveBadges);
-      if (flag) {
-        updateMapList = updateCassandraAndGetUpdateMapList(associationIds, requestedBy);
-      }
-    }
-    sender().tell(response, self());
-    if (flag) {
-      associationService.syncToES(updateMapList, false);
+    if (CollectionUtils.isEmpty(associationIds)) {
+      return CompletableFuture.completedFuture(new Response());
     }
+    CompletionStage<List<Map<String, Object>>> updateMapList =
+        ContentService.updateEkstepContentAsync(
+                contentId, BadgingJsonKey.BADGE_ASSOCIATIONS, updatedActiveBadges)
+            .thenApplyAsync(
+                flag ->
+                    flag ? updateCassandraAndGetUpdateMapList(associationIds, requestedBy) : null,
+                dispatcher);
+    updateMapList.thenAcceptAsync(
+        updated -> {
+          if (updated != null) {
+            associationService.syncToES(updated, false);
+          }
+        },
+        dispatcher);
+    return updateMapList.thenApply(updated -> new Response());
   }
 
   private List<Map<String, Object>> getUpdatedActiveBadges(
@@ -177,14 +224,16 @@ public class BadgeAssociationActor extends BaseActor {
     return associationIds;
   }
 
-  private Map<String, Object> getContentDetails(String contentId) {
+  private CompletionStage<Map<String, Object>> getContentDetails(String contentId) {
     Map<String, String> headers = CourseBatchSchedulerUtil.headerMap;
-    Map<String, Object> contentDetails =
-        CourseEnrollmentActor.getCourseObjectFromEkStep(contentId, headers);
-    if (MapUtils.isEmpty(contentDetails)) {
-      ProjectCommonException.throwClientErrorException(ResponseCode.invalidContentId);
-    }
-    return contentDetails;
+    return CourseEnrollmentActor.getCourseObjectFromEkStepAsync(contentId, headers)
+        .thenApply(
+            contentDetails -> {
+              if (MapUtils.isEmpty(contentDetails)) {
+                ProjectCommonException.throwClientErrorException(ResponseCode.invalidContentId);
+              }
+              return contentDetails;
+            });
   }
 
   private List<Map<String, Object>> getBadgesDetailsToBeAdded(
@@ -242,18 +291,19 @@ public class BadgeAssociationActor extends BaseActor {
         .collect(Collectors.toList());
   }
 
-  @SuppressWarnings("unchecked")
   private List<Map<String, Object>> getBadgesDetails(List<String> badgeIds) {
-    Request request = new Request();
-    Map<String, Object> requestMap = new HashMap<>();
-    requestMap.put(BadgingJsonKey.BADGE_LIST, badgeIds);
-    request.put(JsonKey.FILTERS, requestMap);
     ProjectLogger.log(
-        "BadgeAssociationActor:getBadgesDetails: Requesting badge details from badgr server for badgeIds: "
+        "BadgeAssociationActor:getBadgesDetails: Requesting badge details for badgeIds: "
             + badgeIds,
         LoggerEnum.INFO);
-    Response response = service.searchBadgeClass(request);
-    return (List<Map<String, Object>>) response.get(BadgingJsonKey.BADGES);
+    Map<String, Map<String, Object>> badges = BadgeClassCache.getInstance().getBadges(badgeIds);
+    List<Map<String, Object>> badgesDetails = new ArrayList<>();
+    for (String badgeId : badgeIds) {
+      if (badges.containsKey(badgeId)) {
+        badgesDetails.add(badges.get(badgeId));
+      }
+    }
+    return badgesDetails;
   }
 
   private List<Map<String, Object>> newActiveBadgeMap(
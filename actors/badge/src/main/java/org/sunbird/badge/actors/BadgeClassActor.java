@@ -11,6 +11,7 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.TelemetryEnvKey;
 import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.util.ActorPipeUtil;
 import org.sunbird.learner.util.Util;
 
 /**
@@ -120,9 +121,12 @@ public class BadgeClassActor extends BaseActor {
     ProjectLogger.log("searchBadgeClass called");
 
     try {
-      Response response = badgingService.searchBadgeClass(actorMessage);
-
-      sender().tell(response, self());
+      ActorPipeUtil.pipe(
+          badgingService.searchBadgeClassAsync(actorMessage),
+          response -> response,
+          sender(),
+          self(),
+          getContext().dispatcher());
     } catch (ProjectCommonException e) {
       ProjectLogger.log("searchBadgeClass: exception = ", e);
 
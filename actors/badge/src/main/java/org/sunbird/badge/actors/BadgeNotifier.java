@@ -2,6 +2,8 @@ package org.sunbird.badge.actors;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
@@ -16,6 +18,7 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.content.service.ContentService;
+import org.sunbird.learner.util.ActorPipeUtil;
 import org.sunbird.learner.util.Util;
 
 /** @author Mahesh Kumar Gangula */
@@ -41,17 +44,20 @@ public class BadgeNotifier extends BaseActor {
         "Processing badge notification for " + operation,
         request.getRequest(),
         LoggerEnum.INFO.name());
-    Response response;
     if (StringUtils.isNotBlank(operation) && asyncTasks.contains(operation)) {
-      response = processBadge(operation, objectType, request);
-      sender().tell(response, self());
+      ActorPipeUtil.pipe(
+          processBadge(operation, objectType, request),
+          response -> response,
+          sender(),
+          self(),
+          getContext().dispatcher());
     } else {
       onReceiveUnsupportedMessage(request.getOperation());
     }
   }
 
-  private Response processBadge(String operation, String objectType, Request request)
-      throws Exception {
+  private CompletionStage<Response> processBadge(
+      String operation, String objectType, Request request) throws Exception {
     Response response;
     if (StringUtils.isBlank(objectType)) {
       response = invalidObjectType(INVALID_BADGE_NOTIFICATION_REQUEST, objectType);
@@ -67,17 +73,15 @@ public class BadgeNotifier extends BaseActor {
           response = notifyUser(request);
           break;
         case "CONTENT:ASSIGNBADGEMESSAGE":
-          response = ContentService.assignBadge(request);
-          break;
+          return ContentService.assignBadge(request);
         case "CONTENT:REVOKEBADGEMESSAGE":
-          response = ContentService.revokeBadge(request);
-          break;
+          return ContentService.revokeBadge(request);
         default:
           response = invalidObjectType(INVALID_BADGE_NOTIFICATION_REQUEST, objectType);
           break;
       }
     }
-    return response;
+    return CompletableFuture.completedFuture(response);
   }
 
   private Response notifyUser(Request request) {
@@ -1,6 +1,7 @@
 package org.sunbird.badge.service;
 
 import java.io.IOException;
+import java.util.concurrent.CompletionStage;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.request.Request;
@@ -68,6 +69,16 @@ public interface BadgingService {
    */
   public Response searchBadgeClass(Request request) throws ProjectCommonException;
 
+  /**
+   * This method will provide list of badge class like {@link #searchBadgeClass(Request)}, without
+   * waiting for the badge classes to be fetched.
+   *
+   * @param request Request
+   * @return Stage completed with the response
+   */
+  public CompletionStage<Response> searchBadgeClassAsync(Request request)
+      throws ProjectCommonException;
+
   /**
    * This method will remove badge class from db. Badge class can be removed if it is not assign to
    * any one.
@@ -0,0 +1,209 @@
+package org.sunbird.badge.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.BadgingJsonKey;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.request.Request;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+
+/**
+ * Caches of badge classes shared by the badging actors.
+ *
+ * <p>Issuer cache holds the badge classes returned by Badgr for an issuer, keyed by issuer slug,
+ * for a short time. Badge cache holds badge class details (as returned by badge class search)
+ * keyed by badge id; it is populated on first lookup and refreshed in the background once an entry
+ * is older than the refresh interval, so lookups do not wait for Badgr in the common case.
+ *
+ * <p>Entries are dropped when a badge class is created or removed through {@link
+ * BadgrServiceImpl}; changes made on other instances are picked up on refresh or expiry. Cached
+ * issuer lists are shared and must not be modified by callers.
+ */
+public class BadgeClassCache {
+
+  private static final String TTL = "sunbird_badge_class_cache_ttl_seconds";
+  private static final String MAX_SIZE = "sunbird_badge_class_cache_max_size";
+  private static final long DEFAULT_TTL = 30;
+  private static final long DEFAULT_MAX_SIZE = 1000;
+  private static final String BADGE_REFRESH = "sunbird_badge_class_cache_refresh_seconds";
+  private static final String BADGE_EXPIRY = "sunbird_badge_class_cache_expiry_seconds";
+  private static final String BADGE_MAX_SIZE = "sunbird_badge_class_cache_badge_max_size";
+  private static final long DEFAULT_BADGE_REFRESH = 300;
+  private static final long DEFAULT_BADGE_EXPIRY = 86400;
+  private static final long DEFAULT_BADGE_MAX_SIZE = 10000;
+  private static final String REFRESH_POOL = "badgeClassRefresh";
+  private static final int DEFAULT_REFRESH_POOL_SIZE = 1;
+  private static final int REFRESH_QUEUE_SIZE = 64;
+  private static final long METRICS_LOG_INTERVAL = 10000;
+  private static final BadgeClassCache instance = new BadgeClassCache();
+
+  private final Cache<String, List<Map<String, Object>>> issuerCache;
+  private final LoadingCache<String, Map<String, Object>> badgeCache;
+  private final AtomicLong lookupCount = new AtomicLong();
+
+  private BadgeClassCache() {
+    issuerCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(ConfigReader.getLongConfig(MAX_SIZE, DEFAULT_MAX_SIZE))
+            .expireAfterWrite(ConfigReader.getLongConfig(TTL, DEFAULT_TTL), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    badgeCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(ConfigReader.getLongConfig(BADGE_MAX_SIZE, DEFAULT_BADGE_MAX_SIZE))
+            .refreshAfterWrite(
+                ConfigReader.getLongConfig(BADGE_REFRESH, DEFAULT_BADGE_REFRESH), TimeUnit.SECONDS)
+            .expireAfterWrite(
+                ConfigReader.getLongConfig(BADGE_EXPIRY, DEFAULT_BADGE_EXPIRY), TimeUnit.SECONDS)
+            .recordStats()
+            .build(
+                CacheLoader.asyncReloading(
+                    new BadgeLoader(),
+                    command ->
+                        ExecutorManager.getExecutor(
+                                REFRESH_POOL, DEFAULT_REFRESH_POOL_SIZE, REFRESH_QUEUE_SIZE)
+                            .execute(command)));
+  }
+
+  public static BadgeClassCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * This method will return the cached Badgr badge classes of given issuer.
+   *
+   * @param issuerSlug Issuer slug
+   * @return Badge classes as returned by Badgr, or null if not cached
+   */
+  public List<Map<String, Object>> getByIssuer(String issuerSlug) {
+    return issuerSlug == null ? null : issuerCache.getIfPresent(issuerSlug);
+  }
+
+  public void putByIssuer(String issuerSlug, List<Map<String, Object>> badges) {
+    if (issuerSlug != null && badges != null) {
+      issuerCache.put(issuerSlug, badges);
+    }
+  }
+
+  public void invalidateIssuer(String issuerSlug) {
+    if (issuerSlug != null) {
+      issuerCache.invalidate(issuerSlug);
+    }
+  }
+
+  /**
+   * This method will return badge class details of given badge ids. Badges not cached are searched
+   * on Badgr in one request and cached.
+   *
+   * @param badgeIds Badge class identifiers
+   * @return Copy of badge class details keyed by badge id; badge ids not found are left out
+   */
+  public Map<String, Map<String, Object>> getBadges(List<String> badgeIds) {
+    if (lookupCount.incrementAndGet() % METRICS_LOG_INTERVAL == 0) {
+      ProjectLogger.log(
+          "BadgeClassCache:getBadges: metrics = " + getMetrics(), LoggerEnum.INFO.name());
+    }
+    Map<String, Map<String, Object>> badges = new HashMap<>(badgeCache.getAllPresent(badgeIds));
+    List<String> missingBadgeIds = new ArrayList<>();
+    for (String badgeId : badgeIds) {
+      if (!badges.containsKey(badgeId)) {
+        missingBadgeIds.add(badgeId);
+      }
+    }
+    if (!missingBadgeIds.isEmpty()) {
+      Map<String, Map<String, Object>> searchedBadges = searchBadges(missingBadgeIds);
+      badgeCache.putAll(searchedBadges);
+      badges.putAll(searchedBadges);
+    }
+    Map<String, Map<String, Object>> result = new HashMap<>();
+    badges.forEach((badgeId, badge) -> result.put(badgeId, new HashMap<>(badge)));
+    return result;
+  }
+
+  public void invalidateBadge(String badgeId) {
+    if (badgeId != null) {
+      badgeCache.invalidate(badgeId);
+    }
+  }
+
+  public void invalidateAllIssuers() {
+    issuerCache.invalidateAll();
+  }
+
+  public void invalidateAll() {
+    issuerCache.invalidateAll();
+    badgeCache.invalidateAll();
+  }
+
+  /**
+   * This method will return hit, miss and eviction counts, hit rate and current size of issuer and
+   * badge caches.
+   *
+   * @return Metrics map
+   */
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("issuer", getMetrics(issuerCache));
+    metrics.put("badge", getMetrics(badgeCache));
+    return metrics;
+  }
+
+  private Map<String, Object> getMetrics(Cache<?, ?> cache) {
+    CacheStats stats = cache.stats();
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("hitCount", stats.hitCount());
+    metrics.put("missCount", stats.missCount());
+    metrics.put("hitRate", stats.hitRate());
+    metrics.put("loadSuccessCount", stats.loadSuccessCount());
+    metrics.put("loadExceptionCount", stats.loadExceptionCount());
+    metrics.put("evictionCount", stats.evictionCount());
+    metrics.put("size", cache.size());
+    return metrics;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Map<String, Object>> searchBadges(List<String> badgeIds) {
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(BadgingJsonKey.BADGE_LIST, badgeIds);
+    Request request = new Request();
+    request.put(JsonKey.FILTERS, filters);
+    Response response = BadgingFactory.getInstance().searchBadgeClass(request);
+    List<Map<String, Object>> badgeList =
+        (List<Map<String, Object>>) response.get(BadgingJsonKey.BADGES);
+    Map<String, Map<String, Object>> badges = new HashMap<>();
+    if (CollectionUtils.isNotEmpty(badgeList)) {
+      for (Map<String, Object> badge : badgeList) {
+        badges.put((String) badge.get(BadgingJsonKey.BADGE_ID), badge);
+      }
+    }
+    return badges;
+  }
+
+  /** Loads a single badge, used when an entry is refreshed. */
+  private static class BadgeLoader extends CacheLoader<String, Map<String, Object>> {
+
+    @Override
+    public Map<String, Object> load(String badgeId) {
+      Map<String, Object> badge = searchBadges(Collections.singletonList(badgeId)).get(badgeId);
+      if (badge == null) {
+        throw new IllegalStateException("Badge class " + badgeId + " not found");
+      }
+      return badge;
+    }
+  }
+}
@@ -8,6 +8,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.lang.StringUtils;
 import org.json.JSONException;
@@ -30,12 +36,17 @@ import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.ConfigReader;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.OutboundHttpClient;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryUtil;
 
 /** @author Manzarul */
 public class BadgrServiceImpl implements BadgingService {
+  private static final String SEARCH_TIMEOUT = "sunbird_badgr_search_timeout_ms";
+  private static final long DEFAULT_SEARCH_TIMEOUT = 10000;
   private BadgeClassExtensionService badgeClassExtensionService;
   private ObjectMapper mapper = new ObjectMapper();
   private static CassandraOperation cassandraOperation = ServiceFactory.getInstance();
@@ -206,6 +217,7 @@ public class BadgrServiceImpl implements BadgingService {
       BadgeClassExtension badgeClassExt =
           new BadgeClassExtension(badgeId, issuerId, rootOrgId, type, subtype, rolesList);
       badgeClassExtensionService.save(badgeClassExt);
+      BadgeClassCache.getInstance().invalidateIssuer(issuerId);
 
       BadgingUtil.prepareBadgeClassResponse(badgrResponseStr, badgeClassExt, response.getResult());
       targetObject =
@@ -257,8 +269,19 @@ public class BadgrServiceImpl implements BadgingService {
 
   @Override
   public Response searchBadgeClass(Request request) throws ProjectCommonException {
-    Response response = new Response();
+    try {
+      return searchBadgeClassAsync(request).toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
 
+  @Override
+  public CompletionStage<Response> searchBadgeClassAsync(Request request)
+      throws ProjectCommonException {
     Map<String, Object> filtersMap =
         (Map<String, Object>) request.getRequest().get(JsonKey.FILTERS);
 
@@ -280,6 +303,12 @@ public class BadgrServiceImpl implements BadgingService {
     List<BadgeClassExtension> badgeClassExtList =
         badgeClassExtensionService.search(
             issuerList, badgeList, rootOrgId, type, subtype, allowedRoles);
+    Map<String, BadgeClassExtension> badgeClassExtMap =
+        badgeClassExtList
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    BadgeClassExtension::getBadgeId, Function.identity(), (ext1, ext2) -> ext1));
     List<String> filteredIssuerList =
         badgeClassExtList
             .stream()
@@ -287,54 +316,123 @@ public class BadgrServiceImpl implements BadgingService {
             .distinct()
             .collect(Collectors.toList());
 
-    List<Object> badges = new ArrayList<>();
+    return listBadgeClasses(filteredIssuerList)
+        .thenApply(
+            issuerBadgeLists -> {
+              List<Object> badges = new ArrayList<>();
+              for (List<Map<String, Object>> issuerBadges : issuerBadgeLists) {
+                for (Map<String, Object> badge : issuerBadges) {
+                  BadgeClassExtension matchedBadgeClassExt =
+                      badgeClassExtMap.get(badge.get(BadgingJsonKey.SLUG));
+                  if (matchedBadgeClassExt != null) {
+                    badges.add(prepareBadgeClassResponse(badge, matchedBadgeClassExt));
+                  }
+                }
+              }
+              Response response = new Response();
+              response.put(BadgingJsonKey.BADGES, badges);
+              return response;
+            });
+  }
 
-    for (String issuerSlug : filteredIssuerList) {
-      badges.addAll(listBadgeClassForIssuer(issuerSlug, badgeClassExtList));
+  /**
+   * This method will fetch badge classes of given issuers from Badgr concurrently, on the shared
+   * outbound HTTP client. The returned stage fails with a server error if not all of them are
+   * fetched within the configured search timeout.
+   *
+   * @param issuerSlugs Distinct issuer slugs
+   * @return Stage completed with badge classes of each issuer, in the order of given issuers
+   */
+  private CompletionStage<List<List<Map<String, Object>>>> listBadgeClasses(
+      List<String> issuerSlugs) {
+    List<CompletableFuture<List<Map<String, Object>>>> futures = new ArrayList<>();
+    for (String issuerSlug : issuerSlugs) {
+      futures.add(listBadgeClassForIssuer(issuerSlug).toCompletableFuture());
     }
-
-    response.put(BadgingJsonKey.BADGES, badges);
-
-    return response;
+    CompletableFuture<List<List<Map<String, Object>>>> result =
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .handle((done, error) -> joinBadgeClasses(futures));
+    if (!result.isDone()) {
+      long timeout = ConfigReader.getLongConfig(SEARCH_TIMEOUT, DEFAULT_SEARCH_TIMEOUT);
+      ScheduledFuture<?> timer =
+          ExecutorManager.getExecutorService()
+              .schedule(() -> failOnTimeout(result, timeout), timeout, TimeUnit.MILLISECONDS);
+      result.whenComplete((issuerBadgeLists, error) -> timer.cancel(false));
+    }
+    return result;
   }
 
-  private List<Object> listBadgeClassForIssuer(
-      String issuerSlug, List<BadgeClassExtension> badgeClassExtensionList)
-      throws ProjectCommonException {
-    List<Object> filteredBadges = new ArrayList<>();
+  private static List<List<Map<String, Object>>> joinBadgeClasses(
+      List<CompletableFuture<List<Map<String, Object>>>> futures) {
+    List<List<Map<String, Object>>> result = new ArrayList<>();
+    for (CompletableFuture<List<Map<String, Object>>> future : futures) {
+      try {
+        result.add(future.join());
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        BadgingUtil.throwBadgeClassExceptionOnErrorStatus(
+            ResponseCode.SERVER_ERROR.getResponseCode(),
+            e.getCause().getMessage(),
+            BadgingJsonKey.BADGE_CLASS);
+      }
+    }
+    return result;
+  }
 
+  private static void failOnTimeout(CompletableFuture<?> result, long timeout) {
+    if (result.isDone()) {
+      return;
+    }
+    ProjectLogger.log(
+        "BadgrServiceImpl:listBadgeClasses: Badgr issuers not fetched in " + timeout + " ms",
+        LoggerEnum.ERROR.name());
     try {
-      Map<String, String> headers = BadgingUtil.getBadgrHeaders();
-      String badgrUrl = BadgingUtil.getBadgeClassUrl(issuerSlug);
-
-      HttpUtilResponse httpUtilResponse = HttpUtil.doGetRequest(badgrUrl, headers);
-      String badgrResponseStr = httpUtilResponse.getBody();
-
       BadgingUtil.throwBadgeClassExceptionOnErrorStatus(
-          httpUtilResponse.getStatusCode(), badgrResponseStr, BadgingJsonKey.BADGE_CLASS);
+          ResponseCode.SERVER_ERROR.getResponseCode(), null, BadgingJsonKey.BADGE_CLASS);
+    } catch (ProjectCommonException e) {
+      result.completeExceptionally(e);
+    }
+  }
 
-      List<Map<String, Object>> badges = mapper.readValue(badgrResponseStr, ArrayList.class);
+  @SuppressWarnings("unchecked")
+  private CompletionStage<List<Map<String, Object>>> listBadgeClassForIssuer(String issuerSlug) {
+    List<Map<String, Object>> badges = BadgeClassCache.getInstance().getByIssuer(issuerSlug);
+    if (badges != null) {
+      return CompletableFuture.completedFuture(badges);
+    }
 
-      for (Map<String, Object> badge : badges) {
-        BadgeClassExtension matchedBadgeClassExt =
-            badgeClassExtensionList
-                .stream()
-                .filter(x -> x.getBadgeId().equals(badge.get(BadgingJsonKey.SLUG)))
-                .findFirst()
-                .orElse(null);
+    Map<String, String> headers = BadgingUtil.getBadgrHeaders();
+    String badgrUrl = BadgingUtil.getBadgeClassUrl(issuerSlug);
+    return OutboundHttpClient.getInstance()
+        .get("badgr.badgeClass.list", badgrUrl, headers)
+        .thenApply(
+            httpUtilResponse -> {
+              String badgrResponseStr = httpUtilResponse.getBody();
+              BadgingUtil.throwBadgeClassExceptionOnErrorStatus(
+                  httpUtilResponse.getStatusCode(), badgrResponseStr, BadgingJsonKey.BADGE_CLASS);
+              try {
+                List<Map<String, Object>> issuerBadges =
+                    mapper.readValue(badgrResponseStr, ArrayList.class);
+                BadgeClassCache.getInstance().putByIssuer(issuerSlug, issuerBadges);
+                return issuerBadges;
+              } catch (IOException e) {
+                throw new CompletionException(e);
+              }
+            });
+  }
 
-        if (matchedBadgeClassExt != null) {
-          Map<String, Object> mappedBadge = new HashMap<>();
-          BadgingUtil.prepareBadgeClassResponse(badge, matchedBadgeClassExt, mappedBadge);
-          filteredBadges.add(mappedBadge);
-        }
-      }
+  private Map<String, Object> prepareBadgeClassResponse(
+      Map<String, Object> badge, BadgeClassExtension badgeClassExt) {
+    Map<String, Object> mappedBadge = new HashMap<>();
+    try {
+      BadgingUtil.prepareBadgeClassResponse(badge, badgeClassExt, mappedBadge);
     } catch (IOException e) {
       BadgingUtil.throwBadgeClassExceptionOnErrorStatus(
           ResponseCode.SERVER_ERROR.getResponseCode(), e.getMessage(), BadgingJsonKey.BADGE_CLASS);
     }
-
-    return filteredBadges;
+    return mappedBadge;
   }
 
   @Override
@@ -359,6 +457,9 @@ public class BadgrServiceImpl implements BadgingService {
           httpUtilResponse.getStatusCode(), badgrResponseStr, BadgingJsonKey.BADGE_CLASS);
 
       badgeClassExtensionService.delete(badgeId);
+      BadgeClassCache.getInstance().invalidateBadge(badgeId);
+      // issuer of the removed badge class is not known here
+      BadgeClassCache.getInstance().invalidateAllIssuers();
       response.put(JsonKey.MESSAGE, badgrResponseStr.replaceAll("^\"|\"$", ""));
       targetObject =
           TelemetryUtil.generateTargetObject(
@@ -6,6 +6,7 @@ import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.Props;
 import akka.testkit.javadsl.TestKit;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -108,7 +109,8 @@ public class BadgeClassActorTest {
 
   @Test
   public void testSearchBadgeClassSuccess() {
-    PowerMockito.when(mockBadgingService.searchBadgeClass(actorMessage)).thenReturn(new Response());
+    PowerMockito.when(mockBadgingService.searchBadgeClassAsync(actorMessage))
+        .thenReturn(CompletableFuture.completedFuture(new Response()));
 
     actorMessage.setOperation(BadgingActorOperations.SEARCH_BADGE_CLASS.getValue());
 
@@ -120,7 +122,7 @@ public class BadgeClassActorTest {
 
   @Test
   public void testSearchBadgeClassFailure() {
-    PowerMockito.when(mockBadgingService.searchBadgeClass(actorMessage))
+    PowerMockito.when(mockBadgingService.searchBadgeClassAsync(actorMessage))
         .thenThrow(resourceNotFoundException);
 
     actorMessage.setOperation(BadgingActorOperations.SEARCH_BADGE_CLASS.getValue());
@@ -132,6 +134,21 @@ public class BadgeClassActorTest {
     Assert.assertTrue(null != exception);
   }
 
+  @Test
+  public void testSearchBadgeClassFailureOfBadgrFetch() {
+    CompletableFuture<Response> failure = new CompletableFuture<>();
+    failure.completeExceptionally(resourceNotFoundException);
+    PowerMockito.when(mockBadgingService.searchBadgeClassAsync(actorMessage)).thenReturn(failure);
+
+    actorMessage.setOperation(BadgingActorOperations.SEARCH_BADGE_CLASS.getValue());
+
+    subject.tell(actorMessage, probe.getRef());
+
+    ProjectCommonException exception =
+        probe.expectMsgClass(ACTOR_MAX_WAIT_DURATION, ProjectCommonException.class);
+    Assert.assertTrue(null != exception);
+  }
+
   @Test
   public void testDeleteBadgeClassSuccess() {
     PowerMockito.when(mockBadgingService.removeBadgeClass(actorMessage)).thenReturn(new Response());
@@ -0,0 +1,90 @@
+package org.sunbird.badge.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.badge.service.BadgingService;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.BadgingJsonKey;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.Request;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({BadgingFactory.class})
+@PowerMockIgnore({"javax.management.*", "javax.net.ssl.*", "javax.security.*"})
+public class BadgeClassCacheTest {
+
+  private static final String BADGE_ID_1 = "badge1";
+  private static final String BADGE_ID_2 = "badge2";
+
+  private BadgingService badgingService;
+
+  @Before
+  public void setUp() {
+    badgingService = PowerMockito.mock(BadgingService.class);
+    PowerMockito.mockStatic(BadgingFactory.class);
+    PowerMockito.when(BadgingFactory.getInstance()).thenReturn(badgingService);
+    PowerMockito.when(badgingService.searchBadgeClass(Mockito.any(Request.class)))
+        .thenAnswer(invocation -> getSearchResponse(invocation.getArgumentAt(0, Request.class)));
+    BadgeClassCache.getInstance().invalidateAll();
+  }
+
+  @Test
+  public void testGetBadgesSearchesOnlyMissingBadges() {
+    BadgeClassCache cache = BadgeClassCache.getInstance();
+    Map<String, Map<String, Object>> badges = cache.getBadges(Arrays.asList(BADGE_ID_1));
+    badges.get(BADGE_ID_1).put(BadgingJsonKey.ASSOCIATION_ID, "someAssociationId");
+    badges = cache.getBadges(Arrays.asList(BADGE_ID_1, BADGE_ID_2));
+
+    assertEquals(2, badges.size());
+    assertFalse(badges.get(BADGE_ID_1).containsKey(BadgingJsonKey.ASSOCIATION_ID));
+    Mockito.verify(badgingService, Mockito.times(2)).searchBadgeClass(Mockito.any());
+    cache.getBadges(Arrays.asList(BADGE_ID_2, BADGE_ID_1));
+    Mockito.verify(badgingService, Mockito.times(2)).searchBadgeClass(Mockito.any());
+  }
+
+  @Test
+  public void testInvalidateBadgeSearchesAgain() {
+    BadgeClassCache cache = BadgeClassCache.getInstance();
+    cache.getBadges(Arrays.asList(BADGE_ID_1));
+    cache.invalidateBadge(BADGE_ID_1);
+    cache.getBadges(Arrays.asList(BADGE_ID_1));
+    Mockito.verify(badgingService, Mockito.times(2)).searchBadgeClass(Mockito.any());
+  }
+
+  @Test
+  public void testGetBadgesLeavesOutUnknownBadges() {
+    Map<String, Map<String, Object>> badges =
+        BadgeClassCache.getInstance().getBadges(Arrays.asList(BADGE_ID_1, "invalid"));
+    assertEquals(1, badges.size());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Response getSearchResponse(Request request) {
+    Map<String, Object> filters = (Map<String, Object>) request.getRequest().get(JsonKey.FILTERS);
+    List<Map<String, Object>> badges = new ArrayList<>();
+    for (String badgeId : (List<String>) filters.get(BadgingJsonKey.BADGE_LIST)) {
+      if (!"invalid".equals(badgeId)) {
+        Map<String, Object> badge = new HashMap<>();
+        badge.put(BadgingJsonKey.BADGE_ID, badgeId);
+        badges.add(badge);
+      }
+    }
+    Response response = new Response();
+    response.put(BadgingJsonKey.BADGES, badges);
+    return response;
+  }
+}
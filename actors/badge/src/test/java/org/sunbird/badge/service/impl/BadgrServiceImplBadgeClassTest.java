@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -26,10 +27,11 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.learner.util.DataCacheHandler;
+import org.sunbird.learner.util.OutboundHttpClient;
 import org.sunbird.telemetry.util.TelemetryUtil;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({HttpUtil.class, TelemetryUtil.class})
+@PrepareForTest({HttpUtil.class, TelemetryUtil.class, OutboundHttpClient.class})
 @PowerMockIgnore({"javax.management.*", "javax.net.ssl.*", "javax.security.*"})
 public class BadgrServiceImplBadgeClassTest {
   private BadgingService badgrServiceImpl;
@@ -38,6 +40,8 @@ public class BadgrServiceImplBadgeClassTest {
 
   private BadgeClassExtensionService mockBadgeClassExtensionService;
 
+  private OutboundHttpClient httpClient;
+
   private static final String BADGE_CLASS_COMMON_RESPONSE_SUCCESS =
       "{\"created_at\":\"2018-03-05T09:35:33.722993Z\",\"id\":1,\"issuer\":\"http://localhost:8000/public/issuers/oracle-university\",\"json\":{\"name\":\"Java SE 8 Programmer\",\"image\":\"http://localhost:8000/public/badges/java-se-8-programmer/image\",\"criteria\":\"https://education.oracle.com/pls/web_prod-plq-dad/db_pages.getpage?page_id=5001&get_params=p_exam_id:1Z0-808\",\"@context\":\"https://w3id.org/openbadges/v1\",\"issuer\":\"http://localhost:8000/public/issuers/oracle-university\",\"type\":\"BadgeClass\",\"id\":\"http://localhost:8000/public/badges/java-se-8-programmer\",\"description\":\"A basic Java SE 8 certification.\"},\"name\":\"Java SE 8 Programmer\",\"image\":\"http://localhost:8000/media/uploads/badges/issuer_badgeclass_76c4cb77-40c7-4694-bee2-de15bd45f6cb.png\",\"slug\":\"java-se-8-programmer\",\"recipient_count\":1,\"created_by\":\"http://localhost:8000/user/1\"}";
   private static final String BADGE_CLASS_SEARCH_RESPONSE_SUCCESS =
@@ -88,8 +92,13 @@ public class BadgrServiceImplBadgeClassTest {
 
     mockBadgeClassExtensionService = PowerMockito.mock(BadgeClassExtensionServiceImpl.class);
 
+    httpClient = PowerMockito.mock(OutboundHttpClient.class);
+    PowerMockito.mockStatic(OutboundHttpClient.class);
+    PowerMockito.when(OutboundHttpClient.getInstance()).thenReturn(httpClient);
+
     badgrServiceImpl = new BadgrServiceImpl(mockBadgeClassExtensionService);
     request = new Request();
+    BadgeClassCache.getInstance().invalidateAll();
     Map<String, Object> roles = new HashMap<>();
     roles.put("roleId1", "roleId1");
     DataCacheHandler.setRoleMap(roles);
@@ -283,8 +292,10 @@ public class BadgrServiceImplBadgeClassTest {
 
   @Test
   public void testSearchBadgeClassSuccessNonEmpty() throws IOException {
-    PowerMockito.when(HttpUtil.doGetRequest(Mockito.any(), Mockito.any()))
-        .thenReturn(new HttpUtilResponse(BADGE_CLASS_SEARCH_RESPONSE_SUCCESS, 200));
+    PowerMockito.when(httpClient.get(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new HttpUtilResponse(BADGE_CLASS_SEARCH_RESPONSE_SUCCESS, 200)));
     PowerMockito.when(
             mockBadgeClassExtensionService.search(
                 Mockito.anyList(),
@@ -323,10 +334,60 @@ public class BadgrServiceImplBadgeClassTest {
     validateSuccessResponse(response.getResponseCode(), badges.get(0));
   }
 
+  @Test
+  public void testSearchBadgeClassSuccessMultipleIssuersCached() throws IOException {
+    PowerMockito.when(httpClient.get(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new HttpUtilResponse(BADGE_CLASS_SEARCH_RESPONSE_SUCCESS, 200)));
+    PowerMockito.when(
+            mockBadgeClassExtensionService.search(
+                Mockito.anyList(),
+                Mockito.anyList(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.anyList()))
+        .thenReturn(
+            new ArrayList<>(
+                Arrays.asList(
+                    new BadgeClassExtension(
+                        VALUE_BADGE_ID,
+                        VALUE_ISSUER_ID,
+                        VALUE_ROOT_ORG_ID,
+                        VALUE_TYPE,
+                        VALUE_SUBTYPE,
+                        VALUE_ROLES_LIST),
+                    new BadgeClassExtension(
+                        INVALID_VALUE,
+                        INVALID_VALUE,
+                        VALUE_ROOT_ORG_ID,
+                        VALUE_TYPE,
+                        VALUE_SUBTYPE,
+                        VALUE_ROLES_LIST))));
+
+    Map<String, Object> filtersMap = new HashMap<>();
+    filtersMap.put(JsonKey.ROOT_ORG_ID, VALUE_ROOT_ORG_ID);
+    filtersMap.put(BadgingJsonKey.ISSUER_LIST, new ArrayList<String>());
+    request.put(JsonKey.FILTERS, filtersMap);
+
+    badgrServiceImpl.searchBadgeClass(request);
+    Response response = badgrServiceImpl.searchBadgeClass(request);
+
+    List<Map<String, Object>> badges =
+        (List<Map<String, Object>>) response.getResult().get(BadgingJsonKey.BADGES);
+    assertEquals(2, badges.size());
+    validateSuccessResponse(response.getResponseCode(), badges.get(0));
+    Mockito.verify(httpClient, Mockito.times(2))
+        .get(Mockito.any(), Mockito.any(), Mockito.any());
+  }
+
   @Test
   public void testSearchBadgeClassSuccessEmpty() throws IOException {
-    PowerMockito.when(HttpUtil.doGetRequest(Mockito.any(), Mockito.any()))
-        .thenReturn(new HttpUtilResponse(BADGE_CLASS_SEARCH_RESPONSE_SUCCESS, 200));
+    PowerMockito.when(httpClient.get(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new HttpUtilResponse(BADGE_CLASS_SEARCH_RESPONSE_SUCCESS, 200)));
     PowerMockito.when(
             mockBadgeClassExtensionService.search(
                 Mockito.anyList(),
@@ -354,10 +415,52 @@ public class BadgrServiceImplBadgeClassTest {
     assertEquals(0, badges.size());
   }
 
+  @Test
+  public void testSearchBadgeClassAsyncCompletesOnceBadgeClassesAreFetched() throws IOException {
+    CompletableFuture<HttpUtilResponse> badgrResponse = new CompletableFuture<>();
+    PowerMockito.when(httpClient.get(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(badgrResponse);
+    PowerMockito.when(
+            mockBadgeClassExtensionService.search(
+                Mockito.anyList(),
+                Mockito.anyList(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.anyList()))
+        .thenReturn(
+            new ArrayList<>(
+                Arrays.asList(
+                    new BadgeClassExtension(
+                        VALUE_BADGE_ID,
+                        VALUE_ISSUER_ID,
+                        VALUE_ROOT_ORG_ID,
+                        VALUE_TYPE,
+                        VALUE_SUBTYPE,
+                        VALUE_ROLES_LIST))));
+
+    Map<String, Object> filtersMap = new HashMap<>();
+    filtersMap.put(JsonKey.ROOT_ORG_ID, VALUE_ROOT_ORG_ID);
+    filtersMap.put(BadgingJsonKey.ISSUER_LIST, new ArrayList<String>());
+    request.put(JsonKey.FILTERS, filtersMap);
+
+    CompletableFuture<Response> response =
+        badgrServiceImpl.searchBadgeClassAsync(request).toCompletableFuture();
+    Assert.assertFalse(response.isDone());
+
+    badgrResponse.complete(new HttpUtilResponse(BADGE_CLASS_SEARCH_RESPONSE_SUCCESS, 200));
+    List<Map<String, Object>> badges =
+        (List<Map<String, Object>>) response.join().getResult().get(BadgingJsonKey.BADGES);
+    assertEquals(1, badges.size());
+    validateSuccessResponse(response.join().getResponseCode(), badges.get(0));
+  }
+
   @Test
   public void testListBadgeClassFailureException() throws IOException {
-    PowerMockito.when(HttpUtil.doGetRequest(Mockito.any(), Mockito.any()))
-        .thenThrow(new IOException());
+    CompletableFuture<HttpUtilResponse> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new IOException());
+    PowerMockito.when(httpClient.get(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(failure);
     PowerMockito.when(
             mockBadgeClassExtensionService.search(
                 Mockito.anyList(),
@@ -0,0 +1,224 @@
+package org.sunbird.actor.metrics;
+
+import akka.actor.ActorRef;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.OperationMetrics;
+
+/**
+ * This class will hold the metrics collected by {@link InstrumentedMailbox} and {@link
+ * InstrumentedExecutorConfigurator}: mailbox depth and queue wait time per actor pool, message
+ * processing time per operation and thread utilization per dispatcher. Mailboxes of the routees
+ * of a pool are reported together under the path of the pool, e.g.
+ * /user/RequestRouter/UserManagementActor.
+ *
+ * <p>Mailbox and dispatcher metrics are registered with {@link MetricsRegistry}, and metrics of all
+ * registered sources are logged every sunbird_actor_metrics_log_interval_seconds (60 by default, 0
+ * to disable). Dispatcher utilization is sampled every
+ * sunbird_actor_metrics_utilization_window_seconds (10 by default) and reported for the last
+ * complete window, so reading metrics does not change what the next reader sees.
+ */
+public final class ActorMetrics {
+
+  private static final String LOG_INTERVAL = "sunbird_actor_metrics_log_interval_seconds";
+  private static final long DEFAULT_LOG_INTERVAL = 60;
+  private static final String UTILIZATION_WINDOW =
+      "sunbird_actor_metrics_utilization_window_seconds";
+  private static final long DEFAULT_UTILIZATION_WINDOW = 10;
+  private static final String UNKNOWN = "unknown";
+
+  private static final Map<String, MailboxStats> mailboxes = new ConcurrentHashMap<>();
+  private static final Map<String, DispatcherStats> dispatchers = new ConcurrentHashMap<>();
+  private static final ThreadLocal<Processing> processing =
+      ThreadLocal.withInitial(Processing::new);
+
+  static {
+    MetricsRegistry.register("mailboxes", ActorMetrics::getMailboxMetrics);
+    MetricsRegistry.register("dispatchers", ActorMetrics::getDispatcherMetrics);
+    ScheduledExecutorService scheduler = ExecutorManager.getScheduledExecutor("actorMetrics", 1);
+    long window =
+        Math.max(1, ConfigReader.getLongConfig(UTILIZATION_WINDOW, DEFAULT_UTILIZATION_WINDOW));
+    scheduler.scheduleAtFixedRate(
+        () -> dispatchers.values().forEach(DispatcherStats::sample),
+        window,
+        window,
+        TimeUnit.SECONDS);
+    long interval = ConfigReader.getLongConfig(LOG_INTERVAL, DEFAULT_LOG_INTERVAL);
+    if (interval > 0) {
+      scheduler.scheduleWithFixedDelay(ActorMetrics::log, interval, interval, TimeUnit.SECONDS);
+    }
+  }
+
+  private ActorMetrics() {}
+
+  private static Map<String, Object> getMailboxMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    mailboxes.forEach((name, stats) -> metrics.put(name, stats.getMetrics()));
+    return metrics;
+  }
+
+  private static Map<String, Object> getDispatcherMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    dispatchers.forEach((id, stats) -> metrics.put(id, stats.getMetrics()));
+    return metrics;
+  }
+
+  static MailboxStats getMailboxStats(ActorRef owner) {
+    String name = owner != null ? getMailboxName(owner) : UNKNOWN;
+    return mailboxes.computeIfAbsent(name, key -> new MailboxStats());
+  }
+
+  static DispatcherStats getDispatcherStats(String id, int parallelism) {
+    return dispatchers.computeIfAbsent(id, key -> new DispatcherStats(parallelism));
+  }
+
+  /** Path of the actor without the generated names of router routees. */
+  static String getMailboxName(ActorRef owner) {
+    StringBuilder name = new StringBuilder();
+    for (String element : owner.path().getElements()) {
+      if (!element.startsWith("$")) {
+        name.append('/').append(element);
+      }
+    }
+    return name.length() > 0 ? name.toString() : UNKNOWN;
+  }
+
+  /**
+   * This method will mark the start of processing of a message on the current thread. Processing
+   * of the previous message dequeued on this thread, if any, is recorded as finished.
+   */
+  static void startProcessing(MailboxStats stats, String operation) {
+    finishProcessing();
+    Processing current = processing.get();
+    current.stats = stats;
+    current.operation = operation;
+    current.startTime = System.nanoTime();
+  }
+
+  /** This method will record the processing time of the message running on the current thread. */
+  static void finishProcessing() {
+    Processing current = processing.get();
+    if (current.stats != null) {
+      long elapsed = System.nanoTime() - current.startTime;
+      current.stats.processed(current.operation, TimeUnit.NANOSECONDS.toMillis(elapsed));
+      current.stats = null;
+      current.operation = null;
+    }
+  }
+
+  private static void log() {
+    try {
+      ProjectLogger.log(
+          "ActorMetrics: metrics = " + MetricsRegistry.getMetrics(), LoggerEnum.INFO.name());
+    } catch (Exception e) {
+      ProjectLogger.log("ActorMetrics:log: Exception in logging metrics " + e.getMessage(), e);
+    }
+  }
+
+  private static class Processing {
+    private MailboxStats stats;
+    private String operation;
+    private long startTime;
+  }
+
+  static class MailboxStats {
+
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final AtomicLong dequeued = new AtomicLong();
+    private final AtomicLong totalWait = new AtomicLong();
+    private final AtomicLong maxWait = new AtomicLong();
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    void enqueued() {
+      maxDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+    }
+
+    void dequeued(long waitInNanos) {
+      depth.decrementAndGet();
+      dequeued.incrementAndGet();
+      totalWait.addAndGet(waitInNanos);
+      maxWait.accumulateAndGet(waitInNanos, Math::max);
+    }
+
+    void dropped() {
+      depth.decrementAndGet();
+    }
+
+    void processed(String operation, long latencyInMs) {
+      operations
+          .computeIfAbsent(operation, name -> new OperationMetrics(name, 1024, Integer.MAX_VALUE))
+          .record(latencyInMs, 0);
+    }
+
+    Map<String, Object> getMetrics() {
+      long count = dequeued.get();
+      Map<String, Object> operationMetrics = new HashMap<>();
+      operations.forEach((name, metrics) -> operationMetrics.put(name, metrics.getMetrics()));
+      Map<String, Object> metrics = new HashMap<>();
+      metrics.put("depth", depth.get());
+      metrics.put("maxDepth", maxDepth.get());
+      metrics.put("messageCount", count);
+      metrics.put(
+          "avgWaitInMs", count == 0 ? 0L : TimeUnit.NANOSECONDS.toMillis(totalWait.get() / count));
+      metrics.put("maxWaitInMs", TimeUnit.NANOSECONDS.toMillis(maxWait.get()));
+      metrics.put("operations", operationMetrics);
+      return metrics;
+    }
+  }
+
+  static class DispatcherStats {
+
+    private final int parallelism;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong busyTime = new AtomicLong();
+    private long lastSampleTime = System.nanoTime();
+    private long lastBusyTime = 0;
+    private volatile double utilization;
+
+    DispatcherStats(int parallelism) {
+      this.parallelism = Math.max(1, parallelism);
+    }
+
+    void taskStarted() {
+      maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+    }
+
+    void taskFinished(long elapsedInNanos) {
+      active.decrementAndGet();
+      tasks.incrementAndGet();
+      busyTime.addAndGet(elapsedInNanos);
+    }
+
+    /** Closes the current window, called by the metrics sampler only. */
+    synchronized void sample() {
+      long now = System.nanoTime();
+      long busy = busyTime.get();
+      long capacity = Math.max(1, (now - lastSampleTime) * parallelism);
+      utilization = Math.min(1.0, (double) (busy - lastBusyTime) / capacity);
+      lastSampleTime = now;
+      lastBusyTime = busy;
+    }
+
+    Map<String, Object> getMetrics() {
+      Map<String, Object> metrics = new HashMap<>();
+      metrics.put("parallelism", parallelism);
+      metrics.put("activeThreads", active.get());
+      metrics.put("maxActiveThreads", maxActive.get());
+      metrics.put("taskCount", tasks.get());
+      metrics.put("utilization", Math.round(utilization * 1000) / 1000.0);
+      return metrics;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package org.sunbird.actor.metrics;
+
+import akka.dispatch.DispatcherPrerequisites;
+import akka.dispatch.ExecutorServiceConfigurator;
+import akka.dispatch.ExecutorServiceFactory;
+import akka.dispatch.ForkJoinExecutorConfigurator;
+import com.typesafe.config.Config;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.sunbird.actor.metrics.ActorMetrics.DispatcherStats;
+
+/**
+ * Executor of a dispatcher which runs on the fork-join-executor configured for the dispatcher and
+ * records active threads and busy time, see {@link ActorMetrics}. Configured as executor of a
+ * dispatcher in place of fork-join-executor; the fork-join-executor section is still used for
+ * sizing.
+ */
+public class InstrumentedExecutorConfigurator extends ExecutorServiceConfigurator {
+
+  private static final String FORK_JOIN_EXECUTOR = "fork-join-executor";
+
+  private final ForkJoinExecutorConfigurator forkJoinConfigurator;
+  private final int parallelism;
+
+  public InstrumentedExecutorConfigurator(Config config, DispatcherPrerequisites prerequisites) {
+    super(config, prerequisites);
+    Config forkJoinConfig = config.getConfig(FORK_JOIN_EXECUTOR);
+    this.forkJoinConfigurator = new ForkJoinExecutorConfigurator(forkJoinConfig, prerequisites);
+    this.parallelism =
+        getParallelism(
+            forkJoinConfig.getInt("parallelism-min"),
+            forkJoinConfig.getDouble("parallelism-factor"),
+            forkJoinConfig.getInt("parallelism-max"));
+  }
+
+  @Override
+  public ExecutorServiceFactory createExecutorServiceFactory(
+      String id, ThreadFactory threadFactory) {
+    ExecutorServiceFactory factory =
+        forkJoinConfigurator.createExecutorServiceFactory(id, threadFactory);
+    DispatcherStats stats = ActorMetrics.getDispatcherStats(id, parallelism);
+    return () -> new InstrumentedExecutorService(factory.createExecutorService(), stats);
+  }
+
+  /** Same as the pool size computed by Akka for a fork-join-executor. */
+  static int getParallelism(int min, double factor, int max) {
+    int scaled = (int) Math.ceil(Runtime.getRuntime().availableProcessors() * factor);
+    return Math.min(Math.max(scaled, min), max);
+  }
+
+  private static class InstrumentedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService executorService;
+    private final DispatcherStats stats;
+
+    InstrumentedExecutorService(ExecutorService executorService, DispatcherStats stats) {
+      this.executorService = executorService;
+      this.stats = stats;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      executorService.execute(
+          () -> {
+            long start = System.nanoTime();
+            stats.taskStarted();
+            try {
+              command.run();
+            } finally {
+              ActorMetrics.finishProcessing();
+              stats.taskFinished(System.nanoTime() - start);
+            }
+          });
+    }
+
+    @Override
+    public void shutdown() {
+      executorService.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return executorService.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return executorService.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return executorService.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return executorService.awaitTermination(timeout, unit);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package org.sunbird.actor.metrics;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.dispatch.Envelope;
+import akka.dispatch.MailboxType;
+import akka.dispatch.MessageQueue;
+import akka.dispatch.ProducesMessageQueue;
+import akka.dispatch.UnboundedMessageQueueSemantics;
+import com.typesafe.config.Config;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.actor.metrics.ActorMetrics.MailboxStats;
+import org.sunbird.common.request.Request;
+import scala.Option;
+
+/**
+ * Unbounded mailbox which records mailbox depth, the time a message waits in the mailbox and the
+ * time taken to process it, see {@link ActorMetrics}. Configured as mailbox-type of
+ * akka.actor.default-mailbox.
+ */
+public class InstrumentedMailbox
+    implements MailboxType, ProducesMessageQueue<InstrumentedMailbox.InstrumentedMessageQueue> {
+
+  public InstrumentedMailbox(ActorSystem.Settings settings, Config config) {}
+
+  @Override
+  public MessageQueue create(Option<ActorRef> owner, Option<ActorSystem> system) {
+    return new InstrumentedMessageQueue(
+        ActorMetrics.getMailboxStats(owner.isDefined() ? owner.get() : null));
+  }
+
+  public static class InstrumentedMessageQueue
+      implements MessageQueue, UnboundedMessageQueueSemantics {
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() is linear, the smallest mailbox router reads it per message
+    private final AtomicInteger size = new AtomicInteger();
+    private final MailboxStats stats;
+
+    InstrumentedMessageQueue(MailboxStats stats) {
+      this.stats = stats;
+    }
+
+    @Override
+    public void enqueue(ActorRef receiver, Envelope handle) {
+      size.incrementAndGet();
+      stats.enqueued();
+      queue.offer(new Entry(handle, System.nanoTime()));
+    }
+
+    @Override
+    public Envelope dequeue() {
+      Entry entry = queue.poll();
+      if (entry == null) {
+        return null;
+      }
+      size.decrementAndGet();
+      stats.dequeued(System.nanoTime() - entry.enqueuedAt);
+      ActorMetrics.startProcessing(stats, getOperation(entry.envelope.message()));
+      return entry.envelope;
+    }
+
+    @Override
+    public int numberOfMessages() {
+      return Math.max(0, size.get());
+    }
+
+    @Override
+    public boolean hasMessages() {
+      return !queue.isEmpty();
+    }
+
+    @Override
+    public void cleanUp(ActorRef owner, MessageQueue deadLetters) {
+      Entry entry;
+      while ((entry = queue.poll()) != null) {
+        size.decrementAndGet();
+        stats.dropped();
+        deadLetters.enqueue(owner, entry.envelope);
+      }
+    }
+
+    private String getOperation(Object message) {
+      if (message instanceof Request) {
+        String operation = ((Request) message).getOperation();
+        if (StringUtils.isNotBlank(operation)) {
+          return operation;
+        }
+      }
+      return message.getClass().getSimpleName();
+    }
+  }
+
+  private static class Entry {
+    private final Envelope envelope;
+    private final long enqueuedAt;
+
+    Entry(Envelope envelope, long enqueuedAt) {
+      this.envelope = envelope;
+      this.enqueuedAt = enqueuedAt;
+    }
+  }
+}
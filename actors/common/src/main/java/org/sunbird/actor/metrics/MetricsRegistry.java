@@ -0,0 +1,57 @@
+package org.sunbird.actor.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+
+/**
+ * This class will hold the sources of metrics of this instance, e.g. actor mailboxes, executor
+ * pools and caches. Each component registers its source under a name once it is initialised, so
+ * metrics are reported only for components in use. Metrics are logged by {@link ActorMetrics} and
+ * served by the getMetrics operation.
+ */
+public final class MetricsRegistry {
+
+  private static final Map<String, Supplier<? extends Map<String, ?>>> sources =
+      new ConcurrentHashMap<>();
+
+  private MetricsRegistry() {}
+
+  /**
+   * This method will register given source of metrics, replacing the source registered earlier
+   * under the same name, if any.
+   *
+   * @param name Name to report the metrics under
+   * @param source Supplier of the current metrics of the component
+   */
+  public static void register(String name, Supplier<? extends Map<String, ?>> source) {
+    sources.put(name, source);
+  }
+
+  /**
+   * This method will return metrics of all registered sources. A source which fails is logged and
+   * left out, so that it does not hide metrics of the other sources.
+   *
+   * @return Map with metrics of each source by name
+   */
+  public static Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new TreeMap<>();
+    sources.forEach(
+        (name, source) -> {
+          try {
+            metrics.put(name, source.get());
+          } catch (Exception e) {
+            ProjectLogger.log(
+                "MetricsRegistry:getMetrics: Exception in reading metrics of "
+                    + name
+                    + " "
+                    + e.getMessage(),
+                LoggerEnum.ERROR.name());
+          }
+        });
+    return metrics;
+  }
+}
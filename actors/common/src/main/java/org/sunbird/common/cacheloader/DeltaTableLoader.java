@@ -0,0 +1,157 @@
+package org.sunbird.common.cacheloader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.ConfigReader;
+
+/**
+ * Loads the rows of a small cached table (page_management, page_section) incrementally. The first
+ * load and every Nth load read the whole table. In between, only the id and updatedDate/createdDate
+ * columns are scanned and full rows are fetched only for ids whose timestamp changed. Ids missing
+ * from the scan are dropped.
+ *
+ * <p>The periodic full load is a backstop for rows changed without touching updatedDate.
+ */
+public class DeltaTableLoader {
+
+  private static final String FULL_REFRESH_INTERVAL = "sunbird_cache_full_refresh_interval";
+  private static final int DEFAULT_FULL_REFRESH_INTERVAL = 6;
+  private static final List<String> STAMP_COLUMNS =
+      Arrays.asList(JsonKey.ID, JsonKey.UPDATED_DATE, JsonKey.CREATED_DATE);
+
+  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private final String keyspace;
+  private final String tableName;
+  private final int fullRefreshInterval;
+  private Map<String, Map<String, Object>> rows = new HashMap<>();
+  private Map<String, String> rowStamps = new HashMap<>();
+  private int loadCount = 0;
+
+  public DeltaTableLoader(String keyspace, String tableName) {
+    this(
+        keyspace,
+        tableName,
+        ConfigReader.getIntConfig(FULL_REFRESH_INTERVAL, DEFAULT_FULL_REFRESH_INTERVAL));
+  }
+
+  public DeltaTableLoader(String keyspace, String tableName, int fullRefreshInterval) {
+    this.keyspace = keyspace;
+    this.tableName = tableName;
+    this.fullRefreshInterval = Math.max(1, fullRefreshInterval);
+  }
+
+  /**
+   * This method will return a copy of all rows of the table keyed by id, refreshed either fully or
+   * incrementally.
+   *
+   * @return Map of id and row, or null if the table could not be read
+   */
+  public synchronized Map<String, Map<String, Object>> load() {
+    try {
+      if (loadCount % fullRefreshInterval == 0) {
+        fullLoad();
+      } else {
+        deltaLoad();
+      }
+      loadCount++;
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "DeltaTableLoader:load: Exception in loading " + tableName + " " + e.getMessage(), e);
+      // force a full load next time, the delta state may be inconsistent
+      loadCount = 0;
+      return null;
+    }
+    Map<String, Map<String, Object>> copy = new HashMap<>();
+    rows.forEach((id, row) -> copy.put(id, new HashMap<>(row)));
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void fullLoad() {
+    Response response = cassandraOperation.getAllRecords(keyspace, tableName);
+    List<Map<String, Object>> responseList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    Map<String, Map<String, Object>> newRows = new HashMap<>();
+    Map<String, String> newStamps = new HashMap<>();
+    if (CollectionUtils.isNotEmpty(responseList)) {
+      for (Map<String, Object> row : responseList) {
+        String id = (String) row.get(JsonKey.ID);
+        newRows.put(id, row);
+        newStamps.put(id, getStamp(row));
+      }
+    }
+    rows = newRows;
+    rowStamps = newStamps;
+    ProjectLogger.log(
+        "DeltaTableLoader:fullLoad: " + tableName + " rows loaded = " + rows.size(),
+        LoggerEnum.INFO.name());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void deltaLoad() {
+    Response response =
+        cassandraOperation.getRecordsByProperties(keyspace, tableName, null, STAMP_COLUMNS);
+    List<Map<String, Object>> stampList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    Map<String, String> newStamps = new HashMap<>();
+    List<String> changedIds = new ArrayList<>();
+    if (CollectionUtils.isNotEmpty(stampList)) {
+      for (Map<String, Object> stampRow : stampList) {
+        String id = (String) stampRow.get(JsonKey.ID);
+        String stamp = getStamp(stampRow);
+        newStamps.put(id, stamp);
+        if (!rowStamps.containsKey(id) || !Objects.equals(rowStamps.get(id), stamp)) {
+          changedIds.add(id);
+        }
+      }
+    }
+    int removed = 0;
+    for (String id : new ArrayList<>(rows.keySet())) {
+      if (!newStamps.containsKey(id)) {
+        rows.remove(id);
+        removed++;
+      }
+    }
+    if (!changedIds.isEmpty()) {
+      Response changedResponse =
+          cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
+              keyspace, tableName, null, changedIds);
+      List<Map<String, Object>> changedRows =
+          (List<Map<String, Object>>) changedResponse.get(JsonKey.RESPONSE);
+      if (CollectionUtils.isNotEmpty(changedRows)) {
+        for (Map<String, Object> row : changedRows) {
+          rows.put((String) row.get(JsonKey.ID), row);
+        }
+      }
+    }
+    rowStamps = newStamps;
+    ProjectLogger.log(
+        "DeltaTableLoader:deltaLoad: "
+            + tableName
+            + " changed rows = "
+            + changedIds.size()
+            + " removed rows = "
+            + removed,
+        LoggerEnum.INFO.name());
+  }
+
+  private String getStamp(Map<String, Object> row) {
+    Object updatedDate = row.get(JsonKey.UPDATED_DATE);
+    if (updatedDate != null) {
+      return String.valueOf(updatedDate);
+    }
+    Object createdDate = row.get(JsonKey.CREATED_DATE);
+    return createdDate != null ? String.valueOf(createdDate) : null;
+  }
+}
@@ -1,38 +1,36 @@
 package org.sunbird.common.cacheloader;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
 import org.sunbird.cache.CacheFactory;
 import org.sunbird.cache.interfaces.Cache;
-import org.sunbird.cassandra.CassandraOperation;
-import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
-import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.util.DataCacheHandler;
 
 public class PageCacheLoaderService implements Runnable {
-  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private static final String KEY_SPACE_NAME = "sunbird";
+  private Map<String, DeltaTableLoader> loaders = new HashMap<>();
   private static boolean isCacheEnabled = false;
 //      Boolean.parseBoolean(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_CACHE_ENABLE));
 
   private static Cache cache = CacheFactory.getInstance();
 
-  @SuppressWarnings("unchecked")
   public Map<String, Map<String, Object>> cacheLoader(String tableName) {
     Map<String, Map<String, Object>> map = new HashMap<>();
     try {
-      Response response = cassandraOperation.getAllRecords(KEY_SPACE_NAME, tableName);
-      List<Map<String, Object>> responseList =
-          (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-      if (CollectionUtils.isNotEmpty(responseList)) {
+      Map<String, Map<String, Object>> rows =
+          loaders.computeIfAbsent(tableName, name -> new DeltaTableLoader(KEY_SPACE_NAME, name))
+              .load();
+      if (MapUtils.isNotEmpty(rows)) {
+        List<Map<String, Object>> responseList = new ArrayList<>(rows.values());
         if (tableName.equalsIgnoreCase(JsonKey.PAGE_SECTION)) {
           loadPageSectionInCache(responseList, map);
         } else if (tableName.equalsIgnoreCase(JsonKey.PAGE_MANAGEMENT)) {
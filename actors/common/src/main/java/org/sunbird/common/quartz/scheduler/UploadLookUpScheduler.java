@@ -3,12 +3,14 @@ package org.sunbird.common.quartz.scheduler;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.sunbird.cassandra.CassandraOperation;
@@ -20,18 +22,26 @@ import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.bulkupload.BulkUploadQueue;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadQueueEntry;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryEvents;
 import org.sunbird.telemetry.util.TelemetryUtil;
 
 /**
- * This class will lookup into bulk process table. if process type is new or in progress (more than
- * x hours) then take the process id and do the re-process of job.
+ * This class will lookup into the bulk upload queue. Processes which are not leased by a worker
+ * are dispatched again, and processes which are completed or failed are removed from the queue.
+ * On its first run on a node it also adds new and in progress processes which are not in the
+ * queue, as processes submitted before the queue was in use were never enqueued.
  *
  * @author Manzarul
  */
 public class UploadLookUpScheduler extends BaseJob {
-  private SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss:SSSZ");
+  private static final long IN_PROGRESS_REDISPATCH_HOURS = 5;
+  private static volatile boolean backfilled;
+  private static final List<String> PROCESS_FIELDS =
+      Arrays.asList(
+          JsonKey.ID, JsonKey.STATUS, JsonKey.RETRY_COUNT, JsonKey.OBJECT_TYPE, JsonKey.DATA);
 
   public void execute(JobExecutionContext ctx) throws JobExecutionException {
     ProjectLogger.log(
@@ -44,65 +54,128 @@ public class UploadLookUpScheduler extends BaseJob {
         JsonKey.SYSTEM, ctx.getFireInstanceId(), JsonKey.SCHEDULER_JOB);
     Map<String, Object> logInfo =
         genarateLogInfo(JsonKey.SYSTEM, ctx.getJobDetail().getDescription());
-    Util.DbInfo bulkDb = Util.dbInfoMap.get(JsonKey.BULK_OP_DB);
-    CassandraOperation cassandraOperation = ServiceFactory.getInstance();
-    List<Map<String, Object>> result = null;
-    // get List of process with status as New
-    Response res =
-        cassandraOperation.getRecordsByProperty(
-            bulkDb.getKeySpace(),
-            bulkDb.getTableName(),
-            JsonKey.STATUS,
-            ProjectUtil.BulkProcessStatus.NEW.getValue());
-    result = ((List<Map<String, Object>>) res.get(JsonKey.RESPONSE));
-    ProjectLogger.log(
-        "Total No. of record in Bulk_upload_process table with status as NEW are : :"
-            + result.size(),
-        LoggerEnum.INFO.name());
-    if (!result.isEmpty()) {
-      process(result);
+    BulkUploadQueue queue = BulkUploadQueue.getInstance();
+    if (!backfilled) {
+      backfill(queue);
     }
-    // get List of Process with status as InProgress
-    res =
-        cassandraOperation.getRecordsByProperty(
-            bulkDb.getKeySpace(),
-            bulkDb.getTableName(),
-            JsonKey.STATUS,
-            ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue());
-    result = ((List<Map<String, Object>>) res.get(JsonKey.RESPONSE));
+    List<BulkUploadQueueEntry> entries = queue.getDispatchable();
     ProjectLogger.log(
-        "Total No. of record in Bulk_upload_process table with status as IN_PROGRESS are : :"
-            + result.size(),
+        "UploadLookUpScheduler: Total No. of unleased processes in bulk upload queue are : "
+            + entries.size(),
         LoggerEnum.INFO.name());
-    if (null != result) {
-      Iterator<Map<String, Object>> itr = result.iterator();
-      while (itr.hasNext()) {
-        Map<String, Object> map = itr.next();
-        try {
-          Date startTime = format.parse((String) map.get(JsonKey.PROCESS_START_TIME));
-          Date currentTime = format.parse(format.format(new Date()));
-          long difference = currentTime.getTime() - startTime.getTime();
-          int hourDiff = (int) (difference / (1000 * 3600));
-          // if diff is more than 5Hr then only process it.
-          if (hourDiff < 5) {
-            itr.remove();
-          }
-        } catch (ParseException ex) {
-          ProjectLogger.log(ex.getMessage(), ex);
+    if (!entries.isEmpty()) {
+      Map<String, Map<String, Object>> processes = getProcesses(entries);
+      List<Map<String, Object>> result = new ArrayList<>();
+      for (BulkUploadQueueEntry entry : entries) {
+        Map<String, Object> process = processes.get(entry.getProcessId());
+        if (process == null || isFinished(process)) {
+          queue.dequeue(entry);
+        } else {
+          queue.markDispatched(entry);
+          result.add(process);
         }
       }
+      ProjectLogger.log(
+          "UploadLookUpScheduler: Total No. of processes dispatched are : " + result.size(),
+          LoggerEnum.INFO.name());
       if (!result.isEmpty()) {
-        ProjectLogger.log(
-            "Total No. of record in Bulk_upload_process table with status as IN_PROGRESS "
-                + "with diff bw start time and current time greater than 5Hr are : :"
-                + result.size(),
-            LoggerEnum.INFO.name());
         process(result);
       }
     }
     TelemetryUtil.telemetryProcessingCall(logInfo, null, null, TelemetryEvents.LOG.getName());
   }
 
+  /**
+   * This method will add new and in progress processes which are not queued to the queue. An in
+   * progress process is dispatched once it started 5 hours ago, as a worker which does not hold a
+   * lease may still be working on it. Once it succeeds it is not run again on this node.
+   */
+  private void backfill(BulkUploadQueue queue) {
+    try {
+      Set<String> queued = queue.getQueuedProcessIds();
+      SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss:SSSZ");
+      long now = System.currentTimeMillis();
+      int count = 0;
+      for (Map<String, Object> process :
+          getProcessesByStatus(ProjectUtil.BulkProcessStatus.NEW.getValue())) {
+        if (queued.add((String) process.get(JsonKey.ID))) {
+          queue.backfill(
+              (String) process.get(JsonKey.ID), (String) process.get(JsonKey.OBJECT_TYPE), now);
+          count++;
+        }
+      }
+      for (Map<String, Object> process :
+          getProcessesByStatus(ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue())) {
+        if (queued.add((String) process.get(JsonKey.ID))) {
+          String startTime = (String) process.get(JsonKey.PROCESS_START_TIME);
+          long dispatchableOn = now;
+          try {
+            if (startTime != null) {
+              dispatchableOn =
+                  format.parse(startTime).getTime()
+                      + TimeUnit.HOURS.toMillis(IN_PROGRESS_REDISPATCH_HOURS);
+            }
+          } catch (ParseException e) {
+            ProjectLogger.log(
+                "UploadLookUpScheduler:backfill: Invalid start time for processId = "
+                    + process.get(JsonKey.ID),
+                LoggerEnum.INFO.name());
+          }
+          queue.backfill(
+              (String) process.get(JsonKey.ID),
+              (String) process.get(JsonKey.OBJECT_TYPE),
+              dispatchableOn);
+          count++;
+        }
+      }
+      backfilled = true;
+      ProjectLogger.log(
+          "UploadLookUpScheduler:backfill: Total No. of processes added to bulk upload queue are : "
+              + count,
+          LoggerEnum.INFO.name());
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "UploadLookUpScheduler:backfill: Exception occurred with error message = "
+              + e.getMessage(),
+          e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Map<String, Object>> getProcessesByStatus(int status) {
+    Util.DbInfo bulkDb = Util.dbInfoMap.get(JsonKey.BULK_OP_DB);
+    CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+    Response res =
+        cassandraOperation.getRecordsByProperty(
+            bulkDb.getKeySpace(), bulkDb.getTableName(), JsonKey.STATUS, status);
+    List<Map<String, Object>> result = (List<Map<String, Object>>) res.get(JsonKey.RESPONSE);
+    return result != null ? result : new ArrayList<>();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Map<String, Object>> getProcesses(List<BulkUploadQueueEntry> entries) {
+    Util.DbInfo bulkDb = Util.dbInfoMap.get(JsonKey.BULK_OP_DB);
+    CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+    List<String> ids = new ArrayList<>();
+    entries.forEach(entry -> ids.add(entry.getProcessId()));
+    Response res =
+        cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
+            bulkDb.getKeySpace(), bulkDb.getTableName(), PROCESS_FIELDS, ids);
+    Map<String, Map<String, Object>> processes = new HashMap<>();
+    List<Map<String, Object>> result = (List<Map<String, Object>>) res.get(JsonKey.RESPONSE);
+    if (result != null) {
+      result.forEach(process -> processes.put((String) process.get(JsonKey.ID), process));
+    }
+    return processes;
+  }
+
+  private boolean isFinished(Map<String, Object> process) {
+    Object status = process.get(JsonKey.STATUS);
+    return status != null
+        && ((int) status == ProjectUtil.BulkProcessStatus.COMPLETED.getValue()
+            || (int) status == ProjectUtil.BulkProcessStatus.FAILED.getValue());
+  }
+
   private void process(List<Map<String, Object>> result) {
     Request request = new Request();
     request.put(JsonKey.DATA, result);
@@ -23,6 +23,7 @@ import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.user.service.UserProfileCache;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
 import org.sunbird.learner.util.Util;
 import org.sunbird.learner.util.Util.DbInfo;
@@ -351,6 +352,7 @@ public class BackgroundJobManager extends BaseActor {
   private boolean updateDataToElastic(
       String indexName, String typeName, String identifier, Map<String, Object> data) {
     boolean response = ElasticSearchUtil.updateData(indexName, typeName, identifier, data);
+    invalidateUserProfile(typeName, identifier);
     if (response) {
       return true;
     }
@@ -359,6 +361,12 @@ public class BackgroundJobManager extends BaseActor {
     return false;
   }
 
+  private void invalidateUserProfile(String typeName, String identifier) {
+    if (ProjectUtil.EsType.user.getTypeName().equals(typeName)) {
+      UserProfileCache.getInstance().invalidate(identifier);
+    }
+  }
+
   private void updateUserInfoToEs(Request actorMessage) {
     String userId = (String) actorMessage.getRequest().get(JsonKey.ID);
     Map<String, Object> userDetails =
@@ -549,6 +557,7 @@ public class BackgroundJobManager extends BaseActor {
      * service.computeProfile(data); data.putAll(responsemap); }
      */
     String response = ElasticSearchUtil.createData(index, type, identifier, data);
+    invalidateUserProfile(type, identifier);
     ProjectLogger.log(
         "Getting ES save response for type , identiofier=="
             + type
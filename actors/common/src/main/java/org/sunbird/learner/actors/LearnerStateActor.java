@@ -30,6 +30,7 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.util.ContentSearchUtil;
 import org.sunbird.learner.util.Util;
@@ -154,6 +155,10 @@ public class LearnerStateActor extends BaseActor {
     ProjectLogger.log(
         "LearnerStateActor:getCourseBatch: coursesBatchIds = " + courseBatchIds,
         LoggerEnum.INFO.name());
+    Map<String, Object> cachedCourseBatches = getCachedCourseBatch(courseBatchIds, requestedFields);
+    if (cachedCourseBatches != null) {
+      return cachedCourseBatches;
+    }
 
     Map<String, Object> esQueryMap = new HashMap<>();
     esQueryMap.put(JsonKey.IDENTIFIER, courseBatchIds);
@@ -166,6 +171,45 @@ public class LearnerStateActor extends BaseActor {
         dto, ProjectUtil.EsIndex.sunbird.getIndexName(), ProjectUtil.EsType.course.getTypeName());
   }
 
+  /**
+   * This method will read requested fields of given batches from the course batch cache.
+   *
+   * @return Batches in the format of the ES search result, or null if any batch could not be read
+   *     from the cache and ES needs to be searched
+   */
+  private Map<String, Object> getCachedCourseBatch(
+      List<String> courseBatchIds, List<String> requestedFields) {
+    if (requestedFields.contains(JsonKey.PARTICIPANT)) {
+      return null;
+    }
+    List<Map<String, Object>> courseBatches = new ArrayList<>();
+    try {
+      for (String courseBatchId : courseBatchIds) {
+        Map<String, Object> courseBatch = CourseBatchCache.getInstance().get(courseBatchId);
+        if (courseBatch == null) {
+          return null;
+        }
+        Map<String, Object> fields = new HashMap<>();
+        for (String field : requestedFields) {
+          if (courseBatch.containsKey(field)) {
+            fields.put(field, courseBatch.get(field));
+          }
+        }
+        fields.put(JsonKey.IDENTIFIER, courseBatchId);
+        courseBatches.add(fields);
+      }
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "LearnerStateActor:getCachedCourseBatch: Exception in reading batches from cache "
+              + e.getMessage(),
+          LoggerEnum.ERROR.name());
+      return null;
+    }
+    Map<String, Object> result = new HashMap<>();
+    result.put(JsonKey.CONTENT, courseBatches);
+    return result;
+  }
+
   public void mergeDetailsAndSendCourses(
       Map<String, Object> coursesContents,
       List<Map<String, Object>> batches,
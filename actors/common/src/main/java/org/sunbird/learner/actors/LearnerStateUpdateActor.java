@@ -11,7 +11,13 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
@@ -30,6 +36,10 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.OperationMetrics;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryUtil;
 
@@ -47,7 +57,22 @@ public class LearnerStateUpdateActor extends BaseActor {
 
   private static final String CONTENT_STATE_INFO = "contentStateInfo";
 
+  private static final String CONCURRENT_WRITE_ENABLED =
+      "sunbird_content_state_concurrent_write_enabled";
+  private static final String WRITES_IN_FLIGHT = "sunbird_content_state_writes_in_flight";
+  private static final int DEFAULT_WRITES_IN_FLIGHT = 20;
+  private static final String POOL = "contentStateWrite";
+  private static final int DEFAULT_POOL_SIZE = 16;
+  private static final int POOL_QUEUE_SIZE = 256;
+  private static final OperationMetrics metrics = new OperationMetrics("addContent");
+
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private boolean concurrentWriteEnabled =
+      ConfigReader.getBooleanConfig(CONCURRENT_WRITE_ENABLED, true);
+  private int writesInFlight =
+      Math.max(1, ConfigReader.getIntConfig(WRITES_IN_FLIGHT, DEFAULT_WRITES_IN_FLIGHT));
+  private ExecutorService writeExecutor =
+      ExecutorManager.getExecutor(POOL, DEFAULT_POOL_SIZE, POOL_QUEUE_SIZE);
 
   /**
    * Receives the actor message and perform the add content operation .
@@ -64,10 +89,8 @@ public class LearnerStateUpdateActor extends BaseActor {
     Response response = new Response();
     if (request.getOperation().equalsIgnoreCase(ActorOperations.ADD_CONTENT.getValue())) {
       Util.DbInfo dbInfo = Util.dbInfoMap.get(JsonKey.LEARNER_CONTENT_DB);
-      Util.DbInfo batchdbInfo = Util.dbInfoMap.get(JsonKey.COURSE_BATCH_DB);
-      // objects of telemetry event...
-      Map<String, Object> targetObject = null;
-      List<Map<String, Object>> correlatedObject = null;
+      long startTime = System.currentTimeMillis();
+      int writeCount = 0;
 
       String userId = (String) request.getRequest().get(JsonKey.USER_ID);
       List<Map<String, Object>> requestedcontentList =
@@ -100,16 +123,11 @@ public class LearnerStateUpdateActor extends BaseActor {
               contentList.remove(map);
               continue;
             }
-            Response batchResponse =
-                cassandraOperation.getRecordById(
-                    batchdbInfo.getKeySpace(), batchdbInfo.getTableName(), batchId);
-            List<Map<String, Object>> batches =
-                (List<Map<String, Object>>) batchResponse.getResult().get(JsonKey.RESPONSE);
-            if (batches.isEmpty()) {
+            Map<String, Object> batchInfo = CourseBatchCache.getInstance().get(batchId);
+            if (batchInfo == null) {
               invalidBatchIds.add(batchId);
               flag = false;
             } else {
-              Map<String, Object> batchInfo = batches.get(0);
               flag = validateBatchRange(batchInfo);
               if (flag) {
                 validBatchIds.add(batchId);
@@ -138,43 +156,20 @@ public class LearnerStateUpdateActor extends BaseActor {
                   generateUserCoursesPrimaryKey(map),
                   ProjectUtil.BulkProcessStatus.IN_PROGRESS.name());
               count++;
+              writeCount++;
             }
-            cassandraOperation.upsertRecord(dbInfo.getKeySpace(), dbInfo.getTableName(), map);
-            response.getResult().put((String) map.get(JsonKey.CONTENT_ID), JsonKey.SUCCESS);
           } catch (Exception e) {
             ProjectLogger.log(
                 "LearnerStateUpdateActor:onReceive Error occured during db update:" + e,
                 LoggerEnum.ERROR.name());
             response.getResult().put((String) map.get(JsonKey.CONTENT_ID), JsonKey.FAILED);
             contentList.remove(map);
-            continue;
-          }
-          // create telemetry for user for each content ...
-          try {
-            targetObject =
-                TelemetryUtil.generateTargetObject(
-                    (String) map.get(JsonKey.CONTENT_ID),
-                    StringUtils.capitalize(JsonKey.CONTENT),
-                    JsonKey.CREATE,
-                    null);
-            // since this event will generate multiple times so nedd to recreate correlated
-            // objects every time ...
-            correlatedObject = new ArrayList<>();
-            TelemetryUtil.generateCorrelatedObject(
-                (String) map.get(JsonKey.COURSE_ID), JsonKey.COURSE, null, correlatedObject);
-            TelemetryUtil.generateCorrelatedObject(
-                (String) map.get(JsonKey.BATCH_ID), TelemetryEnvKey.BATCH, null, correlatedObject);
-            Map<String, String> rollUp = new HashMap<>();
-            rollUp.put("l1", (String) map.get(JsonKey.COURSE_ID));
-            TelemetryUtil.addTargetObjectRollUp(rollUp, targetObject);
-            TelemetryUtil.telemetryProcessingCall(
-                request.getRequest(), targetObject, correlatedObject);
-          } catch (Exception ex) {
-            ProjectLogger.log(
-                "LearnerStateUpdateActor:onReceive Error occured during telemetry:" + ex,
-                LoggerEnum.ERROR.name());
           }
         }
+        writeCount += saveContentStates(dbInfo, contentList, response);
+        for (Map<String, Object> map : contentList) {
+          generateTelemetry(request, map);
+        }
       } else {
         ProjectLogger.log(
             "LearnerStateUpdateActor:onReceive content state update method called for user and total content "
@@ -183,14 +178,102 @@ public class LearnerStateUpdateActor extends BaseActor {
             LoggerEnum.INFO.name());
       }
       request.getRequest().put(CONTENT_STATE_INFO, contentStatusHolder);
-      updateUserCourses(request);
+      writeCount += updateUserCourses(request);
       sender().tell(response, self());
+      metrics.record(System.currentTimeMillis() - startTime, writeCount);
     } else {
       onReceiveUnsupportedOperation(request.getOperation());
     }
   }
 
-  private void updateUserCourses(Request request) {
+  /**
+   * This method will write the content states of a request. Each content state is its own partition
+   * of the content consumption table, so rows are upserted one by one, up to writes in flight rows
+   * at a time on a shared pool, rather than in a multi-partition logged batch. Contents which could
+   * not be written are removed from the list.
+   *
+   * @param dbInfo Content consumption table info
+   * @param contentList Content states to write
+   * @param response Response to put the status of each content in
+   * @return Number of rows written
+   */
+  private int saveContentStates(
+      Util.DbInfo dbInfo, List<Map<String, Object>> contentList, Response response) {
+    int writeCount = 0;
+    List<Map<String, Object>> pending = new ArrayList<>(contentList);
+    for (int i = 0; i < pending.size(); i += writesInFlight) {
+      List<Map<String, Object>> window =
+          pending.subList(i, Math.min(i + writesInFlight, pending.size()));
+      List<Future<Response>> writes = new ArrayList<>();
+      for (Map<String, Object> map : window) {
+        writes.add(
+            submitWrite(
+                () ->
+                    cassandraOperation.upsertRecord(
+                        dbInfo.getKeySpace(), dbInfo.getTableName(), map)));
+      }
+      for (int j = 0; j < window.size(); j++) {
+        Map<String, Object> map = window.get(j);
+        try {
+          writes.get(j).get();
+          response.getResult().put((String) map.get(JsonKey.CONTENT_ID), JsonKey.SUCCESS);
+          writeCount++;
+        } catch (InterruptedException | ExecutionException e) {
+          if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+          }
+          ProjectLogger.log(
+              "LearnerStateUpdateActor:saveContentStates Error occured during db update:"
+                  + (e instanceof ExecutionException ? e.getCause() : e),
+              LoggerEnum.ERROR.name());
+          response.getResult().put((String) map.get(JsonKey.CONTENT_ID), JsonKey.FAILED);
+          contentList.remove(map);
+        }
+      }
+    }
+    return writeCount;
+  }
+
+  private Future<Response> submitWrite(Callable<Response> write) {
+    if (concurrentWriteEnabled) {
+      try {
+        return writeExecutor.submit(write);
+      } catch (RejectedExecutionException e) {
+        // pool is saturated, write on the actor thread
+      }
+    }
+    FutureTask<Response> task = new FutureTask<>(write);
+    task.run();
+    return task;
+  }
+
+  private void generateTelemetry(Request request, Map<String, Object> map) {
+    try {
+      Map<String, Object> targetObject =
+          TelemetryUtil.generateTargetObject(
+              (String) map.get(JsonKey.CONTENT_ID),
+              StringUtils.capitalize(JsonKey.CONTENT),
+              JsonKey.CREATE,
+              null);
+      // since this event will generate multiple times so nedd to recreate correlated
+      // objects every time ...
+      List<Map<String, Object>> correlatedObject = new ArrayList<>();
+      TelemetryUtil.generateCorrelatedObject(
+          (String) map.get(JsonKey.COURSE_ID), JsonKey.COURSE, null, correlatedObject);
+      TelemetryUtil.generateCorrelatedObject(
+          (String) map.get(JsonKey.BATCH_ID), TelemetryEnvKey.BATCH, null, correlatedObject);
+      Map<String, String> rollUp = new HashMap<>();
+      rollUp.put("l1", (String) map.get(JsonKey.COURSE_ID));
+      TelemetryUtil.addTargetObjectRollUp(rollUp, targetObject);
+      TelemetryUtil.telemetryProcessingCall(request.getRequest(), targetObject, correlatedObject);
+    } catch (Exception ex) {
+      ProjectLogger.log(
+          "LearnerStateUpdateActor:onReceive Error occured during telemetry:" + ex,
+          LoggerEnum.ERROR.name());
+    }
+  }
+
+  private int updateUserCourses(Request request) {
     // get the list of content objects
     List<Map<String, Object>> contentList =
         (List<Map<String, Object>>) request.getRequest().get(JsonKey.CONTENTS);
@@ -238,7 +321,7 @@ public class LearnerStateUpdateActor extends BaseActor {
       }
     }
     // logic to update the course
-    updateCourse(temp, contentStateInfo);
+    return updateCourse(temp, contentStateInfo);
   }
 
   /**
@@ -246,12 +329,14 @@ public class LearnerStateUpdateActor extends BaseActor {
    *
    * @param temp Map<String, Object>
    * @param contentStateInfo Map<String, Integer>
+   * @return Number of course records written
    */
   @SuppressWarnings("unchecked")
-  private void updateCourse(Map<String, Object> temp, Map<String, Integer> contentStateInfo) {
+  private int updateCourse(Map<String, Object> temp, Map<String, Integer> contentStateInfo) {
     Util.DbInfo dbInfo = Util.dbInfoMap.get(JsonKey.LEARNER_COURSE_DB);
     ProjectLogger.log(
         "LearnerStateUpdateActor:updateCourse method called started:", LoggerEnum.INFO.name());
+    int writeCount = 0;
     for (Map.Entry<String, Object> entry : temp.entrySet()) {
       String key = entry.getKey();
       Map<String, Object> value = (Map<String, Object>) entry.getValue();
@@ -296,9 +381,9 @@ public class LearnerStateUpdateActor extends BaseActor {
             (contentStateInfo.get(((Map<String, Object>) value.get("content")).get(JsonKey.ID))));
         updateDb.put(JsonKey.PROCESSING_STATUS, ProjectUtil.BulkProcessStatus.COMPLETED.name());
         try {
+          // processing status is set to completed by the same upsert
           cassandraOperation.upsertRecord(dbInfo.getKeySpace(), dbInfo.getTableName(), updateDb);
-          updateUserCourseStatus(
-              (String) course.get(JsonKey.ID), ProjectUtil.BulkProcessStatus.COMPLETED.name());
+          writeCount++;
           ProjectLogger.log(
               "LearnerStateUpdateActor:updateCourse user courses DB updated successfully : ",
               LoggerEnum.INFO.name());
@@ -322,6 +407,7 @@ public class LearnerStateUpdateActor extends BaseActor {
             LoggerEnum.ERROR.name());
       }
     }
+    return writeCount;
   }
 
   private Map<String, Object> getLatestContent(
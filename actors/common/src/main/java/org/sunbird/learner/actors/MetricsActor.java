@@ -0,0 +1,29 @@
+package org.sunbird.learner.actors;
+
+import org.sunbird.actor.core.BaseActor;
+import org.sunbird.actor.metrics.MetricsRegistry;
+import org.sunbird.actor.router.ActorConfig;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.Request;
+import org.sunbird.common.responsecode.ResponseCode;
+
+/** This actor will reply with metrics of all sources registered with {@link MetricsRegistry}. */
+@ActorConfig(
+  tasks = {"getMetrics"},
+  asyncTasks = {}
+)
+public class MetricsActor extends BaseActor {
+
+  @Override
+  public void onReceive(Request request) throws Throwable {
+    if ("getMetrics".equals(request.getOperation())) {
+      Response response = new Response();
+      response.setResponseCode(ResponseCode.success);
+      response.put(JsonKey.RESPONSE, MetricsRegistry.getMetrics());
+      sender().tell(response, self());
+    } else {
+      onReceiveUnsupportedOperation("MetricsActor");
+    }
+  }
+}
@@ -50,7 +50,7 @@ public class SchedularActor extends BaseActor {
         try {
           Map<String, Object> bulkMap = new HashMap<>();
           bulkMap.put(JsonKey.DATA, UserUtility.encryptData(data));
-          bulkMap.put(JsonKey.PROCESS_ID, map.get(JsonKey.ID));
+          bulkMap.put(JsonKey.ID, map.get(JsonKey.ID));
           bulkMap.put(JsonKey.STATUS, ProjectUtil.BulkProcessStatus.FAILED.getValue());
           cassandraOperation.updateRecord(bulkDb.getKeySpace(), bulkDb.getTableName(), bulkMap);
         } catch (Exception e) {
@@ -3,27 +3,68 @@ package org.sunbird.learner.actors;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 
 /** @author Mahesh Kumar Gangula */
 @ActorConfig(
-  tasks = {},
+  tasks = {"startThreadSampling", "stopThreadSampling", "getThreadSamples"},
   asyncTasks = {"takeThreadDump"}
 )
 public class ThreadDumpActor extends BaseActor {
 
+  private static final String INTERVAL_MS = "intervalMs";
+  private static final String DURATION_SECONDS = "durationSeconds";
+  private static final String LIMIT = "limit";
+  private static final int DEFAULT_LIMIT = 500;
+
   @Override
   public void onReceive(Request request) throws Throwable {
-    takeThreadDump();
     Response response = new Response();
     response.setResponseCode(ResponseCode.success);
+    ThreadSampler sampler = ThreadSampler.getInstance();
+    switch (request.getOperation()) {
+      case "takeThreadDump":
+        takeThreadDump();
+        break;
+      case "startThreadSampling":
+        sampler.start(getLong(request, INTERVAL_MS), getLong(request, DURATION_SECONDS));
+        response.put(JsonKey.RESPONSE, sampler.getProfile(getLimit(request)));
+        break;
+      case "stopThreadSampling":
+        sampler.stop();
+        response.put(JsonKey.RESPONSE, sampler.getProfile(getLimit(request)));
+        break;
+      case "getThreadSamples":
+        response.put(JsonKey.RESPONSE, sampler.getProfile(getLimit(request)));
+        break;
+      default:
+        onReceiveUnsupportedOperation("ThreadDumpActor");
+        return;
+    }
     sender().tell(response, self());
   }
 
+  private Long getLong(Request request, String key) {
+    Object value = request.getRequest().get(key);
+    if (value instanceof Number) {
+      return ((Number) value).longValue();
+    }
+    return value instanceof String && StringUtils.isNumeric((String) value)
+        ? Long.valueOf((String) value)
+        : null;
+  }
+
+  private int getLimit(Request request) {
+    Long limit = getLong(request, LIMIT);
+    return limit != null && limit > 0 ? limit.intValue() : DEFAULT_LIMIT;
+  }
+
   private void takeThreadDump() {
     final StringBuilder dump = new StringBuilder();
     final StringBuilder details = new StringBuilder();
@@ -0,0 +1,295 @@
+package org.sunbird.learner.actors;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+
+/**
+ * Samples stacks of all live threads at a fixed rate and aggregates them into collapsed stacks
+ * (one line per distinct stack, frames from root to leaf separated by ';', followed by sample
+ * count) as consumed by flame graph tools.
+ *
+ * <p>Each stack is rooted at the thread pool name (thread name without trailing digits) and ends
+ * with the thread state, so time spent blocked on dispatcher threads shows up as its own frame.
+ * Per pool state counts, blocked and waited time, and the monitors threads were blocked on are
+ * recorded along with stacks. Memory is bounded by the maximum number of distinct stacks and
+ * locks and the maximum stack depth; samples beyond these limits are only counted as dropped.
+ * Sampling stops on request or once the maximum duration is reached, and the last profile stays
+ * available until sampling is started again.
+ */
+public final class ThreadSampler {
+
+  private static final String INTERVAL = "sunbird_thread_sampling_interval_ms";
+  private static final String MAX_DURATION = "sunbird_thread_sampling_max_duration_seconds";
+  private static final String MAX_STACKS = "sunbird_thread_sampling_max_stacks";
+  private static final String MAX_DEPTH = "sunbird_thread_sampling_max_depth";
+  private static final long DEFAULT_INTERVAL = 100;
+  private static final long MIN_INTERVAL = 10;
+  private static final long DEFAULT_MAX_DURATION = 600;
+  private static final int DEFAULT_MAX_STACKS = 5000;
+  private static final int DEFAULT_MAX_DEPTH = 64;
+  private static final String POOL = "threadSampler";
+  private static final ThreadSampler instance = new ThreadSampler();
+
+  private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+  private final ScheduledExecutorService scheduler = ExecutorManager.getScheduledExecutor(POOL, 1);
+  private ScheduledFuture<?> sampling;
+  private ScheduledFuture<?> stopping;
+  private Profile profile;
+  private boolean contentionMonitoringChanged;
+
+  ThreadSampler() {}
+
+  public static ThreadSampler getInstance() {
+    return instance;
+  }
+
+  /**
+   * This method will start sampling, discarding the previous profile. If sampling is already
+   * running it is restarted with given values.
+   *
+   * @param intervalMs Sampling interval in milliseconds, configured value is used if null
+   * @param durationSeconds Time after which sampling stops, configured maximum is used if null or
+   *     greater than maximum
+   */
+  public synchronized void start(Long intervalMs, Long durationSeconds) {
+    stop();
+    long interval =
+        intervalMs != null ? intervalMs : ConfigReader.getLongConfig(INTERVAL, DEFAULT_INTERVAL);
+    interval = Math.max(MIN_INTERVAL, interval);
+    long maxDuration = ConfigReader.getLongConfig(MAX_DURATION, DEFAULT_MAX_DURATION);
+    long duration = durationSeconds != null ? Math.min(durationSeconds, maxDuration) : maxDuration;
+    if (threadMXBean.isThreadContentionMonitoringSupported()
+        && !threadMXBean.isThreadContentionMonitoringEnabled()) {
+      threadMXBean.setThreadContentionMonitoringEnabled(true);
+      contentionMonitoringChanged = true;
+    }
+    profile =
+        new Profile(
+            interval,
+            ConfigReader.getIntConfig(MAX_STACKS, DEFAULT_MAX_STACKS),
+            ConfigReader.getIntConfig(MAX_DEPTH, DEFAULT_MAX_DEPTH));
+    Profile current = profile;
+    sampling =
+        scheduler.scheduleAtFixedRate(() -> sample(current), 0, interval, TimeUnit.MILLISECONDS);
+    stopping = scheduler.schedule(this::stop, duration, TimeUnit.SECONDS);
+    ProjectLogger.log(
+        "ThreadSampler:start: Sampling every " + interval + " ms for " + duration + " s",
+        LoggerEnum.INFO.name());
+  }
+
+  public synchronized void stop() {
+    if (sampling == null) {
+      return;
+    }
+    sampling.cancel(false);
+    stopping.cancel(false);
+    sampling = null;
+    stopping = null;
+    if (contentionMonitoringChanged) {
+      threadMXBean.setThreadContentionMonitoringEnabled(false);
+      contentionMonitoringChanged = false;
+    }
+    profile.stop();
+    ProjectLogger.log(
+        "ThreadSampler:stop: Collected " + profile.sampleCount + " samples",
+        LoggerEnum.INFO.name());
+  }
+
+  /**
+   * This method will return the profile collected so far.
+   *
+   * @param limit Maximum number of stacks and locks to return, most frequent first
+   * @return Profile, or empty map if sampling was never started
+   */
+  public synchronized Map<String, Object> getProfile(int limit) {
+    Map<String, Object> result = profile == null ? new HashMap<>() : profile.toMap(limit);
+    result.put("running", sampling != null);
+    return result;
+  }
+
+  private void sample(Profile current) {
+    try {
+      ThreadInfo[] threadInfos =
+          threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds(), current.maxDepth);
+      current.add(threadInfos);
+    } catch (Exception e) {
+      ProjectLogger.log("ThreadSampler:sample: Sampling failed", e);
+    }
+  }
+
+  private static String getPoolName(String threadName) {
+    int end = threadName.length();
+    while (end > 0
+        && (Character.isDigit(threadName.charAt(end - 1)) || threadName.charAt(end - 1) == '-')) {
+      end--;
+    }
+    return end == 0 ? threadName : threadName.substring(0, end);
+  }
+
+  private static <K> List<Map.Entry<K, long[]>> top(Map<K, long[]> counts, int limit) {
+    List<Map.Entry<K, long[]>> entries = new ArrayList<>(counts.entrySet());
+    entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+    return entries.size() > limit ? entries.subList(0, limit) : entries;
+  }
+
+  /** Aggregated samples; updated by sampler thread and read under lock on this profile. */
+  private static class Profile {
+    private final long intervalMs;
+    private final int maxStacks;
+    private final int maxDepth;
+    private final long startTime = System.currentTimeMillis();
+    private long endTime;
+    private long sampleCount;
+    private long droppedCount;
+    private final Map<String, long[]> stackCounts = new HashMap<>();
+    private final Map<String, long[]> lockCounts = new HashMap<>();
+    private final Map<String, PoolStats> poolStats = new HashMap<>();
+    private Map<Long, long[]> lastThreadTimes = new HashMap<>();
+
+    private Profile(long intervalMs, int maxStacks, int maxDepth) {
+      this.intervalMs = intervalMs;
+      this.maxStacks = maxStacks;
+      this.maxDepth = maxDepth;
+    }
+
+    private synchronized void add(ThreadInfo[] threadInfos) {
+      // a sample taken while sampling is being stopped is discarded
+      if (endTime != 0) {
+        return;
+      }
+      sampleCount++;
+      Map<Long, long[]> threadTimes = new HashMap<>();
+      for (ThreadInfo threadInfo : threadInfos) {
+        if (threadInfo == null) {
+          continue;
+        }
+        String pool = getPoolName(threadInfo.getThreadName());
+        if (POOL.equals(pool)) {
+          continue;
+        }
+        Thread.State state = threadInfo.getThreadState();
+        PoolStats stats = poolStats.computeIfAbsent(pool, key -> new PoolStats());
+        stats.stateCounts.merge(state.name(), 1L, Long::sum);
+        long[] times = {
+          threadInfo.getBlockedCount(),
+          threadInfo.getBlockedTime(),
+          threadInfo.getWaitedCount(),
+          threadInfo.getWaitedTime()
+        };
+        long[] lastTimes = lastThreadTimes.get(threadInfo.getThreadId());
+        if (lastTimes != null) {
+          stats.addDelta(times, lastTimes);
+        }
+        threadTimes.put(threadInfo.getThreadId(), times);
+        increment(stackCounts, getStack(pool, threadInfo));
+        if (state == Thread.State.BLOCKED && threadInfo.getLockName() != null) {
+          increment(lockCounts, threadInfo.getLockName() + " owned by " + getOwner(threadInfo));
+        }
+      }
+      lastThreadTimes = threadTimes;
+    }
+
+    private String getStack(String pool, ThreadInfo threadInfo) {
+      StringBuilder stack = new StringBuilder(pool);
+      StackTraceElement[] frames = threadInfo.getStackTrace();
+      for (int i = frames.length - 1; i >= 0; i--) {
+        stack
+            .append(';')
+            .append(frames[i].getClassName())
+            .append('.')
+            .append(frames[i].getMethodName());
+      }
+      return stack.append(";[").append(threadInfo.getThreadState()).append(']').toString();
+    }
+
+    private String getOwner(ThreadInfo threadInfo) {
+      return threadInfo.getLockOwnerName() == null
+          ? "unknown"
+          : getPoolName(threadInfo.getLockOwnerName());
+    }
+
+    private void increment(Map<String, long[]> counts, String key) {
+      long[] count = counts.get(key);
+      if (count == null) {
+        if (counts.size() >= maxStacks) {
+          droppedCount++;
+          return;
+        }
+        count = new long[1];
+        counts.put(key, count);
+      }
+      count[0]++;
+    }
+
+    private synchronized void stop() {
+      endTime = System.currentTimeMillis();
+    }
+
+    private synchronized Map<String, Object> toMap(int limit) {
+      Map<String, Object> result = new HashMap<>();
+      result.put("intervalMs", intervalMs);
+      result.put("startTime", startTime);
+      result.put(
+          "durationMs", (endTime == 0 ? System.currentTimeMillis() : endTime) - startTime);
+      result.put("samples", sampleCount);
+      result.put("distinctStacks", stackCounts.size());
+      result.put("droppedSamples", droppedCount);
+      List<String> stacks = new ArrayList<>();
+      for (Map.Entry<String, long[]> entry : top(stackCounts, limit)) {
+        stacks.add(entry.getKey() + " " + entry.getValue()[0]);
+      }
+      result.put("collapsedStacks", stacks);
+      Map<String, Object> locks = new HashMap<>();
+      for (Map.Entry<String, long[]> entry : top(lockCounts, limit)) {
+        locks.put(entry.getKey(), entry.getValue()[0]);
+      }
+      result.put("blockedOnLocks", locks);
+      Map<String, Object> pools = new HashMap<>();
+      poolStats.forEach((pool, stats) -> pools.put(pool, stats.toMap()));
+      result.put("pools", pools);
+      return result;
+    }
+  }
+
+  /** State sample counts and contention counters of threads of a pool. */
+  private static class PoolStats {
+    private final Map<String, Long> stateCounts = new HashMap<>();
+    private long blockedCount;
+    private long blockedTime;
+    private long waitedCount;
+    private long waitedTime;
+
+    private void addDelta(long[] times, long[] lastTimes) {
+      blockedCount += times[0] - lastTimes[0];
+      waitedCount += times[2] - lastTimes[2];
+      // times are -1 when contention monitoring is not enabled
+      if (times[1] >= 0 && lastTimes[1] >= 0) {
+        blockedTime += times[1] - lastTimes[1];
+      }
+      if (times[3] >= 0 && lastTimes[3] >= 0) {
+        waitedTime += times[3] - lastTimes[3];
+      }
+    }
+
+    private Map<String, Object> toMap() {
+      Map<String, Object> result = new HashMap<>(stateCounts);
+      result.put("blockedCount", blockedCount);
+      result.put("blockedTimeMs", blockedTime);
+      result.put("waitedCount", waitedCount);
+      result.put("waitedTimeMs", waitedTime);
+      return result;
+    }
+  }
+}
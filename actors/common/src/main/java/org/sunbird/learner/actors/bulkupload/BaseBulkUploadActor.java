@@ -469,6 +469,7 @@ public abstract class BaseBulkUploadActor extends BaseActor {
     request.put(JsonKey.FIELDS, allowedFields);
     request.setOperation(operation);
 
+    BulkUploadQueue.getInstance().enqueue(processId, bulkUploadProcess.getObjectType());
     tellToAnother(request);
   }
 
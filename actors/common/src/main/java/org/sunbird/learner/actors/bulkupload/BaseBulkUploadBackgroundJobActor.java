@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.FileUtils;
@@ -71,30 +72,42 @@ public abstract class BaseBulkUploadBackgroundJobActor extends BaseBulkUploadAct
 
     ProjectLogger.log(logMessagePrefix + "called", LoggerEnum.INFO);
 
-    BulkUploadProcess bulkUploadProcess = bulkUploadDao.read(processId);
-    if (null == bulkUploadProcess) {
-      ProjectLogger.log(logMessagePrefix + "Invalid process ID.", LoggerEnum.ERROR);
+    BulkUploadQueue queue = BulkUploadQueue.getInstance();
+    if (!queue.isClaimed(request, self())) {
+      ProjectLogger.log(logMessagePrefix + "Lease not held, processing deferred.", LoggerEnum.INFO);
       return;
     }
-
-    int status = bulkUploadProcess.getStatus();
-    if (!(ProjectUtil.BulkProcessStatus.COMPLETED.getValue() == status)
-        || ProjectUtil.BulkProcessStatus.INTERRUPT.getValue() == status) {
-      try {
-        function.apply(bulkUploadProcess);
-      } catch (Exception e) {
-        bulkUploadProcess.setStatus(ProjectUtil.BulkProcessStatus.FAILED.getValue());
-        bulkUploadProcess.setFailureResult(e.getMessage());
-        bulkUploadDao.update(bulkUploadProcess);
-        ProjectLogger.log(
-            logMessagePrefix + "Exception occurred with error message = " + e.getMessage(),
-            LoggerEnum.INFO,
-            e);
+    try {
+      BulkUploadProcess bulkUploadProcess = bulkUploadDao.read(processId);
+      if (null == bulkUploadProcess) {
+        ProjectLogger.log(logMessagePrefix + "Invalid process ID.", LoggerEnum.ERROR);
+        return;
+      }
+      int status = bulkUploadProcess.getStatus();
+      if (!(ProjectUtil.BulkProcessStatus.COMPLETED.getValue() == status)
+          || ProjectUtil.BulkProcessStatus.INTERRUPT.getValue() == status) {
+        try {
+          function.apply(bulkUploadProcess);
+        } catch (BulkUploadQueue.LeaseLostException e) {
+          ProjectLogger.log(
+              logMessagePrefix + "Stopped as the lease was taken over.", LoggerEnum.WARN);
+          return;
+        } catch (Exception e) {
+          bulkUploadProcess.setStatus(ProjectUtil.BulkProcessStatus.FAILED.getValue());
+          bulkUploadProcess.setFailureResult(e.getMessage());
+          bulkUploadDao.update(bulkUploadProcess);
+          ProjectLogger.log(
+              logMessagePrefix + "Exception occurred with error message = " + e.getMessage(),
+              LoggerEnum.INFO,
+              e);
+        }
       }
-    }
 
-    bulkUploadProcess.setStatus(ProjectUtil.BulkProcessStatus.COMPLETED.getValue());
-    bulkUploadDao.update(bulkUploadProcess);
+      bulkUploadProcess.setStatus(ProjectUtil.BulkProcessStatus.COMPLETED.getValue());
+      bulkUploadDao.update(bulkUploadProcess);
+    } finally {
+      queue.release(processId);
+    }
   }
 
   public void processBulkUpload(
@@ -110,6 +123,7 @@ public abstract class BaseBulkUploadBackgroundJobActor extends BaseBulkUploadAct
     List<Map<String, Object>> successList = new LinkedList<>();
     List<Map<String, Object>> failureList = new LinkedList<>();
     while (sequence < taskCount) {
+      BulkUploadQueue.getInstance().checkLease(bulkUploadProcess.getId());
       Integer nextSequence = sequence + CASSANDRA_BATCH_SIZE;
       Map<String, Object> queryMap = new HashMap<>();
       queryMap.put(JsonKey.PROCESS_ID, bulkUploadProcess.getId());
@@ -132,32 +146,76 @@ public abstract class BaseBulkUploadBackgroundJobActor extends BaseBulkUploadAct
         continue;
       }
       function.apply(tasks);
+      collectResults(tasks, successList, failureList, logMessagePrefix);
+      performBatchUpdate(tasks);
+      sequence = nextSequence;
+    }
+    setCompletionStatus(
+        bulkUploadProcess, successList, failureList, outputColumnMap, outputColumnsOrder);
+  }
 
-      try {
-        for (BulkUploadProcessTask task : tasks) {
+  /**
+   * This method will process the tasks of a bulk upload process like {@link #processBulkUpload},
+   * with partitions of sequence ids processed concurrently by a {@link BulkUploadPartitionRunner}.
+   * Each partition is written back to bulk_upload_process_task as soon as it is processed, and
+   * results are written to the result file in sequence order.
+   *
+   * @param bulkUploadProcess Bulk upload process
+   * @param processor Processes the tasks of a partition, and must be safe to call concurrently
+   * @param outputColumnMap Display names of output columns
+   * @param outputColumnsOrder Output columns in order
+   */
+  public void processBulkUploadInPartitions(
+      BulkUploadProcess bulkUploadProcess,
+      Consumer<List<BulkUploadProcessTask>> processor,
+      Map<String, String> outputColumnMap,
+      String[] outputColumnsOrder) {
+    String logMessagePrefix =
+        MessageFormat.format(
+            "BaseBulkUploadBackGroundJobActor:processBulkUploadInPartitions:{0}: ",
+            bulkUploadProcess.getId());
+    List<BulkUploadProcessTask> tasks =
+        new BulkUploadPartitionRunner(bulkUploadProcessTaskDao)
+            .run(
+                bulkUploadProcess.getId(),
+                bulkUploadProcess.getTaskCount(),
+                bulkUploadProcess.getOrganisationId(),
+                CASSANDRA_BATCH_SIZE,
+                partition -> {
+                  BulkUploadQueue.getInstance().checkLease(bulkUploadProcess.getId());
+                  processor.accept(partition);
+                  performBatchUpdate(partition);
+                });
+    List<Map<String, Object>> successList = new LinkedList<>();
+    List<Map<String, Object>> failureList = new LinkedList<>();
+    collectResults(tasks, successList, failureList, logMessagePrefix);
+    setCompletionStatus(
+        bulkUploadProcess, successList, failureList, outputColumnMap, outputColumnsOrder);
+  }
 
-          if (task.getStatus().equals(ProjectUtil.BulkProcessStatus.FAILED.getValue())) {
-            failureList.add(
-                mapper.readValue(
-                    task.getFailureResult(), new TypeReference<Map<String, Object>>() {}));
-          } else if (task.getStatus().equals(ProjectUtil.BulkProcessStatus.COMPLETED.getValue())) {
-            successList.add(
-                mapper.readValue(
-                    task.getSuccessResult(), new TypeReference<Map<String, Object>>() {}));
-          }
+  private void collectResults(
+      List<BulkUploadProcessTask> tasks,
+      List<Map<String, Object>> successList,
+      List<Map<String, Object>> failureList,
+      String logMessagePrefix) {
+    for (BulkUploadProcessTask task : tasks) {
+      try {
+        if (task.getStatus().equals(ProjectUtil.BulkProcessStatus.FAILED.getValue())) {
+          failureList.add(
+              mapper.readValue(
+                  task.getFailureResult(), new TypeReference<Map<String, Object>>() {}));
+        } else if (task.getStatus().equals(ProjectUtil.BulkProcessStatus.COMPLETED.getValue())) {
+          successList.add(
+              mapper.readValue(
+                  task.getSuccessResult(), new TypeReference<Map<String, Object>>() {}));
         }
-
       } catch (IOException e) {
         ProjectLogger.log(
             logMessagePrefix + "Exception occurred with error message = " + e.getMessage(),
             LoggerEnum.INFO,
             e);
       }
-      performBatchUpdate(tasks);
-      sequence = nextSequence;
     }
-    setCompletionStatus(
-        bulkUploadProcess, successList, failureList, outputColumnMap, outputColumnsOrder);
   }
 
   private void setCompletionStatus(
@@ -80,7 +80,23 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
     Util.initializeContext(request, TelemetryEnvKey.USER);
     ExecutionContext.setRequestId(request.getRequestId());
     if (request.getOperation().equalsIgnoreCase(ActorOperations.PROCESS_BULK_UPLOAD.getValue())) {
-      process(request);
+      String id = (String) request.get(JsonKey.PROCESS_ID);
+      BulkUploadQueue queue = BulkUploadQueue.getInstance();
+      if (!queue.isClaimed(request, self())) {
+        ProjectLogger.log(
+            "BulkUploadBackGroundJobActor: processId " + id + " is not leased yet",
+            LoggerEnum.INFO.name());
+        return;
+      }
+      try {
+        process(request);
+      } catch (BulkUploadQueue.LeaseLostException e) {
+        ProjectLogger.log(
+            "BulkUploadBackGroundJobActor: processId " + id + " stopped as its lease was lost",
+            LoggerEnum.WARN.name());
+      } finally {
+        queue.release(id);
+      }
     } else {
       onReceiveUnsupportedOperation(request.getOperation());
     }
@@ -135,6 +151,7 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
     Map<String, Object> successListMap = null;
     Map<String, Object> failureListMap = null;
     for (Map<String, Object> batchMap : jsonList) {
+      BulkUploadQueue.getInstance().checkLease(processId);
       successListMap = new HashMap<>();
       failureListMap = new HashMap<>();
       Map<String, Object> tempFailList = new HashMap<>();
@@ -370,6 +387,7 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
     List<Map<String, Object>> failureList = new ArrayList<>();
     // Iteration for rootorg
     for (Map<String, Object> map : jsonList) {
+      BulkUploadQueue.getInstance().checkLease(processId);
       try {
         if (map.containsKey(JsonKey.IS_ROOT_ORG) && isNotNull(map.get(JsonKey.IS_ROOT_ORG))) {
           Boolean isRootOrg = Boolean.valueOf((String) map.get(JsonKey.IS_ROOT_ORG));
@@ -387,6 +405,7 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
 
     // Iteration for non root org
     for (Map<String, Object> map : jsonList) {
+      BulkUploadQueue.getInstance().checkLease(processId);
       try {
         processOrg(map, dataMap, successList, failureList, channelToRootOrgCache);
       } catch (Exception ex) {
@@ -953,6 +972,7 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
       hashTagId = Util.getHashTagIdFromOrgId(orgId);
     }
     for (int i = 0; i < dataMapList.size(); i++) {
+      BulkUploadQueue.getInstance().checkLease(processId);
       userMap = dataMapList.get(i);
       Map<String, Object> welcomeMailTemplateMap = new HashMap<>();
       String errMsg = validateUser(userMap);
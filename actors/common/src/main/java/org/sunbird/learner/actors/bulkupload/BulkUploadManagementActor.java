@@ -186,12 +186,7 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
                       decryptionService.decryptData((String) resMap.get(JsonKey.SUCCESS_RESULT)),
                       Object[].class);
               if (JsonKey.USER.equalsIgnoreCase(objectType)) {
-                Arrays.stream(successMap)
-                    .forEach(
-                        x -> {
-                          UserUtility.decryptUserData((Map<String, Object>) x);
-                          Util.addMaskEmailAndPhone((Map<String, Object>) x);
-                        });
+                decryptAndMaskUsers(successMap);
               }
               resMap.put(JsonKey.SUCCESS_RESULT, successMap);
             }
@@ -201,12 +196,7 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
                       decryptionService.decryptData((String) resMap.get(JsonKey.FAILURE_RESULT)),
                       Object[].class);
               if (JsonKey.USER.equalsIgnoreCase(objectType)) {
-                Arrays.stream(successMap)
-                    .forEach(
-                        x -> {
-                          UserUtility.decryptUserData((Map<String, Object>) x);
-                          Util.addMaskEmailAndPhone((Map<String, Object>) x);
-                        });
+                decryptAndMaskUsers(successMap);
               }
               resMap.put(JsonKey.FAILURE_RESULT, failureMap);
             }
@@ -250,6 +240,16 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private void decryptAndMaskUsers(Object[] users) {
+    List<Map<String, Object>> userMapList = new ArrayList<>();
+    for (Object user : users) {
+      userMapList.add((Map<String, Object>) user);
+    }
+    UserUtility.decryptUserData(userMapList);
+    Util.addMaskEmailAndPhone(userMapList);
+  }
+
   private void updateResponseStatus(Map<String, Object> response) {
     String status = "";
     int progressStatus = (int) response.get(JsonKey.STATUS);
@@ -527,6 +527,7 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
         LoggerEnum.INFO);
     sender().tell(res, self());
     if (((String) res.get(JsonKey.RESPONSE)).equalsIgnoreCase(JsonKey.SUCCESS)) {
+      BulkUploadQueue.getInstance().enqueue(processId, objectType);
       // send processId for data processing to background job
       Request request = new Request();
       request.put(JsonKey.PROCESS_ID, processId);
@@ -0,0 +1,175 @@
+package org.sunbird.learner.actors.bulkupload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Constants;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.BulkUploadJsonKey;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadProcessTaskDao;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadProcessTask;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+
+/**
+ * Runs the tasks of a bulk upload process in partitions of consecutive sequence ids. Partitions
+ * are read and processed concurrently on a shared pool, and the rows of a partition one after
+ * another by the given processor, which is expected to persist the partition before it returns.
+ *
+ * <p>The number of partitions in flight is limited per tenant across all processes running on this
+ * instance, as read from sunbird_bulk_upload_tenant_concurrency or from
+ * sunbird_bulk_upload_tenant_concurrency_{tenantId} for a given tenant.
+ */
+public class BulkUploadPartitionRunner {
+
+  private static final String TENANT_CONCURRENCY = "sunbird_bulk_upload_tenant_concurrency";
+  private static final int DEFAULT_TENANT_CONCURRENCY = 4;
+  private static final String POOL = "bulkUploadPartition";
+  private static final int DEFAULT_POOL_SIZE = 8;
+  private static final int POOL_QUEUE_SIZE = 256;
+  private static final Map<String, Semaphore> tenantPermits = new ConcurrentHashMap<>();
+
+  private final BulkUploadProcessTaskDao bulkUploadProcessTaskDao;
+  private final ExecutorService executor;
+  private final Function<String, Semaphore> permitsOfTenant;
+
+  public BulkUploadPartitionRunner(BulkUploadProcessTaskDao bulkUploadProcessTaskDao) {
+    this(
+        bulkUploadProcessTaskDao,
+        ExecutorManager.getExecutor(POOL, DEFAULT_POOL_SIZE, POOL_QUEUE_SIZE),
+        BulkUploadPartitionRunner::getTenantPermits);
+  }
+
+  BulkUploadPartitionRunner(
+      BulkUploadProcessTaskDao bulkUploadProcessTaskDao,
+      ExecutorService executor,
+      Function<String, Semaphore> permitsOfTenant) {
+    this.bulkUploadProcessTaskDao = bulkUploadProcessTaskDao;
+    this.executor = executor;
+    this.permitsOfTenant = permitsOfTenant;
+  }
+
+  /**
+   * This method will process all tasks of a process and wait for them. If a partition fails, the
+   * other partitions are still processed and the first failure is thrown at the end.
+   *
+   * @param processId Bulk upload process identifier
+   * @param taskCount Number of tasks of the process
+   * @param tenantId Root organisation of the uploader
+   * @param partitionSize Number of sequence ids per partition
+   * @param processor Processes and persists the tasks of a partition
+   * @return Tasks of the process in sequence order
+   */
+  public List<BulkUploadProcessTask> run(
+      String processId,
+      int taskCount,
+      String tenantId,
+      int partitionSize,
+      Consumer<List<BulkUploadProcessTask>> processor) {
+    int size = Math.max(1, partitionSize);
+    int partitionCount = (taskCount + size - 1) / size;
+    List<List<BulkUploadProcessTask>> partitions =
+        new ArrayList<>(Collections.nCopies(partitionCount, null));
+    CountDownLatch done = new CountDownLatch(partitionCount);
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    Semaphore permits = permitsOfTenant.apply(StringUtils.defaultString(tenantId));
+    try {
+      for (int i = 0; i < partitionCount; i++) {
+        final int index = i;
+        Runnable partition =
+            () -> {
+              try {
+                List<BulkUploadProcessTask> tasks =
+                    readPartition(processId, index * size, (index + 1) * size);
+                if (!tasks.isEmpty()) {
+                  processor.accept(tasks);
+                }
+                partitions.set(index, tasks);
+              } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                ProjectLogger.log(
+                    "BulkUploadPartitionRunner:run: Exception in partition "
+                        + index
+                        + " of processId = "
+                        + processId,
+                    e);
+              } finally {
+                permits.release();
+                done.countDown();
+              }
+            };
+        permits.acquire();
+        try {
+          executor.execute(partition);
+        } catch (RejectedExecutionException e) {
+          partition.run();
+        }
+      }
+      done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ProjectLogger.log(
+          "BulkUploadPartitionRunner:run: Interrupted for processId = " + processId, e);
+      throw new ProjectCommonException(
+          ResponseCode.internalError.getErrorCode(),
+          ResponseCode.internalError.getErrorMessage(),
+          ResponseCode.SERVER_ERROR.getResponseCode());
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+    List<BulkUploadProcessTask> tasks = new ArrayList<>();
+    partitions.forEach(tasks::addAll);
+    return tasks;
+  }
+
+  private List<BulkUploadProcessTask> readPartition(String processId, int from, int to) {
+    Map<String, Object> queryMap = new HashMap<>();
+    queryMap.put(JsonKey.PROCESS_ID, processId);
+    Map<String, Object> sequenceRange = new HashMap<>();
+    sequenceRange.put(Constants.GT, from);
+    sequenceRange.put(Constants.LTE, to);
+    queryMap.put(BulkUploadJsonKey.SEQUENCE_ID, sequenceRange);
+    List<BulkUploadProcessTask> tasks = bulkUploadProcessTaskDao.readByPrimaryKeys(queryMap);
+    if (tasks == null) {
+      ProjectLogger.log(
+          "BulkUploadPartitionRunner:readPartition: No bulkUploadProcessTask found for process id: "
+              + processId
+              + " and range "
+              + from
+              + ":"
+              + to,
+          LoggerEnum.INFO);
+      return new ArrayList<>();
+    }
+    return tasks;
+  }
+
+  private static Semaphore getTenantPermits(String tenantId) {
+    return tenantPermits.computeIfAbsent(
+        tenantId,
+        key -> {
+          int concurrency =
+              ConfigReader.getIntConfig(TENANT_CONCURRENCY, DEFAULT_TENANT_CONCURRENCY);
+          if (StringUtils.isNotBlank(key)) {
+            concurrency = ConfigReader.getIntConfig(TENANT_CONCURRENCY + "_" + key, concurrency);
+          }
+          return new Semaphore(Math.max(1, concurrency), true);
+        });
+  }
+}
@@ -0,0 +1,382 @@
+package org.sunbird.learner.actors.bulkupload;
+
+import akka.actor.ActorRef;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadQueueDao;
+import org.sunbird.learner.actors.bulkupload.dao.impl.BulkUploadQueueDaoImpl;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadQueueEntry;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+
+/**
+ * Work queue of bulk upload processes. A process is enqueued in the time bucket of its submission
+ * once its tasks are written, and leaves the queue when it is completed or failed, or when its
+ * bucket falls out of the buckets looked at, as queue rows are written with a TTL ending then.
+ * Workers claim a process with a lease before working on it and renew the lease with heartbeats
+ * while they run, so a process is worked on by one worker at a time and a process whose worker
+ * died can be dispatched again as soon as its lease expires.
+ *
+ * <p>Cassandra access offers no conditional writes, so a claim writes the lease and reads it back
+ * after sunbird_bulk_upload_lease_settle_ms: of workers which claim the same process at the same
+ * time, only the one whose write is read back wins. This only holds for claims whose writes land
+ * within the settle window of each other; a claim whose write is delayed past the read back of
+ * another can still win as well. One of the two then finds at its next heartbeat that its lease was
+ * overwritten, drops it and stops at the next unit of work it starts (see {@link #checkLease}). The
+ * read back is scheduled rather than waited for, so a worker thread does not wait for its claims.
+ *
+ * <p>Lease length, heartbeat interval, bucket size, how many hours of buckets are looked at and how
+ * long a dispatched process may wait for a worker are read from sunbird_bulk_upload_lease_seconds,
+ * sunbird_bulk_upload_heartbeat_seconds, sunbird_bulk_upload_queue_bucket_minutes,
+ * sunbird_bulk_upload_queue_lookback_hours and sunbird_bulk_upload_dispatch_grace_minutes.
+ */
+public class BulkUploadQueue {
+
+  private static final String LEASE = "sunbird_bulk_upload_lease_seconds";
+  private static final String HEARTBEAT = "sunbird_bulk_upload_heartbeat_seconds";
+  private static final String SETTLE = "sunbird_bulk_upload_lease_settle_ms";
+  private static final String BUCKET = "sunbird_bulk_upload_queue_bucket_minutes";
+  private static final String LOOKBACK = "sunbird_bulk_upload_queue_lookback_hours";
+  private static final String GRACE = "sunbird_bulk_upload_dispatch_grace_minutes";
+  private static final int DEFAULT_LEASE = 120;
+  private static final long DEFAULT_HEARTBEAT = 30;
+  private static final long DEFAULT_SETTLE = 500;
+  private static final long DEFAULT_BUCKET = 60;
+  private static final long DEFAULT_LOOKBACK = 72;
+  private static final long DEFAULT_GRACE = 10;
+  private static final String LEASE_OWNER = "leaseOwner";
+  private static final DateTimeFormatter BUCKET_FORMAT =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmm").withZone(ZoneOffset.UTC);
+
+  private static volatile BulkUploadQueue instance;
+
+  private final BulkUploadQueueDao dao;
+  private final String nodeId;
+  private final int leaseSeconds;
+  private final long settleMs;
+  private final long bucketMs;
+  private final long lookbackMs;
+  private final long graceMs;
+  private final LongSupplier clock;
+  private final ScheduledExecutorService scheduler;
+  private final Map<String, String> leases = new ConcurrentHashMap<>();
+
+  BulkUploadQueue(
+      BulkUploadQueueDao dao,
+      String nodeId,
+      int leaseSeconds,
+      long settleMs,
+      long bucketMinutes,
+      long lookbackHours,
+      long graceMinutes,
+      LongSupplier clock,
+      ScheduledExecutorService scheduler) {
+    this.dao = dao;
+    this.nodeId = nodeId;
+    this.leaseSeconds = leaseSeconds;
+    this.settleMs = settleMs;
+    this.bucketMs = TimeUnit.MINUTES.toMillis(Math.max(1, bucketMinutes));
+    this.lookbackMs = TimeUnit.HOURS.toMillis(lookbackHours);
+    this.graceMs = TimeUnit.MINUTES.toMillis(graceMinutes);
+    this.clock = clock;
+    this.scheduler = scheduler;
+  }
+
+  public static BulkUploadQueue getInstance() {
+    if (instance == null) {
+      synchronized (BulkUploadQueue.class) {
+        if (instance == null) {
+          ScheduledExecutorService scheduler =
+              ExecutorManager.getScheduledExecutor("bulkUploadLease", 2);
+          BulkUploadQueue queue =
+              new BulkUploadQueue(
+                  BulkUploadQueueDaoImpl.getInstance(),
+                  getHostName(),
+                  ConfigReader.getIntConfig(LEASE, DEFAULT_LEASE),
+                  ConfigReader.getLongConfig(SETTLE, DEFAULT_SETTLE),
+                  ConfigReader.getLongConfig(BUCKET, DEFAULT_BUCKET),
+                  ConfigReader.getLongConfig(LOOKBACK, DEFAULT_LOOKBACK),
+                  ConfigReader.getLongConfig(GRACE, DEFAULT_GRACE),
+                  System::currentTimeMillis,
+                  scheduler);
+          long heartbeat = ConfigReader.getLongConfig(HEARTBEAT, DEFAULT_HEARTBEAT);
+          scheduler.scheduleWithFixedDelay(
+              queue::renewLeases, heartbeat, heartbeat, TimeUnit.SECONDS);
+          instance = queue;
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * This method will add a process to the queue, in the bucket of the current time.
+   *
+   * @param processId Bulk upload process identifier
+   * @param objectType Object type of the process
+   */
+  public void enqueue(String processId, String objectType) {
+    long now = clock.getAsLong();
+    BulkUploadQueueEntry entry =
+        new BulkUploadQueueEntry(getBucket(now), processId, objectType, now, null);
+    dao.save(entry, getTtl(entry, now));
+  }
+
+  /**
+   * This method will add a process which was submitted before the queue was in use. The entry is
+   * dated back by the dispatch grace period, so it is dispatchable at once, or from given time on
+   * if that is later.
+   *
+   * @param processId Bulk upload process identifier
+   * @param objectType Object type of the process
+   * @param dispatchableOn Time from which the process may be dispatched
+   */
+  public void backfill(String processId, String objectType, long dispatchableOn) {
+    long now = clock.getAsLong();
+    long enqueuedOn = now - graceMs;
+    BulkUploadQueueEntry entry =
+        new BulkUploadQueueEntry(
+            getBucket(enqueuedOn),
+            processId,
+            objectType,
+            enqueuedOn,
+            Math.max(enqueuedOn, dispatchableOn - graceMs));
+    dao.save(entry, getTtl(entry, now));
+  }
+
+  /**
+   * This method will return the identifiers of all processes in the buckets looked at.
+   *
+   * @return Identifiers of queued processes
+   */
+  public Set<String> getQueuedProcessIds() {
+    Set<String> processIds = new HashSet<>();
+    getBuckets(clock.getAsLong())
+        .forEach(bucket -> dao.readBucket(bucket).forEach(e -> processIds.add(e.getProcessId())));
+    return processIds;
+  }
+
+  /**
+   * This method will return queued processes which have no live lease and have not been
+   * dispatched, or enqueued, within the dispatch grace period, oldest bucket first.
+   *
+   * @return Queue entries to dispatch to workers
+   */
+  public List<BulkUploadQueueEntry> getDispatchable() {
+    long now = clock.getAsLong();
+    List<BulkUploadQueueEntry> dispatchable = new ArrayList<>();
+    for (String bucket : getBuckets(now)) {
+      List<BulkUploadQueueEntry> candidates = new ArrayList<>();
+      List<String> processIds = new ArrayList<>();
+      for (BulkUploadQueueEntry entry : dao.readBucket(bucket)) {
+        long lastDispatch =
+            entry.getDispatchedOn() != null
+                ? Math.max(entry.getDispatchedOn(), entry.getEnqueuedOn())
+                : entry.getEnqueuedOn();
+        if (now - lastDispatch >= graceMs) {
+          candidates.add(entry);
+          processIds.add(entry.getProcessId());
+        }
+      }
+      if (!candidates.isEmpty()) {
+        Map<String, String> owners = dao.readLeaseOwners(processIds);
+        candidates
+            .stream()
+            .filter(entry -> !owners.containsKey(entry.getProcessId()))
+            .forEach(dispatchable::add);
+      }
+    }
+    return dispatchable;
+  }
+
+  /** This method will record that given entry has been dispatched to a worker now. */
+  public void markDispatched(BulkUploadQueueEntry entry) {
+    long now = clock.getAsLong();
+    entry.setDispatchedOn(now);
+    dao.save(entry, getTtl(entry, now));
+  }
+
+  /** This method will remove given entry from the queue, once its process is finished. */
+  public void dequeue(BulkUploadQueueEntry entry) {
+    dao.delete(entry.getBucket(), entry.getProcessId());
+  }
+
+  /**
+   * This method will tell whether a worker may process a bulk upload request now. A request which
+   * carries the lease this node holds on its process may. For any other request a claim is started
+   * and false is returned; once the claim is won the request is sent again to the worker, carrying
+   * the lease.
+   *
+   * @param request Bulk upload request with the process identifier
+   * @param worker Actor to send the request to once the claim is won
+   * @return True if the request holds the lease on its process
+   */
+  public boolean isClaimed(Request request, ActorRef worker) {
+    String processId = (String) request.get(JsonKey.PROCESS_ID);
+    String owner = (String) request.get(LEASE_OWNER);
+    if (owner != null) {
+      return owner.equals(leases.get(processId));
+    }
+    claim(processId)
+        .whenComplete(
+            (claimedOwner, e) -> {
+              if (claimedOwner != null) {
+                request.put(LEASE_OWNER, claimedOwner);
+                worker.tell(request, ActorRef.noSender());
+              } else if (e != null) {
+                ProjectLogger.log(
+                    "BulkUploadQueue:isClaimed: Exception in claim for processId = " + processId,
+                    e);
+              } else {
+                ProjectLogger.log(
+                    "BulkUploadQueue:isClaimed: Process is leased by another worker, processId = "
+                        + processId,
+                    LoggerEnum.INFO.name());
+              }
+            });
+    return false;
+  }
+
+  /**
+   * This method will claim the lease on a process for this node. The lease is renewed by heartbeats
+   * until it is released or lost.
+   *
+   * @param processId Bulk upload process identifier
+   * @return Stage completed with the lease owner once the lease is claimed, or with null if another
+   *     worker holds it
+   */
+  CompletionStage<String> claim(String processId) {
+    if (dao.readLeaseOwner(processId) != null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    String owner = nodeId + ":" + UUID.randomUUID().toString();
+    dao.writeLease(processId, owner, leaseSeconds);
+    if (settleMs <= 0) {
+      return CompletableFuture.completedFuture(readBack(processId, owner));
+    }
+    CompletableFuture<String> claim = new CompletableFuture<>();
+    scheduler.schedule(
+        () -> {
+          try {
+            claim.complete(readBack(processId, owner));
+          } catch (Exception e) {
+            claim.completeExceptionally(e);
+          }
+        },
+        settleMs,
+        TimeUnit.MILLISECONDS);
+    return claim;
+  }
+
+  private String readBack(String processId, String owner) {
+    if (!owner.equals(dao.readLeaseOwner(processId))) {
+      return null;
+    }
+    leases.put(processId, owner);
+    return owner;
+  }
+
+  /**
+   * This method will check that this node still holds the lease on a process. Workers call it
+   * before each unit of work, so that a worker whose lease was taken over stops.
+   *
+   * @param processId Bulk upload process identifier
+   * @throws LeaseLostException If the lease is no longer held by this node
+   */
+  public void checkLease(String processId) {
+    if (!leases.containsKey(processId)) {
+      throw new LeaseLostException(processId);
+    }
+  }
+
+  /**
+   * This method will release the lease on a process claimed by this node, leaving the process in
+   * the queue until its final status is seen by the lookup scheduler.
+   *
+   * @param processId Bulk upload process identifier
+   */
+  public void release(String processId) {
+    String owner = leases.remove(processId);
+    if (owner != null && owner.equals(dao.readLeaseOwner(processId))) {
+      dao.deleteLease(processId);
+    }
+  }
+
+  /** This method will renew the leases held by this node, dropping leases taken over by others. */
+  void renewLeases() {
+    leases.forEach(
+        (processId, owner) -> {
+          try {
+            if (owner.equals(dao.readLeaseOwner(processId))) {
+              dao.writeLease(processId, owner, leaseSeconds);
+            } else {
+              leases.remove(processId, owner);
+              ProjectLogger.log(
+                  "BulkUploadQueue:renewLeases: Lease lost for processId = " + processId,
+                  LoggerEnum.WARN.name());
+            }
+          } catch (Exception e) {
+            ProjectLogger.log(
+                "BulkUploadQueue:renewLeases: Exception in renewing lease for processId = "
+                    + processId,
+                e);
+          }
+        });
+  }
+
+  /** Thrown to a worker which no longer holds the lease on the process it works on. */
+  public static class LeaseLostException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    LeaseLostException(String processId) {
+      super("Lease lost for processId = " + processId);
+    }
+  }
+
+  /** Seconds until the bucket of given entry is no longer looked at by {@link #getDispatchable}. */
+  private int getTtl(BulkUploadQueueEntry entry, long now) {
+    long bucketStart = entry.getEnqueuedOn() - entry.getEnqueuedOn() % bucketMs;
+    long expiresOn = bucketStart + bucketMs + lookbackMs;
+    return (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(expiresOn - now + 999));
+  }
+
+  /** Buckets looked at by {@link #getDispatchable}, oldest first. */
+  private List<String> getBuckets(long now) {
+    List<String> buckets = new ArrayList<>();
+    for (long time = now - lookbackMs; time < now + bucketMs; time += bucketMs) {
+      buckets.add(getBucket(time));
+    }
+    return buckets;
+  }
+
+  private String getBucket(long time) {
+    return BUCKET_FORMAT.format(Instant.ofEpochMilli(time - time % bucketMs));
+  }
+
+  private static String getHostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (Exception e) {
+      return UUID.randomUUID().toString();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package org.sunbird.learner.actors.bulkupload;
 
+import akka.actor.ActorRef;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.sql.Timestamp;
@@ -9,6 +10,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.router.ActorConfig;
@@ -66,16 +69,21 @@ public class UserBulkUploadBackgroundJobActor extends BaseBulkUploadBackgroundJo
               "csv.outputColumnsOrder",
               new TypeReference<String[]>() {});
 
+      String[] mandatoryColumns =
+          systemSettingClient.getSystemSettingByFieldAndKey(
+              getActorRef(ActorOperations.GET_SYSTEM_SETTING.getValue()),
+              "userProfileConfig",
+              "csv.mandatoryColumns",
+              new TypeReference<String[]>() {});
+
       handleBulkUploadBackground(
           request,
           (baseBulkUpload) -> {
-            processBulkUpload(
+            UploadContext context =
+                new UploadContext((BulkUploadProcess) baseBulkUpload, mandatoryColumns);
+            processBulkUploadInPartitions(
                 (BulkUploadProcess) baseBulkUpload,
-                (tasks) -> {
-                  processTasks(
-                      (List<BulkUploadProcessTask>) tasks, ((BulkUploadProcess) baseBulkUpload));
-                  return null;
-                },
+                (tasks) -> processTasks(tasks, context),
                 outputColumns,
                 outputColumnsOrder != null
                     ? outputColumnsOrder
@@ -87,39 +95,49 @@ public class UserBulkUploadBackgroundJobActor extends BaseBulkUploadBackgroundJo
     }
   }
 
+  /**
+   * Processes the tasks of a partition, on a thread of the partition pool. Actor references and
+   * settings are taken from given context as they cannot be looked up outside the actor. The
+   * execution context of the upload is set for the partition only, the previous one of the thread
+   * is restored after it, as pool threads are shared and a partition may also run on the caller.
+   */
   private void processTasks(
-      List<BulkUploadProcessTask> bulkUploadProcessTasks, BulkUploadProcess bulkUploadProcess) {
-    for (BulkUploadProcessTask task : bulkUploadProcessTasks) {
-      try {
-        if (task.getStatus() != null
-            && task.getStatus() != ProjectUtil.BulkProcessStatus.COMPLETED.getValue()) {
-          processUser(
-              task, bulkUploadProcess.getOrganisationId(), bulkUploadProcess.getUploadedBy());
-          task.setLastUpdatedOn(new Timestamp(System.currentTimeMillis()));
-          task.setIterationId(task.getIterationId() + 1);
+      List<BulkUploadProcessTask> bulkUploadProcessTasks, UploadContext context) {
+    String previousRequestId = ExecutionContext.getRequestId();
+    Map<String, Object> previousRequestContext = ExecutionContext.getCurrent().getRequestContext();
+    ExecutionContext.setRequestId(context.requestId);
+    ExecutionContext.getCurrent().setRequestContext(context.requestContext);
+    try {
+      for (BulkUploadProcessTask task : bulkUploadProcessTasks) {
+        try {
+          if (task.getStatus() != null
+              && task.getStatus() != ProjectUtil.BulkProcessStatus.COMPLETED.getValue()) {
+            processUser(task, context);
+            task.setLastUpdatedOn(new Timestamp(System.currentTimeMillis()));
+            task.setIterationId(task.getIterationId() + 1);
+          }
+        } catch (Exception ex) {
+          ProjectLogger.log("Error in processTasks", ex);
+          task.setStatus(ProjectUtil.BulkProcessStatus.FAILED.getValue());
         }
-      } catch (Exception ex) {
-        ProjectLogger.log("Error in processTasks", ex);
-        task.setStatus(ProjectUtil.BulkProcessStatus.FAILED.getValue());
       }
+    } finally {
+      ExecutionContext.setRequestId(previousRequestId);
+      ExecutionContext.getCurrent().setRequestContext(previousRequestContext);
     }
   }
 
   @SuppressWarnings("unchecked")
-  private void processUser(BulkUploadProcessTask task, String organisationId, String uploadedBy) {
+  private void processUser(BulkUploadProcessTask task, UploadContext context) {
     ProjectLogger.log("UserBulkUploadBackgroundJobActor: processUser called", LoggerEnum.INFO);
+    String organisationId = context.organisationId;
+    String uploadedBy = context.uploadedBy;
     String data = task.getData();
     Organisation organisation = null;
     try {
       Map<String, Object> userMap = mapper.readValue(data, Map.class);
-      String[] mandatoryColumnsObject =
-          systemSettingClient.getSystemSettingByFieldAndKey(
-              getActorRef(ActorOperations.GET_SYSTEM_SETTING.getValue()),
-              "userProfileConfig",
-              "csv.mandatoryColumns",
-              new TypeReference<String[]>() {});
-      if (mandatoryColumnsObject != null) {
-        validateMandatoryFields(userMap, task, mandatoryColumnsObject);
+      if (context.mandatoryColumns != null) {
+        validateMandatoryFields(userMap, task, context.mandatoryColumns);
       }
       if (userMap.get(JsonKey.PHONE) != null) {
         userMap.put(JsonKey.PHONE_VERIFIED, true);
@@ -147,9 +165,9 @@ public class UserBulkUploadBackgroundJobActor extends BaseBulkUploadBackgroundJo
       String orgExternalId = (String) userMap.get(JsonKey.ORG_EXTERNAL_ID);
       HashMap<String, Object> uploaderMap = new HashMap<>();
       uploaderMap.put(JsonKey.ORG_ID, organisationId);
-      Organisation uploaderOrg = getOrgDetails(uploaderMap);
+      Organisation uploaderOrg = getOrgDetails(uploaderMap, context);
       if (StringUtils.isNotBlank(orgId) || StringUtils.isNotBlank(orgExternalId)) {
-        organisation = getOrgDetails(userMap);
+        organisation = getOrgDetails(userMap, context);
         if (null == organisation) {
           setTaskStatus(
               task,
@@ -224,10 +242,10 @@ public class UserBulkUploadBackgroundJobActor extends BaseBulkUploadBackgroundJo
       if (StringUtils.isEmpty(user.getId())) {
         user.setCreatedBy(uploadedBy);
         user.setRootOrgId(organisationId);
-        callCreateUser(user, task, orgName);
+        callCreateUser(user, task, orgName, context.createUserActor);
       } else {
         user.setUpdatedBy(uploadedBy);
-        callUpdateUser(user, task, orgName);
+        callUpdateUser(user, task, orgName, context.updateUserActor);
       }
     } catch (Exception e) {
       ProjectLogger.log("Error in process user", data, e);
@@ -236,13 +254,14 @@ public class UserBulkUploadBackgroundJobActor extends BaseBulkUploadBackgroundJo
   }
 
   @SuppressWarnings("unchecked")
-  private void callCreateUser(User user, BulkUploadProcessTask task, String orgName)
+  private void callCreateUser(
+      User user, BulkUploadProcessTask task, String orgName, ActorRef createUserActor)
       throws JsonProcessingException {
     ProjectLogger.log("UserBulkUploadBackgroundJobActor: callCreateUser called", LoggerEnum.INFO);
     Map<String, Object> row = mapper.convertValue(user, Map.class);
     String userId;
     try {
-      userId = userClient.createUser(getActorRef(ActorOperations.CREATE_USER.getValue()), row);
+      userId = userClient.createUser(createUserActor, row);
     } catch (Exception ex) {
       ProjectLogger.log(
           "UserBulkUploadBackgroundJobActor:callCreateUser: Exception occurred with error message = "
@@ -270,14 +289,15 @@ public class UserBulkUploadBackgroundJobActor extends BaseBulkUploadBackgroundJo
   }
 
   @SuppressWarnings("unchecked")
-  private void callUpdateUser(User user, BulkUploadProcessTask task, String orgName)
+  private void callUpdateUser(
+      User user, BulkUploadProcessTask task, String orgName, ActorRef updateUserActor)
       throws JsonProcessingException {
     ProjectLogger.log("UserBulkUploadBackgroundJobActor: callUpdateUser called", LoggerEnum.INFO);
     Map<String, Object> row = mapper.convertValue(user, Map.class);
     try {
       row.put(JsonKey.USER_ID, user.getId());
       row.put(JsonKey.ORG_NAME, orgName);
-      userClient.updateUser(getActorRef(ActorOperations.UPDATE_USER.getValue()), row);
+      userClient.updateUser(updateUserActor, row);
     } catch (Exception ex) {
       ProjectLogger.log(
           "UserBulkUploadBackgroundJobActor:callUpdateUser: Exception occurred with error message = "
@@ -293,17 +313,30 @@ public class UserBulkUploadBackgroundJobActor extends BaseBulkUploadBackgroundJo
     }
   }
 
-  private Organisation getOrgDetails(Map<String, Object> userMap) {
+  /** Organisations are looked up once per upload, as rows of an upload mostly share them. */
+  private Organisation getOrgDetails(Map<String, Object> userMap, UploadContext context) {
     if (StringUtils.isNotBlank((String) userMap.get(JsonKey.ORG_EXTERNAL_ID))) {
-      Map<String, Object> filters = new HashMap<>();
-      filters.put(
-          JsonKey.EXTERNAL_ID, ((String) userMap.get(JsonKey.ORG_EXTERNAL_ID)).toLowerCase());
-      if (CollectionUtils.isNotEmpty(organisationClient.esSearchOrgByFilter(filters))) {
-        return organisationClient.esSearchOrgByFilter(filters).get(0);
-      }
-      return null;
+      String externalId = ((String) userMap.get(JsonKey.ORG_EXTERNAL_ID)).toLowerCase();
+      return context
+          .organisations
+          .computeIfAbsent(
+              JsonKey.EXTERNAL_ID + ":" + externalId,
+              key -> {
+                Map<String, Object> filters = new HashMap<>();
+                filters.put(JsonKey.EXTERNAL_ID, externalId);
+                List<Organisation> organisations = organisationClient.esSearchOrgByFilter(filters);
+                return Optional.ofNullable(
+                    CollectionUtils.isNotEmpty(organisations) ? organisations.get(0) : null);
+              })
+          .orElse(null);
     } else if (StringUtils.isNotBlank((String) userMap.get(JsonKey.ORG_ID))) {
-      return organisationClient.esGetOrgById((String) userMap.get(JsonKey.ORG_ID));
+      String orgId = (String) userMap.get(JsonKey.ORG_ID);
+      return context
+          .organisations
+          .computeIfAbsent(
+              JsonKey.ID + ":" + orgId,
+              key -> Optional.ofNullable(organisationClient.esGetOrgById(orgId)))
+          .orElse(null);
     }
     return null;
   }
@@ -313,4 +346,25 @@ public class UserBulkUploadBackgroundJobActor extends BaseBulkUploadBackgroundJo
     UserUtility.decryptUserData(result);
     Util.addMaskEmailAndPhone(result);
   }
+
+  /** State of an upload shared by the threads processing its partitions. */
+  private class UploadContext {
+    private final String organisationId;
+    private final String uploadedBy;
+    private final String[] mandatoryColumns;
+    private final ActorRef createUserActor =
+        getActorRef(ActorOperations.CREATE_USER.getValue());
+    private final ActorRef updateUserActor =
+        getActorRef(ActorOperations.UPDATE_USER.getValue());
+    private final String requestId = ExecutionContext.getRequestId();
+    private final Map<String, Object> requestContext =
+        ExecutionContext.getCurrent().getRequestContext();
+    private final Map<String, Optional<Organisation>> organisations = new ConcurrentHashMap<>();
+
+    private UploadContext(BulkUploadProcess bulkUploadProcess, String[] mandatoryColumns) {
+      this.organisationId = bulkUploadProcess.getOrganisationId();
+      this.uploadedBy = bulkUploadProcess.getUploadedBy();
+      this.mandatoryColumns = mandatoryColumns;
+    }
+  }
 }
@@ -0,0 +1,68 @@
+package org.sunbird.learner.actors.bulkupload.dao;
+
+import java.util.List;
+import java.util.Map;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadQueueEntry;
+
+/**
+ * Data access for the bulk upload queue: pending processes partitioned by time bucket, and leases
+ * of processes being worked on. Leases are written with a TTL and disappear when not renewed.
+ */
+public interface BulkUploadQueueDao {
+
+  /**
+   * Inserts or updates a queue entry.
+   *
+   * @param entry Queue entry
+   * @param ttlInSeconds Time after which the entry expires unless written again
+   */
+  void save(BulkUploadQueueEntry entry, int ttlInSeconds);
+
+  /**
+   * Reads all entries of a time bucket.
+   *
+   * @param bucket Time bucket
+   * @return Entries of the bucket, empty if there are none
+   */
+  List<BulkUploadQueueEntry> readBucket(String bucket);
+
+  /**
+   * Deletes a queue entry.
+   *
+   * @param bucket Time bucket of the entry
+   * @param processId Bulk upload process identifier
+   */
+  void delete(String bucket, String processId);
+
+  /**
+   * Reads the owner of the live lease on a process.
+   *
+   * @param processId Bulk upload process identifier
+   * @return Lease owner, or null if the process is not leased or the lease has expired
+   */
+  String readLeaseOwner(String processId);
+
+  /**
+   * Reads the owners of the live leases on given processes.
+   *
+   * @param processIds Bulk upload process identifiers
+   * @return Lease owner by process identifier, for leased processes only
+   */
+  Map<String, String> readLeaseOwners(List<String> processIds);
+
+  /**
+   * Writes the lease on a process, replacing any existing lease.
+   *
+   * @param processId Bulk upload process identifier
+   * @param owner Lease owner
+   * @param ttlInSeconds Time after which the lease expires unless written again
+   */
+  void writeLease(String processId, String owner, int ttlInSeconds);
+
+  /**
+   * Deletes the lease on a process.
+   *
+   * @param processId Bulk upload process identifier
+   */
+  void deleteLease(String processId);
+}
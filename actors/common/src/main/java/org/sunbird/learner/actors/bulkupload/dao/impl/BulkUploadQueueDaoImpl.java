@@ -0,0 +1,128 @@
+package org.sunbird.learner.actors.bulkupload.dao.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadQueueDao;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadQueueEntry;
+import org.sunbird.learner.util.Util;
+
+/** Data access implementation for the bulk_upload_queue and bulk_upload_lease tables. */
+public class BulkUploadQueueDaoImpl implements BulkUploadQueueDao {
+
+  private static final String QUEUE_TABLE = "bulk_upload_queue";
+  private static final String LEASE_TABLE = "bulk_upload_lease";
+  private static final String BUCKET = "bucket";
+  private static final String ENQUEUED_ON = "enqueuedOn";
+  private static final String DISPATCHED_ON = "dispatchedOn";
+  private static final String OWNER = "owner";
+  private static final String HEARTBEAT_ON = "heartbeatOn";
+
+  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private static volatile BulkUploadQueueDao bulkUploadQueueDao;
+
+  public static BulkUploadQueueDao getInstance() {
+    if (bulkUploadQueueDao == null) {
+      synchronized (BulkUploadQueueDaoImpl.class) {
+        if (bulkUploadQueueDao == null) {
+          bulkUploadQueueDao = new BulkUploadQueueDaoImpl();
+        }
+      }
+    }
+    return bulkUploadQueueDao;
+  }
+
+  @Override
+  public void save(BulkUploadQueueEntry entry, int ttlInSeconds) {
+    Map<String, Object> map = new HashMap<>();
+    map.put(BUCKET, entry.getBucket());
+    map.put(JsonKey.PROCESS_ID, entry.getProcessId());
+    map.put(JsonKey.OBJECT_TYPE, entry.getObjectType());
+    map.put(ENQUEUED_ON, new Timestamp(entry.getEnqueuedOn()));
+    if (entry.getDispatchedOn() != null) {
+      map.put(DISPATCHED_ON, new Timestamp(entry.getDispatchedOn()));
+    }
+    cassandraOperation.insertRecordWithTTL(Util.KEY_SPACE_NAME, QUEUE_TABLE, map, ttlInSeconds);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<BulkUploadQueueEntry> readBucket(String bucket) {
+    Response response =
+        cassandraOperation.getRecordsByProperty(Util.KEY_SPACE_NAME, QUEUE_TABLE, BUCKET, bucket);
+    List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    List<BulkUploadQueueEntry> entries = new ArrayList<>();
+    if (CollectionUtils.isEmpty(list)) {
+      return entries;
+    }
+    for (Map<String, Object> map : list) {
+      Date enqueuedOn = (Date) map.get(ENQUEUED_ON);
+      Date dispatchedOn = (Date) map.get(DISPATCHED_ON);
+      entries.add(
+          new BulkUploadQueueEntry(
+              bucket,
+              (String) map.get(JsonKey.PROCESS_ID),
+              (String) map.get(JsonKey.OBJECT_TYPE),
+              enqueuedOn != null ? enqueuedOn.getTime() : 0L,
+              dispatchedOn != null ? dispatchedOn.getTime() : null));
+    }
+    return entries;
+  }
+
+  @Override
+  public void delete(String bucket, String processId) {
+    Map<String, String> compositeKey = new HashMap<>();
+    compositeKey.put(BUCKET, bucket);
+    compositeKey.put(JsonKey.PROCESS_ID, processId);
+    cassandraOperation.deleteRecord(Util.KEY_SPACE_NAME, QUEUE_TABLE, compositeKey);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String readLeaseOwner(String processId) {
+    Response response =
+        cassandraOperation.getRecordById(Util.KEY_SPACE_NAME, LEASE_TABLE, processId);
+    List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    return CollectionUtils.isEmpty(list) ? null : (String) list.get(0).get(OWNER);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Map<String, String> readLeaseOwners(List<String> processIds) {
+    Map<String, String> owners = new HashMap<>();
+    if (CollectionUtils.isEmpty(processIds)) {
+      return owners;
+    }
+    Response response =
+        cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
+            Util.KEY_SPACE_NAME, LEASE_TABLE, Arrays.asList(JsonKey.ID, OWNER), processIds);
+    List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (CollectionUtils.isNotEmpty(list)) {
+      list.forEach(map -> owners.put((String) map.get(JsonKey.ID), (String) map.get(OWNER)));
+    }
+    return owners;
+  }
+
+  @Override
+  public void writeLease(String processId, String owner, int ttlInSeconds) {
+    Map<String, Object> map = new HashMap<>();
+    map.put(JsonKey.ID, processId);
+    map.put(OWNER, owner);
+    map.put(HEARTBEAT_ON, new Timestamp(System.currentTimeMillis()));
+    cassandraOperation.insertRecordWithTTL(Util.KEY_SPACE_NAME, LEASE_TABLE, map, ttlInSeconds);
+  }
+
+  @Override
+  public void deleteLease(String processId) {
+    cassandraOperation.deleteRecord(Util.KEY_SPACE_NAME, LEASE_TABLE, processId);
+  }
+}
@@ -0,0 +1,71 @@
+package org.sunbird.learner.actors.bulkupload.model;
+
+import java.io.Serializable;
+
+/**
+ * Pending bulk upload process in the bulk upload queue. Entries are partitioned by the time bucket
+ * in which they were enqueued and stay in the queue until their process is completed or failed, or
+ * their bucket is older than the buckets looked at for dispatch.
+ */
+public class BulkUploadQueueEntry implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private String bucket;
+  private String processId;
+  private String objectType;
+  private long enqueuedOn;
+  private Long dispatchedOn;
+
+  public BulkUploadQueueEntry() {}
+
+  public BulkUploadQueueEntry(
+      String bucket, String processId, String objectType, long enqueuedOn, Long dispatchedOn) {
+    this.bucket = bucket;
+    this.processId = processId;
+    this.objectType = objectType;
+    this.enqueuedOn = enqueuedOn;
+    this.dispatchedOn = dispatchedOn;
+  }
+
+  public String getBucket() {
+    return bucket;
+  }
+
+  public void setBucket(String bucket) {
+    this.bucket = bucket;
+  }
+
+  public String getProcessId() {
+    return processId;
+  }
+
+  public void setProcessId(String processId) {
+    this.processId = processId;
+  }
+
+  public String getObjectType() {
+    return objectType;
+  }
+
+  public void setObjectType(String objectType) {
+    this.objectType = objectType;
+  }
+
+  public long getEnqueuedOn() {
+    return enqueuedOn;
+  }
+
+  public void setEnqueuedOn(long enqueuedOn) {
+    this.enqueuedOn = enqueuedOn;
+  }
+
+  /** @return Time the process was last dispatched to a worker, null if it never was */
+  public Long getDispatchedOn() {
+    return dispatchedOn;
+  }
+
+  public void setDispatchedOn(Long dispatchedOn) {
+    this.dispatchedOn = dispatchedOn;
+  }
+}
@@ -0,0 +1,21 @@
+package org.sunbird.learner.actors.checkpoint.dao;
+
+import org.sunbird.learner.actors.checkpoint.model.JobCheckpoint;
+
+public interface JobCheckpointDao {
+
+  /**
+   * Inserts or updates the checkpoint of a job.
+   *
+   * @param checkpoint Job checkpoint
+   */
+  void save(JobCheckpoint checkpoint);
+
+  /**
+   * Reads the checkpoint of a job.
+   *
+   * @param id Job identifier
+   * @return Job checkpoint, or null if the job has no checkpoint
+   */
+  JobCheckpoint read(String id);
+}
@@ -0,0 +1,60 @@
+package org.sunbird.learner.actors.checkpoint.dao.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.checkpoint.dao.JobCheckpointDao;
+import org.sunbird.learner.actors.checkpoint.model.JobCheckpoint;
+import org.sunbird.learner.util.Util;
+
+public class JobCheckpointDaoImpl implements JobCheckpointDao {
+
+  private static final String TABLE_NAME = "job_checkpoint";
+  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private ObjectMapper mapper = new ObjectMapper();
+  private static volatile JobCheckpointDao jobCheckpointDao;
+
+  public static JobCheckpointDao getInstance() {
+    if (jobCheckpointDao == null) {
+      synchronized (JobCheckpointDaoImpl.class) {
+        if (jobCheckpointDao == null) {
+          jobCheckpointDao = new JobCheckpointDaoImpl();
+        }
+      }
+    }
+    return jobCheckpointDao;
+  }
+
+  @Override
+  public void save(JobCheckpoint checkpoint) {
+    checkpoint.setLastUpdatedOn(new Timestamp(System.currentTimeMillis()));
+    Map<String, Object> map = mapper.convertValue(checkpoint, Map.class);
+    map.put(JsonKey.LAST_UPDATED_ON, checkpoint.getLastUpdatedOn());
+    cassandraOperation.upsertRecord(Util.KEY_SPACE_NAME, TABLE_NAME, map);
+  }
+
+  @Override
+  public JobCheckpoint read(String id) {
+    try {
+      Response response = cassandraOperation.getRecordById(Util.KEY_SPACE_NAME, TABLE_NAME, id);
+      List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+      if (CollectionUtils.isEmpty(list)) {
+        return null;
+      }
+      Map<String, Object> map = list.get(0);
+      map.remove(JsonKey.LAST_UPDATED_ON);
+      return mapper.convertValue(map, JobCheckpoint.class);
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "JobCheckpointDaoImpl:read: Exception in reading checkpoint for " + id, e);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,109 @@
+package org.sunbird.learner.actors.checkpoint.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * Progress of a long running background job. Jobs process records ordered by id and record the
+ * last id up to which all records are done, so that an interrupted job can resume after it.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(Include.NON_NULL)
+public class JobCheckpoint implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+  public static final String STATUS_COMPLETED = "COMPLETED";
+  public static final String STATUS_FAILED = "FAILED";
+
+  private String id;
+  private String jobType;
+  private String status;
+  private String lastProcessedId;
+  private Long processedCount;
+  private Long failedCount;
+  private Long totalCount;
+  private Timestamp lastUpdatedOn;
+
+  public JobCheckpoint() {}
+
+  public JobCheckpoint(String id, String jobType) {
+    this.id = id;
+    this.jobType = jobType;
+    this.status = STATUS_IN_PROGRESS;
+    this.processedCount = 0L;
+    this.failedCount = 0L;
+  }
+
+  public boolean isResumable() {
+    return !STATUS_COMPLETED.equals(status) && null != lastProcessedId;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getJobType() {
+    return jobType;
+  }
+
+  public void setJobType(String jobType) {
+    this.jobType = jobType;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public String getLastProcessedId() {
+    return lastProcessedId;
+  }
+
+  public void setLastProcessedId(String lastProcessedId) {
+    this.lastProcessedId = lastProcessedId;
+  }
+
+  public Long getProcessedCount() {
+    return processedCount;
+  }
+
+  public void setProcessedCount(Long processedCount) {
+    this.processedCount = processedCount;
+  }
+
+  public Long getFailedCount() {
+    return failedCount;
+  }
+
+  public void setFailedCount(Long failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  public Long getTotalCount() {
+    return totalCount;
+  }
+
+  public void setTotalCount(Long totalCount) {
+    this.totalCount = totalCount;
+  }
+
+  public Timestamp getLastUpdatedOn() {
+    return lastUpdatedOn;
+  }
+
+  public void setLastUpdatedOn(Timestamp lastUpdatedOn) {
+    this.lastUpdatedOn = lastUpdatedOn;
+  }
+}
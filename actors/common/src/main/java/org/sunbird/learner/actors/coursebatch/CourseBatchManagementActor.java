@@ -4,8 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,6 +36,7 @@ import org.sunbird.dto.SearchDTO;
 import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
 import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
+import org.sunbird.learner.util.ConfigReader;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
 import org.sunbird.learner.util.CourseBatchUtil;
 import org.sunbird.learner.util.Util;
@@ -56,6 +59,8 @@ public class CourseBatchManagementActor extends BaseActor {
   private CourseBatchDao courseBatchDao = new CourseBatchDaoImpl();
   private UserCoursesService userCoursesService = new UserCoursesService();
   private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
+  private static final String USER_LOOKUP_SIZE = "sunbird_course_batch_user_lookup_size";
+  private static final int DEFAULT_LOOKUP_SIZE = 5000;
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -347,27 +352,26 @@ public class CourseBatchManagementActor extends BaseActor {
           ResponseCode.invalidCourseCreatorId.getErrorMessage(),
           ResponseCode.RESOURCE_NOT_FOUND.getResponseCode());
     }
-    String batchCreatorRootOrgId = getRootOrg(batchCreator);
     List<String> participants = userCoursesService.getEnrolledUserFromBatch(courseBatch.getId());
-    courseBatch.setParticipant(participants);
     List<String> userIds = (List<String>) req.get(JsonKey.USER_IDs);
-    if (participants == null) {
-      participants = new ArrayList<>();
+    ParticipantDiff participantDiff = ParticipantDiff.of(participants, userIds);
+    List<String> lookupUserIds = participantDiff.getAdded();
+    lookupUserIds.add(batchCreator);
+    Map<String, String> participantWithRootOrgIds = getRootOrgForMultipleUsers(lookupUserIds);
+    String batchCreatorRootOrgId = participantWithRootOrgIds.get(batchCreator);
+    if (batchCreatorRootOrgId == null) {
+      batchCreatorRootOrgId = getRootOrg(batchCreator);
+    }
+    for (String userId : participantDiff.getUnchanged()) {
+      response.getResult().put(userId, JsonKey.SUCCESS);
     }
-    Map<String, String> participantWithRootOrgIds = getRootOrgForMultipleUsers(userIds);
     List<String> addedParticipants = new ArrayList<>();
-    for (String userId : userIds) {
-      if (!(participants.contains(userId))) {
-        if (!participantWithRootOrgIds.containsKey(userId)
-            || (!batchCreatorRootOrgId.equals(participantWithRootOrgIds.get(userId)))) {
-          response.put(userId, ResponseCode.userNotAssociatedToRootOrg.getErrorMessage());
-          continue;
-        }
-        addedParticipants.add(userId);
-
-      } else {
-        response.getResult().put(userId, JsonKey.SUCCESS);
+    for (String userId : participantDiff.getAdded()) {
+      if (!batchCreatorRootOrgId.equals(participantWithRootOrgIds.get(userId))) {
+        response.put(userId, ResponseCode.userNotAssociatedToRootOrg.getErrorMessage());
+        continue;
       }
+      addedParticipants.add(userId);
     }
 
     userCoursesService.enroll(
@@ -376,7 +380,6 @@ public class CourseBatchManagementActor extends BaseActor {
         addedParticipants,
         (Map<String, String>) (courseBatchObject.get(JsonKey.COURSE_ADDITIONAL_INFO)));
     for (String userId : addedParticipants) {
-      participants.add(userId);
       response.getResult().put(userId, JsonKey.SUCCESS);
 
       targetObject =
@@ -392,7 +395,7 @@ public class CourseBatchManagementActor extends BaseActor {
     request.setOperation(ActorOperations.UPDATE_COURSE_BATCH_ES.getValue());
     request.getRequest().put(JsonKey.BATCH, courseBatchObject);
     if (courseNotificationActive()) {
-      courseBatch.setParticipant(getAddedParticipants(participants, courseBatch));
+      courseBatch.setParticipant(addedParticipants);
       batchOperationNotifier(courseBatch, null);
     }
     try {
@@ -407,22 +410,6 @@ public class CourseBatchManagementActor extends BaseActor {
     }
   }
 
-  private List<String> getAddedParticipants(List<String> participants, CourseBatch courseBatch) {
-    List<String> currentParticipants = courseBatch.getParticipant();
-    if (participants == null) return courseBatch.getParticipant();
-    else if (currentParticipants == null || currentParticipants.isEmpty()) {
-      return participants;
-    } else {
-
-      for (String key : currentParticipants) {
-        if (participants.contains(key)) {
-          participants.remove(key);
-        }
-      }
-    }
-    return participants;
-  }
-
   private void getCourseBatch(Request actorMessage) {
     Map<String, Object> result =
         ElasticSearchUtil.getDataByIdentifier(
@@ -478,17 +465,19 @@ public class CourseBatchManagementActor extends BaseActor {
 
   private void validateMentors(CourseBatch courseBatch) {
     List<String> mentors = courseBatch.getMentors();
-    if (mentors != null) {
-      String batchCreatorRootOrgId = getRootOrg(courseBatch.getCreatedBy());
+    if (CollectionUtils.isNotEmpty(mentors)) {
+      String batchCreator = courseBatch.getCreatedBy();
+      List<String> lookupUserIds = new ArrayList<>(mentors);
+      lookupUserIds.add(batchCreator);
+      Map<String, Map<String, Object>> users = getUsers(lookupUserIds);
+      String batchCreatorRootOrgId =
+          users.containsKey(batchCreator)
+              ? getRootOrgFromUserMap(users.get(batchCreator))
+              : getRootOrg(batchCreator);
 
       for (String userId : mentors) {
-        Map<String, Object> result =
-            ElasticSearchUtil.getDataByIdentifier(
-                ProjectUtil.EsIndex.sunbird.getIndexName(),
-                ProjectUtil.EsType.user.getTypeName(),
-                userId);
-
-        String mentorRootOrgId = getRootOrg(userId);
+        Map<String, Object> result = users.get(userId);
+        String mentorRootOrgId = result == null ? null : getRootOrgFromUserMap(result);
         if (!batchCreatorRootOrgId.equals(mentorRootOrgId)) {
           throw new ProjectCommonException(
               ResponseCode.userNotAssociatedToRootOrg.getErrorCode(),
@@ -515,21 +504,11 @@ public class CourseBatchManagementActor extends BaseActor {
       List<String> participants, CourseBatch courseBatchObject) {
     Map<String, Object> participantsList = new HashMap<>();
     String batchId = courseBatchObject.getId();
-    List<String> dbParticipants = getParticipantsFromUserCourses(courseBatchObject.getId());
-    if (CollectionUtils.isEmpty(dbParticipants)) {
-      dbParticipants = new ArrayList<>();
-    }
-    List<String> finalParticipants = new ArrayList<>();
-    List<String> addedParticipants = new ArrayList<>();
-    for (String userId : participants) {
-      if (!(dbParticipants.contains(userId))) {
-        finalParticipants.add(userId);
-        addedParticipants.add(userId);
-      } else {
-        finalParticipants.add(userId);
-        dbParticipants.remove(userId);
-      }
-    }
+    ParticipantDiff participantDiff =
+        ParticipantDiff.of(getParticipantsFromUserCourses(courseBatchObject.getId()), participants);
+    List<String> finalParticipants = new ArrayList<>(participants);
+    List<String> addedParticipants = participantDiff.getAdded();
+    List<String> dbParticipants = participantDiff.getRemoved();
     userCoursesService.enroll(
         batchId,
         courseBatchObject.getCourseId(),
@@ -574,11 +553,15 @@ public class CourseBatchManagementActor extends BaseActor {
           ResponseCode.RESOURCE_NOT_FOUND.getResponseCode());
     }
     validateCourseBatchData(courseBatch);
-    String batchCreatorRootOrgId = getRootOrg(batchCreator);
-    Map<String, String> participantWithRootOrgIds = getRootOrgForMultipleUsers(participants);
+    List<String> lookupUserIds = new ArrayList<>(participants);
+    lookupUserIds.add(batchCreator);
+    Map<String, String> participantWithRootOrgIds = getRootOrgForMultipleUsers(lookupUserIds);
+    String batchCreatorRootOrgId = participantWithRootOrgIds.get(batchCreator);
+    if (batchCreatorRootOrgId == null) {
+      batchCreatorRootOrgId = getRootOrg(batchCreator);
+    }
     for (String userId : participants) {
-      if (!participantWithRootOrgIds.containsKey(userId)
-          || (!batchCreatorRootOrgId.equals(participantWithRootOrgIds.get(userId)))) {
+      if (!batchCreatorRootOrgId.equals(participantWithRootOrgIds.get(userId))) {
         throw new ProjectCommonException(
             ResponseCode.userNotAssociatedToRootOrg.getErrorCode(),
             ResponseCode.userNotAssociatedToRootOrg.getErrorMessage(),
@@ -667,36 +650,55 @@ public class CourseBatchManagementActor extends BaseActor {
     }
   }
 
-  @SuppressWarnings("unchecked")
   private Map<String, String> getRootOrgForMultipleUsers(List<String> userIds) {
-
     Map<String, String> userWithRootOrgs = new HashMap<>();
-    Map<String, Object> filters = new HashMap<>();
-    filters.put(JsonKey.ID, userIds);
-
-    List<String> fields = new ArrayList<>();
-    fields.add(JsonKey.ROOT_ORG_ID);
-    fields.add(JsonKey.ID);
-    fields.add(JsonKey.REGISTERED_ORG);
+    getUsers(userIds)
+        .forEach((userId, user) -> userWithRootOrgs.put(userId, getRootOrgFromUserMap(user)));
+    return userWithRootOrgs;
+  }
 
-    SearchDTO searchDTO = new SearchDTO();
-    if (CollectionUtils.isNotEmpty(userIds)) {
-      searchDTO.setLimit(userIds.size());
+  /**
+   * This method will read id, root org, registered org and deleted flag of given users from ES,
+   * querying distinct ids in chunks of at most USER_LOOKUP_SIZE so that large batches stay within
+   * the ES result window.
+   *
+   * @param userIds User ids, may contain duplicates
+   * @return User details keyed by id, users not found are absent
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Map<String, Object>> getUsers(List<String> userIds) {
+    Map<String, Map<String, Object>> users = new HashMap<>();
+    if (CollectionUtils.isEmpty(userIds)) {
+      return users;
+    }
+    List<String> distinctUserIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+    distinctUserIds.remove(null);
+    List<String> fields =
+        Arrays.asList(JsonKey.ROOT_ORG_ID, JsonKey.ID, JsonKey.REGISTERED_ORG, JsonKey.IS_DELETED);
+    int lookupSize = Math.max(1, ConfigReader.getIntConfig(USER_LOOKUP_SIZE, DEFAULT_LOOKUP_SIZE));
+    for (int from = 0; from < distinctUserIds.size(); from += lookupSize) {
+      List<String> chunk =
+          distinctUserIds.subList(from, Math.min(from + lookupSize, distinctUserIds.size()));
+      Map<String, Object> filters = new HashMap<>();
+      filters.put(JsonKey.ID, new ArrayList<>(chunk));
+      SearchDTO searchDTO = new SearchDTO();
+      searchDTO.setLimit(chunk.size());
       searchDTO.setOffset(0);
+      searchDTO.getAdditionalProperties().put(JsonKey.FILTERS, filters);
+      searchDTO.setFields(fields);
+
+      Map<String, Object> result =
+          ElasticSearchUtil.complexSearch(
+              searchDTO, ProjectUtil.EsIndex.sunbird.getIndexName(), EsType.user.getTypeName());
+      List<Map<String, Object>> esContent =
+          result == null ? null : (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
+      if (esContent != null) {
+        for (Map<String, Object> user : esContent) {
+          users.put((String) user.get(JsonKey.ID), user);
+        }
+      }
     }
-    searchDTO.getAdditionalProperties().put(JsonKey.FILTERS, filters);
-    searchDTO.setFields(fields);
-
-    Map<String, Object> result =
-        ElasticSearchUtil.complexSearch(
-            searchDTO, ProjectUtil.EsIndex.sunbird.getIndexName(), EsType.user.getTypeName());
-
-    List<Map<String, Object>> esContent = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
-    for (Map<String, Object> user : esContent) {
-      String rootOrg = getRootOrgFromUserMap(user);
-      userWithRootOrgs.put((String) user.get(JsonKey.ID), rootOrg);
-    }
-    return userWithRootOrgs;
+    return users;
   }
 
   private String getRootOrg(String batchCreator) {
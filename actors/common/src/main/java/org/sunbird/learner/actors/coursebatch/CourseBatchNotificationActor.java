@@ -1,29 +1,36 @@
 package org.sunbird.learner.actors.coursebatch;
 
 import akka.actor.ActorRef;
-import akka.actor.ActorSystem;
-import akka.actor.Props;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.velocity.Template;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.parser.node.SimpleNode;
 import org.sunbird.actor.background.BackgroundOperations;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
-import org.sunbird.actorutil.email.EmailServiceClient;
-import org.sunbird.actorutil.email.EmailServiceFactory;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.models.util.datasecurity.DecryptionService;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
-import org.sunbird.learner.actors.notificationservice.EmailServiceActor;
+import org.sunbird.learner.actors.notificationservice.OrgNameCache;
+import org.sunbird.learner.actors.notificationservice.dao.impl.EmailTemplateDaoImpl;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.SmtpMailer;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
 
@@ -36,11 +43,23 @@ import org.sunbird.models.course.batch.CourseBatch;
   asyncTasks = {"courseBatchNotification"}
 )
 public class CourseBatchNotificationActor extends BaseActor {
+  private static final String PAGE_SIZE = "sunbird_course_batch_notification_page_size";
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final String POOL = "courseBatchNotification";
+  private static final int DEFAULT_POOL_SIZE = 2;
+  private static final int POOL_QUEUE_SIZE = 100;
+  private static final String TEMPLATE_NOT_FOUND = "templateNotFound";
+  private static final String USER_NOT_FOUND = "userNotFound";
+  private static final String EMAIL_NOT_FOUND = "emailNotFound";
+  private static final String FAILED = "failed";
+  private static final RuntimeInstance velocity = new RuntimeInstance();
+
+  static {
+    velocity.init();
+  }
+
   private static CassandraOperation cassandraOperation = ServiceFactory.getInstance();
 
-  private static EmailServiceClient emailServiceClient = EmailServiceFactory.getInstance();
-  private static final Props props = Props.create(EmailServiceActor.class);
-  private static ActorSystem system = ActorSystem.create("system");
   private DecryptionService decryptionService =
       org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.getDecryptionServiceInstance(
           null);
@@ -58,7 +77,14 @@ public class CourseBatchNotificationActor extends BaseActor {
       ProjectLogger.log(
           "CourseBatchNotificationActor:onReceive: operation = " + request.getOperation(),
           LoggerEnum.INFO);
-      courseBatchNotification(request);
+      ActorRef sender = sender();
+      ActorRef self = self();
+      Runnable task = () -> sendNotification(request, sender, self);
+      try {
+        ExecutorManager.getExecutor(POOL, DEFAULT_POOL_SIZE, POOL_QUEUE_SIZE).execute(task);
+      } catch (RejectedExecutionException e) {
+        task.run();
+      }
     } else {
       ProjectLogger.log(
           "CourseBatchNotificationActor:onReceive: Unsupported operation = "
@@ -67,11 +93,34 @@ public class CourseBatchNotificationActor extends BaseActor {
     }
   }
 
-  private void courseBatchNotification(Request request) {
+  private void sendNotification(Request request, ActorRef sender, ActorRef self) {
+    try {
+      sender.tell(courseBatchNotification(request), self);
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "CourseBatchNotificationActor:sendNotification: Exception occurred with error message = "
+              + e.getMessage(),
+          e);
+      Response response = new Response();
+      response.setResponseCode(ResponseCode.internalError);
+      sender.tell(response, self);
+    }
+  }
+
+  /**
+   * This method will send notification mails of given batch operation.
+   *
+   * @param request Batch notification request
+   * @return Response with delivery status of each recipient, with OK response code only if all
+   *     mails are sent
+   */
+  @SuppressWarnings("unchecked")
+  private Response courseBatchNotification(Request request) {
 
     Map<String, Object> requestMap = request.getRequest();
 
     CourseBatch courseBatch = (CourseBatch) requestMap.get(JsonKey.COURSE_BATCH);
+    Map<String, Map<String, String>> deliveryStatus = new LinkedHashMap<>();
 
     String userId = (String) requestMap.get(JsonKey.USER_ID);
     ProjectLogger.log(
@@ -93,7 +142,12 @@ public class CourseBatchNotificationActor extends BaseActor {
         subject = JsonKey.COURSE_INVITATION;
       }
 
-      triggerEmailNotification(Arrays.asList(userId), courseBatch, subject, template);
+      triggerEmailNotification(
+          Arrays.asList(userId),
+          courseBatch,
+          subject,
+          template,
+          getDeliveryStatus(deliveryStatus, template));
 
     } else {
       ProjectLogger.log(
@@ -104,29 +158,84 @@ public class CourseBatchNotificationActor extends BaseActor {
       List<String> removedMentors = (List<String>) requestMap.get(JsonKey.REMOVED_MENTORS);
 
       triggerEmailNotification(
-          addedMentors, courseBatch, JsonKey.COURSE_INVITATION, JsonKey.BATCH_MENTOR_ENROL);
+          addedMentors,
+          courseBatch,
+          JsonKey.COURSE_INVITATION,
+          JsonKey.BATCH_MENTOR_ENROL,
+          getDeliveryStatus(deliveryStatus, JsonKey.BATCH_MENTOR_ENROL));
       triggerEmailNotification(
           removedMentors,
           courseBatch,
           JsonKey.UNENROLL_FROM_COURSE_BATCH,
-          JsonKey.BATCH_MENTOR_UNENROL);
+          JsonKey.BATCH_MENTOR_UNENROL,
+          getDeliveryStatus(deliveryStatus, JsonKey.BATCH_MENTOR_UNENROL));
 
       List<String> addedParticipants = (List<String>) requestMap.get(JsonKey.ADDED_PARTICIPANTS);
       List<String> removedParticipants =
           (List<String>) requestMap.get(JsonKey.REMOVED_PARTICIPANTS);
 
       triggerEmailNotification(
-          addedParticipants, courseBatch, JsonKey.COURSE_INVITATION, JsonKey.BATCH_LEARNER_ENROL);
+          addedParticipants,
+          courseBatch,
+          JsonKey.COURSE_INVITATION,
+          JsonKey.BATCH_LEARNER_ENROL,
+          getDeliveryStatus(deliveryStatus, JsonKey.BATCH_LEARNER_ENROL));
       triggerEmailNotification(
           removedParticipants,
           courseBatch,
           JsonKey.UNENROLL_FROM_COURSE_BATCH,
-          JsonKey.BATCH_LEARNER_UNENROL);
+          JsonKey.BATCH_LEARNER_UNENROL,
+          getDeliveryStatus(deliveryStatus, JsonKey.BATCH_LEARNER_UNENROL));
     }
+    return getResponse(deliveryStatus);
   }
 
+  private Map<String, String> getDeliveryStatus(
+      Map<String, Map<String, String>> deliveryStatus, String template) {
+    return deliveryStatus.computeIfAbsent(template, key -> new LinkedHashMap<>());
+  }
+
+  private Response getResponse(Map<String, Map<String, String>> deliveryStatus) {
+    int sent = 0;
+    int failed = 0;
+    for (Map<String, String> templateStatus : deliveryStatus.values()) {
+      for (String status : templateStatus.values()) {
+        if (JsonKey.SUCCESS.equals(status)) {
+          sent++;
+        } else {
+          failed++;
+        }
+      }
+    }
+    ProjectLogger.log(
+        "CourseBatchNotificationActor:courseBatchNotification: Sent "
+            + sent
+            + " mails, failed "
+            + failed,
+        failed == 0 ? LoggerEnum.INFO : LoggerEnum.ERROR);
+    Response response = new Response();
+    response.setResponseCode(failed == 0 ? ResponseCode.OK : ResponseCode.internalError);
+    response.put(JsonKey.RESPONSE, deliveryStatus);
+    return response;
+  }
+
+  /**
+   * This method will send given mail to given users a page at a time: names and emails of a page
+   * are read in one query and decrypted together, the template is parsed once and rendered per
+   * recipient, and mails are sent through the shared SMTP connection pool at its configured rate.
+   *
+   * @param userIdList Recipient user ids
+   * @param courseBatch Course batch
+   * @param subject Mail subject
+   * @param template Email template name
+   * @param deliveryStatus Status per recipient, updated with SUCCESS or reason of failure
+   */
   private void triggerEmailNotification(
-      List<String> userIdList, CourseBatch courseBatch, String subject, String template) {
+      List<String> userIdList,
+      CourseBatch courseBatch,
+      String subject,
+      String template,
+      Map<String, String> deliveryStatus) {
 
     ProjectLogger.log(
         "CourseBatchNotificationActor:triggerEmailNotification: userIdList = "
@@ -135,50 +244,138 @@ public class CourseBatchNotificationActor extends BaseActor {
 
     if (CollectionUtils.isEmpty(userIdList)) return;
 
-    List<Map<String, Object>> userMapList = getUsersFromDB(userIdList);
-
-    for (Map<String, Object> user : userMapList) {
-      Map<String, Object> requestMap = this.createEmailRequest(user, courseBatch);
+    List<String> userIds = new ArrayList<>(new LinkedHashSet<>(userIdList));
+    userIds.remove(null);
+    Template emailTemplate = getEmailTemplate(template);
+    if (emailTemplate == null) {
+      userIds.forEach(userId -> deliveryStatus.put(userId, TEMPLATE_NOT_FOUND));
+      return;
+    }
+    Map<String, Object> requestMap = createEmailRequest(courseBatch);
+    requestMap.put(JsonKey.SUBJECT, subject);
+    requestMap.put(JsonKey.EMAIL_TEMPLATE_TYPE, template);
+    int pageSize = Math.max(1, ConfigReader.getIntConfig(PAGE_SIZE, DEFAULT_PAGE_SIZE));
+    SmtpMailer mailer = SmtpMailer.getInstance();
+
+    for (int from = 0; from < userIds.size(); from += pageSize) {
+      List<String> page = userIds.subList(from, Math.min(from + pageSize, userIds.size()));
+      Map<String, Map<String, Object>> recipients = getRecipients(page);
+      for (String userId : page) {
+        Map<String, Object> user = recipients.get(userId);
+        String email = user == null ? null : (String) user.get(JsonKey.EMAIL);
+        if (!ProjectUtil.isEmailvalid(email)) {
+          deliveryStatus.put(userId, user == null ? USER_NOT_FOUND : EMAIL_NOT_FOUND);
+          continue;
+        }
+        try {
+          mailer.send(email, subject, render(emailTemplate, requestMap, user));
+          deliveryStatus.put(userId, JsonKey.SUCCESS);
+        } catch (Exception e) {
+          ProjectLogger.log(
+              "CourseBatchNotificationActor:triggerEmailNotification: Failed to send mail to userId = "
+                  + userId
+                  + " with error = "
+                  + e.getMessage(),
+              LoggerEnum.ERROR);
+          deliveryStatus.put(userId, e.getMessage() == null ? FAILED : e.getMessage());
+        }
+      }
+    }
+  }
 
-      requestMap.put(JsonKey.SUBJECT, subject);
-      requestMap.put(JsonKey.EMAIL_TEMPLATE_TYPE, template);
-      String email = decryptionService.decryptData((String) user.get(JsonKey.EMAIL));
-      requestMap.put(JsonKey.RECIPIENT_EMAILS, new ArrayList<>(Arrays.asList(email)));
+  @SuppressWarnings("unchecked")
+  private Map<String, Map<String, Object>> getRecipients(List<String> userIds) {
+    Util.DbInfo usrDbInfo = Util.dbInfoMap.get(JsonKey.USER_DB);
+    List<String> fields = new ArrayList<>();
+    fields.add(JsonKey.ID);
+    fields.add(JsonKey.FIRST_NAME);
+    fields.add(JsonKey.EMAIL);
+    fields.add(JsonKey.ROOT_ORG_ID);
+    Response response =
+        cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
+            usrDbInfo.getKeySpace(), usrDbInfo.getTableName(), fields, new ArrayList<>(userIds));
+    Map<String, Map<String, Object>> recipients = new HashMap<>();
+    if (response == null) {
+      ProjectLogger.log("No data from cassandra , check connection  ", LoggerEnum.ERROR.name());
+      return recipients;
+    }
+    List<Map<String, Object>> userList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (userList == null) {
+      return recipients;
+    }
+    for (Map<String, Object> user : userList) {
+      String email = (String) user.get(JsonKey.EMAIL);
+      Map<String, Object> recipient = new HashMap<>();
+      recipient.put(JsonKey.FIRST_NAME, user.get(JsonKey.FIRST_NAME));
+      recipient.put(JsonKey.ROOT_ORG_ID, user.get(JsonKey.ROOT_ORG_ID));
+      recipient.put(
+          JsonKey.EMAIL, StringUtils.isBlank(email) ? null : decryptionService.decryptData(email));
+      recipients.put((String) user.get(JsonKey.ID), recipient);
+    }
+    ProjectLogger.log(
+        "CourseBatchNotificationActor:getRecipients: Read "
+            + recipients.size()
+            + " of "
+            + userIds.size()
+            + " users",
+        LoggerEnum.INFO);
+    return recipients;
+  }
 
+  private Template getEmailTemplate(String templateName) {
+    String body = EmailTemplateDaoImpl.getInstance().getTemplate(templateName);
+    if (StringUtils.isBlank(body)) {
       ProjectLogger.log(
-          "CourseBatchNotificationActor:triggerEmailNotification: emailid = "
-              + (String) user.get(JsonKey.EMAIL),
-          LoggerEnum.INFO);
+          "CourseBatchNotificationActor:getEmailTemplate: Template not found = " + templateName,
+          LoggerEnum.ERROR);
+      return null;
+    }
+    try {
+      SimpleNode node = velocity.parse(new StringReader(body), templateName);
+      Template template = new Template();
+      template.setRuntimeServices(velocity);
+      template.setData(node);
+      template.initDocument();
+      return template;
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "CourseBatchNotificationActor:getEmailTemplate: Invalid template = " + templateName, e);
+      return null;
+    }
+  }
 
-      sendMail(requestMap);
+  private String render(
+      Template template, Map<String, Object> requestMap, Map<String, Object> user) {
+    Map<String, Object> context = new HashMap<>(requestMap);
+    String firstName = (String) user.get(JsonKey.FIRST_NAME);
+    context.put(JsonKey.FIRST_NAME, firstName);
+    context.put(JsonKey.NAME, StringUtils.capitalize(firstName));
+    if (StringUtils.isBlank((String) context.get(JsonKey.ORG_NAME))) {
+      context.put(JsonKey.ORG_NAME, getOrgName((String) user.get(JsonKey.ROOT_ORG_ID)));
     }
+    StringWriter writer = new StringWriter();
+    template.merge(ProjectUtil.getContext(context), writer);
+    return writer.toString();
   }
 
-  @SuppressWarnings("unchecked")
-  private List<Map<String, Object>> getUsersFromDB(List<String> userIds) {
-    if (userIds != null) {
-      Util.DbInfo usrDbInfo = Util.dbInfoMap.get(JsonKey.USER_DB);
-      List<String> userIdList = new ArrayList<>(userIds);
-      List<String> fields = new ArrayList<>();
-      fields.add(JsonKey.FIRST_NAME);
-      fields.add(JsonKey.EMAIL);
-      Response response =
-          cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
-              usrDbInfo.getKeySpace(), usrDbInfo.getTableName(), fields, userIdList);
-      if (response == null) {
-        ProjectLogger.log("No data from cassandra , check connection  ", LoggerEnum.ERROR.name());
-      }
-      List<Map<String, Object>> userList =
-          (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-      ProjectLogger.log("CourseBatchNotificationActor:getUsersFromDB: success ", LoggerEnum.INFO);
-      return userList;
+  /** Name of the root organisation of the recipient, for batches without organisation name. */
+  private String getOrgName(String rootOrgId) {
+    try {
+      return OrgNameCache.getInstance().getOrgName(rootOrgId);
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "CourseBatchNotificationActor:getOrgName: Failed to read name of org = "
+              + rootOrgId
+              + " with error = "
+              + e.getMessage(),
+          LoggerEnum.ERROR);
+      return null;
     }
-    return null;
   }
 
   @SuppressWarnings("unchecked")
-  private Map<String, Object> createEmailRequest(
-      Map<String, Object> userMap, CourseBatch courseBatch) {
+  private Map<String, Object> createEmailRequest(CourseBatch courseBatch) {
     ProjectLogger.log("CourseBatchNotificationActor: createEmailRequest:  ", LoggerEnum.INFO);
     Map<String, Object> courseBatchObject = new ObjectMapper().convertValue(courseBatch, Map.class);
     Map<String, String> additionalCourseInfo =
@@ -199,12 +396,6 @@ public class CourseBatchNotificationActor extends BaseActor {
         JsonKey.COURSE_BATCH_URL,
         getCourseBatchUrl(courseBatch.getCourseId(), courseBatch.getId()));
     requestMap.put(JsonKey.SIGNATURE, courseBatchNotificationSignature);
-    String userId = (String) userMap.get(JsonKey.USER_ID);
-
-    if (StringUtils.isNotBlank(userId)) {
-      requestMap.put(JsonKey.RECIPIENT_USERIDS, userId);
-    }
-    requestMap.put(JsonKey.FIRST_NAME, userMap.get(JsonKey.FIRST_NAME));
     ProjectLogger.log(
         "CourseBatchNotificationActor:createEmailRequest: success  ", LoggerEnum.INFO);
 
@@ -216,23 +407,4 @@ public class CourseBatchNotificationActor extends BaseActor {
     String url = new String(baseUrl + "/learn/course/" + courseId + "/batch/" + batchId);
     return url;
   }
-
-  private void sendMail(Map<String, Object> requestMap) {
-    ActorRef ref = system.actorOf(props);
-    ProjectLogger.log("CourseBatchNotificationActor:sendMail: email ready  ", LoggerEnum.INFO);
-    try {
-      Response response = emailServiceClient.sendMail(ref, requestMap);
-      sender().tell(response, self());
-      Response res = new Response();
-      res.setResponseCode(ResponseCode.OK);
-      sender().tell(res, self());
-      ProjectLogger.log(
-          "CourseBatchNotificationActor:sendMail: Email sent successfully", LoggerEnum.INFO);
-    } catch (Exception e) {
-      ProjectLogger.log(
-          "CourseBatchNotificationActor:sendMail: Exception occurred with error message = "
-              + e.getMessage(),
-          LoggerEnum.ERROR);
-    }
-  }
 }
@@ -9,6 +9,9 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
@@ -30,6 +33,7 @@ import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
 import org.sunbird.learner.actors.coursebatch.dao.UserCoursesDao;
 import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
 import org.sunbird.learner.actors.coursebatch.dao.impl.UserCoursesDaoImpl;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.util.CourseBatchUtil;
 import org.sunbird.learner.util.EkStepRequestUtil;
@@ -75,7 +79,8 @@ public class CourseEnrollmentActor extends BaseActor {
   private void enrollCourseBatch(Request actorMessage) {
     ProjectLogger.log("enrollCourseClass called");
     Map<String, Object> courseMap = (Map<String, Object>) actorMessage.getRequest();
-    CourseBatch courseBatch = courseBatchDao.readById((String) courseMap.get(JsonKey.BATCH_ID));
+    CourseBatch courseBatch =
+        CourseBatchCache.getInstance().readById((String) courseMap.get(JsonKey.BATCH_ID));
     validateCourseBatch(
         courseBatch, courseMap, (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY));
 
@@ -163,7 +168,8 @@ public class CourseEnrollmentActor extends BaseActor {
     ProjectLogger.log("unenrollCourseClass called");
     // objects of telemetry event...
     Map<String, Object> request = actorMessage.getRequest();
-    CourseBatch courseBatch = courseBatchDao.readById((String) request.get(JsonKey.BATCH_ID));
+    CourseBatch courseBatch =
+        CourseBatchCache.getInstance().readById((String) request.get(JsonKey.BATCH_ID));
     validateCourseBatch(
         courseBatch, request, (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY));
     UserCourses userCourseResult = userCourseDao.read(UserCoursesService.getPrimaryKey(request));
@@ -218,7 +224,6 @@ public class CourseEnrollmentActor extends BaseActor {
     }
   }
 
-  @SuppressWarnings("unchecked")
   public static Map<String, Object> getCourseObjectFromEkStep(
       String courseId, Map<String, String> headers) {
     ProjectLogger.log("Requested course id is ==" + courseId, LoggerEnum.INFO.name());
@@ -226,15 +231,7 @@ public class CourseEnrollmentActor extends BaseActor {
       try {
         String query = EKSTEP_COURSE_SEARCH_QUERY.replaceAll("COURSE_ID_PLACEHOLDER", courseId);
         Map<String, Object> result = EkStepRequestUtil.searchContent(query, headers);
-        if (null != result && !result.isEmpty() && result.get(JsonKey.CONTENTS) != null) {
-          return ((List<Map<String, Object>>) result.get(JsonKey.CONTENTS)).get(0);
-          // return (Map<String, Object>) contentObject;
-        } else {
-          ProjectLogger.log(
-              "CourseEnrollmentActor:getCourseObjectFromEkStep: Content not found for requested courseId "
-                  + courseId,
-              LoggerEnum.INFO.name());
-        }
+        return getCourseObject(courseId, result);
       } catch (Exception e) {
         ProjectLogger.log(e.getMessage(), e);
       }
@@ -242,6 +239,47 @@ public class CourseEnrollmentActor extends BaseActor {
     return null;
   }
 
+  /**
+   * This method will look up a course on EkStep like {@link #getCourseObjectFromEkStep}, without
+   * waiting for the search.
+   *
+   * @param courseId Course identifier
+   * @param headers Request headers
+   * @return Stage completed with the course, or with null if it is not found
+   */
+  public static CompletionStage<Map<String, Object>> getCourseObjectFromEkStepAsync(
+      String courseId, Map<String, String> headers) {
+    ProjectLogger.log("Requested course id is ==" + courseId, LoggerEnum.INFO.name());
+    if (StringUtils.isBlank(courseId)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    String query = EKSTEP_COURSE_SEARCH_QUERY.replaceAll("COURSE_ID_PLACEHOLDER", courseId);
+    return EkStepRequestUtil.searchContentAsync(query, headers)
+        .handle(
+            (result, error) -> {
+              if (error != null) {
+                ProjectLogger.log(error.getMessage(), error);
+                return null;
+              }
+              return getCourseObject(courseId, result);
+            });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> getCourseObject(
+      String courseId, Map<String, Object> result) {
+    if (null != result
+        && !result.isEmpty()
+        && CollectionUtils.isNotEmpty((List<Map<String, Object>>) result.get(JsonKey.CONTENTS))) {
+      return ((List<Map<String, Object>>) result.get(JsonKey.CONTENTS)).get(0);
+    }
+    ProjectLogger.log(
+        "CourseEnrollmentActor:getCourseObjectFromEkStep: Content not found for requested courseId "
+            + courseId,
+        LoggerEnum.INFO.name());
+    return null;
+  }
+
   /*
    * This method will validate courseBatch details before enrolling and
    * unenrolling
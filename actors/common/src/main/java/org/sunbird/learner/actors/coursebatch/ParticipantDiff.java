@@ -0,0 +1,76 @@
+package org.sunbird.learner.actors.coursebatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Difference between participants currently enrolled in a batch and participants requested for it,
+ * computed with hash sets in time linear in the size of both. Added and unchanged participants keep
+ * the order of the request and removed participants the order of the current list; duplicates and
+ * null ids are ignored.
+ */
+public final class ParticipantDiff {
+
+  private final Set<String> added = new LinkedHashSet<>();
+  private final Set<String> removed = new LinkedHashSet<>();
+  private final Set<String> unchanged = new LinkedHashSet<>();
+
+  private ParticipantDiff(Collection<String> current, Collection<String> requested) {
+    Set<String> currentSet = current == null ? Collections.emptySet() : new HashSet<>(current);
+    Set<String> requestedSet = new HashSet<>();
+    if (requested != null) {
+      for (String userId : requested) {
+        if (userId == null || !requestedSet.add(userId)) {
+          continue;
+        }
+        if (currentSet.contains(userId)) {
+          unchanged.add(userId);
+        } else {
+          added.add(userId);
+        }
+      }
+    }
+    if (current != null) {
+      for (String userId : current) {
+        if (userId != null && !requestedSet.contains(userId)) {
+          removed.add(userId);
+        }
+      }
+    }
+  }
+
+  /**
+   * This method will compute difference between current and requested participants.
+   *
+   * @param current Participants currently enrolled, may be null
+   * @param requested Participants requested, may be null
+   * @return Participant difference
+   */
+  public static ParticipantDiff of(Collection<String> current, Collection<String> requested) {
+    return new ParticipantDiff(current, requested);
+  }
+
+  /** @return Requested participants who are not enrolled */
+  public List<String> getAdded() {
+    return new ArrayList<>(added);
+  }
+
+  /** @return Enrolled participants who are not requested */
+  public List<String> getRemoved() {
+    return new ArrayList<>(removed);
+  }
+
+  /** @return Requested participants who are already enrolled */
+  public List<String> getUnchanged() {
+    return new ArrayList<>(unchanged);
+  }
+
+  public boolean isUnchanged(String userId) {
+    return unchanged.contains(userId);
+  }
+}
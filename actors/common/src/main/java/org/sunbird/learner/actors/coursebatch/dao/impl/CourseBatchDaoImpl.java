@@ -10,6 +10,7 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
 
@@ -28,8 +29,11 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
 
   @Override
   public Response update(Map<String, Object> map) {
-    return cassandraOperation.updateRecord(
-        courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), map);
+    Response response =
+        cassandraOperation.updateRecord(
+            courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), map);
+    CourseBatchCache.getInstance().invalidate((String) map.get(JsonKey.ID));
+    return response;
   }
 
   @Override
@@ -52,7 +56,10 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
 
   @Override
   public Response delete(String id) {
-    return cassandraOperation.deleteRecord(
-        courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), id);
+    Response response =
+        cassandraOperation.deleteRecord(
+            courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), id);
+    CourseBatchCache.getInstance().invalidate(id);
+    return response;
   }
 }
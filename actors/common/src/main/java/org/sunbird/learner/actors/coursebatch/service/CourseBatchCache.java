@@ -0,0 +1,140 @@
+package org.sunbird.learner.actors.coursebatch.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.Util;
+import org.sunbird.models.course.batch.CourseBatch;
+
+/**
+ * Bounded, TTL based cache of course_batch rows keyed by batch id, shared by the actors which
+ * validate batches on hot paths. Rows are cached without the participant map. Entries are dropped
+ * when the batch is written through {@code CourseBatchDaoImpl} or its status is changed by the
+ * scheduler; writes made on other instances are picked up when the entry expires.
+ */
+public class CourseBatchCache {
+
+  private static final String TTL = "sunbird_course_batch_cache_ttl_seconds";
+  private static final String MAX_SIZE = "sunbird_course_batch_cache_max_size";
+  private static final long DEFAULT_TTL = 60;
+  private static final long DEFAULT_MAX_SIZE = 10000;
+  private static final long METRICS_LOG_INTERVAL = 10000;
+  private static final CourseBatchCache instance = new CourseBatchCache();
+
+  private final Cache<String, Map<String, Object>> cache;
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final AtomicLong lookupCount = new AtomicLong();
+
+  private CourseBatchCache() {
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(ConfigReader.getLongConfig(MAX_SIZE, DEFAULT_MAX_SIZE))
+            .expireAfterWrite(ConfigReader.getLongConfig(TTL, DEFAULT_TTL), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  public static CourseBatchCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * This method will return the course_batch row for given batch id, reading it from Cassandra if
+   * not cached.
+   *
+   * @param batchId Course batch identifier
+   * @return Copy of the row (without participant), or null if batch does not exist
+   */
+  public Map<String, Object> get(String batchId) {
+    if (batchId == null) {
+      return null;
+    }
+    if (lookupCount.incrementAndGet() % METRICS_LOG_INTERVAL == 0) {
+      ProjectLogger.log("CourseBatchCache:get: metrics = " + getMetrics(), LoggerEnum.INFO.name());
+    }
+    Map<String, Object> batch = cache.getIfPresent(batchId);
+    if (batch == null) {
+      batch = read(batchId);
+      if (batch == null) {
+        return null;
+      }
+      cache.put(batchId, batch);
+    }
+    return new HashMap<>(batch);
+  }
+
+  /**
+   * This method will return the course batch for given batch id.
+   *
+   * @param batchId Course batch identifier
+   * @return Course batch information
+   * @throws ProjectCommonException if the batch does not exist
+   */
+  public CourseBatch readById(String batchId) {
+    Map<String, Object> batch = get(batchId);
+    if (batch == null) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidCourseBatchId.getErrorCode(),
+          ResponseCode.invalidCourseBatchId.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
+    return mapper.convertValue(batch, CourseBatch.class);
+  }
+
+  public void invalidate(String batchId) {
+    if (batchId != null) {
+      cache.invalidate(batchId);
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * This method will return hit, miss and eviction counts, hit rate and current size.
+   *
+   * @return Metrics map
+   */
+  public Map<String, Object> getMetrics() {
+    CacheStats stats = cache.stats();
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("hitCount", stats.hitCount());
+    metrics.put("missCount", stats.missCount());
+    metrics.put("hitRate", stats.hitRate());
+    metrics.put("evictionCount", stats.evictionCount());
+    metrics.put("size", cache.size());
+    return metrics;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> read(String batchId) {
+    Util.DbInfo courseBatchDb = Util.dbInfoMap.get(JsonKey.COURSE_BATCH_DB);
+    Response response =
+        ServiceFactory.getInstance()
+            .getRecordById(courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), batchId);
+    List<Map<String, Object>> batchList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (CollectionUtils.isEmpty(batchList)) {
+      return null;
+    }
+    Map<String, Object> batch = batchList.get(0);
+    batch.remove(JsonKey.PARTICIPANT);
+    return batch;
+  }
+}
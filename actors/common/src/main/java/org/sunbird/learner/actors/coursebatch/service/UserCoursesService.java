@@ -96,19 +96,17 @@ public class UserCoursesService {
 
       count++;
       records.add(userCourses);
-      if (count > CASSANDRA_BATCH_SIZE) {
-        performBatchInsert(records);
-        syncUsersToES(records);
-        records.clear();
-        count = 0;
-      }
-      if (count != 0) {
+      if (count >= CASSANDRA_BATCH_SIZE) {
         performBatchInsert(records);
         syncUsersToES(records);
         records.clear();
         count = 0;
       }
     }
+    if (count != 0) {
+      performBatchInsert(records);
+      syncUsersToES(records);
+    }
   }
 
   private void syncUsersToES(List<Map<String, Object>> records) {
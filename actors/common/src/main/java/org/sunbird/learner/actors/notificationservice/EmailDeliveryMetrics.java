@@ -0,0 +1,71 @@
+package org.sunbird.learner.actors.notificationservice;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sunbird.actor.metrics.MetricsRegistry;
+
+/**
+ * Counts of mails sent by {@link EmailServiceActor}: recipients, recipients of chunks which could
+ * not be sent after retries, retried chunks, and the rate at which recipients are sent.
+ */
+public final class EmailDeliveryMetrics {
+
+  private static final AtomicLong requestCount = new AtomicLong();
+  private static final AtomicLong recipientCount = new AtomicLong();
+  private static final AtomicLong failedRecipientCount = new AtomicLong();
+  private static final AtomicLong failedChunkCount = new AtomicLong();
+  private static final AtomicLong retryCount = new AtomicLong();
+  private static final AtomicLong sendTimeInMs = new AtomicLong();
+  private static volatile double lastRecipientsPerSecond;
+
+  static {
+    MetricsRegistry.register("email", EmailDeliveryMetrics::getMetrics);
+  }
+
+  private EmailDeliveryMetrics() {}
+
+  static void chunkRetried() {
+    retryCount.incrementAndGet();
+  }
+
+  static void chunkFailed(int recipients) {
+    failedChunkCount.incrementAndGet();
+    failedRecipientCount.addAndGet(recipients);
+  }
+
+  /**
+   * This method will record a finished email request.
+   *
+   * @param recipients Number of recipients mail was sent to, including failed ones
+   * @param elapsedInMs Time taken to send to all recipients
+   */
+  static void delivered(long recipients, long elapsedInMs) {
+    requestCount.incrementAndGet();
+    recipientCount.addAndGet(recipients);
+    sendTimeInMs.addAndGet(elapsedInMs);
+    lastRecipientsPerSecond = getRate(recipients, elapsedInMs);
+  }
+
+  /**
+   * This method will return counts since start and recipients per second of the last request and
+   * overall.
+   *
+   * @return Metrics map
+   */
+  public static Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("requestCount", requestCount.get());
+    metrics.put("recipientCount", recipientCount.get());
+    metrics.put("failedRecipientCount", failedRecipientCount.get());
+    metrics.put("failedChunkCount", failedChunkCount.get());
+    metrics.put("retryCount", retryCount.get());
+    metrics.put("recipientsPerSecond", getRate(recipientCount.get(), sendTimeInMs.get()));
+    metrics.put("lastRecipientsPerSecond", lastRecipientsPerSecond);
+    return metrics;
+  }
+
+  private static double getRate(long recipients, long elapsedInMs) {
+    return Math.round(recipients * 1000.0 * 100 / Math.max(1, elapsedInMs)) / 100.0;
+  }
+}
@@ -1,14 +1,19 @@
 package org.sunbird.learner.actors.notificationservice;
 
+import java.io.StringWriter;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
 import org.sunbird.actor.background.BackgroundOperations;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
@@ -24,13 +29,15 @@ import org.sunbird.common.models.util.ProjectUtil.EsIndex;
 import org.sunbird.common.models.util.ProjectUtil.EsType;
 import org.sunbird.common.models.util.datasecurity.DecryptionService;
 import org.sunbird.common.models.util.datasecurity.EncryptionService;
-import org.sunbird.common.models.util.mail.SendMail;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.notificationservice.dao.EmailTemplateDao;
 import org.sunbird.learner.actors.notificationservice.dao.impl.EmailTemplateDaoImpl;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.SmtpMailer;
 import org.sunbird.learner.util.Util;
 
 @ActorConfig(
@@ -39,6 +46,23 @@ import org.sunbird.learner.util.Util;
 )
 public class EmailServiceActor extends BaseActor {
 
+  private static final String RECIPIENT_PAGE_SIZE = "sunbird_email_recipient_page_size";
+  private static final String CHUNK_SIZE = "sunbird_email_bcc_chunk_size";
+  private static final String RETRIES = "sunbird_email_send_retries";
+  private static final String RETRY_DELAY = "sunbird_email_retry_delay_ms";
+  private static final int DEFAULT_RECIPIENT_PAGE_SIZE = 500;
+  private static final int DEFAULT_CHUNK_SIZE = 50;
+  private static final int DEFAULT_RETRIES = 2;
+  private static final long DEFAULT_RETRY_DELAY = 1000;
+  private static final String POOL = "emailDelivery";
+  private static final int DEFAULT_POOL_SIZE = 2;
+  private static final int POOL_QUEUE_SIZE = 64;
+  private static final VelocityEngine velocity = new VelocityEngine();
+
+  static {
+    velocity.init();
+  }
+
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private DecryptionService decryptionService =
       org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.getDecryptionServiceInstance(
@@ -46,6 +70,8 @@ public class EmailServiceActor extends BaseActor {
   private EncryptionService encryptionService =
       org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.getEncryptionServiceInstance(
           null);
+  private ExecutorService deliveryExecutor =
+      ExecutorManager.getExecutor(POOL, DEFAULT_POOL_SIZE, POOL_QUEUE_SIZE);
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -63,6 +89,7 @@ public class EmailServiceActor extends BaseActor {
     List<String> emails = (List<String>) request.get(JsonKey.RECIPIENT_EMAILS);
     if (CollectionUtils.isNotEmpty(emails)) {
       checkEmailValidity(emails);
+      emails = new ArrayList<>(emails);
     } else {
       emails = new ArrayList<>();
     }
@@ -71,25 +98,25 @@ public class EmailServiceActor extends BaseActor {
     if (CollectionUtils.isEmpty(userIds)) {
       userIds = new ArrayList<>();
     }
-    // Fetch public user emails from Elastic Search based on recipient search query given in
-    // request.
-    getUserEmailsFromSearchQuery(request, emails, userIds);
+    // Users matching recipient search query given in request are read page by page, only the
+    // first page is read before replying.
+    RecipientSearch search = getRecipientSearch(request);
+    List<Map<String, Object>> firstPage = getFirstPage(request, search);
 
     validateUserIds(userIds, emails);
-    validateEmailRecipientsLimit(emails);
+    emails.addAll(getEmails(firstPage));
+    long pendingCount = search != null ? Math.max(0, search.getTotal() - firstPage.size()) : 0;
+    validateEmailRecipientsLimit(emails, pendingCount);
 
     Map<String, Object> user = null;
-    if (CollectionUtils.isNotEmpty(emails)) {
-      user = getUserInfo(emails.get(0));
-    }
-
     String name = "";
-    if (emails.size() == 1) {
+    if (emails.size() == 1 && pendingCount == 0) {
+      user = getUserInfo(emails.get(0));
       name = StringUtils.capitalize((String) user.get(JsonKey.FIRST_NAME));
     }
 
     // fetch orgname inorder to set in the Template context
-    String orgName = getOrgName(request, (String) user.get(JsonKey.USER_ID));
+    String orgName = getOrgName(request, user, emails.get(0));
 
     request.put(JsonKey.NAME, name);
     if (orgName != null) {
@@ -102,21 +129,67 @@ public class EmailServiceActor extends BaseActor {
     res.put(JsonKey.RESPONSE, JsonKey.SUCCESS);
     sender().tell(res, self());
     ProjectLogger.log(
-        "EmailServiceActor:sendMail: Sending email to = " + emails.size() + " emails",
+        "EmailServiceActor:sendMail: Sending email to = "
+            + (emails.size() + pendingCount)
+            + " emails",
         LoggerEnum.INFO.name());
+    // remaining recipient pages are read and mails sent on the delivery pool, so that retries and
+    // paging do not hold the actor
+    List<String> recipients = emails;
+    Runnable delivery =
+        () -> deliver(request, ProjectUtil.getContext(request), template, recipients, search);
     try {
-      SendMail.sendMailWithBody(
-          emails.toArray(new String[emails.size()]),
-          (String) request.get(JsonKey.SUBJECT),
-          ProjectUtil.getContext(request),
-          template);
+      deliveryExecutor.execute(delivery);
+    } catch (RejectedExecutionException e) {
+      delivery.run();
+    }
+  }
+
+  private void deliver(
+      Map<String, Object> request,
+      VelocityContext context,
+      String template,
+      List<String> emails,
+      RecipientSearch search) {
+    long startTime = System.currentTimeMillis();
+    MailChunks chunks;
+    try {
+      StringWriter body = new StringWriter();
+      velocity.evaluate(context, body, "EmailServiceActor", template);
+      chunks = new MailChunks((String) request.get(JsonKey.SUBJECT), body.toString());
     } catch (Exception e) {
       ProjectLogger.log(
-          "EmailServiceActor:sendMail: Exception occurred with message = " + e.getMessage(), e);
+          "EmailServiceActor:deliver: Exception occurred while rendering template with message = "
+              + e.getMessage(),
+          e);
+      return;
     }
+    chunks.add(emails);
+    try {
+      while (search != null && search.hasNext()) {
+        chunks.add(getEmails(search.next()));
+      }
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "EmailServiceActor:deliver: Exception occurred while reading recipients with message = "
+              + e.getMessage(),
+          e);
+    }
+    chunks.flush();
+    long elapsed = System.currentTimeMillis() - startTime;
+    EmailDeliveryMetrics.delivered(chunks.recipientCount, elapsed);
+    ProjectLogger.log(
+        "EmailServiceActor:deliver: Sent email to = "
+            + chunks.recipientCount
+            + " emails, failed = "
+            + chunks.failedCount
+            + " in "
+            + elapsed
+            + " ms",
+        LoggerEnum.INFO.name());
   }
 
-  private void validateEmailRecipientsLimit(List<String> emails) {
+  private void validateEmailRecipientsLimit(List<String> emails, long pendingCount) {
     if (CollectionUtils.isEmpty(emails)) {
       ProjectCommonException.throwClientErrorException(
           ResponseCode.emailNotSentRecipientsZero,
@@ -133,7 +206,7 @@ public class EmailServiceActor extends BaseActor {
           LoggerEnum.INFO);
       maxLimit = 100;
     }
-    if (emails.size() > maxLimit) {
+    if (emails.size() + pendingCount > maxLimit) {
       ProjectCommonException.throwClientErrorException(
           ResponseCode.emailNotSentRecipientsExceededMaxLimit,
           MessageFormat.format(
@@ -206,93 +279,94 @@ public class EmailServiceActor extends BaseActor {
     return userList;
   }
 
-  private void getUserEmailsFromSearchQuery(
-      Map<String, Object> request, List<String> emails, List<String> userIds) {
+  @SuppressWarnings("unchecked")
+  private RecipientSearch getRecipientSearch(Map<String, Object> request) {
     Map<String, Object> recipientSearchQuery =
         (Map<String, Object>) request.get(JsonKey.RECIPIENT_SEARCH_QUERY);
-    if (MapUtils.isNotEmpty(recipientSearchQuery)) {
+    if (MapUtils.isEmpty(recipientSearchQuery)) {
+      return null;
+    }
+    if (MapUtils.isEmpty((Map<String, Object>) recipientSearchQuery.get(JsonKey.FILTERS))) {
+      ProjectCommonException.throwClientErrorException(
+          ResponseCode.invalidParameterValue,
+          MessageFormat.format(
+              ResponseCode.invalidParameterValue.getErrorMessage(),
+              recipientSearchQuery,
+              JsonKey.RECIPIENT_SEARCH_QUERY));
+    }
+    List<String> fields = new ArrayList<>();
+    fields.add(JsonKey.USER_ID);
+    fields.add(JsonKey.EMAIL);
+    return new RecipientSearch(
+        recipientSearchQuery,
+        fields,
+        ConfigReader.getIntConfig(RECIPIENT_PAGE_SIZE, DEFAULT_RECIPIENT_PAGE_SIZE));
+  }
 
-      if (MapUtils.isEmpty((Map<String, Object>) recipientSearchQuery.get(JsonKey.FILTERS))) {
-        ProjectCommonException.throwClientErrorException(
-            ResponseCode.invalidParameterValue,
-            MessageFormat.format(
-                ResponseCode.invalidParameterValue.getErrorMessage(),
-                recipientSearchQuery,
-                JsonKey.RECIPIENT_SEARCH_QUERY));
-        return;
-      }
+  private List<Map<String, Object>> getFirstPage(
+      Map<String, Object> request, RecipientSearch search) {
+    if (search == null) {
+      return Collections.emptyList();
+    }
+    try {
+      return search.next();
+    } catch (Exception ex) {
+      ProjectLogger.log(
+          "EmailServiceActor:getFirstPage: Exception occurred with error message = "
+              + ex.getMessage(),
+          ex);
+      ProjectCommonException.throwClientErrorException(
+          ResponseCode.invalidParameterValue,
+          MessageFormat.format(
+              ResponseCode.invalidParameterValue.getErrorMessage(),
+              request.get(JsonKey.RECIPIENT_SEARCH_QUERY),
+              JsonKey.RECIPIENT_SEARCH_QUERY));
+      return Collections.emptyList();
+    }
+  }
 
-      List<String> fields = new ArrayList<>();
-      fields.add(JsonKey.USER_ID);
-      fields.add(JsonKey.EMAIL);
-      recipientSearchQuery.put(JsonKey.FIELDS, fields);
-      Map<String, Object> esResult = Collections.emptyMap();
-      try {
-        esResult =
-            ElasticSearchUtil.complexSearch(
-                ElasticSearchUtil.createSearchDTO(recipientSearchQuery),
-                EsIndex.sunbird.getIndexName(),
-                EsType.user.getTypeName());
-      } catch (Exception ex) {
-        ProjectLogger.log(
-            "EmailServiceActor:getUserEmailsFromSearchQuery: Exception occurred with error message = "
-                + ex.getMessage(),
-            ex);
-        ProjectCommonException.throwClientErrorException(
-            ResponseCode.invalidParameterValue,
-            MessageFormat.format(
-                ResponseCode.invalidParameterValue.getErrorMessage(),
-                recipientSearchQuery,
-                JsonKey.RECIPIENT_SEARCH_QUERY));
-        return;
+  /**
+   * This method will return emails of given users of a recipient search page. Public emails are
+   * decrypted and private (masked in Elastic Search) emails are read from Cassandra DB for the page
+   * at once.
+   */
+  private List<String> getEmails(List<Map<String, Object>> users) {
+    List<String> emails = new ArrayList<>();
+    List<String> privateUserIds = new ArrayList<>();
+    for (Map<String, Object> user : users) {
+      if (StringUtils.isNotBlank((String) user.get(JsonKey.EMAIL))) {
+        String email = decryptionService.decryptData((String) user.get(JsonKey.EMAIL));
+        if (ProjectUtil.isEmailvalid(email)) {
+          emails.add(email);
+        } else {
+          ProjectLogger.log(
+              "EmailServiceActor:getEmails: Email decryption failed for userId = "
+                  + user.get(JsonKey.USER_ID));
+        }
+      } else if (user.get(JsonKey.USER_ID) != null) {
+        privateUserIds.add((String) user.get(JsonKey.USER_ID));
       }
-      if (MapUtils.isNotEmpty(esResult)
-          && CollectionUtils.isNotEmpty((List) esResult.get(JsonKey.CONTENT))) {
-        List<Map<String, Object>> usersList =
-            (List<Map<String, Object>>) esResult.get(JsonKey.CONTENT);
-        usersList.forEach(
-            user -> {
-              if (StringUtils.isNotBlank((String) user.get(JsonKey.EMAIL))) {
-                String email = decryptionService.decryptData((String) user.get(JsonKey.EMAIL));
-                if (ProjectUtil.isEmailvalid(email)) {
-                  emails.add(email);
-                } else {
-                  ProjectLogger.log(
-                      "EmailServiceActor:sendMail: Email decryption failed for userId = "
-                          + user.get(JsonKey.USER_ID));
-                }
-              } else {
-                // If email is blank (or private) then fetch email from cassandra
-                userIds.add((String) user.get(JsonKey.USER_ID));
-              }
-            });
+    }
+    if (!privateUserIds.isEmpty()) {
+      for (Map<String, Object> userMap : getUsersFromDB(privateUserIds)) {
+        String email = (String) userMap.get(JsonKey.EMAIL);
+        if (StringUtils.isNotBlank(email)) {
+          emails.add(decryptionService.decryptData(email));
+        }
       }
     }
+    return emails;
   }
 
-  private String getOrgName(Map<String, Object> request, String usrId) {
+  private String getOrgName(Map<String, Object> request, Map<String, Object> user, String email) {
     String orgName = (String) request.get(JsonKey.ORG_NAME);
     if (StringUtils.isNotBlank(orgName)) {
       return orgName;
     }
-    Map<String, Object> esUserResult =
-        ElasticSearchUtil.getDataByIdentifier(
-            EsIndex.sunbird.getIndexName(), EsType.user.getTypeName(), usrId);
-    if (null != esUserResult) {
-      String rootOrgId = (String) esUserResult.get(JsonKey.ROOT_ORG_ID);
-      if (!(StringUtils.isBlank(rootOrgId))) {
-        Map<String, Object> esOrgResult =
-            ElasticSearchUtil.getDataByIdentifier(
-                EsIndex.sunbird.getIndexName(), EsType.organisation.getTypeName(), rootOrgId);
-        if (null != esOrgResult) {
-          orgName =
-              (esOrgResult.get(JsonKey.ORG_NAME) != null
-                  ? (String) esOrgResult.get(JsonKey.ORGANISATION_NAME)
-                  : "");
-        }
-      }
+    if (user == null) {
+      user = getUserInfo(email);
     }
-    return orgName;
+    return OrgNameCache.getInstance().getOrgName((String) user.get(JsonKey.ROOT_ORG_ID));
   }
 
   @SuppressWarnings("unchecked")
@@ -331,4 +405,76 @@ public class EmailServiceActor extends BaseActor {
       }
     }
   }
+
+  /**
+   * Recipients waiting to be sent, mailed in chunks of sunbird_email_bcc_chunk_size (BCC) through
+   * the shared SMTP connection pool as they are added. A chunk which fails is retried
+   * sunbird_email_send_retries times with a growing delay, and counted as failed after that.
+   */
+  private static class MailChunks {
+
+    private final String subject;
+    private final String body;
+    private final SmtpMailer mailer = SmtpMailer.getInstance();
+    private final int chunkSize =
+        Math.max(1, ConfigReader.getIntConfig(CHUNK_SIZE, DEFAULT_CHUNK_SIZE));
+    private final int retries = ConfigReader.getIntConfig(RETRIES, DEFAULT_RETRIES);
+    private final long retryDelay = ConfigReader.getLongConfig(RETRY_DELAY, DEFAULT_RETRY_DELAY);
+    private final List<String> pending = new ArrayList<>();
+    private long recipientCount;
+    private long failedCount;
+
+    private MailChunks(String subject, String body) {
+      this.subject = subject;
+      this.body = body;
+    }
+
+    private void add(List<String> emails) {
+      pending.addAll(emails);
+      while (pending.size() >= chunkSize) {
+        List<String> chunk = pending.subList(0, chunkSize);
+        send(chunk);
+        chunk.clear();
+      }
+    }
+
+    private void flush() {
+      if (!pending.isEmpty()) {
+        send(pending);
+        pending.clear();
+      }
+    }
+
+    private void send(List<String> chunk) {
+      List<String> recipients = new ArrayList<>(chunk);
+      recipientCount += recipients.size();
+      for (int attempt = 0; attempt <= retries; attempt++) {
+        if (attempt > 0) {
+          EmailDeliveryMetrics.chunkRetried();
+          try {
+            Thread.sleep(retryDelay * attempt);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+        }
+        try {
+          mailer.sendBcc(recipients, subject, body);
+          return;
+        } catch (Exception e) {
+          ProjectLogger.log(
+              "EmailServiceActor:MailChunks:send: Exception occurred with message = "
+                  + e.getMessage(),
+              e);
+        }
+      }
+      failedCount += recipients.size();
+      EmailDeliveryMetrics.chunkFailed(recipients.size());
+      ProjectLogger.log(
+          "EmailServiceActor:MailChunks:send: Failed to send email to = "
+              + recipients.size()
+              + " emails",
+          LoggerEnum.ERROR.name());
+    }
+  }
 }
@@ -0,0 +1,92 @@
+package org.sunbird.learner.actors.notificationservice;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang.StringUtils;
+import org.sunbird.actor.metrics.MetricsRegistry;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectUtil.EsIndex;
+import org.sunbird.common.models.util.ProjectUtil.EsType;
+import org.sunbird.learner.util.ConfigReader;
+
+/**
+ * Bounded, TTL based cache of root organisation names keyed by organisation id, used to fill the
+ * organisation name of email templates without an Elastic Search lookup per mail. Renamed
+ * organisations are picked up when the entry expires.
+ */
+public class OrgNameCache {
+
+  private static final String TTL = "sunbird_org_name_cache_ttl_seconds";
+  private static final String MAX_SIZE = "sunbird_org_name_cache_max_size";
+  private static final long DEFAULT_TTL = 600;
+  private static final long DEFAULT_MAX_SIZE = 1000;
+  private static final OrgNameCache instance = new OrgNameCache();
+
+  private final Cache<String, String> cache;
+
+  private OrgNameCache() {
+    MetricsRegistry.register("orgNames", this::getMetrics);
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(ConfigReader.getLongConfig(MAX_SIZE, DEFAULT_MAX_SIZE))
+            .expireAfterWrite(ConfigReader.getLongConfig(TTL, DEFAULT_TTL), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  public static OrgNameCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * This method will return name of given organisation, reading it from Elastic Search if it is
+   * not cached.
+   *
+   * @param orgId Organisation identifier
+   * @return Organisation name, or null if the organisation does not exist
+   */
+  public String getOrgName(String orgId) {
+    if (StringUtils.isBlank(orgId)) {
+      return null;
+    }
+    String orgName = cache.getIfPresent(orgId);
+    if (orgName == null) {
+      Map<String, Object> esOrgResult =
+          ElasticSearchUtil.getDataByIdentifier(
+              EsIndex.sunbird.getIndexName(), EsType.organisation.getTypeName(), orgId);
+      if (esOrgResult != null) {
+        orgName =
+            (esOrgResult.get(JsonKey.ORG_NAME) != null
+                ? (String) esOrgResult.get(JsonKey.ORGANISATION_NAME)
+                : "");
+        cache.put(orgId, orgName != null ? orgName : "");
+      }
+    }
+    return orgName;
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * This method will return hit, miss and eviction counts, hit rate and current size.
+   *
+   * @return Metrics map
+   */
+  public Map<String, Object> getMetrics() {
+    CacheStats stats = cache.stats();
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("hitCount", stats.hitCount());
+    metrics.put("missCount", stats.missCount());
+    metrics.put("hitRate", stats.hitRate());
+    metrics.put("evictionCount", stats.evictionCount());
+    metrics.put("size", cache.size());
+    return metrics;
+  }
+}
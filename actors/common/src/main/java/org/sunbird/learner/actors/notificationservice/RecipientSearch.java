@@ -0,0 +1,110 @@
+package org.sunbird.learner.actors.notificationservice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectUtil.EsIndex;
+import org.sunbird.common.models.util.ProjectUtil.EsType;
+
+/**
+ * Pages through users matching a recipient search query in ascending order of id. Every page after
+ * the first is fetched with a filter on ids greater than the last id of the previous page, so a
+ * query matching all users of an organisation is neither held in memory at once nor limited by the
+ * result window of Elastic Search. Queries which filter on id themselves are paged by offset.
+ */
+final class RecipientSearch {
+
+  private static final String GT = ">";
+
+  private final Map<String, Object> query;
+  private final Map<String, Object> filters;
+  private final int pageSize;
+  private final boolean byId;
+  private int remaining;
+  private int offset;
+  private String lastId;
+  private long total = -1;
+  private boolean done;
+
+  @SuppressWarnings("unchecked")
+  RecipientSearch(Map<String, Object> searchQuery, List<String> fields, int pageSize) {
+    query = new HashMap<>(searchQuery);
+    filters = new HashMap<>((Map<String, Object>) searchQuery.get(JsonKey.FILTERS));
+    List<String> searchFields = new ArrayList<>(fields);
+    if (!searchFields.contains(JsonKey.ID)) {
+      searchFields.add(JsonKey.ID);
+    }
+    query.put(JsonKey.FIELDS, searchFields);
+    this.pageSize = Math.max(1, pageSize);
+    byId = !filters.containsKey(JsonKey.ID);
+    Object limit = searchQuery.get(JsonKey.LIMIT);
+    remaining = limit instanceof Number ? ((Number) limit).intValue() : Integer.MAX_VALUE;
+    Object from = searchQuery.get(JsonKey.OFFSET);
+    offset = from instanceof Number && !byId ? ((Number) from).intValue() : 0;
+  }
+
+  /**
+   * This method will fetch the next page of matching users.
+   *
+   * @return Users of the next page, empty once all matching users are read
+   */
+  @SuppressWarnings("unchecked")
+  List<Map<String, Object>> next() {
+    if (done) {
+      return Collections.emptyList();
+    }
+    int limit = Math.min(pageSize, remaining);
+    Map<String, Object> pageFilters = new HashMap<>(filters);
+    Map<String, Object> pageQuery = new HashMap<>(query);
+    if (byId) {
+      if (lastId != null) {
+        Map<String, Object> range = new HashMap<>();
+        range.put(GT, lastId);
+        pageFilters.put(JsonKey.ID, range);
+      }
+      Map<String, Object> sortBy = new HashMap<>();
+      sortBy.put(JsonKey.ID, JsonKey.ASC);
+      pageQuery.put(JsonKey.SORT_BY, sortBy);
+    }
+    pageQuery.put(JsonKey.FILTERS, pageFilters);
+    pageQuery.put(JsonKey.OFFSET, byId ? 0 : offset);
+    pageQuery.put(JsonKey.LIMIT, limit);
+    Map<String, Object> result =
+        ElasticSearchUtil.complexSearch(
+            ElasticSearchUtil.createSearchDTO(pageQuery),
+            EsIndex.sunbird.getIndexName(),
+            EsType.user.getTypeName());
+    List<Map<String, Object>> users = Collections.emptyList();
+    if (MapUtils.isNotEmpty(result)
+        && CollectionUtils.isNotEmpty((List) result.get(JsonKey.CONTENT))) {
+      users = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
+    }
+    if (total < 0) {
+      Object count = MapUtils.isNotEmpty(result) ? result.get(JsonKey.COUNT) : null;
+      total =
+          count instanceof Number
+              ? Math.min(((Number) count).longValue() - offset, (long) remaining)
+              : users.size();
+    }
+    remaining -= users.size();
+    offset += users.size();
+    lastId = users.isEmpty() ? null : (String) users.get(users.size() - 1).get(JsonKey.ID);
+    done = users.size() < limit || remaining <= 0 || (byId && lastId == null);
+    return users;
+  }
+
+  boolean hasNext() {
+    return !done;
+  }
+
+  /** @return Number of matching users reported with the first page, -1 before it is fetched */
+  long getTotal() {
+    return total;
+  }
+}
@@ -17,6 +17,7 @@ import org.sunbird.learner.actors.otp.service.OTPService;
 import org.sunbird.learner.util.OTPUtil;
 import org.sunbird.ratelimit.limiter.OtpRateLimiter;
 import org.sunbird.ratelimit.limiter.RateLimiter;
+import org.sunbird.ratelimit.service.LocalRateLimitService;
 import org.sunbird.ratelimit.service.RateLimitService;
 import org.sunbird.ratelimit.service.RateLimitServiceImpl;
 
@@ -27,7 +28,10 @@ import org.sunbird.ratelimit.service.RateLimitServiceImpl;
 public class OTPActor extends BaseActor {
 
   private OTPService otpService = new OTPService();
-  private RateLimitService rateLimitService = new RateLimitServiceImpl();
+  private RateLimitService rateLimitService =
+      LocalRateLimitService.isEnabled()
+          ? LocalRateLimitService.getInstance()
+          : new RateLimitServiceImpl();
 
   @Override
   public void onReceive(Request request) throws Throwable {
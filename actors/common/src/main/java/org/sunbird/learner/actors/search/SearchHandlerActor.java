@@ -101,8 +101,8 @@ public class SearchHandlerActor extends BaseActor {
         if (EsType.user.getTypeName().equalsIgnoreCase(filterObjectType)) {
           List<Map<String, Object>> userMapList =
               (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
+          UserUtility.decryptUserDataFrmES(userMapList);
           for (Map<String, Object> userMap : userMapList) {
-            UserUtility.decryptUserDataFrmES(userMap);
             userMap.remove(JsonKey.ENC_EMAIL);
             userMap.remove(JsonKey.ENC_PHONE);
           }
@@ -0,0 +1,310 @@
+package org.sunbird.learner.actors.syncjobmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.checkpoint.dao.JobCheckpointDao;
+import org.sunbird.learner.actors.checkpoint.dao.impl.JobCheckpointDaoImpl;
+import org.sunbird.learner.actors.checkpoint.model.JobCheckpoint;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.Util.DbInfo;
+
+/**
+ * Full sync of a Cassandra table to Elastic Search without loading the table in memory. Only the id
+ * column is scanned up front; rows are then read, transformed and bulk indexed one page at a time
+ * with a bounded number of bulk requests in flight. The last id up to which all pages are indexed
+ * is checkpointed so that an interrupted sync resumes after it.
+ */
+public class EsBulkSyncJob {
+
+  private static final String JOB_TYPE = "esSync";
+  private static final String PAGE_SIZE = "sunbird_es_sync_page_size";
+  private static final String MAX_IN_FLIGHT = "sunbird_es_sync_max_in_flight";
+  private static final int DEFAULT_PAGE_SIZE = 500;
+  private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+  private static final String POOL = "esSync";
+  private static final int POOL_QUEUE_SIZE = 64;
+
+  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private JobCheckpointDao checkpointDao = JobCheckpointDaoImpl.getInstance();
+  private final String objectType;
+  private final DbInfo dbInfo;
+  private final String esType;
+  private final UnaryOperator<List<Map<String, Object>>> pageTransformer;
+  private final int pageSize;
+  private final int maxInFlight;
+
+  private JobCheckpoint checkpoint;
+  private List<List<String>> pages;
+  private boolean[] completedPages;
+  private int nextPageToCommit;
+  private long startTime;
+  private long processedAtStart;
+
+  public EsBulkSyncJob(
+      String objectType,
+      DbInfo dbInfo,
+      String esType,
+      UnaryOperator<List<Map<String, Object>>> pageTransformer) {
+    this(
+        objectType,
+        dbInfo,
+        esType,
+        pageTransformer,
+        ConfigReader.getIntConfig(PAGE_SIZE, DEFAULT_PAGE_SIZE),
+        ConfigReader.getIntConfig(MAX_IN_FLIGHT, DEFAULT_MAX_IN_FLIGHT));
+  }
+
+  public EsBulkSyncJob(
+      String objectType,
+      DbInfo dbInfo,
+      String esType,
+      UnaryOperator<List<Map<String, Object>>> pageTransformer,
+      int pageSize,
+      int maxInFlight) {
+    this.objectType = objectType;
+    this.dbInfo = dbInfo;
+    this.esType = esType;
+    this.pageTransformer = pageTransformer;
+    this.pageSize = Math.max(1, pageSize);
+    this.maxInFlight = Math.max(1, maxInFlight);
+  }
+
+  /**
+   * This method will sync all records of the table, resuming from the last checkpoint if the
+   * previous sync of this object type did not complete.
+   *
+   * @return Checkpoint with final status and counts
+   */
+  public JobCheckpoint run() {
+    startTime = System.currentTimeMillis();
+    String jobId = "esSync_" + objectType;
+    List<String> ids = getSortedIds();
+    checkpoint = checkpointDao.read(jobId);
+    if (null != checkpoint && checkpoint.isResumable()) {
+      String lastProcessedId = checkpoint.getLastProcessedId();
+      ids =
+          ids.stream()
+              .filter(id -> id.compareTo(lastProcessedId) > 0)
+              .collect(Collectors.toList());
+      ProjectLogger.log(
+          "EsBulkSyncJob:run: Resuming sync for type = "
+              + objectType
+              + " after id = "
+              + lastProcessedId
+              + " remaining = "
+              + ids.size(),
+          LoggerEnum.INFO);
+    } else {
+      checkpoint = new JobCheckpoint(jobId, JOB_TYPE);
+    }
+    // failed pages of the previous run are retried, so they are counted again if they fail again
+    checkpoint.setFailedCount(0L);
+    checkpoint.setStatus(JobCheckpoint.STATUS_IN_PROGRESS);
+    processedAtStart = checkpoint.getProcessedCount();
+    checkpoint.setTotalCount(processedAtStart + ids.size());
+    checkpointDao.save(checkpoint);
+
+    pages = partition(ids);
+    completedPages = new boolean[pages.size()];
+    nextPageToCommit = 0;
+    ExecutorService executor =
+        ExecutorManager.getExecutor(
+            POOL, ConfigReader.getIntConfig(MAX_IN_FLIGHT, DEFAULT_MAX_IN_FLIGHT), POOL_QUEUE_SIZE);
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    try {
+      for (int i = 0; i < pages.size(); i++) {
+        List<Map<String, Object>> documents;
+        try {
+          documents = loadPage(pages.get(i));
+        } catch (RuntimeException e) {
+          ProjectLogger.log(
+              "EsBulkSyncJob:run: Failed to load page = " + i + " for type = " + objectType, e);
+          commit(i, false);
+          continue;
+        }
+        inFlight.acquire();
+        final int pageIndex = i;
+        Runnable task =
+            () -> {
+              try {
+                indexPage(pageIndex, documents);
+              } finally {
+                inFlight.release();
+              }
+            };
+        try {
+          executor.execute(task);
+        } catch (RejectedExecutionException e) {
+          task.run();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ProjectLogger.log("EsBulkSyncJob:run: Sync interrupted for type = " + objectType, e);
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "EsBulkSyncJob:run: Exception in sync for type = " + objectType + " " + e.getMessage(),
+          e);
+    } finally {
+      // wait for the pages in flight, the pool is shared
+      inFlight.acquireUninterruptibly(maxInFlight);
+    }
+    return finish();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<String> getSortedIds() {
+    Response response =
+        cassandraOperation.getRecordsByProperties(
+            dbInfo.getKeySpace(), dbInfo.getTableName(), null, Arrays.asList(JsonKey.ID));
+    List<Map<String, Object>> responseList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (CollectionUtils.isEmpty(responseList)) {
+      return new ArrayList<>();
+    }
+    List<String> ids =
+        responseList
+            .stream()
+            .map(row -> (String) row.get(JsonKey.ID))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    Collections.sort(ids);
+    return ids;
+  }
+
+  private List<List<String>> partition(List<String> ids) {
+    List<List<String>> result = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i += pageSize) {
+      result.add(ids.subList(i, Math.min(i + pageSize, ids.size())));
+    }
+    return result;
+  }
+
+  /**
+   * This method will read the rows of one page of ids and return the documents to index for them.
+   * A page which cannot be loaded completely throws, and is then retried when the sync is resumed.
+   *
+   * @param pageIds Ids of the page, in ascending order
+   * @return Documents to bulk index
+   */
+  @SuppressWarnings("unchecked")
+  protected List<Map<String, Object>> loadPage(List<String> pageIds) {
+    List<Object> idList = new ArrayList<>(pageIds);
+    Response response =
+        cassandraOperation.getRecordsByProperty(
+            dbInfo.getKeySpace(), dbInfo.getTableName(), JsonKey.ID, idList);
+    List<Map<String, Object>> rows = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (CollectionUtils.isEmpty(rows)) {
+      return new ArrayList<>();
+    }
+    return pageTransformer.apply(rows);
+  }
+
+  private void indexPage(int pageIndex, List<Map<String, Object>> documents) {
+    boolean success = true;
+    if (CollectionUtils.isNotEmpty(documents)) {
+      try {
+        success =
+            ElasticSearchUtil.bulkInsertData(
+                ProjectUtil.EsIndex.sunbird.getIndexName(), esType, documents);
+      } catch (Exception e) {
+        ProjectLogger.log(
+            "EsBulkSyncJob:indexPage: Exception in bulk insert for type = " + objectType, e);
+        success = false;
+      }
+    }
+    commit(pageIndex, success);
+  }
+
+  /**
+   * Pages complete out of order. The checkpoint only moves over a contiguous prefix of successful
+   * pages, so a failed page is retried when the sync is resumed. Pages are counted as processed
+   * when the checkpoint moves past them, as pages after a failed one are indexed again on resume.
+   */
+  private synchronized void commit(int pageIndex, boolean success) {
+    int pageCount = pages.get(pageIndex).size();
+    if (!success) {
+      checkpoint.setFailedCount(checkpoint.getFailedCount() + pageCount);
+      ProjectLogger.log(
+          "EsBulkSyncJob:commit: Bulk insert failed for type = "
+              + objectType
+              + " page = "
+              + pageIndex,
+          LoggerEnum.ERROR);
+      return;
+    }
+    completedPages[pageIndex] = true;
+    boolean moved = false;
+    while (nextPageToCommit < pages.size() && completedPages[nextPageToCommit]) {
+      List<String> page = pages.get(nextPageToCommit);
+      checkpoint.setProcessedCount(checkpoint.getProcessedCount() + page.size());
+      checkpoint.setLastProcessedId(page.get(page.size() - 1));
+      nextPageToCommit++;
+      moved = true;
+    }
+    if (moved) {
+      checkpointDao.save(checkpoint);
+    }
+    logProgress();
+  }
+
+  private void logProgress() {
+    long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+    long processed = checkpoint.getProcessedCount();
+    long rate = (processed - processedAtStart) * 1000 / elapsed;
+    long remaining = checkpoint.getTotalCount() - processed - checkpoint.getFailedCount();
+    ProjectLogger.log(
+        "EsBulkSyncJob: type = "
+            + objectType
+            + " processed = "
+            + processed
+            + "/"
+            + checkpoint.getTotalCount()
+            + " failed = "
+            + checkpoint.getFailedCount()
+            + " rate = "
+            + rate
+            + " records/sec eta = "
+            + (rate > 0 ? remaining / rate : -1)
+            + " sec",
+        LoggerEnum.INFO);
+  }
+
+  private synchronized JobCheckpoint finish() {
+    if (nextPageToCommit == pages.size()) {
+      checkpoint.setStatus(JobCheckpoint.STATUS_COMPLETED);
+    } else {
+      checkpoint.setStatus(JobCheckpoint.STATUS_FAILED);
+    }
+    checkpointDao.save(checkpoint);
+    ProjectLogger.log(
+        "EsBulkSyncJob:finish: Sync for type = "
+            + objectType
+            + " finished with status = "
+            + checkpoint.getStatus()
+            + " in "
+            + (System.currentTimeMillis() - startTime)
+            + " ms",
+        LoggerEnum.INFO);
+    return checkpoint;
+  }
+}
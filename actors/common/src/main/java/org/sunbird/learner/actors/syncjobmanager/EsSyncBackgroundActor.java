@@ -4,11 +4,11 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
+import java.util.Set;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.core.BaseActor;
@@ -35,6 +35,8 @@ import org.sunbird.learner.util.Util.DbInfo;
 )
 public class EsSyncBackgroundActor extends BaseActor {
 
+  private static final int ADDRESS_BATCH_SIZE = 100;
+  private static final int ADDRESS_MEMO_SIZE = 10000;
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
 
   @Override
@@ -114,36 +116,20 @@ public class EsSyncBackgroundActor extends BaseActor {
               + " as no IDs provided",
           LoggerEnum.INFO);
 
-      Response response =
-          cassandraOperation.getAllRecords(dbInfo.getKeySpace(), dbInfo.getTableName());
-      reponseList = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-
-      ProjectLogger.log(
-          "EsSyncBackgroundActor:sync: Fetching all data for type = " + objectType + " completed",
-          LoggerEnum.INFO);
-
-      ProjectLogger.log(
-          "EsSyncBackgroundActor:sync: Number of entries to sync for type = "
-              + objectType
-              + " is "
-              + reponseList.size(),
-          LoggerEnum.INFO);
-
-      if (null != reponseList) {
-        for (Map<String, Object> map : reponseList) {
-          responseMap.put((String) map.get(JsonKey.ID), map);
-        }
-      }
+      Map<String, Map<String, Object>> memo = newAddressMemo();
+      new EsBulkSyncJob(
+              objectType,
+              dbInfo,
+              getType(objectType),
+              rows -> transformPage(objectType, rows, memo))
+          .run();
+      return;
     }
 
-    Iterator<Entry<String, Object>> itr = responseMap.entrySet().iterator();
-    while (itr.hasNext()) {
-      if (objectType.equals(JsonKey.ORGANISATION)) {
-        result.add(getOrgDetails(itr.next()));
-      } else if (objectType.equals(JsonKey.BATCH) || objectType.equals(JsonKey.USER_COURSE)) {
-        result.add((Map<String, Object>) (itr.next().getValue()));
-      }
+    for (Object row : responseMap.values()) {
+      result.add((Map<String, Object>) row);
     }
+    result = transformPage(objectType, result, newAddressMemo());
 
     ElasticSearchUtil.bulkInsertData(
         ProjectUtil.EsIndex.sunbird.getIndexName(), getType(objectType), result);
@@ -161,12 +147,11 @@ public class EsSyncBackgroundActor extends BaseActor {
 
   private void handleUserSyncRequest(List<Object> objectIds) {
     if (CollectionUtils.isEmpty(objectIds)) {
-      Response response =
-          cassandraOperation.getRecordsByProperties(
-              JsonKey.SUNBIRD, JsonKey.USER, null, Arrays.asList(JsonKey.ID));
-      List<Map<String, Object>> responseList =
-          (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-      objectIds = responseList.stream().map(i -> i.get(JsonKey.ID)).collect(Collectors.toList());
+      ProjectLogger.log(
+          "EsSyncBackgroundActor:handleUserSyncRequest: Sync all users as no IDs provided",
+          LoggerEnum.INFO);
+      new UserEsSyncJob(getActorRef(ActorOperations.GET_SYSTEM_SETTING.getValue())).run();
+      return;
     }
     invokeUserSync(objectIds);
   }
@@ -198,32 +183,77 @@ public class EsSyncBackgroundActor extends BaseActor {
     return type;
   }
 
-  private Map<String, Object> getOrgDetails(Entry<String, Object> entry) {
+  private List<Map<String, Object>> transformPage(
+      String objectType, List<Map<String, Object>> rows, Map<String, Map<String, Object>> memo) {
+    if (objectType.equals(JsonKey.ORGANISATION)) {
+      return getOrgDetails(rows, memo);
+    }
+    return rows;
+  }
+
+  /**
+   * Adds the address of every organisation in the page. Addresses not already in the per sync memo
+   * are read with IN queries in chunks instead of one point read per organisation.
+   */
+  private List<Map<String, Object>> getOrgDetails(
+      List<Map<String, Object>> orgList, Map<String, Map<String, Object>> memo) {
     ProjectLogger.log("EsSyncBackgroundActor: getOrgDetails called", LoggerEnum.INFO);
-    Map<String, Object> orgMap = (Map<String, Object>) entry.getValue();
-    orgMap.remove(JsonKey.ORG_TYPE);
-    if (orgMap.containsKey(JsonKey.ADDRESS_ID)
-        && !StringUtils.isBlank((String) orgMap.get(JsonKey.ADDRESS_ID))) {
-      orgMap.put(
-          JsonKey.ADDRESS,
-          getDetailsById(
-              Util.dbInfoMap.get(JsonKey.ADDRESS_DB), (String) orgMap.get(JsonKey.ADDRESS_ID)));
+    Set<Object> addressIds = new LinkedHashSet<>();
+    for (Map<String, Object> orgMap : orgList) {
+      orgMap.remove(JsonKey.ORG_TYPE);
+      String addressId = (String) orgMap.get(JsonKey.ADDRESS_ID);
+      if (StringUtils.isNotBlank(addressId) && !memo.containsKey(addressId)) {
+        addressIds.add(addressId);
+      }
+    }
+    Map<String, Map<String, Object>> addressMap =
+        getDetailsByIds(Util.dbInfoMap.get(JsonKey.ADDRESS_DB), new ArrayList<>(addressIds));
+    for (Map<String, Object> orgMap : orgList) {
+      String addressId = (String) orgMap.get(JsonKey.ADDRESS_ID);
+      if (StringUtils.isBlank(addressId)) {
+        continue;
+      }
+      Map<String, Object> address = memo.get(addressId);
+      if (null == address && null != addressMap) {
+        address = addressMap.getOrDefault(addressId, new HashMap<>());
+        memo.put(addressId, address);
+      }
+      orgMap.put(JsonKey.ADDRESS, address);
     }
     ProjectLogger.log("EsSyncBackgroundActor: getOrgDetails returned", LoggerEnum.INFO);
-    return orgMap;
+    return orgList;
   }
 
-  private Map<String, Object> getDetailsById(DbInfo dbInfo, String userId) {
+  @SuppressWarnings("unchecked")
+  private Map<String, Map<String, Object>> getDetailsByIds(DbInfo dbInfo, List<Object> ids) {
+    Map<String, Map<String, Object>> result = new HashMap<>();
     try {
-      Response response =
-          cassandraOperation.getRecordById(dbInfo.getKeySpace(), dbInfo.getTableName(), userId);
-      return ((((List<Map<String, Object>>) response.get(JsonKey.RESPONSE)).isEmpty())
-          ? new HashMap<>()
-          : ((List<Map<String, Object>>) response.get(JsonKey.RESPONSE)).get(0));
+      for (int i = 0; i < ids.size(); i += ADDRESS_BATCH_SIZE) {
+        List<Object> batch = ids.subList(i, Math.min(i + ADDRESS_BATCH_SIZE, ids.size()));
+        Response response =
+            cassandraOperation.getRecordsByProperty(
+                dbInfo.getKeySpace(), dbInfo.getTableName(), JsonKey.ID, batch);
+        List<Map<String, Object>> list = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+        if (CollectionUtils.isNotEmpty(list)) {
+          for (Map<String, Object> map : list) {
+            result.put((String) map.get(JsonKey.ID), map);
+          }
+        }
+      }
     } catch (Exception ex) {
       ProjectLogger.log(ex.getMessage(), ex);
+      return null;
     }
-    return null;
+    return result;
+  }
+
+  private static Map<String, Map<String, Object>> newAddressMemo() {
+    return new LinkedHashMap<String, Map<String, Object>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+        return size() > ADDRESS_MEMO_SIZE;
+      }
+    };
   }
 
   private DbInfo getDbInfoObj(String objectType) {
@@ -0,0 +1,97 @@
+package org.sunbird.learner.actors.syncjobmanager;
+
+import akka.actor.ActorRef;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.collections.MapUtils;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Full resync of users to Elastic Search. Instead of sending one background message per user, the
+ * profiles of a page of users are assembled on a bounded pool (the window of in flight users) and
+ * written with one bulk request per page. Paging, checkpointing and progress reporting are those of
+ * {@link EsBulkSyncJob}. A page with a user whose details cannot be assembled fails as a whole, so
+ * that it is synced again when the job resumes.
+ */
+public class UserEsSyncJob extends EsBulkSyncJob {
+
+  private static final String PAGE_SIZE = "sunbird_es_sync_user_page_size";
+  private static final String MAX_IN_FLIGHT_USERS = "sunbird_es_sync_user_max_in_flight";
+  private static final String USER_TIMEOUT = "sunbird_es_sync_user_timeout_ms";
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final int DEFAULT_MAX_IN_FLIGHT_USERS = 8;
+  private static final long DEFAULT_USER_TIMEOUT = 30000;
+  private static final String POOL = "esSyncUserAssembly";
+
+  private final ActorRef systemSettingActorRef;
+  private final long userTimeout;
+  private final ExecutorService assemblyExecutor;
+
+  public UserEsSyncJob(ActorRef systemSettingActorRef) {
+    this(systemSettingActorRef, ConfigReader.getIntConfig(PAGE_SIZE, DEFAULT_PAGE_SIZE));
+  }
+
+  private UserEsSyncJob(ActorRef systemSettingActorRef, int pageSize) {
+    super(
+        JsonKey.USER,
+        Util.dbInfoMap.get(JsonKey.USER_DB),
+        ProjectUtil.EsType.user.getTypeName(),
+        rows -> rows,
+        pageSize,
+        1);
+    this.systemSettingActorRef = systemSettingActorRef;
+    this.userTimeout = ConfigReader.getLongConfig(USER_TIMEOUT, DEFAULT_USER_TIMEOUT);
+    // the queue holds a whole page, as the users of a page are submitted at once
+    this.assemblyExecutor =
+        ExecutorManager.getExecutor(
+            POOL,
+            ConfigReader.getIntConfig(MAX_IN_FLIGHT_USERS, DEFAULT_MAX_IN_FLIGHT_USERS),
+            Math.max(1, pageSize));
+  }
+
+  @Override
+  protected List<Map<String, Object>> loadPage(List<String> pageIds) {
+    List<Future<Map<String, Object>>> futures = new ArrayList<>();
+    List<Map<String, Object>> documents = new ArrayList<>();
+    try {
+      for (String userId : pageIds) {
+        futures.add(
+            assemblyExecutor.submit(() -> Util.getUserDetails(userId, systemSettingActorRef)));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        Map<String, Object> userDetails = getUserDetails(futures.get(i), pageIds.get(i));
+        // a user without details has been deleted since the ids were read
+        if (MapUtils.isNotEmpty(userDetails) && null != userDetails.get(JsonKey.ID)) {
+          documents.add(userDetails);
+        }
+      }
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+    return documents;
+  }
+
+  private Map<String, Object> getUserDetails(Future<Map<String, Object>> future, String userId) {
+    try {
+      return future.get(userTimeout, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while assembling userId = " + userId, e);
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "UserEsSyncJob:loadPage: Failed to assemble user details for userId = " + userId,
+          LoggerEnum.ERROR.name());
+      throw new IllegalStateException("Failed to assemble user details for userId = " + userId, e);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package org.sunbird.learner.actors.user.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.learner.util.ConfigReader;
+
+/**
+ * Bounded, TTL based cache of assembled public user profiles keyed by user id. A user may be
+ * cached with a profile per requested fields. Entries are dropped when the user is written on this
+ * instance (user update, roles, organisations and ES sync of the user); writes made on other
+ * instances are picked up when the entry expires.
+ *
+ * <p>A profile read which started before an invalidation of the user is not cached, see {@link
+ * #getVersion(String)}.
+ */
+public class UserProfileCache {
+
+  private static final String TTL = "sunbird_user_profile_cache_ttl_seconds";
+  private static final String MAX_SIZE = "sunbird_user_profile_cache_max_size";
+  private static final long DEFAULT_TTL = 60;
+  private static final long DEFAULT_MAX_SIZE = 10000;
+  private static final long METRICS_LOG_INTERVAL = 10000;
+  private static final int VERSION_STRIPES = 64;
+  private static final String ALL_FIELDS = "";
+  private static final UserProfileCache instance = new UserProfileCache();
+
+  private final Cache<String, Map<String, Map<String, Object>>> cache;
+  private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+  private final AtomicLong lookupCount = new AtomicLong();
+
+  private UserProfileCache() {
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(ConfigReader.getLongConfig(MAX_SIZE, DEFAULT_MAX_SIZE))
+            .expireAfterWrite(ConfigReader.getLongConfig(TTL, DEFAULT_TTL), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  public static UserProfileCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * This method will return the cached public profile of given user.
+   *
+   * @param userId User identifier
+   * @param fields Additional fields requested with the profile, may be null
+   * @return Copy of the profile, or null if not cached
+   */
+  public Map<String, Object> get(String userId, String fields) {
+    if (userId == null) {
+      return null;
+    }
+    if (lookupCount.incrementAndGet() % METRICS_LOG_INTERVAL == 0) {
+      ProjectLogger.log("UserProfileCache:get: metrics = " + getMetrics(), LoggerEnum.INFO.name());
+    }
+    Map<String, Map<String, Object>> profiles = cache.getIfPresent(userId);
+    Map<String, Object> profile = profiles != null ? profiles.get(getVariant(fields)) : null;
+    return profile != null ? copy(profile) : null;
+  }
+
+  /**
+   * This method will return the current version of given user. It has to be read before the
+   * profile is read, and passed to {@link #put(String, String, Map, long)}.
+   *
+   * @param userId User identifier
+   * @return Version which changes whenever the user is invalidated
+   */
+  public long getVersion(String userId) {
+    return versions.get(getStripe(userId));
+  }
+
+  /**
+   * This method will cache a copy of the public profile of given user, unless the user has been
+   * invalidated since the given version was read.
+   *
+   * @param userId User identifier
+   * @param fields Additional fields requested with the profile, may be null
+   * @param profile Assembled public profile
+   * @param version Version of the user read before reading the profile
+   */
+  public void put(String userId, String fields, Map<String, Object> profile, long version) {
+    if (userId == null || profile == null) {
+      return;
+    }
+    Map<String, Map<String, Object>> profiles = cache.asMap().get(userId);
+    if (profiles == null) {
+      cache.asMap().putIfAbsent(userId, new ConcurrentHashMap<>());
+      profiles = cache.asMap().get(userId);
+    }
+    if (profiles != null && getVersion(userId) == version) {
+      profiles.put(getVariant(fields), copy(profile));
+      if (getVersion(userId) != version) {
+        cache.invalidate(userId);
+      }
+    }
+  }
+
+  public void invalidate(String userId) {
+    if (userId != null) {
+      versions.incrementAndGet(getStripe(userId));
+      cache.invalidate(userId);
+    }
+  }
+
+  public void invalidateAll() {
+    for (int i = 0; i < VERSION_STRIPES; i++) {
+      versions.incrementAndGet(i);
+    }
+    cache.invalidateAll();
+  }
+
+  /**
+   * This method will return hit, miss and eviction counts, hit rate and current size.
+   *
+   * @return Metrics map
+   */
+  public Map<String, Object> getMetrics() {
+    CacheStats stats = cache.stats();
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("hitCount", stats.hitCount());
+    metrics.put("missCount", stats.missCount());
+    metrics.put("hitRate", stats.hitRate());
+    metrics.put("evictionCount", stats.evictionCount());
+    metrics.put("size", cache.size());
+    return metrics;
+  }
+
+  private static String getVariant(String fields) {
+    return fields != null ? fields : ALL_FIELDS;
+  }
+
+  private static int getStripe(String userId) {
+    return (userId.hashCode() & Integer.MAX_VALUE) % VERSION_STRIPES;
+  }
+
+  /** Profiles are mutated by callers, so nested maps and collections are copied as well. */
+  @SuppressWarnings("unchecked")
+  private static <T> T copy(T value) {
+    if (value instanceof Map) {
+      Map<Object, Object> copy = new HashMap<>();
+      ((Map<Object, Object>) value).forEach((key, entry) -> copy.put(key, copy(entry)));
+      return (T) copy;
+    } else if (value instanceof List) {
+      List<Object> copy = new ArrayList<>();
+      ((List<Object>) value).forEach(entry -> copy.add(copy(entry)));
+      return (T) copy;
+    } else if (value instanceof Set) {
+      Set<Object> copy = new HashSet<>();
+      ((Set<Object>) value).forEach(entry -> copy.add(copy(entry)));
+      return (T) copy;
+    }
+    return value;
+  }
+}
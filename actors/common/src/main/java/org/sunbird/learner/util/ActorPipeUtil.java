@@ -0,0 +1,72 @@
+package org.sunbird.learner.util;
+
+import akka.actor.ActorRef;
+import akka.pattern.Patterns;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.request.ExecutionContext;
+import scala.compat.java8.FutureConverters;
+import scala.concurrent.ExecutionContextExecutor;
+
+/**
+ * This class will continue the handling of a request once a stage completes and reply with the
+ * outcome, so that the actor does not hold its dispatcher thread while waiting for the stage.
+ */
+public final class ActorPipeUtil {
+
+  private ActorPipeUtil() {}
+
+  /**
+   * This method will run given continuation with the result of given stage and pipe what it returns
+   * to the sender. The continuation runs on given dispatcher with the execution context of the
+   * calling thread. If the stage or the continuation fails, the exception is piped to the sender
+   * instead, as an actor replies with an exception thrown while handling a request.
+   *
+   * @param stage Stage to continue from
+   * @param continuation Continuation returning the reply
+   * @param sender Actor to reply to
+   * @param self Replying actor
+   * @param dispatcher Dispatcher to run the continuation on
+   */
+  public static <T> void pipe(
+      CompletionStage<T> stage,
+      Function<T, Object> continuation,
+      ActorRef sender,
+      ActorRef self,
+      ExecutionContextExecutor dispatcher) {
+    String requestId = ExecutionContext.getRequestId();
+    Map<String, Object> requestContext = ExecutionContext.getCurrent().getRequestContext();
+    CompletionStage<Object> reply =
+        stage
+            .thenApplyAsync(
+                result -> {
+                  String previousRequestId = ExecutionContext.getRequestId();
+                  Map<String, Object> previousRequestContext =
+                      ExecutionContext.getCurrent().getRequestContext();
+                  ExecutionContext.setRequestId(requestId);
+                  ExecutionContext.getCurrent().setRequestContext(requestContext);
+                  try {
+                    return continuation.apply(result);
+                  } finally {
+                    ExecutionContext.setRequestId(previousRequestId);
+                    ExecutionContext.getCurrent().setRequestContext(previousRequestContext);
+                  }
+                },
+                dispatcher)
+            .exceptionally(ActorPipeUtil::getCause);
+    Patterns.pipe(FutureConverters.toScala(reply), dispatcher).to(sender, self);
+  }
+
+  private static Object getCause(Throwable error) {
+    Throwable cause =
+        error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+    ProjectLogger.log(
+        "ActorPipeUtil:pipe: Exception occurred with error message = " + cause.getMessage(), cause);
+    return cause;
+  }
+}
@@ -0,0 +1,68 @@
+package org.sunbird.learner.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+
+/** This class will read typed configuration values, falling back to a default if not set. */
+public final class ConfigReader {
+
+  private ConfigReader() {}
+
+  /**
+   * This method will read an integer configuration value.
+   *
+   * @param key Configuration key
+   * @param defaultValue Value to use if key is not configured or is invalid
+   * @return Configured value or default value
+   */
+  public static int getIntConfig(String key, int defaultValue) {
+    String value = ProjectUtil.getConfigValue(key);
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      ProjectLogger.log(
+          "ConfigReader:getIntConfig: Invalid value " + value + " for " + key, e);
+      return defaultValue;
+    }
+  }
+
+  /**
+   * This method will read a long configuration value.
+   *
+   * @param key Configuration key
+   * @param defaultValue Value to use if key is not configured or is invalid
+   * @return Configured value or default value
+   */
+  public static long getLongConfig(String key, long defaultValue) {
+    String value = ProjectUtil.getConfigValue(key);
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      ProjectLogger.log(
+          "ConfigReader:getLongConfig: Invalid value " + value + " for " + key, e);
+      return defaultValue;
+    }
+  }
+
+  /**
+   * This method will read a boolean configuration value.
+   *
+   * @param key Configuration key
+   * @param defaultValue Value to use if key is not configured
+   * @return Configured value or default value
+   */
+  public static boolean getBooleanConfig(String key, boolean defaultValue) {
+    String value = ProjectUtil.getConfigValue(key);
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    return Boolean.parseBoolean(value.trim());
+  }
+}
@@ -21,6 +21,7 @@ import org.sunbird.common.request.HeaderParam;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.CourseEnrollmentActor;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
 
 /**
  * This class will update course batch count to EKStep. First it will get batch details from ES ,
@@ -136,6 +137,7 @@ public final class CourseBatchSchedulerUtil {
     Util.DbInfo courseBatchDBInfo = Util.dbInfoMap.get(JsonKey.COURSE_BATCH_DB);
     cassandraOperation.updateRecord(
         courseBatchDBInfo.getKeySpace(), courseBatchDBInfo.getTableName(), map);
+    CourseBatchCache.getInstance().invalidate((String) map.get(JsonKey.ID));
     ProjectLogger.log(
         "CourseBatchSchedulerUtil:updateDataIntoCassandra: Update Successful for batchId "
             + map.get(JsonKey.ID),
@@ -1,12 +1,14 @@
 /** */
 package org.sunbird.learner.util;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.cacheloader.DeltaTableLoader;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
@@ -20,167 +22,223 @@ import org.sunbird.helper.ServiceFactory;
  */
 public class DataCacheHandler implements Runnable {
   /**
-   * pageMap is the map of (orgId:pageName) and page Object (i.e map of string , object) sectionMap
-   * is the map of section Id and section Object (i.e map of string , object)
+   * snapshot holds pageMap (map of (orgId:pageName) and page Object), sectionMap (map of section
+   * Id and section Object), roleMap, orgTypeMap and configSettings of the last refresh. A refresh
+   * builds a new snapshot and publishes it with a single reference swap.
    */
-  private static Map<String, Map<String, Object>> pageMap = new ConcurrentHashMap<>();
+  private static final AtomicReference<DataCacheSnapshot> snapshot =
+      new AtomicReference<>(DataCacheSnapshot.EMPTY);
+
+  private static final AtomicLong versionCounter = new AtomicLong();
 
-  private static Map<String, Map<String, Object>> sectionMap = new ConcurrentHashMap<>();
-  private static Map<String, Object> roleMap = new ConcurrentHashMap<>();
-  private static Map<String, String> orgTypeMap = new ConcurrentHashMap<>();
-  private static Map<String, String> configSettings = new ConcurrentHashMap<>();
   private static Map<String, Map<String, List<Map<String, String>>>> frameworkCategoriesMap =
       new ConcurrentHashMap<>();
   private static Map<String, List<String>> frameworkFieldsConfig = new ConcurrentHashMap<>();
-  private static Map<String, List<String>> hashtagIdFrameworkIdMap = new HashMap<>();
+  private static Map<String, List<String>> hashtagIdFrameworkIdMap = new ConcurrentHashMap<>();
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private static final String KEY_SPACE_NAME = "sunbird";
+  private DeltaTableLoader pageLoader = new DeltaTableLoader(KEY_SPACE_NAME, "page_management");
+  private DeltaTableLoader sectionLoader = new DeltaTableLoader(KEY_SPACE_NAME, "page_section");
 
   @Override
   public void run() {
     ProjectLogger.log("DataCacheHandler:run: Cache refresh started.", LoggerEnum.INFO.name());
-    cache(pageMap, "page_management");
-    cache(sectionMap, "page_section");
-    roleCache(roleMap);
-    orgTypeCache(orgTypeMap);
-    cacheSystemConfig(configSettings);
-    ProjectLogger.log("DataCacheHandler:run: Cache refresh completed.", LoggerEnum.INFO.name());
+    long startTime = System.currentTimeMillis();
+    DataCacheSnapshot current = snapshot.get();
+    Map<String, Map<String, Object>> pageMap =
+        orPrevious(cache(pageLoader, "page_management"), current.getPageMap());
+    Map<String, Map<String, Object>> sectionMap =
+        orPrevious(cache(sectionLoader, "page_section"), current.getSectionMap());
+    Map<String, Object> roleMap = orPrevious(roleCache(), current.getRoleMap());
+    Map<String, String> orgTypeMap = orPrevious(orgTypeCache(), current.getOrgTypeMap());
+    Map<String, String> configSettings =
+        orPrevious(cacheSystemConfig(), current.getConfigSettings());
+    long endTime = System.currentTimeMillis();
+    DataCacheSnapshot next =
+        new DataCacheSnapshot(
+            versionCounter.incrementAndGet(),
+            endTime - startTime,
+            endTime,
+            pageMap,
+            sectionMap,
+            roleMap,
+            orgTypeMap,
+            configSettings);
+    snapshot.set(next);
+    ProjectLogger.log(
+        "DataCacheHandler:run: Cache refresh completed. metrics = " + next.getMetrics(),
+        LoggerEnum.INFO.name());
   }
 
-  @SuppressWarnings("unchecked")
-  private void cacheSystemConfig(Map<String, String> configSettings) {
-    Response response =
-        cassandraOperation.getAllRecords(KEY_SPACE_NAME, JsonKey.SYSTEM_SETTINGS_DB);
-    List<Map<String, Object>> responseList =
-        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-    if (null != responseList && !responseList.isEmpty()) {
-      for (Map<String, Object> resultMap : responseList) {
-        if (((String) resultMap.get(JsonKey.FIELD)).equalsIgnoreCase(JsonKey.PHONE_UNIQUE)
-            && StringUtils.isBlank((String) resultMap.get(JsonKey.VALUE))) {
-          configSettings.put(((String) resultMap.get(JsonKey.FIELD)), String.valueOf(false));
-        } else if (((String) resultMap.get(JsonKey.FIELD)).equalsIgnoreCase(JsonKey.EMAIL_UNIQUE)
-            && StringUtils.isBlank((String) resultMap.get(JsonKey.VALUE))) {
-          configSettings.put(((String) resultMap.get(JsonKey.FIELD)), String.valueOf(false));
-        } else {
-          configSettings.put(
-              ((String) resultMap.get(JsonKey.FIELD)), (String) resultMap.get(JsonKey.VALUE));
-        }
-      }
-    } else {
-      configSettings.put(JsonKey.PHONE_UNIQUE, String.valueOf(false));
-      configSettings.put(JsonKey.EMAIL_UNIQUE, String.valueOf(false));
-    }
+  private static <T> T orPrevious(T loaded, T previous) {
+    return loaded != null ? loaded : previous;
   }
 
   @SuppressWarnings("unchecked")
-  private void orgTypeCache(Map<String, String> orgTypeMap) {
-    Response response = cassandraOperation.getAllRecords(KEY_SPACE_NAME, JsonKey.ORG_TYPE_DB);
-    List<Map<String, Object>> responseList =
-        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-    if (null != responseList && !responseList.isEmpty()) {
-      for (Map<String, Object> resultMap : responseList) {
-        orgTypeMap.put(
-            ((String) resultMap.get(JsonKey.NAME)).toLowerCase(),
-            (String) resultMap.get(JsonKey.ID));
+  private Map<String, String> cacheSystemConfig() {
+    Map<String, String> configSettings = new ConcurrentHashMap<>();
+    try {
+      Response response =
+          cassandraOperation.getAllRecords(KEY_SPACE_NAME, JsonKey.SYSTEM_SETTINGS_DB);
+      List<Map<String, Object>> responseList =
+          (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+      if (null != responseList && !responseList.isEmpty()) {
+        for (Map<String, Object> resultMap : responseList) {
+          if (((String) resultMap.get(JsonKey.FIELD)).equalsIgnoreCase(JsonKey.PHONE_UNIQUE)
+              && StringUtils.isBlank((String) resultMap.get(JsonKey.VALUE))) {
+            configSettings.put(((String) resultMap.get(JsonKey.FIELD)), String.valueOf(false));
+          } else if (((String) resultMap.get(JsonKey.FIELD)).equalsIgnoreCase(JsonKey.EMAIL_UNIQUE)
+              && StringUtils.isBlank((String) resultMap.get(JsonKey.VALUE))) {
+            configSettings.put(((String) resultMap.get(JsonKey.FIELD)), String.valueOf(false));
+          } else if (null != resultMap.get(JsonKey.VALUE)) {
+            configSettings.put(
+                ((String) resultMap.get(JsonKey.FIELD)), (String) resultMap.get(JsonKey.VALUE));
+          }
+        }
+      } else {
+        configSettings.put(JsonKey.PHONE_UNIQUE, String.valueOf(false));
+        configSettings.put(JsonKey.EMAIL_UNIQUE, String.valueOf(false));
       }
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "DataCacheHandler:cacheSystemConfig: Exception in retrieving system settings "
+              + e.getMessage(),
+          e);
+      return null;
     }
+    return configSettings;
   }
 
   @SuppressWarnings("unchecked")
-  private void roleCache(Map<String, Object> roleMap) {
-    Response response = cassandraOperation.getAllRecords(KEY_SPACE_NAME, JsonKey.ROLE_GROUP);
-    List<Map<String, Object>> responseList =
-        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-    if (null != responseList && !responseList.isEmpty()) {
-      for (Map<String, Object> resultMap : responseList) {
-        roleMap.put((String) resultMap.get(JsonKey.ID), resultMap.get(JsonKey.NAME));
-      }
-    }
-    Response response2 = cassandraOperation.getAllRecords(KEY_SPACE_NAME, JsonKey.ROLE);
-    List<Map<String, Object>> responseList2 =
-        (List<Map<String, Object>>) response2.get(JsonKey.RESPONSE);
-    if (null != responseList2 && !responseList2.isEmpty()) {
-      for (Map<String, Object> resultMap2 : responseList2) {
-        roleMap.put((String) resultMap2.get(JsonKey.ID), resultMap2.get(JsonKey.NAME));
+  private Map<String, String> orgTypeCache() {
+    Map<String, String> orgTypeMap = new ConcurrentHashMap<>();
+    try {
+      Response response = cassandraOperation.getAllRecords(KEY_SPACE_NAME, JsonKey.ORG_TYPE_DB);
+      List<Map<String, Object>> responseList =
+          (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+      if (null != responseList && !responseList.isEmpty()) {
+        for (Map<String, Object> resultMap : responseList) {
+          orgTypeMap.put(
+              ((String) resultMap.get(JsonKey.NAME)).toLowerCase(),
+              (String) resultMap.get(JsonKey.ID));
+        }
       }
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "DataCacheHandler:orgTypeCache: Exception in retrieving org types " + e.getMessage(), e);
+      return null;
     }
+    return orgTypeMap;
   }
 
   @SuppressWarnings("unchecked")
-  private void cache(Map<String, Map<String, Object>> map, String tableName) {
+  private Map<String, Object> roleCache() {
+    Map<String, Object> roleMap = new ConcurrentHashMap<>();
     try {
-      Response response = cassandraOperation.getAllRecords(KEY_SPACE_NAME, tableName);
+      Response response = cassandraOperation.getAllRecords(KEY_SPACE_NAME, JsonKey.ROLE_GROUP);
       List<Map<String, Object>> responseList =
           (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
       if (null != responseList && !responseList.isEmpty()) {
         for (Map<String, Object> resultMap : responseList) {
-          if (tableName.equalsIgnoreCase(JsonKey.PAGE_SECTION)) {
-            map.put((String) resultMap.get(JsonKey.ID), resultMap);
-          } else {
-            String orgId =
-                (((String) resultMap.get(JsonKey.ORGANISATION_ID)) == null
-                    ? "NA"
-                    : (String) resultMap.get(JsonKey.ORGANISATION_ID));
-            map.put(orgId + ":" + ((String) resultMap.get(JsonKey.PAGE_NAME)), resultMap);
-          }
+          roleMap.put((String) resultMap.get(JsonKey.ID), resultMap.get(JsonKey.NAME));
+        }
+      }
+      Response response2 = cassandraOperation.getAllRecords(KEY_SPACE_NAME, JsonKey.ROLE);
+      List<Map<String, Object>> responseList2 =
+          (List<Map<String, Object>>) response2.get(JsonKey.RESPONSE);
+      if (null != responseList2 && !responseList2.isEmpty()) {
+        for (Map<String, Object> resultMap2 : responseList2) {
+          roleMap.put((String) resultMap2.get(JsonKey.ID), resultMap2.get(JsonKey.NAME));
         }
       }
-      ProjectLogger.log("pagemap keyset " + map.keySet());
-      ProjectLogger.log(tableName + " cache size: " + map.size(), LoggerEnum.INFO.name());
     } catch (Exception e) {
       ProjectLogger.log(
-          "DataCacheHandler:cache: Exception in retrieving page section " + e.getMessage(), e);
+          "DataCacheHandler:roleCache: Exception in retrieving roles " + e.getMessage(), e);
+      return null;
     }
+    return roleMap;
+  }
+
+  private Map<String, Map<String, Object>> cache(DeltaTableLoader loader, String tableName) {
+    Map<String, Map<String, Object>> map = new ConcurrentHashMap<>();
+    Map<String, Map<String, Object>> rows = loader.load();
+    if (rows == null) {
+      return null;
+    }
+    for (Map<String, Object> resultMap : rows.values()) {
+      if (tableName.equalsIgnoreCase(JsonKey.PAGE_SECTION)) {
+        map.put((String) resultMap.get(JsonKey.ID), resultMap);
+      } else {
+        String orgId =
+            (((String) resultMap.get(JsonKey.ORGANISATION_ID)) == null
+                ? "NA"
+                : (String) resultMap.get(JsonKey.ORGANISATION_ID));
+        map.put(orgId + ":" + ((String) resultMap.get(JsonKey.PAGE_NAME)), resultMap);
+      }
+    }
+    ProjectLogger.log("pagemap keyset " + map.keySet());
+    ProjectLogger.log(tableName + " cache size: " + map.size(), LoggerEnum.INFO.name());
+    return map;
+  }
+
+  /** @return the currently published cache snapshot */
+  public static DataCacheSnapshot getSnapshot() {
+    return snapshot.get();
+  }
+
+  /** @return version, build time and per map size of the currently published snapshot */
+  public static Map<String, Object> getCacheMetrics() {
+    return snapshot.get().getMetrics();
   }
 
   /** @return the pageMap */
   public static Map<String, Map<String, Object>> getPageMap() {
-    return pageMap;
+    return snapshot.get().getPageMap();
   }
 
   /** @param pageMap the pageMap to set */
   public static void setPageMap(Map<String, Map<String, Object>> pageMap) {
-    DataCacheHandler.pageMap = pageMap;
+    snapshot.updateAndGet(current -> current.withPageMap(pageMap));
   }
 
   /** @return the sectionMap */
   public static Map<String, Map<String, Object>> getSectionMap() {
-    return sectionMap;
+    return snapshot.get().getSectionMap();
   }
 
   /** @param sectionMap the sectionMap to set */
   public static void setSectionMap(Map<String, Map<String, Object>> sectionMap) {
-    DataCacheHandler.sectionMap = sectionMap;
+    snapshot.updateAndGet(current -> current.withSectionMap(sectionMap));
   }
 
   /** @return the roleMap */
   public static Map<String, Object> getRoleMap() {
-    return roleMap;
+    return snapshot.get().getRoleMap();
   }
 
   /** @param roleMap the roleMap to set */
   public static void setRoleMap(Map<String, Object> roleMap) {
-    DataCacheHandler.roleMap = roleMap;
+    snapshot.updateAndGet(current -> current.withRoleMap(roleMap));
   }
 
   /** @return the orgTypeMap */
   public static Map<String, String> getOrgTypeMap() {
-    return orgTypeMap;
+    return snapshot.get().getOrgTypeMap();
   }
 
   /** @param orgTypeMap the orgTypeMap to set */
   public static void setOrgTypeMap(Map<String, String> orgTypeMap) {
-    DataCacheHandler.orgTypeMap = orgTypeMap;
+    snapshot.updateAndGet(current -> current.withOrgTypeMap(orgTypeMap));
   }
 
   /** @return the configSettings */
   public static Map<String, String> getConfigSettings() {
-    return configSettings;
+    return snapshot.get().getConfigSettings();
   }
 
   /** @param configSettings the configSettings to set */
   public static void setConfigSettings(Map<String, String> configSettings) {
-    DataCacheHandler.configSettings = configSettings;
+    snapshot.updateAndGet(current -> current.withConfigSettings(configSettings));
   }
 
   public static Map<String, Map<String, List<Map<String, String>>>> getFrameworkCategoriesMap() {
@@ -0,0 +1,135 @@
+package org.sunbird.learner.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Point in time view of the data cached by {@link DataCacheHandler}. A snapshot is built off to
+ * the side on every refresh and published with a single reference swap, so readers always see the
+ * maps of one refresh together and rows deleted from the tables drop out of the cache.
+ *
+ * <p>The maps are concurrent rather than unmodifiable because the page management flow writes
+ * created and updated pages through to the current snapshot until the next refresh replaces it.
+ */
+public final class DataCacheSnapshot {
+
+  public static final String VERSION = "version";
+  public static final String BUILD_TIME = "buildTimeInMs";
+  public static final String BUILT_AT = "builtAt";
+
+  static final DataCacheSnapshot EMPTY =
+      new DataCacheSnapshot(
+          0,
+          0,
+          0,
+          new ConcurrentHashMap<>(),
+          new ConcurrentHashMap<>(),
+          new ConcurrentHashMap<>(),
+          new ConcurrentHashMap<>(),
+          new ConcurrentHashMap<>());
+
+  private final long version;
+  private final long buildTime;
+  private final long builtAt;
+  private final Map<String, Map<String, Object>> pageMap;
+  private final Map<String, Map<String, Object>> sectionMap;
+  private final Map<String, Object> roleMap;
+  private final Map<String, String> orgTypeMap;
+  private final Map<String, String> configSettings;
+
+  DataCacheSnapshot(
+      long version,
+      long buildTime,
+      long builtAt,
+      Map<String, Map<String, Object>> pageMap,
+      Map<String, Map<String, Object>> sectionMap,
+      Map<String, Object> roleMap,
+      Map<String, String> orgTypeMap,
+      Map<String, String> configSettings) {
+    this.version = version;
+    this.buildTime = buildTime;
+    this.builtAt = builtAt;
+    this.pageMap = pageMap;
+    this.sectionMap = sectionMap;
+    this.roleMap = roleMap;
+    this.orgTypeMap = orgTypeMap;
+    this.configSettings = configSettings;
+  }
+
+  DataCacheSnapshot withPageMap(Map<String, Map<String, Object>> pageMap) {
+    return new DataCacheSnapshot(
+        version, buildTime, builtAt, pageMap, sectionMap, roleMap, orgTypeMap, configSettings);
+  }
+
+  DataCacheSnapshot withSectionMap(Map<String, Map<String, Object>> sectionMap) {
+    return new DataCacheSnapshot(
+        version, buildTime, builtAt, pageMap, sectionMap, roleMap, orgTypeMap, configSettings);
+  }
+
+  DataCacheSnapshot withRoleMap(Map<String, Object> roleMap) {
+    return new DataCacheSnapshot(
+        version, buildTime, builtAt, pageMap, sectionMap, roleMap, orgTypeMap, configSettings);
+  }
+
+  DataCacheSnapshot withOrgTypeMap(Map<String, String> orgTypeMap) {
+    return new DataCacheSnapshot(
+        version, buildTime, builtAt, pageMap, sectionMap, roleMap, orgTypeMap, configSettings);
+  }
+
+  DataCacheSnapshot withConfigSettings(Map<String, String> configSettings) {
+    return new DataCacheSnapshot(
+        version, buildTime, builtAt, pageMap, sectionMap, roleMap, orgTypeMap, configSettings);
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public long getBuildTime() {
+    return buildTime;
+  }
+
+  public long getBuiltAt() {
+    return builtAt;
+  }
+
+  public Map<String, Map<String, Object>> getPageMap() {
+    return pageMap;
+  }
+
+  public Map<String, Map<String, Object>> getSectionMap() {
+    return sectionMap;
+  }
+
+  public Map<String, Object> getRoleMap() {
+    return roleMap;
+  }
+
+  public Map<String, String> getOrgTypeMap() {
+    return orgTypeMap;
+  }
+
+  public Map<String, String> getConfigSettings() {
+    return configSettings;
+  }
+
+  /**
+   * This method will return version, build time and size of every map held by this snapshot.
+   *
+   * @return Map of metric name and value
+   */
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put(VERSION, version);
+    metrics.put(BUILD_TIME, buildTime);
+    metrics.put(BUILT_AT, builtAt);
+    metrics.put("pageMapSize", pageMap.size());
+    metrics.put("sectionMapSize", sectionMap.size());
+    metrics.put("roleMapSize", roleMap.size());
+    metrics.put("orgTypeMapSize", orgTypeMap.size());
+    metrics.put("configSettingsSize", configSettings.size());
+    return Collections.unmodifiableMap(metrics);
+  }
+}
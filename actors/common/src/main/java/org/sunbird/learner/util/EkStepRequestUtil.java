@@ -6,11 +6,12 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import javax.ws.rs.core.MediaType;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHeaders;
-import org.sunbird.common.models.util.HttpUtil;
+import org.sunbird.common.models.response.HttpUtilResponse;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
@@ -34,27 +35,61 @@ public final class EkStepRequestUtil {
    * @return Map<String,Object>
    */
   public static Map<String, Object> searchContent(String params, Map<String, String> headers) {
+    return searchContentAsync(params, headers).toCompletableFuture().join();
+  }
+
+  /**
+   * This method will search content on the shared outbound HTTP client without blocking the
+   * caller.
+   *
+   * @param params Search request body
+   * @param headers Request headers
+   * @return Stage completed with the search result, or with an empty map if search failed
+   */
+  public static CompletionStage<Map<String, Object>> searchContentAsync(
+      String params, Map<String, String> headers) {
+    String baseSearchUrl = ProjectUtil.getConfigValue(JsonKey.SEARCH_SERVICE_API_BASE_URL);
+    headers.put(
+        JsonKey.AUTHORIZATION, JsonKey.BEARER + System.getenv(JsonKey.EKSTEP_AUTHORIZATION));
+    headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+    headers.remove(HttpHeaders.ACCEPT_ENCODING.toLowerCase());
+    headers.put(HttpHeaders.ACCEPT_ENCODING.toLowerCase(), "UTF-8");
+    if (StringUtils.isBlank(headers.get(JsonKey.AUTHORIZATION))) {
+      headers.put(
+          JsonKey.AUTHORIZATION,
+          PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_AUTHORIZATION));
+    }
+    ProjectLogger.log("making call for content search ==" + params, LoggerEnum.INFO.name());
+    return OutboundHttpClient.getInstance()
+        .post(
+            "ekstep.content.search",
+            baseSearchUrl
+                + PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_CONTENT_SEARCH_URL),
+            params,
+            headers)
+        .handle(
+            (httpResponse, error) -> {
+              if (error != null) {
+                ProjectLogger.log(
+                    "Error found during contnet search ==" + error.getMessage(), error);
+                return new HashMap<>();
+              }
+              return parseSearchResponse(httpResponse);
+            });
+  }
+
+  private static Map<String, Object> parseSearchResponse(HttpUtilResponse httpResponse) {
     Map<String, Object> resMap = new HashMap<>();
     try {
-      String baseSearchUrl = ProjectUtil.getConfigValue(JsonKey.SEARCH_SERVICE_API_BASE_URL);
-      headers.put(
-          JsonKey.AUTHORIZATION, JsonKey.BEARER + System.getenv(JsonKey.EKSTEP_AUTHORIZATION));
-      headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
-      headers.remove(HttpHeaders.ACCEPT_ENCODING.toLowerCase());
-      headers.put(HttpHeaders.ACCEPT_ENCODING.toLowerCase(), "UTF-8");
-      if (StringUtils.isBlank(headers.get(JsonKey.AUTHORIZATION))) {
-        headers.put(
-            JsonKey.AUTHORIZATION,
-            PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_AUTHORIZATION));
-      }
-      ProjectLogger.log("making call for content search ==" + params, LoggerEnum.INFO.name());
-      String response =
-          HttpUtil.sendPostRequest(
-              baseSearchUrl
-                  + PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_CONTENT_SEARCH_URL),
-              params,
-              headers);
+      String response = httpResponse.getBody();
       ProjectLogger.log("Content serach response is ==" + response, LoggerEnum.INFO.name());
+      if (httpResponse.getStatusCode() >= 300) {
+        ProjectLogger.log(
+            "EkStepRequestUtil:searchContent Search failed with status "
+                + httpResponse.getStatusCode(),
+            LoggerEnum.ERROR.name());
+        return resMap;
+      }
       Map<String, Object> data = mapper.readValue(response, Map.class);
       if (MapUtils.isNotEmpty(data)) {
         String resmsgId = (String) ((Map<String, Object>) data.get("params")).get("resmsgid");
@@ -1,33 +1,326 @@
 package org.sunbird.learner.util;
 
-import java.util.concurrent.Executors;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.actor.metrics.MetricsRegistry;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
 
 /**
- * This class will manage execute service thread.
+ * This class will manage named executor pools, so that a slow task of one caller does not hold the
+ * threads of another. Each pool is sized from configuration (sunbird_executor_{name}_pool_size,
+ * and for ad hoc pools sunbird_executor_{name}_queue_size and
+ * sunbird_executor_{name}_rejection_policy as one of abort, caller_runs, discard or
+ * discard_oldest), reports queue depth, active threads and task latency through {@link
+ * #getMetrics()}, and is shut down gracefully when the JVM exits. Pool threads are daemon threads,
+ * so an idle pool does not keep the JVM alive. Scheduled and ad hoc pools are kept apart, so the
+ * same name may be used for one of each.
  *
  * @author Manzarul.Haque
  */
 public final class ExecutorManager {
 
   private static final int MAX_EXECUTOR_THREAD = 2;
-  /*
-   * service ScheduledExecutorService object
-   */
-  private static ScheduledExecutorService service = null;
+  private static final String DEFAULT_POOL = "default";
+  private static final String CONFIG_PREFIX = "sunbird_executor_";
+  private static final String SHUTDOWN_TIMEOUT = "sunbird_executor_shutdown_timeout_seconds";
+  private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30;
+
+  private static final Map<String, InstrumentedExecutor> executors = new ConcurrentHashMap<>();
+  private static final Map<String, InstrumentedScheduledExecutor> scheduledExecutors =
+      new ConcurrentHashMap<>();
 
   private ExecutorManager() {}
 
   static {
-    service = Executors.newScheduledThreadPool(MAX_EXECUTOR_THREAD);
+    MetricsRegistry.register("executors", ExecutorManager::getMetrics);
+    Runtime.getRuntime().addShutdownHook(new Thread(ExecutorManager::shutdown));
   }
 
   /**
-   * This method will send executor service object.
+   * This method will send the default scheduled executor service object, shared by callers which
+   * do not have their own pool.
    *
    * @return
    */
   public static ScheduledExecutorService getExecutorService() {
-    return service;
+    return getScheduledExecutor(DEFAULT_POOL, MAX_EXECUTOR_THREAD);
+  }
+
+  /**
+   * This method will return the scheduled executor of given name, creating it on first use.
+   *
+   * @param name Pool name
+   * @param defaultPoolSize Number of threads if not configured
+   * @return Scheduled executor service
+   */
+  public static ScheduledExecutorService getScheduledExecutor(String name, int defaultPoolSize) {
+    return scheduledExecutors.computeIfAbsent(
+        name,
+        poolName -> {
+          ExecutorStats executorStats = new ExecutorStats();
+          return new InstrumentedScheduledExecutor(
+              getPoolSize(poolName, defaultPoolSize),
+              new NamedThreadFactory(poolName),
+              executorStats.countRejections(new ThreadPoolExecutor.AbortPolicy()),
+              executorStats);
+        });
+  }
+
+  /**
+   * This method will return the executor of given name with a bounded queue, creating it on first
+   * use. Tasks submitted when the queue is full are handled as per the rejection policy of the
+   * pool (abort by default).
+   *
+   * @param name Pool name
+   * @param defaultPoolSize Number of threads if not configured
+   * @param defaultQueueSize Queue capacity if not configured
+   * @return Executor service
+   */
+  public static ExecutorService getExecutor(
+      String name, int defaultPoolSize, int defaultQueueSize) {
+    return executors.computeIfAbsent(
+        name,
+        poolName -> {
+          ExecutorStats executorStats = new ExecutorStats();
+          int poolSize = getPoolSize(poolName, defaultPoolSize);
+          int queueSize =
+              Math.max(
+                  1,
+                  ConfigReader.getIntConfig(
+                      CONFIG_PREFIX + poolName + "_queue_size", defaultQueueSize));
+          return new InstrumentedExecutor(
+              poolSize,
+              new ArrayBlockingQueue<>(queueSize),
+              new NamedThreadFactory(poolName),
+              executorStats.countRejections(getRejectionPolicy(poolName)),
+              executorStats);
+        });
+  }
+
+  /**
+   * This method will return metrics of all pools keyed by pool name.
+   *
+   * @return Map of pool name and its pool size, active threads, queue depth, completed, failed and
+   *     rejected task counts, and average and max task latency in ms. A scheduled pool sharing its
+   *     name with an ad hoc pool is reported as {name}Scheduled.
+   */
+  public static Map<String, Map<String, Object>> getMetrics() {
+    Map<String, Map<String, Object>> metrics = new HashMap<>();
+    executors.forEach(
+        (name, executor) -> metrics.put(name, executor.executorStats.getMetrics(executor)));
+    scheduledExecutors.forEach(
+        (name, executor) ->
+            metrics.put(
+                executors.containsKey(name) ? name + "Scheduled" : name,
+                executor.executorStats.getMetrics(executor)));
+    return metrics;
+  }
+
+  /** This method will shut down all pools, waiting for running and queued tasks to complete. */
+  public static void shutdown() {
+    ProjectLogger.log(
+        "ExecutorManager:shutdown: Shutting down executors, metrics = " + getMetrics(),
+        LoggerEnum.INFO.name());
+    Map<String, ThreadPoolExecutor> pools = new HashMap<>(executors);
+    scheduledExecutors.forEach(
+        (name, executor) ->
+            pools.put(executors.containsKey(name) ? name + "Scheduled" : name, executor));
+    pools.values().forEach(ThreadPoolExecutor::shutdown);
+    long deadline =
+        System.currentTimeMillis()
+            + TimeUnit.SECONDS.toMillis(
+                ConfigReader.getLongConfig(SHUTDOWN_TIMEOUT, DEFAULT_SHUTDOWN_TIMEOUT));
+    for (Map.Entry<String, ThreadPoolExecutor> entry : pools.entrySet()) {
+      try {
+        long remaining = Math.max(0, deadline - System.currentTimeMillis());
+        if (!entry.getValue().awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+          ProjectLogger.log(
+              "ExecutorManager:shutdown: Executor " + entry.getKey() + " did not terminate",
+              LoggerEnum.ERROR.name());
+          entry.getValue().shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        entry.getValue().shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static int getPoolSize(String name, int defaultPoolSize) {
+    return Math.max(
+        1, ConfigReader.getIntConfig(CONFIG_PREFIX + name + "_pool_size", defaultPoolSize));
+  }
+
+  private static RejectedExecutionHandler getRejectionPolicy(String name) {
+    String policy = ProjectUtil.getConfigValue(CONFIG_PREFIX + name + "_rejection_policy");
+    if (StringUtils.isBlank(policy)) {
+      return new ThreadPoolExecutor.AbortPolicy();
+    }
+    switch (policy.trim().toLowerCase()) {
+      case "caller_runs":
+        return new ThreadPoolExecutor.CallerRunsPolicy();
+      case "discard":
+        return new ThreadPoolExecutor.DiscardPolicy();
+      case "discard_oldest":
+        return new ThreadPoolExecutor.DiscardOldestPolicy();
+      default:
+        return new ThreadPoolExecutor.AbortPolicy();
+    }
+  }
+
+  private static class NamedThreadFactory implements ThreadFactory {
+
+    private final String name;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    NamedThreadFactory(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  private static class ExecutorStats {
+
+    private final ThreadLocal<Long> startTime = new ThreadLocal<>();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    void beforeExecute() {
+      startTime.set(System.currentTimeMillis());
+    }
+
+    void afterExecute(Runnable runnable, Throwable t) {
+      if (t == null) {
+        t = getFailure(runnable);
+      }
+      Long start = startTime.get();
+      startTime.remove();
+      if (start != null) {
+        long latency = System.currentTimeMillis() - start;
+        totalLatency.addAndGet(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+      }
+      if (t == null) {
+        completed.incrementAndGet();
+      } else {
+        failed.incrementAndGet();
+      }
+    }
+
+    /**
+     * Tasks given to submit or schedule are wrapped in a future which holds the failure instead of
+     * passing it to afterExecute, so it is read from the future once done.
+     */
+    private static Throwable getFailure(Runnable runnable) {
+      if (!(runnable instanceof Future) || !((Future<?>) runnable).isDone()) {
+        return null;
+      }
+      try {
+        ((Future<?>) runnable).get();
+      } catch (CancellationException e) {
+        return null;
+      } catch (ExecutionException e) {
+        return e.getCause();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    }
+
+    RejectedExecutionHandler countRejections(RejectedExecutionHandler handler) {
+      return (runnable, executor) -> {
+        rejected.incrementAndGet();
+        handler.rejectedExecution(runnable, executor);
+      };
+    }
+
+    Map<String, Object> getMetrics(ThreadPoolExecutor executor) {
+      long taskCount = completed.get() + failed.get();
+      Map<String, Object> metrics = new HashMap<>();
+      metrics.put("poolSize", executor.getPoolSize());
+      metrics.put("activeThreads", executor.getActiveCount());
+      metrics.put("queueDepth", executor.getQueue().size());
+      metrics.put("completedTasks", completed.get());
+      metrics.put("failedTasks", failed.get());
+      metrics.put("rejectedTasks", rejected.get());
+      metrics.put("avgLatencyInMs", taskCount == 0 ? 0L : totalLatency.get() / taskCount);
+      metrics.put("maxLatencyInMs", maxLatency.get());
+      return metrics;
+    }
+  }
+
+  private static class InstrumentedExecutor extends ThreadPoolExecutor {
+
+    private final ExecutorStats executorStats;
+
+    InstrumentedExecutor(
+        int poolSize,
+        ArrayBlockingQueue<Runnable> queue,
+        ThreadFactory threadFactory,
+        RejectedExecutionHandler handler,
+        ExecutorStats executorStats) {
+      super(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue, threadFactory, handler);
+      this.executorStats = executorStats;
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+      executorStats.beforeExecute();
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable t) {
+      executorStats.afterExecute(runnable, t);
+    }
+  }
+
+  private static class InstrumentedScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+    private final ExecutorStats executorStats;
+
+    InstrumentedScheduledExecutor(
+        int poolSize,
+        ThreadFactory threadFactory,
+        RejectedExecutionHandler handler,
+        ExecutorStats executorStats) {
+      super(poolSize, threadFactory, handler);
+      this.executorStats = executorStats;
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+      executorStats.beforeExecute();
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable t) {
+      executorStats.afterExecute(runnable, t);
+    }
   }
 }
@@ -0,0 +1,88 @@
+package org.sunbird.learner.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+
+/**
+ * Latency and throughput of an operation. The latencies of the last few requests are kept in a
+ * fixed size window from which percentiles are computed; request and write counts are cumulative
+ * since the instance was created.
+ */
+public class OperationMetrics {
+
+  private static final int DEFAULT_WINDOW_SIZE = 1024;
+  private static final int DEFAULT_LOG_INTERVAL = 1000;
+
+  private final String name;
+  private final long[] window;
+  private final int logInterval;
+  private final long startTime = System.currentTimeMillis();
+  private int next = 0;
+  private int size = 0;
+  private long requestCount = 0;
+  private long writeCount = 0;
+
+  public OperationMetrics(String name) {
+    this(name, DEFAULT_WINDOW_SIZE, DEFAULT_LOG_INTERVAL);
+  }
+
+  public OperationMetrics(String name, int windowSize, int logInterval) {
+    this.name = name;
+    this.window = new long[Math.max(1, windowSize)];
+    this.logInterval = Math.max(1, logInterval);
+  }
+
+  /**
+   * This method will record one request. Metrics are logged every log interval requests.
+   *
+   * @param latencyInMs Time taken by the request
+   * @param writes Number of records written by the request
+   */
+  public void record(long latencyInMs, int writes) {
+    boolean log;
+    synchronized (this) {
+      window[next] = latencyInMs;
+      next = (next + 1) % window.length;
+      size = Math.min(size + 1, window.length);
+      requestCount++;
+      writeCount += writes;
+      log = requestCount % logInterval == 0;
+    }
+    if (log) {
+      ProjectLogger.log(
+          "OperationMetrics: operation = " + name + " metrics = " + getMetrics(),
+          LoggerEnum.INFO.name());
+    }
+  }
+
+  /**
+   * This method will return request count, write count, latency percentiles (in ms) over the
+   * window and writes per second since creation.
+   *
+   * @return Metrics map
+   */
+  public synchronized Map<String, Object> getMetrics() {
+    long[] sorted = Arrays.copyOf(window, size);
+    Arrays.sort(sorted);
+    long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("requestCount", requestCount);
+    metrics.put("writeCount", writeCount);
+    metrics.put("p50InMs", percentile(sorted, 50));
+    metrics.put("p99InMs", percentile(sorted, 99));
+    metrics.put("maxInMs", size == 0 ? 0L : sorted[size - 1]);
+    metrics.put("writesPerSec", writeCount * 1000 / elapsed);
+    return metrics;
+  }
+
+  private long percentile(long[] sorted, int percentile) {
+    if (sorted.length == 0) {
+      return 0L;
+    }
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, index)];
+  }
+}
@@ -0,0 +1,344 @@
+package org.sunbird.learner.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPatch;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
+import org.sunbird.actor.metrics.MetricsRegistry;
+import org.sunbird.common.models.response.HttpUtilResponse;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+
+/**
+ * Shared client for outbound HTTP calls (Badgr, EkStep, content service). Requests are sent on a
+ * non blocking I/O reactor over pooled keep-alive connections, limited per host, and complete a
+ * {@link CompletionStage} so that actors can pipe the result instead of blocking a dispatcher
+ * thread. Stages are completed on the "outboundHttpCallback" pool rather than on the I/O reactor.
+ *
+ * <p>Pool size, per host limit, keep-alive and timeouts are read from configuration
+ * (sunbird_http_client_*). Latency, error status and failure counts are recorded per endpoint name
+ * given by the caller and can be read through {@link #getMetrics()}.
+ */
+public final class OutboundHttpClient {
+
+  private static final String MAX_CONNECTIONS = "sunbird_http_client_max_connections";
+  private static final String MAX_CONNECTIONS_PER_HOST =
+      "sunbird_http_client_max_connections_per_host";
+  private static final String CONNECT_TIMEOUT = "sunbird_http_client_connect_timeout_ms";
+  private static final String SOCKET_TIMEOUT = "sunbird_http_client_socket_timeout_ms";
+  private static final String POOL_TIMEOUT = "sunbird_http_client_pool_timeout_ms";
+  private static final String KEEP_ALIVE = "sunbird_http_client_keep_alive_ms";
+  private static final String IO_THREADS = "sunbird_http_client_io_threads";
+  private static final int DEFAULT_MAX_CONNECTIONS = 200;
+  private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 50;
+  private static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+  private static final int DEFAULT_SOCKET_TIMEOUT = 30000;
+  private static final int DEFAULT_POOL_TIMEOUT = 5000;
+  private static final long DEFAULT_KEEP_ALIVE = 60000;
+  private static final long IDLE_EVICTION_INTERVAL = 30;
+  private static final String CALLBACK_POOL = "outboundHttpCallback";
+  private static final int DEFAULT_CALLBACK_POOL_SIZE = 8;
+  private static final int CALLBACK_QUEUE_SIZE = 1024;
+  private static final String CONTENT_TYPE = "Content-Type";
+  private static final String JSON_CONTENT_TYPE = "application/json";
+
+  private static volatile OutboundHttpClient instance;
+
+  private final CloseableHttpAsyncClient client;
+  private final PoolingNHttpClientConnectionManager connectionManager;
+  private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+  private OutboundHttpClient() {
+    MetricsRegistry.register("http", OutboundHttpClient::getMetrics);
+    try {
+      connectionManager =
+          new PoolingNHttpClientConnectionManager(
+              new DefaultConnectingIOReactor(
+                  IOReactorConfig.custom()
+                      .setIoThreadCount(
+                          ConfigReader.getIntConfig(
+                              IO_THREADS, Runtime.getRuntime().availableProcessors()))
+                      .setConnectTimeout(
+                          ConfigReader.getIntConfig(CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT))
+                      .setSoTimeout(
+                          ConfigReader.getIntConfig(SOCKET_TIMEOUT, DEFAULT_SOCKET_TIMEOUT))
+                      .build()));
+    } catch (IOReactorException e) {
+      throw new IllegalStateException("OutboundHttpClient: Unable to start I/O reactor", e);
+    }
+    connectionManager.setMaxTotal(
+        ConfigReader.getIntConfig(MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS));
+    connectionManager.setDefaultMaxPerRoute(
+        ConfigReader.getIntConfig(MAX_CONNECTIONS_PER_HOST, DEFAULT_MAX_CONNECTIONS_PER_HOST));
+    long keepAlive = ConfigReader.getLongConfig(KEEP_ALIVE, DEFAULT_KEEP_ALIVE);
+    ConnectionKeepAliveStrategy keepAliveStrategy =
+        (response, context) -> {
+          long serverKeepAlive =
+              DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+          return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+        };
+    client =
+        HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy(keepAliveStrategy)
+            .setDefaultRequestConfig(
+                RequestConfig.custom()
+                    .setConnectTimeout(
+                        ConfigReader.getIntConfig(CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT))
+                    .setSocketTimeout(
+                        ConfigReader.getIntConfig(SOCKET_TIMEOUT, DEFAULT_SOCKET_TIMEOUT))
+                    .setConnectionRequestTimeout(
+                        ConfigReader.getIntConfig(POOL_TIMEOUT, DEFAULT_POOL_TIMEOUT))
+                    .build())
+            .build();
+    client.start();
+    ExecutorManager.getExecutorService()
+        .scheduleWithFixedDelay(
+            this::evictIdleConnections,
+            IDLE_EVICTION_INTERVAL,
+            IDLE_EVICTION_INTERVAL,
+            TimeUnit.SECONDS);
+    Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+  }
+
+  public static OutboundHttpClient getInstance() {
+    if (instance == null) {
+      synchronized (OutboundHttpClient.class) {
+        if (instance == null) {
+          instance = new OutboundHttpClient();
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * This method will send a GET request.
+   *
+   * @param endpoint Endpoint name used for metrics, e.g. badgr.badgeClass.list
+   * @param url Request URL
+   * @param headers Request headers
+   * @return Stage completed with status code and body of the response, or exceptionally with an
+   *     IOException if the request failed or timed out
+   */
+  public CompletionStage<HttpUtilResponse> get(
+      String endpoint, String url, Map<String, String> headers) {
+    return execute(endpoint, new HttpGet(url), headers);
+  }
+
+  public CompletionStage<HttpUtilResponse> post(
+      String endpoint, String url, String body, Map<String, String> headers) {
+    return execute(endpoint, withBody(new HttpPost(url), body), headers);
+  }
+
+  public CompletionStage<HttpUtilResponse> patch(
+      String endpoint, String url, String body, Map<String, String> headers) {
+    return execute(endpoint, withBody(new HttpPatch(url), body), headers);
+  }
+
+  public CompletionStage<HttpUtilResponse> delete(
+      String endpoint, String url, Map<String, String> headers) {
+    return execute(endpoint, new HttpDelete(url), headers);
+  }
+
+  /**
+   * This method will wait for the response of a request, for callers which cannot pipe the stage.
+   *
+   * @param stage Stage returned by one of the request methods
+   * @return Response
+   * @throws IOException if the request failed or timed out
+   */
+  public static HttpUtilResponse await(CompletionStage<HttpUtilResponse> stage)
+      throws IOException {
+    try {
+      return stage.toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * This method will return metrics of all endpoints called so far keyed by endpoint name, and of
+   * the connection pool.
+   *
+   * @return Map with endpoints (request, error status and failure counts, in flight requests, and
+   *     average and max latency in ms) and pool (leased, available and pending connections)
+   */
+  public static Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    OutboundHttpClient httpClient = instance;
+    if (httpClient == null) {
+      return metrics;
+    }
+    Map<String, Object> endpointMetrics = new HashMap<>();
+    httpClient.stats.forEach(
+        (name, endpointStats) -> endpointMetrics.put(name, endpointStats.getMetrics()));
+    Map<String, Object> poolMetrics = new HashMap<>();
+    poolMetrics.put("leased", httpClient.connectionManager.getTotalStats().getLeased());
+    poolMetrics.put("available", httpClient.connectionManager.getTotalStats().getAvailable());
+    poolMetrics.put("pending", httpClient.connectionManager.getTotalStats().getPending());
+    metrics.put("endpoints", endpointMetrics);
+    metrics.put("pool", poolMetrics);
+    return metrics;
+  }
+
+  private HttpRequestBase withBody(HttpEntityEnclosingRequestBase request, String body) {
+    if (body != null) {
+      request.setEntity(new StringEntity(body, StandardCharsets.UTF_8));
+      request.setHeader(CONTENT_TYPE, JSON_CONTENT_TYPE);
+    }
+    return request;
+  }
+
+  private CompletionStage<HttpUtilResponse> execute(
+      String endpoint, HttpRequestBase request, Map<String, String> headers) {
+    if (headers != null) {
+      headers.forEach(request::setHeader);
+    }
+    EndpointStats endpointStats = stats.computeIfAbsent(endpoint, name -> new EndpointStats());
+    long start = endpointStats.start();
+    CompletableFuture<HttpUtilResponse> future = new CompletableFuture<>();
+    client.execute(
+        request,
+        new FutureCallback<HttpResponse>() {
+          @Override
+          public void completed(HttpResponse response) {
+            HttpUtilResponse httpUtilResponse;
+            try {
+              HttpEntity entity = response.getEntity();
+              httpUtilResponse =
+                  new HttpUtilResponse(
+                      entity != null ? EntityUtils.toString(entity, StandardCharsets.UTF_8) : null,
+                      response.getStatusLine().getStatusCode());
+            } catch (IOException e) {
+              failed(e);
+              return;
+            }
+            endpointStats.complete(start, httpUtilResponse.getStatusCode());
+            completeAsync(() -> future.complete(httpUtilResponse));
+          }
+
+          @Override
+          public void failed(Exception e) {
+            endpointStats.fail(start);
+            ProjectLogger.log(
+                "OutboundHttpClient:execute: " + endpoint + " failed with error " + e.getMessage(),
+                LoggerEnum.ERROR.name());
+            IOException error = e instanceof IOException ? (IOException) e : new IOException(e);
+            completeAsync(() -> future.completeExceptionally(error));
+          }
+
+          @Override
+          public void cancelled() {
+            failed(new IOException("Request to " + endpoint + " cancelled"));
+          }
+        });
+    return future;
+  }
+
+  /** Completes the stage off the I/O reactor, so that dependent stages cannot stall it. */
+  private void completeAsync(Runnable completion) {
+    try {
+      ExecutorManager.getExecutor(CALLBACK_POOL, DEFAULT_CALLBACK_POOL_SIZE, CALLBACK_QUEUE_SIZE)
+          .execute(completion);
+    } catch (RejectedExecutionException e) {
+      completion.run();
+    }
+  }
+
+  private void evictIdleConnections() {
+    connectionManager.closeExpiredConnections();
+    connectionManager.closeIdleConnections(
+        ConfigReader.getLongConfig(KEEP_ALIVE, DEFAULT_KEEP_ALIVE), TimeUnit.MILLISECONDS);
+  }
+
+  private void close() {
+    try {
+      client.close();
+    } catch (IOException e) {
+      ProjectLogger.log(
+          "OutboundHttpClient:close: Error while closing client " + e.getMessage(),
+          LoggerEnum.ERROR.name());
+    }
+  }
+
+  private static class EndpointStats {
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    long start() {
+      inFlight.incrementAndGet();
+      return System.currentTimeMillis();
+    }
+
+    void complete(long start, int statusCode) {
+      if (statusCode >= 400) {
+        errors.incrementAndGet();
+      }
+      end(start);
+    }
+
+    void fail(long start) {
+      failures.incrementAndGet();
+      end(start);
+    }
+
+    private void end(long start) {
+      long latency = System.currentTimeMillis() - start;
+      inFlight.decrementAndGet();
+      requests.incrementAndGet();
+      totalLatency.addAndGet(latency);
+      maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    Map<String, Object> getMetrics() {
+      long requestCount = requests.get();
+      Map<String, Object> metrics = new HashMap<>();
+      metrics.put("requests", requestCount);
+      metrics.put("errorResponses", errors.get());
+      metrics.put("failures", failures.get());
+      metrics.put("inFlight", inFlight.get());
+      metrics.put("avgLatencyInMs", requestCount == 0 ? 0L : totalLatency.get() / requestCount);
+      metrics.put("maxLatencyInMs", maxLatency.get());
+      return metrics;
+    }
+  }
+}
@@ -19,8 +19,11 @@ public class SchedulerManager {
 
   /** all scheduler job will be configure here. */
   public static void schedule() {
-    service.scheduleWithFixedDelay(new DataCacheHandler(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
-    service.scheduleWithFixedDelay(new PageCacheLoaderService(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
+    // each cache refresh runs on its own pool so that a slow refresh does not delay the other
+    ExecutorManager.getScheduledExecutor("dataCacheHandler", 1)
+        .scheduleWithFixedDelay(new DataCacheHandler(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
+    ExecutorManager.getScheduledExecutor("pageCacheLoader", 1)
+        .scheduleWithFixedDelay(new PageCacheLoaderService(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
     ProjectLogger.log(
         "SchedulerManager:schedule: Started scheduler job for cache refresh.",
         LoggerEnum.INFO.name());
@@ -0,0 +1,219 @@
+package org.sunbird.learner.util;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.actor.metrics.MetricsRegistry;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+
+/**
+ * Sends mails over a small pool of SMTP connections which are kept open between mails, so that a
+ * notification to many recipients does not connect and authenticate once per recipient. Sending
+ * is throttled to a configured number of mails per second across all callers, and a connection
+ * which fails is closed and opened again on its next use.
+ *
+ * <p>Server settings are the ones used by SendMail (sunbird_mail_server_*); pool size, rate and
+ * timeouts are read from sunbird_mail_pool_size, sunbird_mail_rate_per_second and
+ * sunbird_mail_timeout_ms.
+ */
+public final class SmtpMailer {
+
+  private static final String HOST = "sunbird_mail_server_host";
+  private static final String PORT = "sunbird_mail_server_port";
+  private static final String USERNAME = "sunbird_mail_server_username";
+  private static final String PASSWORD = "sunbird_mail_server_password";
+  private static final String FROM_EMAIL = "sunbird_mail_server_from_email";
+  private static final String POOL_SIZE = "sunbird_mail_pool_size";
+  private static final String RATE = "sunbird_mail_rate_per_second";
+  private static final String TIMEOUT = "sunbird_mail_timeout_ms";
+  private static final int DEFAULT_PORT = 25;
+  private static final int DEFAULT_POOL_SIZE = 2;
+  private static final int DEFAULT_RATE = 10;
+  private static final int DEFAULT_TIMEOUT = 30000;
+  private static final String HTML_CONTENT_TYPE = "text/html; charset=utf-8";
+
+  private static volatile SmtpMailer instance;
+
+  static {
+    MetricsRegistry.register("mail", SmtpMailer::getMetrics);
+  }
+
+  private final Session session;
+  private final String host;
+  private final int port;
+  private final String username;
+  private final String password;
+  private final String fromEmail;
+  private final RateLimiter rateLimiter;
+  private final BlockingQueue<Transport> transports;
+  private final AtomicLong sentCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+
+  SmtpMailer(
+      String host,
+      int port,
+      String username,
+      String password,
+      String fromEmail,
+      int poolSize,
+      double ratePerSecond,
+      int timeoutMs) {
+    this.host = host;
+    this.port = port;
+    this.username = username;
+    this.password = password;
+    this.fromEmail = fromEmail;
+    Properties props = new Properties();
+    props.put("mail.smtp.host", host);
+    props.put("mail.smtp.port", String.valueOf(port));
+    props.put("mail.smtp.auth", String.valueOf(StringUtils.isNotBlank(username)));
+    props.put("mail.smtp.starttls.enable", "true");
+    props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+    props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+    props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
+    session = Session.getInstance(props);
+    rateLimiter = RateLimiter.create(ratePerSecond);
+    int size = Math.max(1, poolSize);
+    transports = new ArrayBlockingQueue<>(size);
+    try {
+      for (int i = 0; i < size; i++) {
+        transports.add(session.getTransport("smtp"));
+      }
+    } catch (MessagingException e) {
+      throw new IllegalStateException("SmtpMailer: SMTP transport is not available", e);
+    }
+  }
+
+  public static SmtpMailer getInstance() {
+    if (instance == null) {
+      synchronized (SmtpMailer.class) {
+        if (instance == null) {
+          instance =
+              new SmtpMailer(
+                  ProjectUtil.getConfigValue(HOST),
+                  ConfigReader.getIntConfig(PORT, DEFAULT_PORT),
+                  ProjectUtil.getConfigValue(USERNAME),
+                  ProjectUtil.getConfigValue(PASSWORD),
+                  ProjectUtil.getConfigValue(FROM_EMAIL),
+                  ConfigReader.getIntConfig(POOL_SIZE, DEFAULT_POOL_SIZE),
+                  Math.max(1, ConfigReader.getIntConfig(RATE, DEFAULT_RATE)),
+                  ConfigReader.getIntConfig(TIMEOUT, DEFAULT_TIMEOUT));
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * This method will send an HTML mail to a single recipient, waiting for a free connection and
+   * for the rate limit.
+   *
+   * @param recipient Recipient email
+   * @param subject Mail subject
+   * @param body HTML body
+   * @throws MessagingException if the mail is rejected or the server is not reachable
+   */
+  public void send(String recipient, String subject, String body) throws MessagingException {
+    send(
+        Message.RecipientType.TO,
+        new InternetAddress[] {new InternetAddress(recipient)},
+        subject,
+        body);
+  }
+
+  /**
+   * This method will send one HTML mail to given recipients as BCC, so that recipients do not see
+   * each other. The mail counts once towards the rate limit.
+   *
+   * @param recipients Recipient emails
+   * @param subject Mail subject
+   * @param body HTML body
+   * @throws MessagingException if the mail is rejected or the server is not reachable
+   */
+  public void sendBcc(List<String> recipients, String subject, String body)
+      throws MessagingException {
+    InternetAddress[] addresses = new InternetAddress[recipients.size()];
+    for (int i = 0; i < addresses.length; i++) {
+      addresses[i] = new InternetAddress(recipients.get(i));
+    }
+    send(Message.RecipientType.BCC, addresses, subject, body);
+  }
+
+  private void send(
+      Message.RecipientType type, InternetAddress[] recipients, String subject, String body)
+      throws MessagingException {
+    rateLimiter.acquire();
+    Transport transport = borrow();
+    try {
+      MimeMessage message = new MimeMessage(session);
+      message.setFrom(new InternetAddress(fromEmail));
+      message.setRecipients(type, recipients);
+      message.setSubject(subject, "utf-8");
+      message.setContent(body, HTML_CONTENT_TYPE);
+      if (!transport.isConnected()) {
+        transport.connect(host, port, username, password);
+      }
+      transport.sendMessage(message, recipients);
+      sentCount.incrementAndGet();
+    } catch (MessagingException e) {
+      failedCount.incrementAndGet();
+      close(transport);
+      throw e;
+    } finally {
+      transports.add(transport);
+    }
+  }
+
+  /**
+   * This method will return counts of mails sent and failed since start, and idle connections.
+   *
+   * @return Metrics map, empty if no mail was sent through the shared mailer
+   */
+  public static Map<String, Object> getMetrics() {
+    SmtpMailer current = instance;
+    return current == null ? new HashMap<>() : current.getStats();
+  }
+
+  private Map<String, Object> getStats() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("sentCount", sentCount.get());
+    metrics.put("failedCount", failedCount.get());
+    metrics.put("idleConnections", transports.size());
+    return metrics;
+  }
+
+  private Transport borrow() throws MessagingException {
+    try {
+      return transports.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MessagingException("SmtpMailer: Interrupted while waiting for connection", e);
+    }
+  }
+
+  private void close(Transport transport) {
+    try {
+      if (transport.isConnected()) {
+        transport.close();
+      }
+    } catch (MessagingException e) {
+      ProjectLogger.log(
+          "SmtpMailer:close: Failed to close connection with error = " + e.getMessage(),
+          LoggerEnum.WARN.name());
+    }
+  }
+}
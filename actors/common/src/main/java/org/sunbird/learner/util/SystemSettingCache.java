@@ -0,0 +1,154 @@
+package org.sunbird.learner.util;
+
+import akka.actor.ActorRef;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.sunbird.actor.metrics.MetricsRegistry;
+import org.sunbird.actorutil.InterServiceCommunicationFactory;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ActorOperations;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.Request;
+import org.sunbird.models.systemsetting.SystemSetting;
+import scala.compat.java8.FutureConverters;
+import scala.concurrent.Future;
+
+/**
+ * Bounded, TTL based cache of system settings keyed by field, in front of the system settings
+ * actor. A setting which is not cached is asked for without blocking the caller, and concurrent
+ * lookups of the same setting share a single ask.
+ *
+ * <p>Entries are dropped when a setting is written through the system settings actor on this
+ * instance; writes made on other instances are picked up when the entry expires.
+ */
+public class SystemSettingCache {
+
+  private static final String TTL = "sunbird_system_setting_cache_ttl_seconds";
+  private static final String MAX_SIZE = "sunbird_system_setting_cache_max_size";
+  private static final long DEFAULT_TTL = 300;
+  private static final long DEFAULT_MAX_SIZE = 200;
+  private static final SystemSettingCache instance = new SystemSettingCache();
+
+  private final Cache<String, SystemSetting> cache;
+  private final Map<String, CompletableFuture<SystemSetting>> pending = new ConcurrentHashMap<>();
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private SystemSettingCache() {
+    MetricsRegistry.register("systemSettings", this::getMetrics);
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(ConfigReader.getLongConfig(MAX_SIZE, DEFAULT_MAX_SIZE))
+            .expireAfterWrite(ConfigReader.getLongConfig(TTL, DEFAULT_TTL), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  public static SystemSettingCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * This method will return system setting of given field, asking the system settings actor if it
+   * is not cached.
+   *
+   * @param actorRef System settings actor reference
+   * @param field System setting field
+   * @return Stage completed with the setting, or null if the setting does not exist; completed
+   *     exceptionally if the ask fails
+   */
+  public CompletionStage<SystemSetting> getSystemSetting(ActorRef actorRef, String field) {
+    SystemSetting setting = cache.getIfPresent(field);
+    if (setting != null) {
+      return CompletableFuture.completedFuture(setting);
+    }
+    CompletableFuture<SystemSetting> future = new CompletableFuture<>();
+    CompletableFuture<SystemSetting> existing = pending.putIfAbsent(field, future);
+    if (existing != null) {
+      return existing;
+    }
+    CompletionStage<SystemSetting> asked;
+    try {
+      asked = ask(actorRef, field);
+    } catch (RuntimeException e) {
+      // the pending lookup is dropped, or later lookups of the field would wait on it forever
+      pending.remove(field, future);
+      future.completeExceptionally(e);
+      return future;
+    }
+    asked.whenComplete(
+        (result, error) -> {
+          pending.remove(field, future);
+          if (error != null) {
+            future.completeExceptionally(error);
+            return;
+          }
+          if (result != null) {
+            cache.put(field, result);
+          }
+          future.complete(result);
+        });
+    return future;
+  }
+
+  public void invalidate(String field) {
+    if (field != null) {
+      cache.invalidate(field);
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * This method will return hit, miss and eviction counts, hit rate and current size of the cache.
+   *
+   * @return Metrics map
+   */
+  public Map<String, Object> getMetrics() {
+    CacheStats stats = cache.stats();
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("hitCount", stats.hitCount());
+    metrics.put("missCount", stats.missCount());
+    metrics.put("hitRate", stats.hitRate());
+    metrics.put("evictionCount", stats.evictionCount());
+    metrics.put("size", cache.size());
+    return metrics;
+  }
+
+  private CompletionStage<SystemSetting> ask(ActorRef actorRef, String field) {
+    Request request = new Request();
+    request.setOperation(ActorOperations.GET_SYSTEM_SETTING.getValue());
+    request.getContext().put(JsonKey.FIELD, field);
+    Future<Object> future =
+        InterServiceCommunicationFactory.getInstance().getFuture(actorRef, request);
+    if (future == null) {
+      CompletableFuture<SystemSetting> failed = new CompletableFuture<>();
+      failed.completeExceptionally(
+          new IllegalStateException("No response for system setting " + field));
+      return failed;
+    }
+    return FutureConverters.toJava(future)
+        .thenApply(
+            result -> {
+              if (result instanceof Throwable) {
+                throw new CompletionException((Throwable) result);
+              }
+              Object setting =
+                  result instanceof Response ? ((Response) result).get(JsonKey.RESPONSE) : null;
+              if (setting == null || setting instanceof SystemSetting) {
+                return (SystemSetting) setting;
+              }
+              return mapper.convertValue(setting, SystemSetting.class);
+            });
+  }
+}
@@ -2,23 +2,47 @@ package org.sunbird.learner.util;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
 import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.models.util.datasecurity.DataMaskingService;
 import org.sunbird.common.models.util.datasecurity.DecryptionService;
 import org.sunbird.common.models.util.datasecurity.EncryptionService;
 import org.sunbird.common.models.util.datasecurity.impl.ServiceFactory;
+import org.sunbird.common.responsecode.ResponseCode;
 
 /**
  * This class is for utility methods for encrypting user data.
  *
+ * <p>Methods taking a list of users or a collection of values process a whole page at once: each
+ * distinct value is encrypted or decrypted once, and pages with at least
+ * sunbird_user_data_cipher_parallel_threshold (200 by default, 0 to disable) distinct values are
+ * split in chunks processed in parallel on the userDataCipher pool.
+ *
  * @author Amit Kumar
  */
 public final class UserUtility {
 
+  private static final String PARALLEL_THRESHOLD = "sunbird_user_data_cipher_parallel_threshold";
+  private static final int DEFAULT_PARALLEL_THRESHOLD = 200;
+  private static final String CIPHER_POOL = "userDataCipher";
+  private static final int DEFAULT_CIPHER_POOL_SIZE = 4;
+  private static final int CIPHER_QUEUE_SIZE = 256;
+  private static final int CHUNK_SIZE = 100;
+
   private static List<String> userKeyToEncrypt = new ArrayList<>();
   private static List<String> addressKeyToEncrypt = new ArrayList<>();
   private static List<String> userKeyToDecrypt = new ArrayList<>();
@@ -39,6 +63,9 @@ public final class UserUtility {
     userKeyToDecrypt = new ArrayList<>(Arrays.asList(userKeyDecrypt.split(",")));
   }
 
+  private static int parallelThreshold =
+      ConfigReader.getIntConfig(PARALLEL_THRESHOLD, DEFAULT_PARALLEL_THRESHOLD);
+
   private UserUtility() {}
 
   public static Map<String, Object> encryptUserData(Map<String, Object> userMap) throws Exception {
@@ -137,6 +164,142 @@ public final class UserUtility {
     return userMap;
   }
 
+  /**
+   * This method will decrypt the user and address fields of a page of users read from DB.
+   *
+   * @param userMapList Users to decrypt in place
+   * @return Given users
+   */
+  public static List<Map<String, Object>> decryptUserData(List<Map<String, Object>> userMapList) {
+    return decryptUserFields(userMapList, userKeyToEncrypt);
+  }
+
+  /**
+   * This method will decrypt the user and address fields of a page of users read from ES, e.g.
+   * search results.
+   *
+   * @param userMapList Users to decrypt in place
+   * @return Given users
+   */
+  public static List<Map<String, Object>> decryptUserDataFrmES(
+      List<Map<String, Object>> userMapList) {
+    return decryptUserFields(userMapList, userKeyToDecrypt);
+  }
+
+  /**
+   * This method will decrypt given values, each distinct value once.
+   *
+   * @param values Encrypted values
+   * @return Map of encrypted value to decrypted value
+   */
+  public static Map<String, String> decryptData(Collection<String> values) {
+    DecryptionService service = ServiceFactory.getDecryptionServiceInstance(null);
+    try {
+      return transform(values, service::decryptData);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      ProjectLogger.log("UserUtility:decryptData: Exception occurred " + e.getMessage(), e);
+      throw new ProjectCommonException(
+          ResponseCode.userDataEncryptionError.getErrorCode(),
+          ResponseCode.userDataEncryptionError.getErrorMessage(),
+          ResponseCode.SERVER_ERROR.getResponseCode());
+    }
+  }
+
+  /**
+   * This method will encrypt given values, each distinct value once.
+   *
+   * @param values Values to encrypt
+   * @return Map of value to encrypted value
+   */
+  public static Map<String, String> encryptData(Collection<String> values) throws Exception {
+    EncryptionService service = ServiceFactory.getEncryptionServiceInstance(null);
+    return transform(values, service::encryptData);
+  }
+
+  private static List<Map<String, Object>> decryptUserFields(
+      List<Map<String, Object>> userMapList, List<String> fieldsToDecrypt) {
+    Set<String> values = new LinkedHashSet<>();
+    forEachUserField(userMapList, fieldsToDecrypt, (map, key) -> values.add((String) map.get(key)));
+    Map<String, String> decrypted = decryptData(values);
+    forEachUserField(
+        userMapList, fieldsToDecrypt, (map, key) -> map.put(key, decrypted.get(map.get(key))));
+    return userMapList;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void forEachUserField(
+      List<Map<String, Object>> userMapList,
+      List<String> fields,
+      BiConsumer<Map<String, Object>, String> consumer) {
+    for (Map<String, Object> userMap : userMapList) {
+      for (String key : fields) {
+        if (userMap.containsKey(key)) {
+          consumer.accept(userMap, key);
+        }
+      }
+      if (userMap.containsKey(JsonKey.ADDRESS)) {
+        List<Map<String, Object>> addressList =
+            (List<Map<String, Object>>) userMap.get(JsonKey.ADDRESS);
+        for (Map<String, Object> map : addressList) {
+          for (String key : addressKeyToEncrypt) {
+            if (map.containsKey(key)) {
+              consumer.accept(map, key);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static Map<String, String> transform(Collection<String> values, DataCipher cipher)
+      throws Exception {
+    List<String> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+    if (parallelThreshold <= 0 || distinct.size() < parallelThreshold) {
+      return transformChunk(distinct, cipher);
+    }
+    List<Future<Map<String, String>>> futures = new ArrayList<>();
+    Map<String, String> result = new HashMap<>();
+    int lastChunk = ((distinct.size() - 1) / CHUNK_SIZE) * CHUNK_SIZE;
+    for (int start = 0; start < lastChunk; start += CHUNK_SIZE) {
+      List<String> chunk = distinct.subList(start, start + CHUNK_SIZE);
+      try {
+        futures.add(
+            ExecutorManager.getExecutor(CIPHER_POOL, DEFAULT_CIPHER_POOL_SIZE, CIPHER_QUEUE_SIZE)
+                .submit(() -> transformChunk(chunk, cipher)));
+      } catch (RejectedExecutionException e) {
+        ProjectLogger.log(
+            "UserUtility:transform: User data cipher pool is saturated", LoggerEnum.INFO.name());
+        result.putAll(transformChunk(chunk, cipher));
+      }
+    }
+    // the calling thread takes the last chunk instead of waiting idle
+    result.putAll(transformChunk(distinct.subList(lastChunk, distinct.size()), cipher));
+    for (Future<Map<String, String>> future : futures) {
+      try {
+        result.putAll(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(pending -> pending.cancel(true));
+        throw e;
+      } catch (ExecutionException e) {
+        futures.forEach(pending -> pending.cancel(true));
+        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, String> transformChunk(List<String> values, DataCipher cipher)
+      throws Exception {
+    Map<String, String> result = new HashMap<>();
+    for (String value : values) {
+      result.put(value, cipher.apply(value));
+    }
+    return result;
+  }
+
   public static List<Map<String, Object>> decryptUserAddressData(
       List<Map<String, Object>> addressList) {
     DecryptionService service = ServiceFactory.getDecryptionServiceInstance(null);
@@ -188,4 +351,8 @@ public final class UserUtility {
     }
     return StringUtils.EMPTY;
   }
+
+  private interface DataCipher {
+    String apply(String value) throws Exception;
+  }
 }
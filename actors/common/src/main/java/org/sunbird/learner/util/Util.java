@@ -21,6 +21,13 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -29,8 +36,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.sunbird.actor.background.BackgroundOperations;
-import org.sunbird.actorutil.systemsettings.SystemSettingClient;
-import org.sunbird.actorutil.systemsettings.impl.SystemSettingClientImpl;
+import org.sunbird.actor.core.BaseActor;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -86,6 +92,9 @@ public final class Util {
   private static Map<String, String> headers = new HashMap<>();
   private static Map<Integer, List<Integer>> orgStatusTransition = new HashMap<>();
   private static final String SUNBIRD_WEB_URL = "sunbird_web_url";
+  private static final String USER_DETAILS_POOL = "userDetails";
+  private static final int DEFAULT_USER_DETAILS_POOL_SIZE = 8;
+  private static final int USER_DETAILS_QUEUE_SIZE = 1024;
   private static CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private static EncryptionService encryptionService =
       org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.getEncryptionServiceInstance(
@@ -1408,8 +1417,85 @@ public final class Util {
         });
   }
 
-  @SuppressWarnings("unchecked")
   public static Map<String, Object> getUserDetails(String userId, ActorRef actorRef) {
+    Map<String, Object> userDetails = readUserDetails(userId);
+    Config userProfileConfig = userDetails != null ? getUserProfileConfig(actorRef) : null;
+    return completeUserDetails(userId, userDetails, userProfileConfig);
+  }
+
+  /**
+   * This method will return user details as {@link #getUserDetails(String, ActorRef)} does,
+   * without blocking the caller. Reads of the user run on the user details pool, and user profile
+   * configuration is looked up through {@link #getUserProfileConfigAsync(ActorRef)}.
+   *
+   * @param userId User ID
+   * @param actorRef System settings actor reference
+   * @return Stage completed with user details
+   */
+  public static CompletionStage<Map<String, Object>> getUserDetailsAsync(
+      String userId, ActorRef actorRef) {
+    return supplyOnUserDetailsPool(() -> readUserDetails(userId))
+        .thenCompose(
+            userDetails -> {
+              CompletionStage<Config> userProfileConfig =
+                  userDetails != null
+                      ? getUserProfileConfigAsync(actorRef)
+                      : CompletableFuture.completedFuture(null);
+              return userProfileConfig.thenCompose(
+                  config ->
+                      supplyOnUserDetailsPool(
+                          () -> completeUserDetails(userId, userDetails, config)));
+            });
+  }
+
+  private static <T> CompletableFuture<T> supplyOnUserDetailsPool(Supplier<T> supplier) {
+    try {
+      return CompletableFuture.supplyAsync(
+          supplier,
+          ExecutorManager.getExecutor(
+              USER_DETAILS_POOL, DEFAULT_USER_DETAILS_POOL_SIZE, USER_DETAILS_QUEUE_SIZE));
+    } catch (RejectedExecutionException e) {
+      ProjectLogger.log(
+          "Util:supplyOnUserDetailsPool: User details pool is saturated", LoggerEnum.INFO.name());
+    }
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      future.complete(supplier.get());
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * This method will wait for given stage to complete, at most as long as an actor waits for a
+   * reply. A runtime exception the stage failed with is thrown as is.
+   *
+   * @param stage Stage to wait for
+   * @return Result of the stage
+   */
+  public static <T> T await(CompletionStage<T> stage) {
+    long timeout = BaseActor.timeout.duration().toMillis();
+    try {
+      return stage.toCompletableFuture().get(timeout, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      ProjectLogger.log("Util:await: Exception occurred with error message = " + e.getMessage(), e);
+    } catch (TimeoutException e) {
+      ProjectLogger.log("Util:await: Not completed in " + timeout + " ms", LoggerEnum.ERROR.name());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    throw new ProjectCommonException(
+        ResponseCode.SERVER_ERROR.getErrorCode(),
+        ResponseCode.SERVER_ERROR.getErrorMessage(),
+        ResponseCode.SERVER_ERROR.getResponseCode());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> readUserDetails(String userId) {
     ProjectLogger.log("get user profile method call started user Id : " + userId);
     Util.DbInfo userDbInfo = Util.dbInfoMap.get(JsonKey.USER_DB);
     Response response = null;
@@ -1426,10 +1512,8 @@ public final class Util {
     } catch (Exception e) {
       ProjectLogger.log(e.getMessage(), e);
     }
-    String username = "";
     if (!(userList.isEmpty())) {
       userDetails = userList.get(0);
-      username = (String) userDetails.get(JsonKey.USERNAME);
       ProjectLogger.log("Util:getUserDetails: userId = " + userId, LoggerEnum.INFO.name());
       userDetails.put(JsonKey.ADDRESS, getAddressDetails(userId, null));
       userDetails.put(JsonKey.EDUCATION, getUserEducationDetails(userId));
@@ -1446,7 +1530,16 @@ public final class Util {
       // save masked email and phone number
       addMaskEmailAndPhone(userDetails);
       checkProfileCompleteness(userDetails);
-      checkUserProfileVisibility(userDetails, actorRef);
+    }
+    return userDetails;
+  }
+
+  private static Map<String, Object> completeUserDetails(
+      String userId, Map<String, Object> userDetails, Config userProfileConfig) {
+    String username = "";
+    if (userDetails != null) {
+      username = (String) userDetails.get(JsonKey.USERNAME);
+      checkUserProfileVisibility(userDetails, userProfileConfig);
       userDetails.remove(JsonKey.PASSWORD);
       addEmailAndPhone(userDetails);
       userDetails = getUserDetailsFromRegistry(userDetails);
@@ -1475,13 +1568,19 @@ public final class Util {
   }
 
   public static void checkUserProfileVisibility(Map<String, Object> userMap, ActorRef actorRef) {
+    checkUserProfileVisibility(userMap, getUserProfileConfig(actorRef));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void checkUserProfileVisibility(
+      Map<String, Object> userMap, Config userProfileConfig) {
     ProjectLogger.log(
         "Util:checkUserProfileVisibility: userId = " + userMap.get(JsonKey.USER_ID),
         LoggerEnum.INFO.name());
     Map<String, String> userProfileVisibilityMap =
         (Map<String, String>) userMap.get(JsonKey.PROFILE_VISIBILITY);
     Map<String, String> completeProfileVisibilityMap =
-        getCompleteProfileVisibilityMap(userProfileVisibilityMap, actorRef);
+        getCompleteProfileVisibilityMap(userProfileVisibilityMap, userProfileConfig);
     ProjectLogger.log(
         "Util:checkUserProfileVisibility: completeProfileVisibilityMap is "
             + completeProfileVisibilityMap,
@@ -1529,6 +1628,26 @@ public final class Util {
 
   public static Map<String, String> getCompleteProfileVisibilityMap(
       Map<String, String> userProfileVisibilityMap, ActorRef actorRef) {
+    return getCompleteProfileVisibilityMap(
+        userProfileVisibilityMap, getUserProfileConfig(actorRef));
+  }
+
+  /**
+   * This method will return complete profile visibility map as {@link
+   * #getCompleteProfileVisibilityMap(Map, ActorRef)} does, without blocking the caller.
+   *
+   * @param userProfileVisibilityMap Profile visibility settings of the user
+   * @param actorRef System settings actor reference
+   * @return Stage completed with profile visibility of all user profile fields
+   */
+  public static CompletionStage<Map<String, String>> getCompleteProfileVisibilityMapAsync(
+      Map<String, String> userProfileVisibilityMap, ActorRef actorRef) {
+    return getUserProfileConfigAsync(actorRef)
+        .thenApply(config -> getCompleteProfileVisibilityMap(userProfileVisibilityMap, config));
+  }
+
+  private static Map<String, String> getCompleteProfileVisibilityMap(
+      Map<String, String> userProfileVisibilityMap, Config userProfileConfig) {
     String defaultProfileVisibility =
         ProjectUtil.getConfigValue(JsonKey.SUNBIRD_USER_PROFILE_FIELD_DEFAULT_VISIBILITY);
     if (!(JsonKey.PUBLIC.equalsIgnoreCase(defaultProfileVisibility)
@@ -1541,7 +1660,6 @@ public final class Util {
       ProjectCommonException.throwServerErrorException(ResponseCode.invaidConfiguration, "");
     }
 
-    Config userProfileConfig = getUserProfileConfig(actorRef);
     List<String> userDataFields = userProfileConfig.getStringList(JsonKey.FIELDS);
     List<String> publicFields = userProfileConfig.getStringList(JsonKey.PUBLIC_FIELDS);
     List<String> privateFields = userProfileConfig.getStringList(JsonKey.PRIVATE_FIELDS);
@@ -1575,6 +1693,33 @@ public final class Util {
     }
   }
 
+  /**
+   * This method will mask phone and email of a page of users, decrypting each distinct value once.
+   *
+   * @param userMapList Users to mask in place
+   */
+  public static void addMaskEmailAndPhone(List<Map<String, Object>> userMapList) {
+    List<String> values = new ArrayList<>();
+    for (Map<String, Object> userMap : userMapList) {
+      values.add((String) userMap.get(JsonKey.PHONE));
+      values.add((String) userMap.get(JsonKey.EMAIL));
+    }
+    values.removeIf(StringUtils::isBlank);
+    Map<String, String> decrypted = UserUtility.decryptData(values);
+    for (Map<String, Object> userMap : userMapList) {
+      String phone = (String) userMap.get(JsonKey.PHONE);
+      String email = (String) userMap.get(JsonKey.EMAIL);
+      if (!StringUtils.isBlank(phone)) {
+        userMap.put(JsonKey.ENC_PHONE, phone);
+        userMap.put(JsonKey.PHONE, maskingService.maskPhone(decrypted.get(phone)));
+      }
+      if (!StringUtils.isBlank(email)) {
+        userMap.put(JsonKey.ENC_EMAIL, email);
+        userMap.put(JsonKey.EMAIL, maskingService.maskEmail(decrypted.get(email)));
+      }
+    }
+  }
+
   public static List<Map<String, Object>> getUserSkills(String userId) {
     Util.DbInfo userSkillDbInfo = Util.dbInfoMap.get(JsonKey.USER_SKILL_DB);
     Response skillresponse =
@@ -1974,26 +2119,46 @@ public final class Util {
   }
 
   public static String getCustodianChannel(Map<String, Object> userMap, ActorRef actorRef) {
+    return await(getCustodianChannelAsync(userMap, actorRef));
+  }
+
+  /**
+   * This method will return channel of the user, or custodian channel from system settings if user
+   * has no channel, or default channel if custodian channel is not set. Default channel is also
+   * put in given user map.
+   *
+   * @param userMap User details
+   * @param actorRef System settings actor reference
+   * @return Stage completed with the channel
+   */
+  public static CompletionStage<String> getCustodianChannelAsync(
+      Map<String, Object> userMap, ActorRef actorRef) {
     String channel = (String) userMap.get(JsonKey.CHANNEL);
-    if (StringUtils.isBlank(channel)) {
-      try {
-        SystemSettingClient client = SystemSettingClientImpl.getInstance();
-        SystemSetting systemSetting =
-            client.getSystemSettingByField(actorRef, JsonKey.CUSTODIAN_ORG_CHANNEL);
-        if (null != systemSetting && StringUtils.isNotBlank(systemSetting.getValue())) {
-          channel = systemSetting.getValue();
-        }
-      } catch (Exception ex) {
-        ProjectLogger.log(
-            "Util:getCustodianChannel: Exception occurred while fetching custodian channel from system setting.",
-            ex);
-      }
-    }
-    if (StringUtils.isBlank(channel)) {
-      channel = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL);
-      userMap.put(JsonKey.CHANNEL, channel);
-    }
-    return channel;
+    CompletionStage<String> custodianChannel;
+    if (StringUtils.isNotBlank(channel)) {
+      custodianChannel = CompletableFuture.completedFuture(channel);
+    } else {
+      custodianChannel =
+          SystemSettingCache.getInstance()
+              .getSystemSetting(actorRef, JsonKey.CUSTODIAN_ORG_CHANNEL)
+              .handle(
+                  (systemSetting, error) -> {
+                    if (error != null) {
+                      ProjectLogger.log(
+                          "Util:getCustodianChannel: Exception occurred while fetching custodian channel from system setting.",
+                          error);
+                    }
+                    return null != systemSetting ? systemSetting.getValue() : null;
+                  });
+    }
+    return custodianChannel.thenApply(
+        value -> {
+          if (StringUtils.isBlank(value)) {
+            value = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL);
+            userMap.put(JsonKey.CHANNEL, value);
+          }
+          return value;
+        });
   }
 
   /*
@@ -2003,13 +2168,26 @@ public final class Util {
    * @return user profile configuration
    */
   public static Config getUserProfileConfig(ActorRef actorRef) {
-    SystemSetting userProfileConfigSetting =
-        getSystemSettingByField(JsonKey.USER_PROFILE_CONFIG, actorRef);
-    String userProfileConfigString = userProfileConfigSetting.getValue();
-    Config userProfileConfig =
-        ConfigUtil.getConfigFromJsonString(userProfileConfigString, JsonKey.USER_PROFILE_CONFIG);
-    validateUserProfileConfig(userProfileConfig);
-    return userProfileConfig;
+    return await(getUserProfileConfigAsync(actorRef));
+  }
+
+  /**
+   * This method will return user profile configuration from system settings without blocking the
+   * caller.
+   *
+   * @param actorRef System settings actor reference
+   * @return Stage completed with validated user profile configuration
+   */
+  public static CompletionStage<Config> getUserProfileConfigAsync(ActorRef actorRef) {
+    return getSystemSettingByFieldAsync(JsonKey.USER_PROFILE_CONFIG, actorRef)
+        .thenApply(
+            userProfileConfigSetting -> {
+              Config userProfileConfig =
+                  ConfigUtil.getConfigFromJsonString(
+                      userProfileConfigSetting.getValue(), JsonKey.USER_PROFILE_CONFIG);
+              validateUserProfileConfig(userProfileConfig);
+              return userProfileConfig;
+            });
   }
 
   private static void validateUserProfileConfig(Config userProfileConfig) {
@@ -2060,24 +2238,37 @@ public final class Util {
    */
   public static SystemSetting getSystemSettingByField(
       String systemSettingField, ActorRef actorRef) {
-    SystemSetting systemSetting = null;
-    try {
-      SystemSettingClient client = SystemSettingClientImpl.getInstance();
-      systemSetting = client.getSystemSettingByField(actorRef, systemSettingField);
-      if (null == systemSetting || null == systemSetting.getValue()) {
-        throw new Exception();
-      }
-    } catch (Exception e) {
-      ProjectLogger.log(
-          "Util:getSystemSettingByField: System setting not found for field - "
-              + systemSettingField,
-          e);
-      ProjectCommonException.throwServerErrorException(
-          ResponseCode.errorSystemSettingNotFound,
-          ProjectUtil.formatMessage(
-              ResponseCode.errorSystemSettingNotFound.getErrorMessage(), systemSettingField));
-    }
-    return systemSetting;
+    return await(getSystemSettingByFieldAsync(systemSettingField, actorRef));
+  }
+
+  /**
+   * This method will return system setting of given field from {@link SystemSettingCache} without
+   * blocking the caller.
+   *
+   * @param systemSettingField System setting field
+   * @param actorRef System settings actor reference
+   * @return Stage completed with the setting, or failed if the setting is not found
+   */
+  public static CompletionStage<SystemSetting> getSystemSettingByFieldAsync(
+      String systemSettingField, ActorRef actorRef) {
+    return SystemSettingCache.getInstance()
+        .getSystemSetting(actorRef, systemSettingField)
+        .handle(
+            (systemSetting, error) -> {
+              if (error != null || null == systemSetting || null == systemSetting.getValue()) {
+                ProjectLogger.log(
+                    "Util:getSystemSettingByField: System setting not found for field - "
+                        + systemSettingField,
+                    error);
+                throw new ProjectCommonException(
+                    ResponseCode.errorSystemSettingNotFound.getErrorCode(),
+                    ProjectUtil.formatMessage(
+                        ResponseCode.errorSystemSettingNotFound.getErrorMessage(),
+                        systemSettingField),
+                    ResponseCode.SERVER_ERROR.getResponseCode());
+              }
+              return systemSetting;
+            });
   }
 }
 
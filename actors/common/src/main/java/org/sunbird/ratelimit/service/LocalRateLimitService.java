@@ -0,0 +1,265 @@
+package org.sunbird.ratelimit.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.ratelimit.dao.RateLimitDao;
+import org.sunbird.ratelimit.dao.RateLimitDaoImpl;
+import org.sunbird.ratelimit.limiter.RateLimit;
+import org.sunbird.ratelimit.limiter.RateLimiter;
+
+/**
+ * Rate limit service which throttles against in memory counters and syncs them with the rate_limit
+ * table in the background. Counters of a key are seeded from the table the first time the key is
+ * seen on this instance; after that a throttle check only does compare-and-set on the counters.
+ * Accepted requests not yet written are added to the stored counts by the periodic sync, which also
+ * picks up increments made by other instances, so limits are approximately enforced across nodes.
+ *
+ * <p>As with {@link RateLimitServiceImpl}, a window starts with the first request of a key and
+ * lasts for the TTL of the rate limiter.
+ */
+public class LocalRateLimitService implements RateLimitService {
+
+  private static final String LOCAL_ENABLED = "sunbird_rate_limit_local_enabled";
+  private static final String SYNC_INTERVAL = "sunbird_rate_limit_sync_interval_ms";
+  private static final long DEFAULT_SYNC_INTERVAL = 1000;
+  private static volatile LocalRateLimitService instance;
+
+  private RateLimitDao rateLimitDao = RateLimitDaoImpl.getInstance();
+  private final Map<String, Map<String, Window>> windowsByKey = new ConcurrentHashMap<>();
+
+  LocalRateLimitService() {}
+
+  /**
+   * This method will return the shared instance, starting its background sync on first call.
+   *
+   * @return Local rate limit service
+   */
+  public static LocalRateLimitService getInstance() {
+    if (instance == null) {
+      synchronized (LocalRateLimitService.class) {
+        if (instance == null) {
+          LocalRateLimitService service = new LocalRateLimitService();
+          service.startSync(ConfigReader.getLongConfig(SYNC_INTERVAL, DEFAULT_SYNC_INTERVAL));
+          instance = service;
+        }
+      }
+    }
+    return instance;
+  }
+
+  public static boolean isEnabled() {
+    return ConfigReader.getBooleanConfig(LOCAL_ENABLED, true);
+  }
+
+  public boolean isRateLimitOn() {
+    return Boolean.TRUE
+        .toString()
+        .equalsIgnoreCase(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_RATE_LIMIT_ENABLED));
+  }
+
+  @Override
+  public void throttleByKey(String key, RateLimiter[] rateLimiters) {
+    if (!isRateLimitOn()) {
+      ProjectLogger.log(
+          "LocalRateLimitService:throttleByKey: Rate limiter is disabled", LoggerEnum.INFO);
+      return;
+    }
+    Map<String, Window> windows = getWindows(key);
+    long now = System.currentTimeMillis();
+    List<Window> acquired = new ArrayList<>();
+    for (RateLimiter rateLimiter : rateLimiters) {
+      Window window = getWindow(windows, rateLimiter, now);
+      if (window == null) {
+        continue;
+      }
+      if (!window.tryAcquire()) {
+        // all or nothing, undo the increments of the limiters already passed
+        acquired.forEach(Window::release);
+        ProjectLogger.log(
+            "LocalRateLimitService:throttleByKey: Rate limit threshold crossed for key = " + key,
+            LoggerEnum.ERROR);
+        throw new ProjectCommonException(
+            ResponseCode.errorRateLimitExceeded.getErrorCode(),
+            ResponseCode.errorRateLimitExceeded.getErrorMessage(),
+            ResponseCode.TOO_MANY_REQUESTS.getResponseCode(),
+            window.unit.toLowerCase());
+      }
+      acquired.add(window);
+    }
+  }
+
+  private Map<String, Window> getWindows(String key) {
+    Map<String, Window> windows = windowsByKey.get(key);
+    if (windows != null) {
+      return windows;
+    }
+    // read outside of the map so that a slow read does not block other keys
+    Map<String, Window> seeded = new ConcurrentHashMap<>();
+    long now = System.currentTimeMillis();
+    List<Map<String, Object>> rates = rateLimitDao.getRateLimits(key);
+    if (CollectionUtils.isNotEmpty(rates)) {
+      for (Map<String, Object> rate : rates) {
+        if (MapUtils.isNotEmpty(rate)) {
+          RateLimit rateLimit = new RateLimit(key, rate);
+          seeded.put(
+              rateLimit.getUnit(),
+              new Window(
+                  rateLimit.getUnit(),
+                  rateLimit.getLimit(),
+                  rateLimit.getCount(),
+                  now + rateLimit.getTTL() * 1000L));
+        }
+      }
+    }
+    windows = windowsByKey.putIfAbsent(key, seeded);
+    return windows != null ? windows : seeded;
+  }
+
+  private Window getWindow(Map<String, Window> windows, RateLimiter rateLimiter, long now) {
+    Window window = windows.get(rateLimiter.name());
+    if (window != null && !window.isExpired(now)) {
+      return window;
+    }
+    Integer limit = rateLimiter.getRateLimit();
+    if (limit == null) {
+      return null;
+    }
+    return windows.compute(
+        rateLimiter.name(),
+        (unit, current) ->
+            current != null && !current.isExpired(now)
+                ? current
+                : new Window(unit, limit, 0, now + rateLimiter.getTTL() * 1000L));
+  }
+
+  private void startSync(long interval) {
+    ExecutorManager.getScheduledExecutor("rateLimitSync", 1)
+        .scheduleWithFixedDelay(this::sync, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * This method will write the requests accepted since the last sync to the rate_limit table and
+   * raise the local counters to the stored counts. Expired windows are dropped.
+   */
+  void sync() {
+    long now = System.currentTimeMillis();
+    for (Map.Entry<String, Map<String, Window>> entry : windowsByKey.entrySet()) {
+      String key = entry.getKey();
+      Map<String, Window> windows = entry.getValue();
+      windows.values().removeIf(window -> window.isExpired(now));
+      if (windows.isEmpty()) {
+        windowsByKey.remove(key, windows);
+        continue;
+      }
+      try {
+        syncKey(key, windows, now);
+      } catch (Exception e) {
+        ProjectLogger.log(
+            "LocalRateLimitService:sync: Exception in syncing key = " + key + " " + e.getMessage(),
+            e);
+      }
+    }
+  }
+
+  private void syncKey(String key, Map<String, Window> windows, long now) {
+    Map<String, Window> dirty = new HashMap<>();
+    windows.forEach(
+        (unit, window) -> {
+          if (window.unsynced.get() > 0) {
+            dirty.put(unit, window);
+          }
+        });
+    if (dirty.isEmpty()) {
+      return;
+    }
+    Map<String, RateLimit> stored = new HashMap<>();
+    List<Map<String, Object>> rates = rateLimitDao.getRateLimits(key);
+    if (CollectionUtils.isNotEmpty(rates)) {
+      for (Map<String, Object> rate : rates) {
+        if (MapUtils.isNotEmpty(rate)) {
+          RateLimit rateLimit = new RateLimit(key, rate);
+          stored.put(rateLimit.getUnit(), rateLimit);
+        }
+      }
+    }
+    List<RateLimit> rateLimits = new ArrayList<>();
+    Map<Window, Integer> deltas = new HashMap<>();
+    for (Window window : dirty.values()) {
+      int delta = window.unsynced.get();
+      RateLimit current = stored.get(window.unit);
+      Map<String, Object> rate = new HashMap<>();
+      rate.put(JsonKey.RATE_LIMIT_UNIT, window.unit);
+      rate.put(JsonKey.RATE, current != null ? current.getLimit() : window.limit);
+      rate.put(JsonKey.COUNT, (current != null ? current.getCount() : 0) + delta);
+      rate.put(JsonKey.TTL, current != null ? current.getTTL() : window.getRemainingTTL(now));
+      rateLimits.add(new RateLimit(key, rate));
+      deltas.put(window, delta);
+    }
+    rateLimitDao.insertRateLimits(rateLimits);
+    for (RateLimit rateLimit : rateLimits) {
+      Window window = dirty.get(rateLimit.getUnit());
+      window.unsynced.addAndGet(-deltas.get(window));
+      // adopt the increments written by other instances
+      int storedCount = rateLimit.getCount() + window.unsynced.get();
+      window.count.accumulateAndGet(storedCount, Math::max);
+    }
+  }
+
+  /** Counter of one rate limit unit of a key within its window. */
+  static final class Window {
+
+    private final String unit;
+    private final int limit;
+    private final long expiresAt;
+    private final AtomicInteger count;
+    private final AtomicInteger unsynced = new AtomicInteger();
+
+    Window(String unit, int limit, int count, long expiresAt) {
+      this.unit = unit;
+      this.limit = limit;
+      this.count = new AtomicInteger(count);
+      this.expiresAt = expiresAt;
+    }
+
+    boolean tryAcquire() {
+      while (true) {
+        int current = count.get();
+        if (current >= limit) {
+          return false;
+        }
+        if (count.compareAndSet(current, current + 1)) {
+          unsynced.incrementAndGet();
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      count.decrementAndGet();
+      unsynced.decrementAndGet();
+    }
+
+    boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+
+    int getRemainingTTL(long now) {
+      return (int) Math.max(1, (expiresAt - now) / 1000);
+    }
+  }
+}
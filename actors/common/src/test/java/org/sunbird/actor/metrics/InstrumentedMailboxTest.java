@@ -0,0 +1,86 @@
+package org.sunbird.actor.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.dispatch.Envelope;
+import akka.testkit.javadsl.TestKit;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.actor.metrics.ActorMetrics.DispatcherStats;
+import org.sunbird.actor.metrics.ActorMetrics.MailboxStats;
+import org.sunbird.actor.metrics.InstrumentedMailbox.InstrumentedMessageQueue;
+import org.sunbird.common.request.Request;
+
+public class InstrumentedMailboxTest {
+
+  private static ActorSystem system;
+
+  @BeforeClass
+  public static void setUp() {
+    system = ActorSystem.create("system");
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    TestKit.shutdownActorSystem(system);
+  }
+
+  @Test
+  public void testDequeueTracksDepthInOrder() {
+    MailboxStats stats = new MailboxStats();
+    InstrumentedMessageQueue queue = new InstrumentedMessageQueue(stats);
+    for (int i = 0; i < 3; i++) {
+      queue.enqueue(ActorRef.noSender(), Envelope.apply(i, ActorRef.noSender(), system));
+    }
+    assertEquals(3, queue.numberOfMessages());
+    assertEquals(3, stats.getMetrics().get("depth"));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i, queue.dequeue().message());
+    }
+    assertNull(queue.dequeue());
+    ActorMetrics.finishProcessing();
+    Map<String, Object> metrics = stats.getMetrics();
+    assertEquals(0, queue.numberOfMessages());
+    assertEquals(0, metrics.get("depth"));
+    assertEquals(3, metrics.get("maxDepth"));
+    assertEquals(3L, metrics.get("messageCount"));
+  }
+
+  @Test
+  public void testDispatcherUtilizationIsReadFromLastWindow() {
+    DispatcherStats stats = new DispatcherStats(2);
+    stats.taskStarted();
+    stats.taskFinished(TimeUnit.SECONDS.toNanos(100));
+    assertEquals(0.0, stats.getMetrics().get("utilization"));
+    stats.sample();
+    Map<String, Object> metrics = stats.getMetrics();
+    assertEquals(1.0, metrics.get("utilization"));
+    assertEquals(metrics, stats.getMetrics());
+    stats.sample();
+    assertEquals(0.0, stats.getMetrics().get("utilization"));
+    assertEquals(1L, stats.getMetrics().get("taskCount"));
+  }
+
+  @Test
+  public void testProcessingTimeRecordedPerOperation() {
+    MailboxStats stats = new MailboxStats();
+    InstrumentedMessageQueue queue = new InstrumentedMessageQueue(stats);
+    Request request = new Request();
+    request.setOperation("testOperation");
+    queue.enqueue(ActorRef.noSender(), Envelope.apply(request, ActorRef.noSender(), system));
+    queue.enqueue(ActorRef.noSender(), Envelope.apply("message", ActorRef.noSender(), system));
+    queue.dequeue();
+    queue.dequeue();
+    ActorMetrics.finishProcessing();
+    Map<String, Map<String, Object>> operations =
+        (Map<String, Map<String, Object>>) stats.getMetrics().get("operations");
+    assertEquals(1L, operations.get("testOperation").get("requestCount"));
+    assertEquals(1L, operations.get("String").get("requestCount"));
+  }
+}
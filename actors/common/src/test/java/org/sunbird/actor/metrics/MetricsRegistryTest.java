@@ -0,0 +1,49 @@
+package org.sunbird.actor.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+  @Test
+  public void testGetMetricsReturnsCurrentMetricsOfRegisteredSource() {
+    int[] count = {0};
+    MetricsRegistry.register(
+        "registryTestCounter", () -> Collections.singletonMap("count", ++count[0]));
+
+    Object first = MetricsRegistry.getMetrics().get("registryTestCounter");
+    Object second = MetricsRegistry.getMetrics().get("registryTestCounter");
+
+    assertEquals(Collections.singletonMap("count", 1), first);
+    assertEquals(Collections.singletonMap("count", 2), second);
+  }
+
+  @Test
+  public void testRegisterReplacesSourceOfSameName() {
+    MetricsRegistry.register("registryTestSource", () -> Collections.singletonMap("value", 1));
+    MetricsRegistry.register("registryTestSource", () -> Collections.singletonMap("value", 2));
+
+    Object metrics = MetricsRegistry.getMetrics().get("registryTestSource");
+
+    assertEquals(Collections.singletonMap("value", 2), metrics);
+  }
+
+  @Test
+  public void testFailingSourceIsLeftOut() {
+    MetricsRegistry.register(
+        "registryTestFailing",
+        () -> {
+          throw new IllegalStateException("not available");
+        });
+    MetricsRegistry.register("registryTestHealthy", () -> Collections.singletonMap("value", 1));
+
+    Map<String, Object> metrics = MetricsRegistry.getMetrics();
+
+    assertFalse(metrics.containsKey("registryTestFailing"));
+    assertEquals(Collections.singletonMap("value", 1), metrics.get("registryTestHealthy"));
+  }
+}
@@ -0,0 +1,108 @@
+package org.sunbird.common.cacheloader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.helper.ServiceFactory;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceFactory.class})
+@PowerMockIgnore({"javax.management.*"})
+public class DeltaTableLoaderTest {
+
+  private static final String KEYSPACE = "sunbird";
+  private static final String TABLE = "page_section";
+
+  private CassandraOperationImpl cassandraOperation;
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ServiceFactory.class);
+    cassandraOperation = mock(CassandraOperationImpl.class);
+    when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
+    when(cassandraOperation.getAllRecords(KEYSPACE, TABLE))
+        .thenReturn(getResponse(getRow("id1", "t1"), getRow("id2", "t1")));
+  }
+
+  @Test
+  public void testLoadFetchesOnlyChangedRows() {
+    DeltaTableLoader loader = new DeltaTableLoader(KEYSPACE, TABLE, 10);
+    assertEquals(2, loader.load().size());
+
+    when(cassandraOperation.getRecordsByProperties(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList()))
+        .thenReturn(getResponse(getRow("id1", "t1"), getRow("id2", "t2")));
+    when(cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
+            KEYSPACE, TABLE, null, Arrays.asList("id2")))
+        .thenReturn(getResponse(getRow("id2", "t2")));
+
+    Map<String, Map<String, Object>> rows = loader.load();
+    assertEquals(2, rows.size());
+    assertEquals("t2", rows.get("id2").get(JsonKey.UPDATED_DATE));
+    Mockito.verify(cassandraOperation, Mockito.times(1)).getAllRecords(KEYSPACE, TABLE);
+  }
+
+  @Test
+  public void testLoadDropsDeletedRows() {
+    DeltaTableLoader loader = new DeltaTableLoader(KEYSPACE, TABLE, 10);
+    loader.load();
+
+    when(cassandraOperation.getRecordsByProperties(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList()))
+        .thenReturn(getResponse(getRow("id1", "t1")));
+
+    Map<String, Map<String, Object>> rows = loader.load();
+    assertTrue(rows.containsKey("id1"));
+    assertFalse(rows.containsKey("id2"));
+  }
+
+  @Test
+  public void testLoadReconcilesFullyOnInterval() {
+    DeltaTableLoader loader = new DeltaTableLoader(KEYSPACE, TABLE, 1);
+    loader.load();
+    loader.load();
+    Mockito.verify(cassandraOperation, Mockito.times(2)).getAllRecords(KEYSPACE, TABLE);
+  }
+
+  @Test
+  public void testLoadFailureReturnsNull() {
+    when(cassandraOperation.getAllRecords(KEYSPACE, TABLE))
+        .thenThrow(new RuntimeException("cassandra unavailable"));
+    assertNull(new DeltaTableLoader(KEYSPACE, TABLE, 10).load());
+  }
+
+  @SafeVarargs
+  private final Response getResponse(Map<String, Object>... rows) {
+    Response response = new Response();
+    List<Map<String, Object>> list = new ArrayList<>(Arrays.asList(rows));
+    response.put(JsonKey.RESPONSE, list);
+    return response;
+  }
+
+  private Map<String, Object> getRow(String id, String updatedDate) {
+    Map<String, Object> row = new HashMap<>();
+    row.put(JsonKey.ID, id);
+    row.put(JsonKey.UPDATED_DATE, updatedDate);
+    return row;
+  }
+}
@@ -1,6 +1,7 @@
 package org.sunbird.learner.actors;
 
 import static akka.testkit.JavaTestKit.duration;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -10,9 +11,14 @@ import akka.actor.ActorSystem;
 import akka.actor.Props;
 import akka.testkit.javadsl.TestKit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.mail.MessagingException;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -38,6 +44,7 @@ import org.sunbird.learner.actors.notificationservice.EmailServiceActor;
 import org.sunbird.learner.actors.notificationservice.dao.impl.EmailTemplateDaoImpl;
 import org.sunbird.learner.util.ContentSearchUtil;
 import org.sunbird.learner.util.DataCacheHandler;
+import org.sunbird.learner.util.SmtpMailer;
 import org.sunbird.learner.util.Util;
 
 @RunWith(PowerMockRunner.class)
@@ -49,7 +56,8 @@ import org.sunbird.learner.util.Util;
   ContentSearchUtil.class,
   org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.class,
   ElasticSearchUtil.class,
-  EmailTemplateDaoImpl.class
+  EmailTemplateDaoImpl.class,
+  SmtpMailer.class
 })
 @PowerMockIgnore({"javax.management.*"})
 public class EmailServiceActorTest {
@@ -272,6 +280,41 @@ public class EmailServiceActorTest {
         exc.getCode().equals(ResponseCode.emailNotSentRecipientsExceededMaxLimit.getErrorCode()));
   }
 
+  @Test
+  public void testSendEmailFailureWithRecipientSearchCountExceeding() {
+
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request reqObj = new Request();
+    reqObj.setOperation(BackgroundOperations.emailService.name());
+
+    Map<String, Object> queryMap = new HashMap<>();
+    Map<String, Object> filterMap = new HashMap<>();
+    filterMap.put(JsonKey.NAME, "anyName");
+    queryMap.put(JsonKey.FILTERS, filterMap);
+    Map<String, Object> pageMap = new HashMap<String, Object>();
+    pageMap.put(JsonKey.RECIPIENT_EMAILS, Arrays.asList("aaa@gmail.com"));
+    pageMap.put(JsonKey.RECIPIENT_SEARCH_QUERY, queryMap);
+    HashMap<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.EMAIL_REQUEST, pageMap);
+    reqObj.setRequest(innerMap);
+
+    // only the first page is read, users matching beyond it still count towards the limit
+    Map<String, Object> firstPage = createGetSkillResponse();
+    firstPage.put(JsonKey.COUNT, 1000L);
+    when(ElasticSearchUtil.complexSearch(
+            Mockito.any(),
+            Mockito.eq(ProjectUtil.EsIndex.sunbird.getIndexName()),
+            Mockito.eq(ProjectUtil.EsType.user.getTypeName())))
+        .thenReturn(firstPage);
+
+    subject.tell(reqObj, probe.getRef());
+    ProjectCommonException exc =
+        probe.expectMsgClass(duration("10 second"), ProjectCommonException.class);
+    assertTrue(
+        exc.getCode().equals(ResponseCode.emailNotSentRecipientsExceededMaxLimit.getErrorCode()));
+  }
+
   @Test
   public void testSendEmailFailureWithBlankTemplateName() {
 
@@ -387,4 +430,44 @@ public class EmailServiceActorTest {
         probe.expectMsgClass(duration("10 second"), ProjectCommonException.class);
     assertTrue(exc.getCode().equals(ResponseCode.invalidParameterValue.getErrorCode()));
   }
+
+  @Test
+  public void testSendEmailInChunksWithRetry() throws Exception {
+    List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(3);
+    SmtpMailer mailer = mock(SmtpMailer.class);
+    PowerMockito.mockStatic(SmtpMailer.class);
+    when(SmtpMailer.getInstance()).thenReturn(mailer);
+    Mockito.doAnswer(
+            invocation -> {
+              chunkSizes.add(((List<?>) invocation.getArguments()[0]).size());
+              latch.countDown();
+              // first chunk fails once and is retried
+              if (chunkSizes.size() == 1) {
+                throw new MessagingException("failed");
+              }
+              return null;
+            })
+        .when(mailer)
+        .sendBcc(Mockito.anyList(), Mockito.any(), Mockito.anyString());
+
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request reqObj = new Request();
+    reqObj.setOperation(BackgroundOperations.emailService.name());
+    List<String> emailIdList = new ArrayList<>();
+    for (int i = 0; i < 90; i++) {
+      emailIdList.add("user" + i + "@gmail.com");
+    }
+    Map<String, Object> pageMap = new HashMap<String, Object>();
+    pageMap.put(JsonKey.RECIPIENT_EMAILS, emailIdList);
+    HashMap<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.EMAIL_REQUEST, pageMap);
+    reqObj.setRequest(innerMap);
+    subject.tell(reqObj, probe.getRef());
+    Response response = probe.expectMsgClass(duration("10 second"), Response.class);
+    assertTrue(response != null);
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(50, 50, 40), chunkSizes);
+  }
 }
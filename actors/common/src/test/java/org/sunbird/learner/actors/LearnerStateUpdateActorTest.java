@@ -180,6 +180,38 @@ public class LearnerStateUpdateActorTest {
     Assert.assertEquals(1, list.size());
   }
 
+  @Test
+  public void addContentTestWritesContentStatesConcurrently() {
+
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request req = new Request();
+    List<Map<String, Object>> contentList = new ArrayList<Map<String, Object>>();
+    Map<String, Object> content1 = createContent();
+    content1.remove(JsonKey.BATCH_ID);
+    content1.put(JsonKey.STATUS, new BigInteger("2"));
+    contentList.add(content1);
+    Map<String, Object> content2 = createContent();
+    content2.remove(JsonKey.BATCH_ID);
+    content2.put(JsonKey.CONTENT_ID, "cont3545TeBukGame");
+    content2.put(JsonKey.STATUS, new BigInteger("1"));
+    contentList.add(content2);
+
+    HashMap<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.CONTENTS, contentList);
+    innerMap.put(JsonKey.USER_ID, userId);
+    req.setOperation(ActorOperations.ADD_CONTENT.getValue());
+    req.setRequest(innerMap);
+    subject.tell(req, probe.getRef());
+    Response response = probe.expectMsgClass(duration("10 second"), Response.class);
+    Assert.assertEquals(JsonKey.SUCCESS, response.getResult().get(contentId));
+    Assert.assertEquals(JsonKey.SUCCESS, response.getResult().get("cont3545TeBukGame"));
+    Mockito.verify(cassandraOperation, Mockito.never())
+        .batchInsert(Mockito.anyString(), Mockito.anyString(), Mockito.anyList());
+    Mockito.verify(cassandraOperation, Mockito.atLeast(2))
+        .upsertRecord(Mockito.anyString(), Mockito.eq("content_consumption"), Mockito.anyMap());
+  }
+
   private Response getCassandraEmptyRecordById() {
     Response response = new Response();
     List<Map<String, Object>> list = new ArrayList<>();
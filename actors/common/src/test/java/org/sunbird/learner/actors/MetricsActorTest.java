@@ -0,0 +1,61 @@
+package org.sunbird.learner.actors;
+
+import static akka.testkit.JavaTestKit.duration;
+import static org.junit.Assert.assertEquals;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.testkit.javadsl.TestKit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.actor.metrics.MetricsRegistry;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.Request;
+
+public class MetricsActorTest {
+
+  private static final Props props = Props.create(MetricsActor.class);
+  private static ActorSystem system;
+
+  @BeforeClass
+  public static void setUp() {
+    system = ActorSystem.create("system");
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    TestKit.shutdownActorSystem(system);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testGetMetricsReturnsRegisteredSources() {
+    MetricsRegistry.register("metricsActorTest", () -> Collections.singletonMap("value", 1));
+    Response response = send("getMetrics").expectMsgClass(duration("10 second"), Response.class);
+
+    Map<String, Object> metrics = (Map<String, Object>) response.get(JsonKey.RESPONSE);
+    assertEquals(Collections.singletonMap("value", 1), metrics.get("metricsActorTest"));
+  }
+
+  @Test
+  public void testUnsupportedOperation() {
+    send("getThreadSamples").expectMsgClass(duration("10 second"), ProjectCommonException.class);
+  }
+
+  private TestKit send(String operation) {
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request reqObj = new Request();
+    reqObj.setOperation(operation);
+    reqObj.setRequest(new HashMap<>());
+    subject.tell(reqObj, probe.getRef());
+    return probe;
+  }
+}
@@ -0,0 +1,102 @@
+package org.sunbird.learner.actors;
+
+import static akka.testkit.JavaTestKit.duration;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.testkit.javadsl.TestKit;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.Request;
+
+public class ThreadDumpActorTest {
+
+  private static final Props props = Props.create(ThreadDumpActor.class);
+  private static ActorSystem system;
+
+  @BeforeClass
+  public static void setUp() {
+    system = ActorSystem.create("system");
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    TestKit.shutdownActorSystem(system);
+  }
+
+  @After
+  public void tearDown() {
+    ThreadSampler.getInstance().stop();
+  }
+
+  @Test
+  public void testStartThreadSampling() {
+    Map<String, Object> profile = send("startThreadSampling", "10");
+
+    assertEquals(true, profile.get("running"));
+    assertEquals(10L, profile.get("intervalMs"));
+  }
+
+  @Test
+  public void testGetThreadSamplesWhileRunning() throws Exception {
+    send("startThreadSampling", "10");
+    Thread.sleep(100);
+    Map<String, Object> profile = send("getThreadSamples", null);
+
+    assertEquals(true, profile.get("running"));
+    assertTrue((long) profile.get("samples") > 0);
+  }
+
+  @Test
+  public void testStopThreadSampling() throws Exception {
+    send("startThreadSampling", "10");
+    Thread.sleep(100);
+    Map<String, Object> profile = send("stopThreadSampling", null);
+
+    assertEquals(false, profile.get("running"));
+    assertTrue((long) profile.get("samples") > 0);
+    assertEquals(profile.get("samples"), send("getThreadSamples", null).get("samples"));
+  }
+
+  @Test
+  public void testStopThreadSamplingWhenIdle() {
+    Map<String, Object> profile = send("stopThreadSampling", null);
+
+    assertEquals(false, profile.get("running"));
+  }
+
+  @Test
+  public void testStartThreadSamplingTwiceRestartsSampling() {
+    send("startThreadSampling", "10");
+    Map<String, Object> profile = send("startThreadSampling", "50");
+
+    assertEquals(true, profile.get("running"));
+    assertEquals(50L, profile.get("intervalMs"));
+    assertEquals(false, send("stopThreadSampling", null).get("running"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> send(String operation, String intervalMs) {
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Request reqObj = new Request();
+    reqObj.setOperation(operation);
+    Map<String, Object> innerMap = new HashMap<>();
+    if (intervalMs != null) {
+      innerMap.put("intervalMs", intervalMs);
+    }
+    reqObj.setRequest(innerMap);
+    subject.tell(reqObj, probe.getRef());
+    Response response = probe.expectMsgClass(duration("10 second"), Response.class);
+    return (Map<String, Object>) response.get(JsonKey.RESPONSE);
+  }
+}
@@ -0,0 +1,130 @@
+package org.sunbird.learner.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+/** Samples threads of this JVM with a {@link ThreadSampler} of its own. */
+public class ThreadSamplerTest {
+
+  private final ThreadSampler sampler = new ThreadSampler();
+
+  @After
+  public void tearDown() {
+    sampler.stop();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBlockedThreadIsSampledWithLockOwner() throws Exception {
+    Object lock = new Object();
+    CountDownLatch started = new CountDownLatch(1);
+    Thread worker =
+        new Thread(
+            () -> {
+              started.countDown();
+              synchronized (lock) {
+                lock.notifyAll();
+              }
+            },
+            "blockedWorker-1");
+    Map<String, Object> profile;
+    synchronized (lock) {
+      worker.start();
+      started.await();
+      waitForState(worker, Thread.State.BLOCKED);
+      sampler.start(10L, 60L);
+      profile = waitForSamples(3);
+    }
+    worker.join();
+
+    assertEquals(true, profile.get("running"));
+    assertEquals(10L, profile.get("intervalMs"));
+    List<String> stacks = (List<String>) profile.get("collapsedStacks");
+    assertTrue(
+        stacks
+            .stream()
+            .anyMatch(stack -> stack.startsWith("blockedWorker;") && stack.contains(";[BLOCKED] ")));
+    assertTrue(stacks.stream().noneMatch(stack -> stack.startsWith("threadSampler;")));
+    Map<String, Object> locks = (Map<String, Object>) profile.get("blockedOnLocks");
+    String owner = " owned by " + Thread.currentThread().getName();
+    assertTrue(locks.keySet().stream().anyMatch(key -> key.endsWith(owner)));
+    Map<String, Object> pools = (Map<String, Object>) profile.get("pools");
+    assertTrue(((Map<String, Object>) pools.get("blockedWorker")).containsKey("BLOCKED"));
+  }
+
+  @Test
+  public void testStopKeepsLastProfile() throws Exception {
+    sampler.start(10L, 60L);
+    waitForSamples(2);
+    sampler.stop();
+    long samples = (long) sampler.getProfile(10).get("samples");
+    TimeUnit.MILLISECONDS.sleep(50);
+
+    Map<String, Object> profile = sampler.getProfile(10);
+    assertEquals(false, profile.get("running"));
+    assertEquals(samples, profile.get("samples"));
+  }
+
+  @Test
+  public void testStopWhenIdle() {
+    sampler.stop();
+
+    Map<String, Object> profile = sampler.getProfile(10);
+    assertEquals(false, profile.get("running"));
+    assertFalse(profile.containsKey("samples"));
+  }
+
+  @Test
+  public void testStartWhenRunningRestartsWithNewProfile() throws Exception {
+    sampler.start(10L, 60L);
+    long firstStart = (long) waitForSamples(2).get("startTime");
+    TimeUnit.MILLISECONDS.sleep(20);
+    sampler.start(20L, 60L);
+
+    Map<String, Object> profile = sampler.getProfile(10);
+    assertEquals(true, profile.get("running"));
+    assertEquals(20L, profile.get("intervalMs"));
+    assertTrue((long) profile.get("startTime") > firstStart);
+    sampler.stop();
+    assertEquals(false, sampler.getProfile(10).get("running"));
+  }
+
+  @Test
+  public void testSamplingStopsAfterDuration() throws Exception {
+    sampler.start(10L, 1L);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (Boolean.TRUE.equals(sampler.getProfile(10).get("running"))
+        && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(50);
+    }
+    assertEquals(false, sampler.getProfile(10).get("running"));
+  }
+
+  private Map<String, Object> waitForSamples(long count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    Map<String, Object> profile = sampler.getProfile(100);
+    while ((long) profile.get("samples") < count && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+      profile = sampler.getProfile(100);
+    }
+    assertTrue((long) profile.get("samples") >= count);
+    return profile;
+  }
+
+  private static void waitForState(Thread thread, Thread.State state)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (thread.getState() != state && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(5);
+    }
+    assertEquals(state, thread.getState());
+  }
+}
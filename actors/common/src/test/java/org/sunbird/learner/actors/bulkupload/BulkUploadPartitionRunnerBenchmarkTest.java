@@ -0,0 +1,134 @@
+package org.sunbird.learner.actors.bulkupload;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadProcessTask;
+
+/**
+ * Runs a user bulk upload one partition at a time, as done before partitions ran concurrently, and
+ * with several partitions in flight. Rows are processed against an identity provider stub and a
+ * bulk_upload_process_task stub which only add latency. Every run checks that all rows are
+ * processed, in sequence order, with no more partitions in flight than allowed. Throughput is only
+ * compared when run with -Dbenchmark=true, as it depends on the machine running the tests.
+ */
+public class BulkUploadPartitionRunnerBenchmarkTest {
+
+  private static final String PROCESS_ID = "process1";
+  private static final int ROWS = 200;
+  private static final int PARTITION_SIZE = 25;
+  private static final int CONCURRENCY = 8;
+  private static final long IDENTITY_PROVIDER_LATENCY_MS = 4;
+  private static final long USER_WRITE_LATENCY_MS = 1;
+  private static final long TASK_QUERY_LATENCY_MS = 5;
+  private static final double MIN_SPEEDUP = 3;
+
+  private final AtomicInteger partitionsInFlight = new AtomicInteger();
+  private final AtomicInteger maxPartitionsInFlight = new AtomicInteger();
+  private ExecutorService executor;
+
+  @Before
+  public void beforeEachTest() {
+    executor = Executors.newFixedThreadPool(CONCURRENCY);
+  }
+
+  @After
+  public void afterEachTest() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSequentialUploadRunsOnePartitionAtATime() {
+    run(1);
+    Assert.assertEquals(1, maxPartitionsInFlight.get());
+  }
+
+  @Test
+  public void testPartitionedUploadProcessesEveryRowInOrder() {
+    run(CONCURRENCY);
+    Assert.assertTrue(maxPartitionsInFlight.get() <= CONCURRENCY);
+  }
+
+  @Test
+  public void testPartitionedUploadIsFasterThanSequential() {
+    Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+    double sequential = run(1);
+    double partitioned = run(CONCURRENCY);
+    ProjectLogger.log(
+        "BulkUploadPartitionRunnerBenchmarkTest: sequential = "
+            + Math.round(sequential)
+            + " rows/s, "
+            + CONCURRENCY
+            + " partitions in flight = "
+            + Math.round(partitioned)
+            + " rows/s",
+        LoggerEnum.INFO.name());
+    Assert.assertTrue(
+        "Partitioned upload should be at least " + MIN_SPEEDUP + " times faster",
+        partitioned >= sequential * MIN_SPEEDUP);
+  }
+
+  private double run(int concurrency) {
+    InMemoryProcessTaskDao dao =
+        new InMemoryProcessTaskDao(PROCESS_ID, ROWS, TASK_QUERY_LATENCY_MS);
+    Semaphore permits = new Semaphore(concurrency);
+    BulkUploadPartitionRunner runner =
+        new BulkUploadPartitionRunner(dao, executor, tenantId -> permits);
+    maxPartitionsInFlight.set(0);
+    long start = System.nanoTime();
+    List<BulkUploadProcessTask> tasks =
+        runner.run(
+            PROCESS_ID,
+            ROWS,
+            "tenant1",
+            PARTITION_SIZE,
+            partition -> {
+              maxPartitionsInFlight.accumulateAndGet(
+                  partitionsInFlight.incrementAndGet(), Math::max);
+              try {
+                partition.forEach(BulkUploadPartitionRunnerBenchmarkTest::createUser);
+                dao.updateBatchRecord(partition);
+              } finally {
+                partitionsInFlight.decrementAndGet();
+              }
+            });
+    long elapsed = System.nanoTime() - start;
+    Assert.assertEquals(ROWS, tasks.size());
+    for (int i = 0; i < ROWS; i++) {
+      Assert.assertEquals(Integer.valueOf(i + 1), tasks.get(i).getSequenceId());
+      Assert.assertEquals(
+          Integer.valueOf(ProjectUtil.BulkProcessStatus.COMPLETED.getValue()),
+          tasks.get(i).getStatus());
+    }
+    return ROWS * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+  }
+
+  /** Stands for a user created in the identity provider and then written to Cassandra. */
+  private static void createUser(BulkUploadProcessTask task) {
+    sleep(IDENTITY_PROVIDER_LATENCY_MS);
+    sleep(USER_WRITE_LATENCY_MS);
+    task.setStatus(ProjectUtil.BulkProcessStatus.COMPLETED.getValue());
+    task.setSuccessResult(task.getData());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package org.sunbird.learner.actors.bulkupload;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadProcessTask;
+
+/** Runs {@link BulkUploadPartitionRunner} against an in-memory bulk_upload_process_task. */
+public class BulkUploadPartitionRunnerTest {
+
+  private static final String PROCESS_ID = "process1";
+  private static final int PARTITION_SIZE = 100;
+
+  private ExecutorService executor;
+  private final Set<String> processedTasks = ConcurrentHashMap.newKeySet();
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(8);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testTasksAreProcessedOnceAndReturnedInSequenceOrder() {
+    InMemoryProcessTaskDao dao = new InMemoryProcessTaskDao(PROCESS_ID, 1050, 0);
+    List<BulkUploadProcessTask> tasks =
+        getRunner(dao, 8)
+            .run(
+                PROCESS_ID,
+                1050,
+                "tenant1",
+                PARTITION_SIZE,
+                partition -> {
+                  sleep(ThreadLocalRandom.current().nextInt(5));
+                  partition.forEach(this::process);
+                  dao.updateBatchRecord(partition);
+                });
+    assertEquals(1050, tasks.size());
+    assertEquals(1050, processedTasks.size());
+    for (int i = 0; i < tasks.size(); i++) {
+      assertEquals(Integer.valueOf(i + 1), tasks.get(i).getSequenceId());
+      assertEquals(
+          ProjectUtil.BulkProcessStatus.COMPLETED.getValue(), (int) tasks.get(i).getStatus());
+    }
+    assertEquals(11, dao.getBatchUpdateCount());
+  }
+
+  @Test
+  public void testPartitionsInFlightAreLimitedPerTenant() {
+    InMemoryProcessTaskDao dao = new InMemoryProcessTaskDao(PROCESS_ID, 1000, 0);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    getRunner(dao, 2)
+        .run(
+            PROCESS_ID,
+            1000,
+            "tenant1",
+            PARTITION_SIZE,
+            partition -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              sleep(10);
+              inFlight.decrementAndGet();
+            });
+    assertTrue(maxInFlight.get() <= 2);
+  }
+
+  @Test
+  public void testFailedPartitionFailsRunAfterOtherPartitions() {
+    InMemoryProcessTaskDao dao = new InMemoryProcessTaskDao(PROCESS_ID, 500, 0);
+    try {
+      getRunner(dao, 4)
+          .run(
+              PROCESS_ID,
+              500,
+              "tenant1",
+              PARTITION_SIZE,
+              partition -> {
+                if (partition.get(0).getSequenceId() == 201) {
+                  throw new IllegalStateException("write failed");
+                }
+                partition.forEach(this::process);
+              });
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals("write failed", e.getMessage());
+    }
+    assertEquals(400, processedTasks.size());
+  }
+
+  private BulkUploadPartitionRunner getRunner(InMemoryProcessTaskDao dao, int tenantConcurrency) {
+    Semaphore permits = new Semaphore(tenantConcurrency);
+    return new BulkUploadPartitionRunner(dao, executor, tenantId -> permits);
+  }
+
+  private void process(BulkUploadProcessTask task) {
+    assertTrue(processedTasks.add(task.getProcessId() + ":" + task.getSequenceId()));
+    task.setStatus(ProjectUtil.BulkProcessStatus.COMPLETED.getValue());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,375 @@
+package org.sunbird.learner.actors.bulkupload;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import akka.actor.ActorSystem;
+import akka.testkit.javadsl.TestKit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadQueueDao;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadQueueEntry;
+
+/** Runs {@link BulkUploadQueue} against an in-memory stand-in of its Cassandra tables. */
+public class BulkUploadQueueTest {
+
+  private static final int LEASE_SECONDS = 120;
+  private static final long GRACE_MINUTES = 10;
+
+  private static ActorSystem system;
+  private final AtomicLong clock = new AtomicLong(1_500_000_000_000L);
+  private InMemoryQueueDao dao;
+  private ScheduledExecutorService scheduler;
+
+  @BeforeClass
+  public static void setUpClass() {
+    system = ActorSystem.create("system");
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    TestKit.shutdownActorSystem(system);
+  }
+
+  @Before
+  public void setUp() {
+    dao = new InMemoryQueueDao(clock);
+    scheduler = Executors.newScheduledThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void testEnqueuedProcessIsDispatchedAfterGrace() {
+    BulkUploadQueue queue = getQueue("node1", 0);
+    queue.enqueue("process1", "user");
+    assertTrue(queue.getDispatchable().isEmpty());
+    advance(TimeUnit.MINUTES.toMillis(GRACE_MINUTES));
+    List<BulkUploadQueueEntry> entries = queue.getDispatchable();
+    assertEquals(1, entries.size());
+    assertEquals("process1", entries.get(0).getProcessId());
+    assertEquals("user", entries.get(0).getObjectType());
+    queue.markDispatched(entries.get(0));
+    assertTrue(queue.getDispatchable().isEmpty());
+    queue.dequeue(entries.get(0));
+    advance(TimeUnit.MINUTES.toMillis(GRACE_MINUTES));
+    assertTrue(queue.getDispatchable().isEmpty());
+  }
+
+  @Test
+  public void testProcessesOfOlderBucketsAreFound() {
+    BulkUploadQueue queue = getQueue("node1", 0);
+    queue.enqueue("process1", "user");
+    advance(TimeUnit.HOURS.toMillis(5));
+    queue.enqueue("process2", "location");
+    advance(TimeUnit.MINUTES.toMillis(GRACE_MINUTES));
+    List<BulkUploadQueueEntry> entries = queue.getDispatchable();
+    assertEquals(2, entries.size());
+    assertEquals("process1", entries.get(0).getProcessId());
+    assertEquals("process2", entries.get(1).getProcessId());
+    assertEquals(2, dao.bucketCount());
+  }
+
+  @Test
+  public void testBackfilledProcessIsDispatchedFromGivenTime() {
+    BulkUploadQueue queue = getQueue("node1", 0);
+    queue.enqueue("process1", "user");
+    queue.backfill("process2", "user", clock.get());
+    queue.backfill("process3", "location", clock.get() + TimeUnit.HOURS.toMillis(2));
+    List<BulkUploadQueueEntry> entries = queue.getDispatchable();
+    assertEquals(1, entries.size());
+    assertEquals("process2", entries.get(0).getProcessId());
+    queue.markDispatched(entries.get(0));
+    advance(TimeUnit.HOURS.toMillis(2));
+    assertEquals(3, queue.getDispatchable().size());
+    assertEquals(3, queue.getQueuedProcessIds().size());
+    assertTrue(queue.getQueuedProcessIds().contains("process3"));
+  }
+
+  @Test
+  public void testEntriesExpireOnceOutOfLookback() {
+    BulkUploadQueue queue = getQueue("node1", 0);
+    queue.enqueue("process1", "user");
+    advance(TimeUnit.HOURS.toMillis(71));
+    List<BulkUploadQueueEntry> entries = queue.getDispatchable();
+    assertEquals(1, entries.size());
+    queue.markDispatched(entries.get(0));
+    advance(TimeUnit.HOURS.toMillis(2));
+    assertTrue(queue.getDispatchable().isEmpty());
+    assertEquals(0, dao.entryCount());
+  }
+
+  @Test
+  public void testLeasesAreReadOncePerBucket() throws Exception {
+    BulkUploadQueue queue = getQueue("node1", 0);
+    queue.enqueue("process1", "user");
+    queue.enqueue("process2", "user");
+    queue.enqueue("process3", "user");
+    advance(TimeUnit.HOURS.toMillis(2));
+    queue.enqueue("process4", "location");
+    advance(TimeUnit.MINUTES.toMillis(GRACE_MINUTES));
+    assertTrue(claim(queue, "process2"));
+    int leaseReads = dao.leaseReadCount();
+    List<BulkUploadQueueEntry> entries = queue.getDispatchable();
+    assertEquals(3, entries.size());
+    assertEquals(2, dao.leaseReadCount() - leaseReads);
+  }
+
+  @Test
+  public void testLeasedProcessIsNotClaimedOrDispatched() throws Exception {
+    BulkUploadQueue queue = getQueue("node1", 0);
+    BulkUploadQueue other = getQueue("node2", 0);
+    queue.enqueue("process1", "user");
+    advance(TimeUnit.MINUTES.toMillis(GRACE_MINUTES));
+    assertTrue(claim(queue, "process1"));
+    assertFalse(claim(other, "process1"));
+    assertFalse(claim(queue, "process1"));
+    assertTrue(other.getDispatchable().isEmpty());
+    queue.release("process1");
+    assertEquals(1, other.getDispatchable().size());
+    assertTrue(claim(other, "process1"));
+  }
+
+  @Test
+  public void testHeartbeatsKeepLeaseAndDeadLeaseExpires() throws Exception {
+    BulkUploadQueue queue = getQueue("node1", 0);
+    BulkUploadQueue other = getQueue("node2", 0);
+    assertTrue(claim(queue, "process1"));
+    for (int i = 0; i < 10; i++) {
+      advance(TimeUnit.SECONDS.toMillis(30));
+      queue.renewLeases();
+      assertFalse(claim(other, "process1"));
+    }
+    // node1 dies and stops sending heartbeats
+    advance(TimeUnit.SECONDS.toMillis(LEASE_SECONDS));
+    assertTrue(claim(other, "process1"));
+    // heartbeat of node1 does not take the lease back
+    queue.renewLeases();
+    queue.release("process1");
+    assertFalse(claim(queue, "process1"));
+  }
+
+  @Test
+  public void testConcurrentClaimsHaveOneWinner() throws Exception {
+    int workers = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    try {
+      for (int round = 0; round < 5; round++) {
+        String processId = "process" + round;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> claims = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+          BulkUploadQueue queue = getQueue("node" + i, 100);
+          claims.add(
+              executor.submit(
+                  () -> {
+                    start.await();
+                    return claim(queue, processId);
+                  }));
+        }
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> claim : claims) {
+          winners += claim.get() ? 1 : 0;
+        }
+        assertEquals(1, winners);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testClaimDoesNotWaitForSettleWindow() throws Exception {
+    BulkUploadQueue queue = getQueue("node1", 300);
+    long start = System.nanoTime();
+    Future<String> claim = queue.claim("process1").toCompletableFuture();
+    assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(300));
+    assertFalse(claim.isDone());
+    assertTrue(claim.get(5, TimeUnit.SECONDS).startsWith("node1:"));
+    queue.checkLease("process1");
+  }
+
+  @Test
+  public void testLostLeaseStopsWorker() throws Exception {
+    BulkUploadQueue queue = getQueue("node1", 0);
+    assertTrue(claim(queue, "process1"));
+    queue.checkLease("process1");
+    // a claim of node2 written after the read back of node1 overwrites its lease
+    dao.writeLease("process1", "node2:late", LEASE_SECONDS);
+    queue.renewLeases();
+    try {
+      queue.checkLease("process1");
+      fail();
+    } catch (BulkUploadQueue.LeaseLostException e) {
+      assertEquals("node2:late", dao.readLeaseOwner("process1"));
+    }
+    queue.release("process1");
+    assertEquals("node2:late", dao.readLeaseOwner("process1"));
+  }
+
+  @Test
+  public void testRequestIsSentBackToWorkerOnceClaimed() {
+    BulkUploadQueue queue = getQueue("node1", 100);
+    TestKit worker = new TestKit(system);
+    Request request = new Request();
+    request.put(JsonKey.PROCESS_ID, "process1");
+    assertFalse(queue.isClaimed(request, worker.getRef()));
+    Request claimed = worker.expectMsgClass(Request.class);
+    assertTrue(queue.isClaimed(claimed, worker.getRef()));
+    queue.release("process1");
+    assertFalse(queue.isClaimed(claimed, worker.getRef()));
+    worker.expectNoMsg();
+  }
+
+  private BulkUploadQueue getQueue(String nodeId, long settleMs) {
+    return new BulkUploadQueue(
+        dao, nodeId, LEASE_SECONDS, settleMs, 60, 72, GRACE_MINUTES, clock::get, scheduler);
+  }
+
+  private static boolean claim(BulkUploadQueue queue, String processId) throws Exception {
+    return queue.claim(processId).toCompletableFuture().get(5, TimeUnit.SECONDS) != null;
+  }
+
+  private void advance(long millis) {
+    clock.addAndGet(millis);
+  }
+
+  /**
+   * Stand-in for bulk_upload_queue and bulk_upload_lease: queue rows are kept per bucket partition,
+   * lease writes are last-write-wins and leases expire after their TTL on the test clock.
+   */
+  private static class InMemoryQueueDao implements BulkUploadQueueDao {
+
+    private final AtomicLong clock;
+    private final Map<String, Map<String, BulkUploadQueueEntry>> buckets =
+        new ConcurrentHashMap<>();
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final AtomicInteger leaseReads = new AtomicInteger();
+
+    InMemoryQueueDao(AtomicLong clock) {
+      this.clock = clock;
+    }
+
+    @Override
+    public void save(BulkUploadQueueEntry entry, int ttlInSeconds) {
+      expiries.put(entry.getProcessId(), clock.get() + ttlInSeconds * 1000L);
+      buckets
+          .computeIfAbsent(entry.getBucket(), key -> new ConcurrentHashMap<>())
+          .put(
+              entry.getProcessId(),
+              new BulkUploadQueueEntry(
+                  entry.getBucket(),
+                  entry.getProcessId(),
+                  entry.getObjectType(),
+                  entry.getEnqueuedOn(),
+                  entry.getDispatchedOn()));
+    }
+
+    @Override
+    public List<BulkUploadQueueEntry> readBucket(String bucket) {
+      purgeExpired();
+      Map<String, BulkUploadQueueEntry> entries = buckets.get(bucket);
+      return entries == null ? new ArrayList<>() : new ArrayList<>(entries.values());
+    }
+
+    @Override
+    public void delete(String bucket, String processId) {
+      Map<String, BulkUploadQueueEntry> entries = buckets.get(bucket);
+      if (entries != null) {
+        entries.remove(processId);
+      }
+    }
+
+    @Override
+    public String readLeaseOwner(String processId) {
+      leaseReads.incrementAndGet();
+      return getLeaseOwner(processId);
+    }
+
+    @Override
+    public Map<String, String> readLeaseOwners(List<String> processIds) {
+      leaseReads.incrementAndGet();
+      Map<String, String> owners = new HashMap<>();
+      for (String processId : processIds) {
+        String owner = getLeaseOwner(processId);
+        if (owner != null) {
+          owners.put(processId, owner);
+        }
+      }
+      return owners;
+    }
+
+    private String getLeaseOwner(String processId) {
+      Lease lease = leases.get(processId);
+      return lease != null && lease.expiresOn > clock.get() ? lease.owner : null;
+    }
+
+    @Override
+    public void writeLease(String processId, String owner, int ttlInSeconds) {
+      leases.put(processId, new Lease(owner, clock.get() + ttlInSeconds * 1000L));
+    }
+
+    @Override
+    public void deleteLease(String processId) {
+      leases.remove(processId);
+    }
+
+    private void purgeExpired() {
+      buckets
+          .values()
+          .forEach(
+              entries ->
+                  entries
+                      .keySet()
+                      .removeIf(processId -> expiries.get(processId) <= clock.get()));
+    }
+
+    int bucketCount() {
+      return buckets.size();
+    }
+
+    int entryCount() {
+      purgeExpired();
+      return buckets.values().stream().mapToInt(Map::size).sum();
+    }
+
+    int leaseReadCount() {
+      return leaseReads.get();
+    }
+  }
+
+  private static class Lease {
+    private final String owner;
+    private final long expiresOn;
+
+    Lease(String owner, long expiresOn) {
+      this.owner = owner;
+      this.expiresOn = expiresOn;
+    }
+  }
+}
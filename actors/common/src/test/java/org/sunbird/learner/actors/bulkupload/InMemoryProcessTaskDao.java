@@ -0,0 +1,95 @@
+package org.sunbird.learner.actors.bulkupload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.sunbird.common.Constants;
+import org.sunbird.common.models.util.BulkUploadJsonKey;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadProcessTaskDao;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadProcessTask;
+
+/**
+ * Stand-in for bulk_upload_process_task holding the tasks of one process in sequence order, with a
+ * fixed latency per query to stand for a round trip to Cassandra.
+ */
+class InMemoryProcessTaskDao implements BulkUploadProcessTaskDao {
+
+  private final NavigableMap<Integer, BulkUploadProcessTask> tasks =
+      new ConcurrentSkipListMap<>();
+  private final long latencyMs;
+  private final AtomicInteger batchUpdates = new AtomicInteger();
+
+  InMemoryProcessTaskDao(String processId, int taskCount, long latencyMs) {
+    this.latencyMs = latencyMs;
+    for (int sequence = 1; sequence <= taskCount; sequence++) {
+      BulkUploadProcessTask task = new BulkUploadProcessTask();
+      task.setProcessId(processId);
+      task.setSequenceId(sequence);
+      task.setIterationId(0);
+      task.setStatus(ProjectUtil.BulkProcessStatus.NEW.getValue());
+      task.setData("{\"firstName\":\"user" + sequence + "\"}");
+      tasks.put(sequence, task);
+    }
+  }
+
+  @Override
+  public String create(BulkUploadProcessTask task) {
+    tasks.put(task.getSequenceId(), task);
+    return "success";
+  }
+
+  @Override
+  public String update(BulkUploadProcessTask task) {
+    return create(task);
+  }
+
+  @Override
+  public BulkUploadProcessTask read(BulkUploadProcessTask task) {
+    return tasks.get(task.getSequenceId());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<BulkUploadProcessTask> readByPrimaryKeys(Map<String, Object> compositeKey) {
+    sleep();
+    Map<String, Object> range =
+        (Map<String, Object>) compositeKey.get(BulkUploadJsonKey.SEQUENCE_ID);
+    Integer from = (Integer) range.get(Constants.GT);
+    Integer to = (Integer) range.get(Constants.LTE);
+    List<BulkUploadProcessTask> result =
+        new ArrayList<>(tasks.subMap(from, false, to, true).values());
+    return result.isEmpty() ? null : result;
+  }
+
+  @Override
+  public String insertBatchRecord(List<BulkUploadProcessTask> records) {
+    sleep();
+    records.forEach(this::create);
+    return "success";
+  }
+
+  @Override
+  public String updateBatchRecord(List<BulkUploadProcessTask> records) {
+    sleep();
+    batchUpdates.incrementAndGet();
+    records.forEach(this::update);
+    return "success";
+  }
+
+  int getBatchUpdateCount() {
+    return batchUpdates.get();
+  }
+
+  private void sleep() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(latencyMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -32,6 +32,7 @@ import org.sunbird.common.models.util.ProjectUtil.ProgressStatus;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.coursebatch.service.CourseBatchCache;
 import org.sunbird.learner.util.EkStepRequestUtil;
 
 @RunWith(PowerMockRunner.class)
@@ -65,6 +66,7 @@ public class CourseEnrollmentActorTest {
     when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
 
     PowerMockito.mockStatic(ElasticSearchUtil.class);
+    CourseBatchCache.getInstance().invalidateAll();
   }
 
   @Test
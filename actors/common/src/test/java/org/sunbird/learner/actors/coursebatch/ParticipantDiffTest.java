@@ -0,0 +1,51 @@
+package org.sunbird.learner.actors.coursebatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class ParticipantDiffTest {
+
+  @Test
+  public void testDiffKeepsRequestOrderAndIgnoresDuplicates() {
+    ParticipantDiff diff =
+        ParticipantDiff.of(
+            Arrays.asList("user1", "user2", "user3"),
+            Arrays.asList("user4", "user2", "user4", null, "user1"));
+    assertEquals(Arrays.asList("user4"), diff.getAdded());
+    assertEquals(Arrays.asList("user2", "user1"), diff.getUnchanged());
+    assertEquals(Arrays.asList("user3"), diff.getRemoved());
+    assertTrue(diff.isUnchanged("user1"));
+    assertFalse(diff.isUnchanged("user4"));
+  }
+
+  @Test
+  public void testDiffWithNullLists() {
+    ParticipantDiff diff = ParticipantDiff.of(null, Arrays.asList("user1"));
+    assertEquals(Arrays.asList("user1"), diff.getAdded());
+    assertTrue(diff.getRemoved().isEmpty());
+    diff = ParticipantDiff.of(Arrays.asList("user1"), null);
+    assertEquals(Arrays.asList("user1"), diff.getRemoved());
+    assertTrue(diff.getAdded().isEmpty());
+  }
+
+  @Test
+  public void testDiffOfLargeBatch() {
+    List<String> current = new ArrayList<>();
+    List<String> requested = new ArrayList<>();
+    for (int i = 0; i < 50000; i++) {
+      current.add("current" + i);
+      requested.add("requested" + i);
+    }
+    requested.addAll(current.subList(0, 25000));
+    ParticipantDiff diff = ParticipantDiff.of(current, requested);
+    assertEquals(50000, diff.getAdded().size());
+    assertEquals(25000, diff.getUnchanged().size());
+    assertEquals(25000, diff.getRemoved().size());
+  }
+}
@@ -0,0 +1,92 @@
+package org.sunbird.learner.actors.coursebatch.service;
+
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceFactory.class})
+@PowerMockIgnore("javax.management.*")
+public class CourseBatchCacheTest {
+
+  private static final String BATCH_ID = "someBatchId";
+  private CassandraOperation cassandraOperation;
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ServiceFactory.class);
+    cassandraOperation = mock(CassandraOperationImpl.class);
+    when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
+    when(cassandraOperation.getRecordById(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(invocation -> getBatchResponse());
+    CourseBatchCache.getInstance().invalidateAll();
+  }
+
+  @Test
+  public void testGetReadsBatchOnce() {
+    Map<String, Object> batch = CourseBatchCache.getInstance().get(BATCH_ID);
+    CourseBatchCache.getInstance().get(BATCH_ID);
+    Assert.assertEquals("2019-01-01", batch.get(JsonKey.START_DATE));
+    Assert.assertFalse(batch.containsKey(JsonKey.PARTICIPANT));
+    Mockito.verify(cassandraOperation, Mockito.times(1))
+        .getRecordById(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+  }
+
+  @Test
+  public void testUpdateInvalidatesBatch() {
+    CourseBatchCache.getInstance().get(BATCH_ID);
+    Map<String, Object> update = new HashMap<>();
+    update.put(JsonKey.ID, BATCH_ID);
+    new CourseBatchDaoImpl().update(update);
+    CourseBatchCache.getInstance().get(BATCH_ID);
+    Mockito.verify(cassandraOperation, Mockito.times(2))
+        .getRecordById(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+  }
+
+  @Test(expected = ProjectCommonException.class)
+  public void testReadByIdFailureForInvalidBatch() {
+    when(cassandraOperation.getRecordById(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(getEmptyResponse());
+    CourseBatchCache.getInstance().readById("invalidBatchId");
+  }
+
+  private Response getBatchResponse() {
+    Map<String, Object> batch = new HashMap<>();
+    batch.put(JsonKey.ID, BATCH_ID);
+    batch.put(JsonKey.START_DATE, "2019-01-01");
+    batch.put(JsonKey.PARTICIPANT, new HashMap<>());
+    List<Map<String, Object>> batchList = new ArrayList<>();
+    batchList.add(batch);
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, batchList);
+    return response;
+  }
+
+  private Response getEmptyResponse() {
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, new ArrayList<>());
+    return response;
+  }
+}
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.mail.MessagingException;
 import org.junit.*;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -19,9 +20,6 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
-import org.sunbird.actorutil.email.EmailServiceClient;
-import org.sunbird.actorutil.email.EmailServiceFactory;
-import org.sunbird.actorutil.email.impl.EmailServiceClientImpl;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.cassandraimpl.CassandraOperationImpl;
 import org.sunbird.common.models.response.Response;
@@ -32,6 +30,7 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.CourseBatchNotificationActor;
 import org.sunbird.learner.util.EkStepRequestUtil;
+import org.sunbird.learner.util.SmtpMailer;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
 
@@ -45,9 +44,7 @@ import org.sunbird.models.course.batch.CourseBatch;
   ServiceFactory.class,
   EkStepRequestUtil.class,
   Util.class,
-  EmailServiceClientImpl.class,
-  EmailServiceClient.class,
-  EmailServiceFactory.class
+  SmtpMailer.class
 })
 @PowerMockIgnore({"javax.management.*", "javax.crypto.*", "javax.net.ssl.*", "javax.security.*"})
 public class CourseBatchNotificationActorFailureTest {
@@ -62,7 +59,7 @@ public class CourseBatchNotificationActorFailureTest {
   private static ActorSystem system;
   private static final Props props = Props.create(CourseBatchNotificationActor.class);
   private static CassandraOperation cassandraOperation;
-  private static EmailServiceClient emailServiceClient;
+  private static SmtpMailer smtpMailer;
 
   @BeforeClass
   public static void setUp() {
@@ -76,10 +73,9 @@ public class CourseBatchNotificationActorFailureTest {
     cassandraOperation = mock(CassandraOperationImpl.class);
     when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
     Mockito.reset(cassandraOperation);
-    PowerMockito.mockStatic(EmailServiceFactory.class);
-    emailServiceClient = mock(EmailServiceClientImpl.class);
-    when(EmailServiceFactory.getInstance()).thenReturn(emailServiceClient);
-    Mockito.reset(emailServiceClient);
+    PowerMockito.mockStatic(SmtpMailer.class);
+    smtpMailer = mock(SmtpMailer.class);
+    when(SmtpMailer.getInstance()).thenReturn(smtpMailer);
   }
 
   @Test // Needs to test run
@@ -229,19 +225,22 @@ public class CourseBatchNotificationActorFailureTest {
     Response response = new Response();
     List<Map<String, Object>> result = new ArrayList<>();
     Map<String, Object> map = new HashMap<>();
-    map.put(TEMPLATE, "");
+    map.put(TEMPLATE, "Hello $name");
     result.add(map);
     response.put(JsonKey.RESPONSE, result);
     return response;
   }
 
-  private Response createUser() {
+  private Response createUsers(List<String> userIds) {
     Response response = new Response();
-    Map<String, Object> userMap = new HashMap<>();
-    userMap.put(JsonKey.FIRST_NAME, FIRST_NAME);
-    userMap.put(JsonKey.EMAIL, emailId);
     List<Map<String, Object>> result = new ArrayList<>();
-    result.add(userMap);
+    for (String userId : userIds) {
+      Map<String, Object> userMap = new HashMap<>();
+      userMap.put(JsonKey.ID, userId);
+      userMap.put(JsonKey.FIRST_NAME, FIRST_NAME);
+      userMap.put(JsonKey.EMAIL, emailId);
+      result.add(userMap);
+    }
     response.put(JsonKey.RESPONSE, result);
     return response;
   }
@@ -250,7 +249,7 @@ public class CourseBatchNotificationActorFailureTest {
   private void mockCassandraRequestForReadRecordById() {
     when(cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
             Mockito.anyString(), Mockito.anyString(), Mockito.anyList(), Mockito.anyList()))
-        .thenReturn(createUser());
+        .thenAnswer(invocation -> createUsers(invocation.getArgumentAt(3, List.class)));
   }
 
   private void mockCassandraRequestForReadTemplate() {
@@ -260,10 +259,12 @@ public class CourseBatchNotificationActorFailureTest {
   }
 
   private void mockEmailServiceFail() {
-    Response res = new Response();
-    res.setResponseCode(ResponseCode.internalError);
-    when(emailServiceClient.sendMail(
-            (ActorRef) Mockito.any(), Mockito.anyMapOf(String.class, Object.class)))
-        .thenReturn(res);
+    try {
+      PowerMockito.doThrow(new MessagingException("someError"))
+          .when(smtpMailer)
+          .send(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+    } catch (MessagingException e) {
+      Assert.fail(e.getMessage());
+    }
   }
 }
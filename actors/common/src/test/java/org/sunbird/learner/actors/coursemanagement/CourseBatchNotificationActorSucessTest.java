@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.mail.MessagingException;
 import org.junit.*;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -19,19 +20,19 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
-import org.sunbird.actorutil.email.EmailServiceClient;
-import org.sunbird.actorutil.email.EmailServiceFactory;
-import org.sunbird.actorutil.email.impl.EmailServiceClientImpl;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.common.ElasticSearchUtil;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.CourseBatchNotificationActor;
 import org.sunbird.learner.util.EkStepRequestUtil;
+import org.sunbird.learner.util.SmtpMailer;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
 
@@ -45,9 +46,8 @@ import org.sunbird.models.course.batch.CourseBatch;
   ServiceFactory.class,
   EkStepRequestUtil.class,
   Util.class,
-  EmailServiceClientImpl.class,
-  EmailServiceClient.class,
-  EmailServiceFactory.class
+  SmtpMailer.class,
+  ElasticSearchUtil.class
 })
 @PowerMockIgnore({"javax.management.*", "javax.crypto.*", "javax.net.ssl.*", "javax.security.*"})
 public class CourseBatchNotificationActorSucessTest {
@@ -58,11 +58,13 @@ public class CourseBatchNotificationActorSucessTest {
   private static final String USER_ID_NEW = "testUserIdNew";
   private static final String emailId = "user@test.com";
   private static final String orgName = "testOrg";
+  private static final String ROOT_ORG_ID = "testRootOrgId";
+  private static final String ROOT_ORG_NAME = "testRootOrg";
   private static final String TEMPLATE = "template";
   private static ActorSystem system;
   private static final Props props = Props.create(CourseBatchNotificationActor.class);
   private static CassandraOperation cassandraOperation;
-  private static EmailServiceClient emailServiceClient;
+  private static SmtpMailer smtpMailer;
 
   @BeforeClass
   public static void setUp() {
@@ -76,10 +78,9 @@ public class CourseBatchNotificationActorSucessTest {
     cassandraOperation = mock(CassandraOperationImpl.class);
     when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
     Mockito.reset(cassandraOperation);
-    PowerMockito.mockStatic(EmailServiceFactory.class);
-    emailServiceClient = mock(EmailServiceClientImpl.class);
-    when(EmailServiceFactory.getInstance()).thenReturn(emailServiceClient);
-    Mockito.reset(emailServiceClient);
+    PowerMockito.mockStatic(SmtpMailer.class);
+    smtpMailer = mock(SmtpMailer.class);
+    when(SmtpMailer.getInstance()).thenReturn(smtpMailer);
   }
 
   @Test
@@ -100,6 +101,29 @@ public class CourseBatchNotificationActorSucessTest {
     Assert.assertTrue(null != res && res.getResponseCode() == ResponseCode.OK);
   }
 
+  @Test
+  public void testCourseBatchEnrollUsesRootOrgNameOfRecipientWithoutOrgName() throws Exception {
+    mockCassandraRequestForReadRecordById();
+    when(cassandraOperation.getRecordsByPrimaryKeys(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList(), Mockito.anyString()))
+        .thenReturn(stringTemplateResponse("$orgName"));
+    mockEmailServiceSuccess();
+    Map<String, Object> rootOrg = new HashMap<>();
+    rootOrg.put(JsonKey.ORG_NAME, ROOT_ORG_NAME);
+    rootOrg.put(JsonKey.ORGANISATION_NAME, ROOT_ORG_NAME);
+    PowerMockito.mockStatic(ElasticSearchUtil.class);
+    when(ElasticSearchUtil.getDataByIdentifier(
+            ProjectUtil.EsIndex.sunbird.getIndexName(),
+            ProjectUtil.EsType.organisation.getTypeName(),
+            ROOT_ORG_ID))
+        .thenReturn(rootOrg);
+
+    Response res = getEnrollSucessEmailNotificationForLearnerTestResponse();
+    Assert.assertTrue(null != res && res.getResponseCode() == ResponseCode.OK);
+    Mockito.verify(smtpMailer, Mockito.atLeastOnce())
+        .send(Mockito.anyString(), Mockito.anyString(), Mockito.eq(ROOT_ORG_NAME));
+  }
+
   @Ignore
   public void testCourseBatchBulkRemoveSucess() {
     mockCassandraRequestForReadRecordById();
@@ -257,22 +281,30 @@ public class CourseBatchNotificationActorSucessTest {
   }
 
   private Response stringTemplateResponse() {
+    return stringTemplateResponse("Hello $name");
+  }
+
+  private Response stringTemplateResponse(String body) {
     Response response = new Response();
     List<Map<String, Object>> result = new ArrayList<>();
     Map<String, Object> map = new HashMap<>();
-    map.put(TEMPLATE, "");
+    map.put(TEMPLATE, body);
     result.add(map);
     response.put(JsonKey.RESPONSE, result);
     return response;
   }
 
-  private Response createUser() {
+  private Response createUsers(List<String> userIds) {
     Response response = new Response();
-    Map<String, Object> userMap = new HashMap<>();
-    userMap.put(JsonKey.FIRST_NAME, FIRST_NAME);
-    userMap.put(JsonKey.EMAIL, emailId);
     List<Map<String, Object>> result = new ArrayList<>();
-    result.add(userMap);
+    for (String userId : userIds) {
+      Map<String, Object> userMap = new HashMap<>();
+      userMap.put(JsonKey.ID, userId);
+      userMap.put(JsonKey.FIRST_NAME, FIRST_NAME);
+      userMap.put(JsonKey.EMAIL, emailId);
+      userMap.put(JsonKey.ROOT_ORG_ID, ROOT_ORG_ID);
+      result.add(userMap);
+    }
     response.put(JsonKey.RESPONSE, result);
     return response;
   }
@@ -281,7 +313,7 @@ public class CourseBatchNotificationActorSucessTest {
   private void mockCassandraRequestForReadRecordById() {
     when(cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
             Mockito.anyString(), Mockito.anyString(), Mockito.anyList(), Mockito.anyList()))
-        .thenReturn(createUser());
+        .thenAnswer(invocation -> createUsers(invocation.getArgumentAt(3, List.class)));
   }
 
   private void mockCassandraRequestForReadTemplate() {
@@ -291,10 +323,12 @@ public class CourseBatchNotificationActorSucessTest {
   }
 
   private void mockEmailServiceSuccess() {
-    Response res = new Response();
-    res.setResponseCode(ResponseCode.OK);
-    when(emailServiceClient.sendMail(
-            (ActorRef) Mockito.any(), Mockito.anyMapOf(String.class, Object.class)))
-        .thenReturn(res);
+    try {
+      PowerMockito.doNothing()
+          .when(smtpMailer)
+          .send(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+    } catch (MessagingException e) {
+      Assert.fail(e.getMessage());
+    }
   }
 }
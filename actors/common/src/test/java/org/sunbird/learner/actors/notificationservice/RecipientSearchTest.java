@@ -0,0 +1,181 @@
+package org.sunbird.learner.actors.notificationservice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.util.JsonKey;
+
+/** Pages {@link RecipientSearch} through an Elastic Search stub holding users in id order. */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ElasticSearchUtil.class})
+@PowerMockIgnore({"javax.management.*"})
+public class RecipientSearchTest {
+
+  private final List<Map<String, Object>> queries = new ArrayList<>();
+  private List<Map<String, Object>> users;
+  private boolean withCount;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    queries.clear();
+    users = getUsers(25);
+    withCount = true;
+    PowerMockito.mockStatic(ElasticSearchUtil.class);
+    when(ElasticSearchUtil.createSearchDTO(Mockito.anyMap()))
+        .thenAnswer(
+            invocation -> {
+              queries.add((Map<String, Object>) invocation.getArguments()[0]);
+              return null;
+            });
+    when(ElasticSearchUtil.complexSearch(Mockito.any(), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(invocation -> search(queries.get(queries.size() - 1)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testUsersArePagedAfterLastIdOfPreviousPage() {
+    RecipientSearch search = new RecipientSearch(getQuery(getFilters()), getFields(), 10);
+
+    assertEquals(Arrays.asList(10, 10, 5), getPageSizes(search));
+    assertEquals(25, search.getTotal());
+    assertEquals(3, queries.size());
+    assertNull(getFilters(queries.get(0)).get(JsonKey.ID));
+    assertEquals(
+        Collections.singletonMap(">", "user10"), getFilters(queries.get(1)).get(JsonKey.ID));
+    assertEquals(
+        Collections.singletonMap(">", "user20"), getFilters(queries.get(2)).get(JsonKey.ID));
+    for (Map<String, Object> query : queries) {
+      assertEquals(0, query.get(JsonKey.OFFSET));
+      assertEquals(Collections.singletonMap(JsonKey.ID, JsonKey.ASC), query.get(JsonKey.SORT_BY));
+      assertTrue(((List<String>) query.get(JsonKey.FIELDS)).contains(JsonKey.ID));
+    }
+  }
+
+  @Test
+  public void testLastPageOfExactSizeEndsWithEmptyPage() {
+    users = getUsers(20);
+    RecipientSearch search = new RecipientSearch(getQuery(getFilters()), getFields(), 10);
+
+    assertEquals(Arrays.asList(10, 10, 0), getPageSizes(search));
+    assertFalse(search.hasNext());
+    assertTrue(search.next().isEmpty());
+    assertEquals(3, queries.size());
+  }
+
+  @Test
+  public void testQueryFilteringOnIdIsPagedByOffset() {
+    Map<String, Object> filters = getFilters();
+    filters.put(
+        JsonKey.ID, users.stream().map(user -> user.get(JsonKey.ID)).collect(Collectors.toList()));
+    Map<String, Object> query = getQuery(filters);
+    query.put(JsonKey.OFFSET, 5);
+    RecipientSearch search = new RecipientSearch(query, getFields(), 10);
+
+    assertEquals(Arrays.asList(10, 10, 0), getPageSizes(search));
+    assertEquals(20, search.getTotal());
+    assertEquals(5, queries.get(0).get(JsonKey.OFFSET));
+    assertEquals(15, queries.get(1).get(JsonKey.OFFSET));
+    assertNull(queries.get(1).get(JsonKey.SORT_BY));
+    assertEquals(filters.get(JsonKey.ID), getFilters(queries.get(1)).get(JsonKey.ID));
+  }
+
+  @Test
+  public void testLimitOfQueryCapsRecipients() {
+    Map<String, Object> query = getQuery(getFilters());
+    query.put(JsonKey.LIMIT, 15);
+    RecipientSearch search = new RecipientSearch(query, getFields(), 10);
+
+    assertEquals(Arrays.asList(10, 5), getPageSizes(search));
+    assertEquals(15, search.getTotal());
+    assertEquals(5, queries.get(1).get(JsonKey.LIMIT));
+  }
+
+  @Test
+  public void testTotalIsFirstPageWithoutCount() {
+    withCount = false;
+    RecipientSearch search = new RecipientSearch(getQuery(getFilters()), getFields(), 10);
+
+    assertEquals(-1, search.getTotal());
+    search.next();
+    assertEquals(10, search.getTotal());
+  }
+
+  private static List<Integer> getPageSizes(RecipientSearch search) {
+    List<Integer> sizes = new ArrayList<>();
+    while (search.hasNext()) {
+      sizes.add(search.next().size());
+    }
+    return sizes;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> search(Map<String, Object> query) {
+    Object range = getFilters(query).get(JsonKey.ID);
+    String after = range instanceof Map ? (String) ((Map<String, Object>) range).get(">") : null;
+    List<Map<String, Object>> matching =
+        users
+            .stream()
+            .filter(user -> after == null || ((String) user.get(JsonKey.ID)).compareTo(after) > 0)
+            .collect(Collectors.toList());
+    int from = Math.min(matching.size(), (int) query.get(JsonKey.OFFSET));
+    int to = Math.min(matching.size(), from + (int) query.get(JsonKey.LIMIT));
+    Map<String, Object> result = new HashMap<>();
+    result.put(JsonKey.CONTENT, new ArrayList<>(matching.subList(from, to)));
+    if (withCount) {
+      result.put(JsonKey.COUNT, (long) matching.size());
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> getFilters(Map<String, Object> query) {
+    return (Map<String, Object>) query.get(JsonKey.FILTERS);
+  }
+
+  private static Map<String, Object> getQuery(Map<String, Object> filters) {
+    Map<String, Object> query = new HashMap<>();
+    query.put(JsonKey.FILTERS, filters);
+    return query;
+  }
+
+  private static Map<String, Object> getFilters() {
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.ROOT_ORG_ID, "rootOrg1");
+    return filters;
+  }
+
+  private static List<String> getFields() {
+    return Arrays.asList(JsonKey.USER_ID, JsonKey.EMAIL);
+  }
+
+  private static List<Map<String, Object>> getUsers(int count) {
+    List<Map<String, Object>> users = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      Map<String, Object> user = new HashMap<>();
+      user.put(JsonKey.ID, String.format("user%02d", i));
+      user.put(JsonKey.EMAIL, "user" + i + "@gmail.com");
+      users.add(user);
+    }
+    return users;
+  }
+}
@@ -0,0 +1,133 @@
+package org.sunbird.learner.actors.syncjobmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.checkpoint.dao.JobCheckpointDao;
+import org.sunbird.learner.actors.checkpoint.dao.impl.JobCheckpointDaoImpl;
+import org.sunbird.learner.actors.checkpoint.model.JobCheckpoint;
+import org.sunbird.learner.util.Util;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceFactory.class, ElasticSearchUtil.class, JobCheckpointDaoImpl.class})
+@PowerMockIgnore({"javax.management.*"})
+public class EsBulkSyncJobTest {
+
+  private CassandraOperationImpl cassandraOperation;
+  private JobCheckpointDao checkpointDao;
+  private Util.DbInfo dbInfo = Util.dbInfoMap.get(JsonKey.COURSE_BATCH_DB);
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ServiceFactory.class);
+    cassandraOperation = mock(CassandraOperationImpl.class);
+    when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
+    PowerMockito.mockStatic(JobCheckpointDaoImpl.class);
+    checkpointDao = mock(JobCheckpointDao.class);
+    when(JobCheckpointDaoImpl.getInstance()).thenReturn(checkpointDao);
+    PowerMockito.mockStatic(ElasticSearchUtil.class);
+    when(ElasticSearchUtil.bulkInsertData(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList()))
+        .thenReturn(true);
+
+    when(cassandraOperation.getRecordsByProperties(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList()))
+        .thenReturn(getResponse("id3", "id1", "id5", "id2", "id4"));
+    when(cassandraOperation.getRecordsByProperty(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Object> ids = invocation.getArgumentAt(3, List.class);
+              return getResponse(ids.toArray(new Object[0]));
+            });
+  }
+
+  @Test
+  public void testRunIndexesAllPages() {
+    JobCheckpoint checkpoint =
+        new EsBulkSyncJob(JsonKey.BATCH, dbInfo, "course", rows -> rows, 2, 2).run();
+    assertEquals(JobCheckpoint.STATUS_COMPLETED, checkpoint.getStatus());
+    assertEquals(5L, (long) checkpoint.getProcessedCount());
+    assertEquals("id5", checkpoint.getLastProcessedId());
+    PowerMockito.verifyStatic(Mockito.times(3));
+    ElasticSearchUtil.bulkInsertData(Mockito.anyString(), Mockito.anyString(), Mockito.anyList());
+  }
+
+  @Test
+  public void testRunResumesAfterCheckpoint() {
+    JobCheckpoint previous = new JobCheckpoint("esSync_" + JsonKey.BATCH, "esSync");
+    previous.setStatus(JobCheckpoint.STATUS_FAILED);
+    previous.setLastProcessedId("id3");
+    previous.setProcessedCount(3L);
+    previous.setFailedCount(2L);
+    when(checkpointDao.read(Mockito.anyString())).thenReturn(previous);
+
+    JobCheckpoint checkpoint =
+        new EsBulkSyncJob(JsonKey.BATCH, dbInfo, "course", rows -> rows, 2, 2).run();
+    assertEquals(JobCheckpoint.STATUS_COMPLETED, checkpoint.getStatus());
+    assertEquals(5L, (long) checkpoint.getProcessedCount());
+    assertEquals(0L, (long) checkpoint.getFailedCount());
+    PowerMockito.verifyStatic(Mockito.times(1));
+    ElasticSearchUtil.bulkInsertData(Mockito.anyString(), Mockito.anyString(), Mockito.anyList());
+  }
+
+  @Test
+  public void testRunFailsWhenBulkInsertFails() {
+    when(ElasticSearchUtil.bulkInsertData(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList()))
+        .thenReturn(false);
+    JobCheckpoint checkpoint =
+        new EsBulkSyncJob(JsonKey.BATCH, dbInfo, "course", rows -> rows, 2, 1).run();
+    assertEquals(JobCheckpoint.STATUS_FAILED, checkpoint.getStatus());
+    assertEquals(5L, (long) checkpoint.getFailedCount());
+  }
+
+  @Test
+  public void testRunStopsCheckpointBeforePageWhichFailsToLoad() {
+    JobCheckpoint checkpoint =
+        new EsBulkSyncJob(JsonKey.BATCH, dbInfo, "course", rows -> rows, 2, 1) {
+          @Override
+          protected List<Map<String, Object>> loadPage(List<String> pageIds) {
+            if (pageIds.contains("id3")) {
+              throw new IllegalStateException("Failed to assemble id3");
+            }
+            return super.loadPage(pageIds);
+          }
+        }.run();
+    assertEquals(JobCheckpoint.STATUS_FAILED, checkpoint.getStatus());
+    assertEquals("id2", checkpoint.getLastProcessedId());
+    assertEquals(2L, (long) checkpoint.getFailedCount());
+    // the page after the failed one is indexed again on resume, so it is not counted yet
+    assertEquals(2L, (long) checkpoint.getProcessedCount());
+  }
+
+  private Response getResponse(Object... ids) {
+    Response response = new Response();
+    List<Map<String, Object>> rows = new ArrayList<>();
+    for (Object id : ids) {
+      Map<String, Object> row = new HashMap<>();
+      row.put(JsonKey.ID, id);
+      rows.add(row);
+    }
+    response.put(JsonKey.RESPONSE, rows);
+    return response;
+  }
+}
@@ -0,0 +1,62 @@
+package org.sunbird.learner.actors.user.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+
+public class UserProfileCacheTest {
+
+  private static final String USER_ID = "someUserId";
+  private static final String FIELDS = "topic";
+
+  @Before
+  public void beforeEachTest() {
+    UserProfileCache.getInstance().invalidateAll();
+  }
+
+  @Test
+  public void testGetReturnsCopyOfProfile() {
+    UserProfileCache cache = UserProfileCache.getInstance();
+    cache.put(USER_ID, FIELDS, getProfile(), cache.getVersion(USER_ID));
+    Map<String, Object> profile = cache.get(USER_ID, FIELDS);
+    ((List<String>) profile.get(JsonKey.ROLES)).clear();
+    profile.remove(JsonKey.ID);
+    profile = cache.get(USER_ID, FIELDS);
+    Assert.assertEquals(USER_ID, profile.get(JsonKey.ID));
+    Assert.assertEquals(1, ((List<String>) profile.get(JsonKey.ROLES)).size());
+    Assert.assertNull(cache.get(USER_ID, null));
+  }
+
+  @Test
+  public void testInvalidateDropsAllFields() {
+    UserProfileCache cache = UserProfileCache.getInstance();
+    cache.put(USER_ID, FIELDS, getProfile(), cache.getVersion(USER_ID));
+    cache.put(USER_ID, null, getProfile(), cache.getVersion(USER_ID));
+    cache.invalidate(USER_ID);
+    Assert.assertNull(cache.get(USER_ID, FIELDS));
+    Assert.assertNull(cache.get(USER_ID, null));
+  }
+
+  @Test
+  public void testPutSkippedForReadStartedBeforeInvalidate() {
+    UserProfileCache cache = UserProfileCache.getInstance();
+    long version = cache.getVersion(USER_ID);
+    cache.invalidate(USER_ID);
+    cache.put(USER_ID, FIELDS, getProfile(), version);
+    Assert.assertNull(cache.get(USER_ID, FIELDS));
+  }
+
+  private Map<String, Object> getProfile() {
+    List<String> roles = new ArrayList<>();
+    roles.add("PUBLIC");
+    Map<String, Object> profile = new HashMap<>();
+    profile.put(JsonKey.ID, USER_ID);
+    profile.put(JsonKey.ROLES, roles);
+    return profile;
+  }
+}
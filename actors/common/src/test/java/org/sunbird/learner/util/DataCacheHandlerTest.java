@@ -0,0 +1,94 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.helper.ServiceFactory;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceFactory.class})
+@PowerMockIgnore({"javax.management.*"})
+public class DataCacheHandlerTest {
+
+  private CassandraOperationImpl cassandraOperation;
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ServiceFactory.class);
+    cassandraOperation = mock(CassandraOperationImpl.class);
+    when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
+    when(cassandraOperation.getAllRecords(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(getRecords(JsonKey.ID, "id1"));
+  }
+
+  @Test
+  public void testRunPublishesNewSnapshotWithIncreasedVersion() {
+    DataCacheSnapshot before = DataCacheHandler.getSnapshot();
+    new DataCacheHandler().run();
+    DataCacheSnapshot after = DataCacheHandler.getSnapshot();
+    assertNotSame(before, after);
+    assertTrue(after.getVersion() > before.getVersion());
+    assertEquals(
+        after.getVersion(), DataCacheHandler.getCacheMetrics().get(DataCacheSnapshot.VERSION));
+  }
+
+  @Test
+  public void testRunDropsDeletedRows() {
+    when(cassandraOperation.getRecordsByProperties(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList()))
+        .thenReturn(getRecords(JsonKey.ID, "id2"));
+    when(cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList(), Mockito.anyList()))
+        .thenReturn(getRecords(JsonKey.ID, "id2"));
+    DataCacheHandler handler = new DataCacheHandler();
+    handler.run();
+    assertTrue(DataCacheHandler.getSectionMap().containsKey("id1"));
+    handler.run();
+    assertFalse(DataCacheHandler.getSectionMap().containsKey("id1"));
+    assertTrue(DataCacheHandler.getSectionMap().containsKey("id2"));
+  }
+
+  @Test
+  public void testRunKeepsPreviousMapOnFailure() {
+    new DataCacheHandler().run();
+    Map<String, Map<String, Object>> sectionMap = DataCacheHandler.getSectionMap();
+
+    when(cassandraOperation.getAllRecords(Mockito.anyString(), Mockito.anyString()))
+        .thenThrow(new RuntimeException("cassandra unavailable"));
+    new DataCacheHandler().run();
+    assertEquals(sectionMap, DataCacheHandler.getSectionMap());
+  }
+
+  private Response getRecords(String key, String value) {
+    Response response = new Response();
+    List<Map<String, Object>> records = new ArrayList<>();
+    Map<String, Object> record = new HashMap<>();
+    record.put(key, value);
+    record.put(JsonKey.NAME, value);
+    record.put(JsonKey.PAGE_NAME, value);
+    record.put(JsonKey.FIELD, value);
+    record.put(JsonKey.VALUE, value);
+    records.add(record);
+    response.put(JsonKey.RESPONSE, records);
+    return response;
+  }
+}
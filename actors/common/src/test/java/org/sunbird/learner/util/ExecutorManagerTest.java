@@ -0,0 +1,128 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ExecutorManagerTest {
+
+  @Test
+  public void testGetScheduledExecutorIsolatesPools() {
+    assertSame(
+        ExecutorManager.getScheduledExecutor("testScheduled", 1),
+        ExecutorManager.getScheduledExecutor("testScheduled", 1));
+    assertNotSame(
+        ExecutorManager.getScheduledExecutor("testScheduled", 1),
+        ExecutorManager.getExecutorService());
+  }
+
+  @Test
+  public void testGetExecutorRejectsWhenQueueIsFull() throws Exception {
+    ExecutorService executor = ExecutorManager.getExecutor("testBounded", 1, 1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          started.countDown();
+          awaitQuietly(release);
+        });
+    started.await(5, TimeUnit.SECONDS);
+    executor.execute(() -> {});
+    try {
+      executor.execute(() -> {});
+      fail("Task should be rejected when queue is full");
+    } catch (RejectedExecutionException e) {
+      Map<String, Object> metrics = ExecutorManager.getMetrics().get("testBounded");
+      assertEquals(1, metrics.get("queueDepth"));
+      assertEquals(1, metrics.get("activeThreads"));
+      assertEquals(1L, metrics.get("rejectedTasks"));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void testGetMetricsCountsCompletedTasks() throws Exception {
+    ExecutorService executor = ExecutorManager.getExecutor("testMetrics", 2, 10);
+    executor.submit(() -> {}).get();
+    executor.submit(() -> {}).get();
+    // afterExecute runs after the future completes
+    Thread.sleep(100);
+    assertEquals(2L, ExecutorManager.getMetrics().get("testMetrics").get("completedTasks"));
+  }
+
+  @Test
+  public void testGetMetricsCountsFailedSubmittedAndScheduledTasks() throws Exception {
+    ExecutorService executor = ExecutorManager.getExecutor("testFailures", 1, 10);
+    assertFailed(
+        executor.submit(
+            () -> {
+              throw new IllegalStateException("failed");
+            }));
+    executor.submit(() -> {}).get();
+    ScheduledExecutorService scheduler = ExecutorManager.getScheduledExecutor("testFailures", 1);
+    assertFailed(
+        scheduler.schedule(
+            () -> {
+              throw new IllegalStateException("failed");
+            },
+            0,
+            TimeUnit.MILLISECONDS));
+    // afterExecute runs after the future completes
+    Thread.sleep(100);
+    Map<String, Map<String, Object>> metrics = ExecutorManager.getMetrics();
+    assertEquals(1L, metrics.get("testFailures").get("failedTasks"));
+    assertEquals(1L, metrics.get("testFailures").get("completedTasks"));
+    assertEquals(1L, metrics.get("testFailuresScheduled").get("failedTasks"));
+  }
+
+  @Test
+  public void testSameNameCanBeUsedForScheduledAndAdHocPools() throws Exception {
+    ExecutorService executor = ExecutorManager.getExecutor("testShared", 1, 10);
+    ScheduledExecutorService scheduler = ExecutorManager.getScheduledExecutor("testShared", 1);
+    assertNotSame(executor, scheduler);
+    assertSame(executor, ExecutorManager.getExecutor("testShared", 1, 10));
+    assertSame(scheduler, ExecutorManager.getScheduledExecutor("testShared", 1));
+  }
+
+  @Test
+  public void testPoolThreadsAreDaemonThreads() throws Exception {
+    assertTrue(
+        ExecutorManager.getExecutor("testDaemon", 1, 10)
+            .submit(() -> Thread.currentThread().isDaemon())
+            .get());
+    assertTrue(
+        ExecutorManager.getScheduledExecutor("testDaemon", 1)
+            .submit(() -> Thread.currentThread().isDaemon())
+            .get());
+  }
+
+  private void assertFailed(Future<?> future) throws InterruptedException {
+    try {
+      future.get();
+      fail("Task should fail");
+    } catch (ExecutionException e) {
+      assertEquals("failed", e.getCause().getMessage());
+    }
+  }
+
+  private void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import org.junit.Test;
+
+public class OperationMetricsTest {
+
+  @Test
+  public void testGetMetricsComputesPercentiles() {
+    OperationMetrics metrics = new OperationMetrics("test", 100, 1000);
+    for (int i = 1; i <= 100; i++) {
+      metrics.record(i, 2);
+    }
+    Map<String, Object> result = metrics.getMetrics();
+    assertEquals(100L, result.get("requestCount"));
+    assertEquals(200L, result.get("writeCount"));
+    assertEquals(50L, result.get("p50InMs"));
+    assertEquals(99L, result.get("p99InMs"));
+    assertEquals(100L, result.get("maxInMs"));
+  }
+
+  @Test
+  public void testGetMetricsUsesLatestWindow() {
+    OperationMetrics metrics = new OperationMetrics("test", 2, 1000);
+    metrics.record(500, 1);
+    metrics.record(10, 1);
+    metrics.record(20, 1);
+    assertEquals(20L, metrics.getMetrics().get("maxInMs"));
+  }
+}
@@ -0,0 +1,134 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.common.models.response.HttpUtilResponse;
+
+/** Runs {@link OutboundHttpClient} against a local stub server. */
+public class OutboundHttpClientTest {
+
+  private static HttpServer server;
+  private static String baseUrl;
+  private static final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+  @BeforeClass
+  public static void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/echo", exchange -> respond(exchange, 200, readBody(exchange)));
+    server.createContext(
+        "/method",
+        exchange -> {
+          readBody(exchange);
+          respond(exchange, 200, exchange.getRequestMethod());
+        });
+    server.createContext(
+        "/header",
+        exchange -> respond(exchange, 200, exchange.getRequestHeaders().getFirst("x-id")));
+    server.createContext("/error", exchange -> respond(exchange, 500, "failed"));
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+  }
+
+  @AfterClass
+  public static void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  public void testPostReturnsStatusAndBody() throws IOException {
+    HttpUtilResponse response =
+        OutboundHttpClient.await(
+            OutboundHttpClient.getInstance()
+                .post("test.echo", baseUrl + "/echo", "{\"id\":1}", new HashMap<>()));
+    assertEquals(200, response.getStatusCode());
+    assertEquals("{\"id\":1}", response.getBody());
+  }
+
+  @Test
+  public void testRequestsUseMethodAndHeaders() throws IOException {
+    OutboundHttpClient client = OutboundHttpClient.getInstance();
+    Map<String, String> headers = new HashMap<>();
+    headers.put("x-id", "someId");
+    assertEquals("GET", get(client.get("test.method", baseUrl + "/method", null)));
+    assertEquals("PATCH", get(client.patch("test.method", baseUrl + "/method", "{}", null)));
+    assertEquals("DELETE", get(client.delete("test.method", baseUrl + "/method", null)));
+    assertEquals("someId", get(client.get("test.header", baseUrl + "/header", headers)));
+  }
+
+  @Test
+  public void testSequentialRequestsReuseConnection() throws IOException {
+    clientPorts.clear();
+    server.createContext(
+        "/port",
+        exchange -> {
+          clientPorts.add(exchange.getRemoteAddress().getPort());
+          respond(exchange, 200, "ok");
+        });
+    for (int i = 0; i < 5; i++) {
+      get(OutboundHttpClient.getInstance().get("test.port", baseUrl + "/port", null));
+    }
+    assertEquals(1, clientPorts.size());
+  }
+
+  @Test
+  public void testMetricsCountErrorsAndFailures() {
+    OutboundHttpClient client = OutboundHttpClient.getInstance();
+    client.get("test.error", baseUrl + "/error", null).toCompletableFuture().join();
+    try {
+      OutboundHttpClient.await(client.get("test.failure", "http://localhost:1/none", null));
+      fail("Request to closed port should fail");
+    } catch (IOException e) {
+      // expected
+    }
+    Map<String, Object> endpoints =
+        (Map<String, Object>) OutboundHttpClient.getMetrics().get("endpoints");
+    Map<String, Object> errorMetrics = (Map<String, Object>) endpoints.get("test.error");
+    assertEquals(1L, errorMetrics.get("requests"));
+    assertEquals(1L, errorMetrics.get("errorResponses"));
+    assertEquals(0L, errorMetrics.get("inFlight"));
+    Map<String, Object> failureMetrics = (Map<String, Object>) endpoints.get("test.failure");
+    assertEquals(1L, failureMetrics.get("failures"));
+  }
+
+  private String get(CompletionStage<HttpUtilResponse> stage) throws IOException {
+    return OutboundHttpClient.await(stage).getBody();
+  }
+
+  private static String readBody(HttpExchange exchange) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    try (InputStream in = exchange.getRequestBody()) {
+      byte[] buffer = new byte[1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        body.write(buffer, 0, read);
+      }
+    }
+    return new String(body.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body)
+      throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.MessagingException;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Runs {@link SmtpMailer} against a local fake SMTP server. */
+public class SmtpMailerTest {
+
+  private static final String REJECTED = "rejected@test.com";
+
+  private static ServerSocket server;
+  private static final AtomicInteger connections = new AtomicInteger();
+  private static final List<String> messages = new CopyOnWriteArrayList<>();
+  private static final List<String> recipients = new CopyOnWriteArrayList<>();
+
+  @BeforeClass
+  public static void startServer() throws IOException {
+    server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    Thread acceptor =
+        new Thread(
+            () -> {
+              while (!server.isClosed()) {
+                try {
+                  Socket socket = server.accept();
+                  connections.incrementAndGet();
+                  Thread session = new Thread(() -> serve(socket));
+                  session.setDaemon(true);
+                  session.start();
+                } catch (IOException e) {
+                  return;
+                }
+              }
+            });
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  @AfterClass
+  public static void stopServer() throws IOException {
+    server.close();
+  }
+
+  @Before
+  public void setUp() {
+    connections.set(0);
+    messages.clear();
+    recipients.clear();
+  }
+
+  @Test
+  public void testMailsReuseConnection() throws MessagingException {
+    SmtpMailer mailer = getMailer(1, 100);
+    for (int i = 0; i < 3; i++) {
+      mailer.send("user" + i + "@test.com", "Subject " + i, "<p>Body " + i + "</p>");
+    }
+    assertEquals(1, connections.get());
+    assertEquals(3, messages.size());
+    assertTrue(messages.get(2).contains("user2@test.com"));
+    assertTrue(messages.get(2).contains("Body 2"));
+  }
+
+  @Test
+  public void testFailedMailReconnects() throws MessagingException {
+    SmtpMailer mailer = getMailer(1, 100);
+    try {
+      mailer.send(REJECTED, "Subject", "Body");
+      fail("Mail to rejected recipient is sent");
+    } catch (MessagingException e) {
+      // expected
+    }
+    mailer.send("user@test.com", "Subject", "Body");
+    assertEquals(2, connections.get());
+    assertEquals(1, messages.size());
+  }
+
+  @Test
+  public void testMailsAreThrottled() throws MessagingException {
+    SmtpMailer mailer = getMailer(2, 10);
+    long startTime = System.currentTimeMillis();
+    for (int i = 0; i < 6; i++) {
+      mailer.send("user@test.com", "Subject", "Body");
+    }
+    assertTrue(System.currentTimeMillis() - startTime >= 400);
+    assertEquals(6, messages.size());
+  }
+
+  @Test
+  public void testBccMailIsSentOnceToAllRecipients() throws MessagingException {
+    SmtpMailer mailer = getMailer(1, 100);
+    mailer.sendBcc(
+        Arrays.asList("user1@test.com", "user2@test.com", "user3@test.com"), "Subject", "Body");
+    assertEquals(1, messages.size());
+    assertEquals(3, recipients.size());
+    assertTrue(recipients.get(2).contains("user3@test.com"));
+    assertFalse(messages.get(0).contains("user1@test.com"));
+  }
+
+  private SmtpMailer getMailer(int poolSize, double ratePerSecond) {
+    return new SmtpMailer(
+        "localhost",
+        server.getLocalPort(),
+        null,
+        null,
+        "from@test.com",
+        poolSize,
+        ratePerSecond,
+        5000);
+  }
+
+  private static void serve(Socket socket) {
+    try (Socket client = socket;
+        BufferedReader in =
+            new BufferedReader(
+                new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out =
+            new PrintWriter(
+                new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+      reply(out, "220 localhost fake smtp");
+      StringBuilder message = null;
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (message != null) {
+          if (".".equals(line)) {
+            messages.add(message.toString());
+            message = null;
+            reply(out, "250 queued");
+          } else {
+            message.append(line).append('\n');
+          }
+          continue;
+        }
+        String command = line.toUpperCase();
+        if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+          reply(out, "250 localhost");
+        } else if (command.startsWith("RCPT") && line.contains(REJECTED)) {
+          reply(out, "550 mailbox unavailable");
+        } else if (command.startsWith("RCPT")) {
+          recipients.add(line);
+          reply(out, "250 ok");
+        } else if (command.startsWith("DATA")) {
+          message = new StringBuilder();
+          reply(out, "354 end data with <CR><LF>.<CR><LF>");
+        } else if (command.startsWith("QUIT")) {
+          reply(out, "221 bye");
+          return;
+        } else {
+          reply(out, "250 ok");
+        }
+      }
+    } catch (IOException e) {
+      // connection closed by client
+    }
+  }
+
+  private static void reply(PrintWriter out, String line) {
+    out.print(line + "\r\n");
+    out.flush();
+  }
+}
@@ -0,0 +1,114 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorRef;
+import akka.dispatch.Futures;
+import java.util.concurrent.CompletionStage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.actorutil.InterServiceCommunication;
+import org.sunbird.actorutil.InterServiceCommunicationFactory;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.Request;
+import org.sunbird.models.systemsetting.SystemSetting;
+import scala.concurrent.Promise;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({InterServiceCommunicationFactory.class})
+@PowerMockIgnore({"javax.management.*"})
+public class SystemSettingCacheTest {
+
+  private static final String FIELD = "someField";
+
+  private InterServiceCommunication interServiceCommunication;
+  private ActorRef actorRef;
+
+  @Before
+  public void setUp() {
+    actorRef = Mockito.mock(ActorRef.class);
+    interServiceCommunication = Mockito.mock(InterServiceCommunication.class);
+    PowerMockito.mockStatic(InterServiceCommunicationFactory.class);
+    PowerMockito.when(InterServiceCommunicationFactory.getInstance())
+        .thenReturn(interServiceCommunication);
+    SystemSettingCache.getInstance().invalidateAll();
+  }
+
+  @Test
+  public void testGetSystemSettingAsksOnce() {
+    Mockito.when(interServiceCommunication.getFuture(Mockito.any(), Mockito.any(Request.class)))
+        .thenReturn(Futures.successful(getResponse()));
+    SystemSettingCache cache = SystemSettingCache.getInstance();
+    assertEquals("someValue", getValue(cache.getSystemSetting(actorRef, FIELD)));
+    assertEquals("someValue", getValue(cache.getSystemSetting(actorRef, FIELD)));
+    Mockito.verify(interServiceCommunication, Mockito.times(1))
+        .getFuture(Mockito.any(), Mockito.any(Request.class));
+  }
+
+  @Test
+  public void testConcurrentLookupsShareAsk() {
+    Promise<Object> promise = Futures.promise();
+    Mockito.when(interServiceCommunication.getFuture(Mockito.any(), Mockito.any(Request.class)))
+        .thenReturn(promise.future());
+    SystemSettingCache cache = SystemSettingCache.getInstance();
+    CompletionStage<SystemSetting> first = cache.getSystemSetting(actorRef, FIELD);
+    CompletionStage<SystemSetting> second = cache.getSystemSetting(actorRef, FIELD);
+    promise.success(getResponse());
+    assertEquals("someValue", getValue(first));
+    assertEquals("someValue", getValue(second));
+    Mockito.verify(interServiceCommunication, Mockito.times(1))
+        .getFuture(Mockito.any(), Mockito.any(Request.class));
+  }
+
+  @Test
+  public void testFailedLookupIsNotCached() {
+    Mockito.when(interServiceCommunication.getFuture(Mockito.any(), Mockito.any(Request.class)))
+        .thenReturn(Futures.failed(new RuntimeException("someError")))
+        .thenReturn(Futures.successful(getResponse()));
+    SystemSettingCache cache = SystemSettingCache.getInstance();
+    assertTrue(
+        cache.getSystemSetting(actorRef, FIELD).toCompletableFuture().isCompletedExceptionally());
+    assertEquals("someValue", getValue(cache.getSystemSetting(actorRef, FIELD)));
+  }
+
+  @Test
+  public void testLookupFailingToAskIsNotPending() {
+    Mockito.when(interServiceCommunication.getFuture(Mockito.any(), Mockito.any(Request.class)))
+        .thenThrow(new IllegalStateException("someError"))
+        .thenReturn(Futures.successful(getResponse()));
+    SystemSettingCache cache = SystemSettingCache.getInstance();
+    assertTrue(
+        cache.getSystemSetting(actorRef, FIELD).toCompletableFuture().isCompletedExceptionally());
+    assertEquals("someValue", getValue(cache.getSystemSetting(actorRef, FIELD)));
+  }
+
+  @Test
+  public void testMissingSettingCompletesWithNull() {
+    Mockito.when(interServiceCommunication.getFuture(Mockito.any(), Mockito.any(Request.class)))
+        .thenReturn(Futures.successful(new Response()));
+    assertNull(
+        SystemSettingCache.getInstance()
+            .getSystemSetting(actorRef, FIELD)
+            .toCompletableFuture()
+            .join());
+  }
+
+  private String getValue(CompletionStage<SystemSetting> stage) {
+    return stage.toCompletableFuture().join().getValue();
+  }
+
+  private Response getResponse() {
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, new SystemSetting(FIELD, FIELD, "someValue"));
+    return response;
+  }
+}
@@ -0,0 +1,147 @@
+package org.sunbird.learner.util;
+
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.datasecurity.DecryptionService;
+import org.sunbird.common.models.util.datasecurity.impl.ServiceFactory;
+
+/**
+ * Decrypts pages of search results user by user and as a batch, against a decryption stub which
+ * creates an AES cipher per call. Every run checks that the batch decrypts each distinct value of a
+ * page once, users of a page sharing their address city and state. The per user cost of both is
+ * only compared when run with -Dbenchmark=true, as it depends on the machine running the tests.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceFactory.class})
+@PowerMockIgnore({"javax.management.*", "javax.crypto.*"})
+public class UserUtilityBenchmarkTest {
+
+  private static final int PAGE_SIZE = 500;
+  private static final int WARMUP_PAGES = 3;
+  private static final int PAGES = 10;
+  private static final double MAX_BATCH_COST_RATIO = 0.75;
+  private static final byte[] KEY = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+  private static final String[] STATES = {"Karnataka", "Kerala", "Maharashtra"};
+
+  private final AtomicInteger decryptCalls = new AtomicInteger();
+  private final Set<String> decryptedValues = ConcurrentHashMap.newKeySet();
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ServiceFactory.class);
+    DecryptionService decryptionService = mock(DecryptionService.class);
+    when(ServiceFactory.getDecryptionServiceInstance(null)).thenReturn(decryptionService);
+    when(decryptionService.decryptData(Mockito.anyString()))
+        .thenAnswer(
+            invocation -> {
+              decryptCalls.incrementAndGet();
+              decryptedValues.add((String) invocation.getArguments()[0]);
+              return decrypt((String) invocation.getArguments()[0]);
+            });
+  }
+
+  @Test
+  public void testBatchDecryptsEachDistinctValueOnce() throws Exception {
+    run(false);
+    int perUserCalls = decryptCalls.getAndSet(0);
+    int distinctPerPage = decryptedValues.size();
+    run(true);
+    int batchCalls = decryptCalls.get();
+    Assert.assertEquals((WARMUP_PAGES + PAGES) * distinctPerPage, batchCalls);
+    Assert.assertTrue(batchCalls <= perUserCalls);
+  }
+
+  @Test
+  public void testBatchDecryptionIsCheaperThanPerUser() throws Exception {
+    Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+    double perUser = run(false);
+    double batch = run(true);
+    ProjectLogger.log(
+        "UserUtilityBenchmarkTest: per user decryption = "
+            + Math.round(perUser)
+            + " ns/user, batch decryption = "
+            + Math.round(batch)
+            + " ns/user",
+        LoggerEnum.INFO.name());
+    Assert.assertTrue(
+        "Batch decryption should cost at most " + MAX_BATCH_COST_RATIO + " of per user decryption",
+        batch <= perUser * MAX_BATCH_COST_RATIO);
+  }
+
+  private double run(boolean batch) throws Exception {
+    long elapsed = 0;
+    for (int i = 0; i < WARMUP_PAGES + PAGES; i++) {
+      List<Map<String, Object>> page = getPage();
+      long start = System.nanoTime();
+      if (batch) {
+        UserUtility.decryptUserDataFrmES(page);
+      } else {
+        for (Map<String, Object> userMap : page) {
+          UserUtility.decryptUserDataFrmES(userMap);
+        }
+      }
+      if (i >= WARMUP_PAGES) {
+        elapsed += System.nanoTime() - start;
+      }
+      Assert.assertEquals("user0@test.com", page.get(0).get(JsonKey.EMAIL));
+      Assert.assertEquals(
+          "user" + (PAGE_SIZE - 1) + "@test.com", page.get(PAGE_SIZE - 1).get(JsonKey.EMAIL));
+    }
+    return elapsed / ((double) PAGES * PAGE_SIZE);
+  }
+
+  private List<Map<String, Object>> getPage() throws Exception {
+    List<Map<String, Object>> page = new ArrayList<>();
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      Map<String, Object> address = new HashMap<>();
+      address.put(JsonKey.CITY, encrypt("Bangalore"));
+      address.put(JsonKey.STATE, encrypt(STATES[i % STATES.length]));
+      List<Map<String, Object>> addressList = new ArrayList<>();
+      addressList.add(address);
+      Map<String, Object> user = new HashMap<>();
+      user.put(JsonKey.EMAIL, encrypt("user" + i + "@test.com"));
+      user.put(JsonKey.PHONE, encrypt(String.valueOf(9000000000L + i)));
+      user.put(JsonKey.ADDRESS, addressList);
+      page.add(user);
+    }
+    return page;
+  }
+
+  private static String encrypt(String value) throws Exception {
+    Cipher cipher = Cipher.getInstance("AES");
+    cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY, "AES"));
+    return Base64.getEncoder()
+        .encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String decrypt(String value) throws Exception {
+    Cipher cipher = Cipher.getInstance("AES");
+    cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(KEY, "AES"));
+    return new String(cipher.doFinal(Base64.getDecoder().decode(value)), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,153 @@
+package org.sunbird.ratelimit.service;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.ratelimit.dao.RateLimitDao;
+import org.sunbird.ratelimit.limiter.RateLimit;
+import org.sunbird.ratelimit.limiter.RateLimiter;
+
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({"javax.management.*"})
+public class LocalRateLimitServiceTest {
+
+  private static final String KEY = "9999888898";
+  private static final int HOUR_LIMIT = 10;
+
+  @InjectMocks private LocalRateLimitService rateLimitService = new LocalRateLimitService();
+
+  @Mock private RateLimitDao rateLimitdDao;
+
+  private RateLimiter hourRateLimiter = getRateLimiter("HOUR", HOUR_LIMIT, 3600);
+
+  @Before
+  public void beforeEachTest() {
+    MockitoAnnotations.initMocks(this);
+    doNothing().when(rateLimitdDao).insertRateLimits(anyList());
+  }
+
+  @Test
+  public void testThrottleByKeyReadsStoreOnce() {
+    when(rateLimitdDao.getRateLimits(anyString())).thenReturn(getRateLimitRecords(5));
+    for (int i = 0; i < 5; i++) {
+      rateLimitService.throttleByKey(KEY, new RateLimiter[] {hourRateLimiter});
+    }
+    verify(rateLimitdDao, times(1)).getRateLimits(anyString());
+    verify(rateLimitdDao, never()).insertRateLimits(anyList());
+  }
+
+  @Test(expected = ProjectCommonException.class)
+  public void testThrottleByKeyFailure() {
+    when(rateLimitdDao.getRateLimits(anyString())).thenReturn(getRateLimitRecords(HOUR_LIMIT - 1));
+    rateLimitService.throttleByKey(KEY, new RateLimiter[] {hourRateLimiter});
+    try {
+      rateLimitService.throttleByKey(KEY, new RateLimiter[] {hourRateLimiter});
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.TOO_MANY_REQUESTS.getResponseCode(), e.getResponseCode());
+      throw e;
+    }
+  }
+
+  @Test
+  public void testThrottleByKeyConcurrentNoLostUpdates() throws Exception {
+    when(rateLimitdDao.getRateLimits(anyString())).thenReturn(null);
+    RateLimiter rateLimiter = getRateLimiter("DAY", 100, 86400);
+    AtomicInteger accepted = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                try {
+                  rateLimitService.throttleByKey(KEY, new RateLimiter[] {rateLimiter});
+                  accepted.incrementAndGet();
+                } catch (ProjectCommonException e) {
+                  // throttled
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    assertEquals(100, accepted.get());
+  }
+
+  @Test
+  public void testSyncAddsAcceptedRequestsToStoredCount() {
+    when(rateLimitdDao.getRateLimits(anyString()))
+        .thenReturn(getRateLimitRecords(2))
+        .thenReturn(getRateLimitRecords(4));
+    rateLimitService.throttleByKey(KEY, new RateLimiter[] {hourRateLimiter});
+    rateLimitService.throttleByKey(KEY, new RateLimiter[] {hourRateLimiter});
+    doAnswer(
+            (Answer)
+                invocation -> {
+                  List<RateLimit> rateLimits = invocation.getArgumentAt(0, List.class);
+                  assertEquals(1, rateLimits.size());
+                  assertEquals(6, (int) rateLimits.get(0).getCount());
+                  return null;
+                })
+        .when(rateLimitdDao)
+        .insertRateLimits(anyList());
+    rateLimitService.sync();
+    verify(rateLimitdDao, times(1)).insertRateLimits(anyList());
+
+    rateLimitService.sync();
+    verify(rateLimitdDao, times(1)).insertRateLimits(anyList());
+  }
+
+  private List<Map<String, Object>> getRateLimitRecords(int count) {
+    List<Map<String, Object>> results = new ArrayList<>();
+    Map<String, Object> record = new HashMap<>();
+    record.put(JsonKey.KEY, KEY);
+    record.put(JsonKey.RATE_LIMIT_UNIT, "HOUR");
+    record.put(JsonKey.RATE, HOUR_LIMIT);
+    record.put(JsonKey.TTL, 3500);
+    record.put(JsonKey.COUNT, count);
+    results.add(record);
+    return results;
+  }
+
+  private RateLimiter getRateLimiter(String name, int limit, int ttl) {
+    return new RateLimiter() {
+      @Override
+      public Integer getRateLimit() {
+        return limit;
+      }
+
+      @Override
+      public int getTTL() {
+        return ttl;
+      }
+
+      @Override
+      public String name() {
+        return name;
+      }
+    };
+  }
+}
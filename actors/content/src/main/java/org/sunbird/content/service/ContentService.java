@@ -6,10 +6,11 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
-import org.sunbird.common.models.util.HttpUtil;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
@@ -18,6 +19,7 @@ import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
+import org.sunbird.learner.util.OutboundHttpClient;
 
 public class ContentService {
 
@@ -37,16 +39,29 @@ public class ContentService {
     headers.put("Content-Type", "application/json");
   }
 
-  public static Response assignBadge(Request request) throws Exception {
+  /**
+   * This method will assign a badge to a content without waiting for the content service.
+   *
+   * @param request Request with content id and badge assertion
+   * @return Stage completed with the response, or failed if the content service call failed
+   */
+  public static CompletionStage<Response> assignBadge(Request request) throws Exception {
     return processBadge(request, "ASSIGNBADGE");
   }
 
-  public static Response revokeBadge(Request request) throws Exception {
+  /**
+   * This method will revoke a badge from a content without waiting for the content service.
+   *
+   * @param request Request with content id and badge assertion
+   * @return Stage completed with the response, or failed if the content service call failed
+   */
+  public static CompletionStage<Response> revokeBadge(Request request) throws Exception {
     return processBadge(request, "REVOKEBADGE");
   }
 
   @SuppressWarnings("unchecked")
-  private static Response processBadge(Request request, String operation) throws Exception {
+  private static CompletionStage<Response> processBadge(Request request, String operation)
+      throws Exception {
     String id = (String) request.getRequest().get("id");
     Map<String, Object> badge = (Map<String, Object>) request.getRequest().get(BADGE_ASSERTION);
     Map<String, String> props = getProperties(operation);
@@ -72,15 +87,25 @@ public class ContentService {
         "Making call to update badge for content: " + url,
         request.getRequest(),
         LoggerEnum.INFO.name());
-    String result = HttpUtil.sendPostRequest(url, reqBody, headers);
-    ProjectLogger.log(
-        "Status for badge processing of content: " + result,
-        request.getRequest(),
-        LoggerEnum.INFO.name());
-    // TODO: Get the response and return msg based on it's value.
-    Response response = new Response();
-    response.put(JsonKey.RESPONSE, JsonKey.SUCCESS);
-    return response;
+    return OutboundHttpClient.getInstance()
+        .post("content.badge." + operation.toLowerCase(), url, reqBody, headers)
+        .thenApply(
+            result -> {
+              ProjectLogger.log(
+                  "Status for badge processing of content: " + result.getBody(),
+                  request.getRequest(),
+                  LoggerEnum.INFO.name());
+              if (result.getStatusCode() >= 300) {
+                throw new CompletionException(
+                    new IOException(
+                        "Badge processing of content failed with status "
+                            + result.getStatusCode()));
+              }
+              // TODO: Get the response and return msg based on it's value.
+              Response response = new Response();
+              response.put(JsonKey.RESPONSE, JsonKey.SUCCESS);
+              return response;
+            });
   }
 
   private static Map<String, String> getProperties(String operation) {
@@ -108,36 +133,46 @@ public class ContentService {
     return props;
   }
 
-  public static boolean updateEkstepContent(
+  /**
+   * This method will update given attribute of the content on EkStep without blocking the caller.
+   *
+   * @param courseId Content identifier
+   * @param attributeName Attribute to update
+   * @param activeBadges Attribute value
+   * @return Stage completed with true if content was updated, false otherwise
+   */
+  public static CompletionStage<Boolean> updateEkstepContentAsync(
       String courseId, String attributeName, List<Map<String, Object>> activeBadges) {
-    String response = "";
-    try {
-      ProjectLogger.log(
-          "ContentService:updateEkstepContent: updating badgeAssociations details to Ekstep ",
-          LoggerEnum.INFO.name());
-      String contentUpdateBaseUrl = ProjectUtil.getConfigValue(JsonKey.EKSTEP_BASE_URL);
-      String requestBody = getRequestBody(attributeName, activeBadges);
-      System.out.println(requestBody);
-      response =
-          HttpUtil.sendPatchRequest(
-              contentUpdateBaseUrl
-                  + PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_CONTENT_UPDATE_URL)
-                  + courseId,
-              requestBody,
-              CourseBatchSchedulerUtil.headerMap);
-      ProjectLogger.log(
-          "ContentService:updateEkstepContent: updating badgeAssociations response=="
-              + response
-              + " "
-              + courseId,
-          LoggerEnum.INFO.name());
-    } catch (IOException e) {
-      ProjectLogger.log(
-          "ContentService:updateEkstepContent: Error while updating badgeAssociations "
-              + e.getMessage(),
-          e);
-    }
-    return JsonKey.SUCCESS.equalsIgnoreCase(response);
+    ProjectLogger.log(
+        "ContentService:updateEkstepContent: updating badgeAssociations details to Ekstep ",
+        LoggerEnum.INFO.name());
+    String contentUpdateBaseUrl = ProjectUtil.getConfigValue(JsonKey.EKSTEP_BASE_URL);
+    String requestBody = getRequestBody(attributeName, activeBadges);
+    return OutboundHttpClient.getInstance()
+        .patch(
+            "ekstep.content.update",
+            contentUpdateBaseUrl
+                + PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_CONTENT_UPDATE_URL)
+                + courseId,
+            requestBody,
+            CourseBatchSchedulerUtil.headerMap)
+        .handle(
+            (response, error) -> {
+              if (error != null) {
+                ProjectLogger.log(
+                    "ContentService:updateEkstepContent: Error while updating badgeAssociations "
+                        + error.getMessage(),
+                    error);
+                return false;
+              }
+              ProjectLogger.log(
+                  "ContentService:updateEkstepContent: updating badgeAssociations response=="
+                      + response.getStatusCode()
+                      + " "
+                      + courseId,
+                  LoggerEnum.INFO.name());
+              return response.getStatusCode() == ResponseCode.OK.getResponseCode();
+            });
   }
 
   private static String getRequestBody(
@@ -17,6 +17,7 @@ import org.sunbird.learner.util.Util;
 import org.sunbird.location.dao.LocationDao;
 import org.sunbird.location.dao.impl.LocationDaoFactory;
 import org.sunbird.location.util.LocationRequestValidator;
+import org.sunbird.location.util.LocationTree;
 import org.sunbird.models.location.Location;
 import org.sunbird.models.location.apirequest.UpsertLocationRequest;
 
@@ -103,6 +104,7 @@ public class LocationActor extends BaseLocationActor {
       locationRequest.setId(id);
       Location location = mapper.convertValue(locationRequest, Location.class);
       Response response = locationDao.create(location);
+      LocationTree.getInstance().put(mapper.convertValue(location, Map.class));
       sender().tell(response, self());
       ProjectLogger.log("Insert location data to ES");
       saveDataToES(mapper.convertValue(location, Map.class), JsonKey.INSERT);
@@ -118,6 +120,7 @@ public class LocationActor extends BaseLocationActor {
       validateUpsertLocnReq(locationRequest, JsonKey.UPDATE);
       Location location = mapper.convertValue(locationRequest, Location.class);
       Response response = locationDao.update(location);
+      LocationTree.getInstance().put(mapper.convertValue(location, Map.class));
       sender().tell(response, self());
       ProjectLogger.log("Update location data to ES");
       saveDataToES(mapper.convertValue(location, Map.class), JsonKey.UPDATE);
@@ -151,6 +154,7 @@ public class LocationActor extends BaseLocationActor {
       String locationId = (String) request.getRequest().get(JsonKey.LOCATION_ID);
       LocationRequestValidator.isLocationHasChild(locationId);
       Response response = locationDao.delete(locationId);
+      LocationTree.getInstance().remove(locationId);
       sender().tell(response, self());
       ProjectLogger.log("Delete location data from ES");
       deleteDataFromES(locationId);
@@ -41,4 +41,11 @@ public interface LocationDao {
    * @return response Response
    */
   Response getRecordByProperty(Map<String, Object> queryMap);
+
+  /**
+   * This method will read all locations from the location table.
+   *
+   * @return response Response
+   */
+  Response readAll();
 }
@@ -74,4 +74,9 @@ public class LocationDaoImpl implements LocationDao {
         (String) queryMap.get(GeoLocationJsonKey.PROPERTY_NAME),
         queryMap.get(GeoLocationJsonKey.PROPERTY_VALUE));
   }
+
+  @Override
+  public Response readAll() {
+    return cassandraOperation.getAllRecords(KEYSPACE_NAME, LOCATION_TABLE_NAME);
+  }
 }
@@ -66,6 +66,9 @@ public class LocationRequestValidator {
    * @return boolean
    */
   public static boolean isValidLocationCode(String code) {
+    if (LocationTree.getInstance().getByCode(code) != null) {
+      return true;
+    }
     Map<String, Object> reqMap = new HashMap<>();
     reqMap.put(GeoLocationJsonKey.PROPERTY_NAME, GeoLocationJsonKey.CODE);
     reqMap.put(GeoLocationJsonKey.PROPERTY_VALUE, code);
@@ -223,11 +226,14 @@ public class LocationRequestValidator {
    * @return Map<String, Object> location details
    */
   private static Map<String, Object> getLocationById(String id, String parameter) {
-    Map<String, Object> location =
-        ElasticSearchUtil.getDataByIdentifier(
-            ProjectUtil.EsIndex.sunbird.getIndexName(),
-            ProjectUtil.EsType.location.getTypeName(),
-            id);
+    Map<String, Object> location = LocationTree.getInstance().getById(id);
+    if (location == null) {
+      location =
+          ElasticSearchUtil.getDataByIdentifier(
+              ProjectUtil.EsIndex.sunbird.getIndexName(),
+              ProjectUtil.EsType.location.getTypeName(),
+              id);
+    }
     if (MapUtils.isEmpty(location)) {
       throw new ProjectCommonException(
           ResponseCode.invalidParameter.getErrorCode(),
@@ -244,17 +250,9 @@ public class LocationRequestValidator {
    * @return location details Map<String, Object>
    */
   private static Map<String, Object> getLocation(String code) {
-    Map<String, Object> filters = new HashMap<>();
-    filters.put(GeoLocationJsonKey.CODE, code);
-    Map<String, Object> map = new HashMap<>();
-    map.put(JsonKey.FILTERS, filters);
-    List<Map<String, Object>> locationMapList =
-        getESSearchResult(
-            map,
-            ProjectUtil.EsIndex.sunbird.getIndexName(),
-            ProjectUtil.EsType.location.getTypeName());
-    if (CollectionUtils.isNotEmpty(locationMapList)) {
-      return locationMapList.get(0);
+    Map<String, Object> location = getLocationByCode(code);
+    if (location != null) {
+      return location;
     } else {
       throw new ProjectCommonException(
           ResponseCode.invalidParameter.getErrorCode(),
@@ -271,6 +269,12 @@ public class LocationRequestValidator {
    * @return boolean
    */
   public static boolean isLocationHasChild(String locationId) {
+    if (LocationTree.getInstance().hasChildren(locationId)) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidLocationDeleteRequest.getErrorCode(),
+          ResponseCode.invalidLocationDeleteRequest.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
     Map<String, Object> location = getLocationById(locationId, JsonKey.LOCATION_ID);
     Map<String, Integer> locTypeoOrdermap =
         getLocationTypeOrderMap(
@@ -280,7 +284,8 @@ public class LocationRequestValidator {
     int order =
         locTypeoOrdermap.get(
             ((String) location.get(GeoLocationJsonKey.LOCATION_TYPE)).toLowerCase());
-    // location type with last order can be deleted without validation
+    // location type with last order can be deleted without validation, children created on other
+    // instances may not be in location tree yet so absence of children is confirmed from ES
     if (order != list.get(0)) {
       Map<String, Object> filters = new HashMap<>();
       filters.put(GeoLocationJsonKey.PARENT_ID, location.get(JsonKey.ID));
@@ -309,16 +314,8 @@ public class LocationRequestValidator {
   }
 
   public static boolean isValidLocationCode(UpsertLocationRequest locationRequest, String opType) {
-    Map<String, Object> filters = new HashMap<>();
-    filters.put(GeoLocationJsonKey.CODE, locationRequest.getCode());
-    Map<String, Object> map = new HashMap<>();
-    map.put(JsonKey.FILTERS, filters);
-    List<Map<String, Object>> locationMapList =
-        getESSearchResult(
-            map,
-            ProjectUtil.EsIndex.sunbird.getIndexName(),
-            ProjectUtil.EsType.location.getTypeName());
-    if (!locationMapList.isEmpty()) {
+    Map<String, Object> locn = getLocationByCode(locationRequest.getCode());
+    if (locn != null) {
       if (opType.equalsIgnoreCase(JsonKey.CREATE)) {
         throw new ProjectCommonException(
             ResponseCode.alreadyExists.getErrorCode(),
@@ -328,7 +325,6 @@ public class LocationRequestValidator {
                 locationRequest.getCode()),
             ResponseCode.CLIENT_ERROR.getResponseCode());
       } else if (opType.equalsIgnoreCase(JsonKey.UPDATE)) {
-        Map<String, Object> locn = locationMapList.get(0);
         if (!(((String) locn.get(JsonKey.ID)).equalsIgnoreCase(locationRequest.getId()))) {
           throw new ProjectCommonException(
               ResponseCode.alreadyExists.getErrorCode(),
@@ -342,4 +338,28 @@ public class LocationRequestValidator {
     }
     return true;
   }
+
+  /**
+   * This method will return location with given code from location tree, or from ES if it is not
+   * in the tree.
+   *
+   * @param code Location code
+   * @return location details, or null if there is no location with given code
+   */
+  private static Map<String, Object> getLocationByCode(String code) {
+    Map<String, Object> location = LocationTree.getInstance().getByCode(code);
+    if (location != null) {
+      return location;
+    }
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(GeoLocationJsonKey.CODE, code);
+    Map<String, Object> map = new HashMap<>();
+    map.put(JsonKey.FILTERS, filters);
+    List<Map<String, Object>> locationMapList =
+        getESSearchResult(
+            map,
+            ProjectUtil.EsIndex.sunbird.getIndexName(),
+            ProjectUtil.EsType.location.getTypeName());
+    return CollectionUtils.isNotEmpty(locationMapList) ? locationMapList.get(0) : null;
+  }
 }
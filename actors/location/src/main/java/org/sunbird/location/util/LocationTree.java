@@ -0,0 +1,281 @@
+package org.sunbird.location.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.GeoLocationJsonKey;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.location.dao.LocationDao;
+import org.sunbird.location.dao.impl.LocationDaoFactory;
+
+/**
+ * In-memory tree of all locations, indexed by id and code with parent to child links.
+ *
+ * <p>The tree is loaded from the location table on first use and reloaded once it is older than
+ * the refresh interval. Locations created, updated or deleted through {@link
+ * org.sunbird.location.actors.LocationActor} are applied to the tree as they happen; changes made
+ * on other instances are picked up on the next reload. The first lookup once the tree is due
+ * loads it on the calling thread; lookups made while another thread is loading do not wait and see
+ * the previous tree, or null before the first load, in which case callers fall back to Cassandra or
+ * ES.
+ */
+public class LocationTree {
+
+  private static final String REFRESH_INTERVAL = "sunbird_location_tree_refresh_seconds";
+  private static final long DEFAULT_REFRESH_INTERVAL = 3600;
+  private static final long RETRY_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(60);
+  private static final List<String> FIELDS =
+      Arrays.asList(
+          JsonKey.ID,
+          GeoLocationJsonKey.CODE,
+          JsonKey.NAME,
+          GeoLocationJsonKey.LOCATION_TYPE,
+          GeoLocationJsonKey.PARENT_ID);
+
+  private final LocationDao locationDao;
+  private final long refreshIntervalMillis;
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile Index index;
+  private volatile long nextLoadTime;
+
+  private static class Holder {
+    private static final LocationTree instance = new LocationTree(LocationDaoFactory.getInstance());
+  }
+
+  LocationTree(LocationDao locationDao) {
+    this.locationDao = locationDao;
+    this.refreshIntervalMillis =
+        TimeUnit.SECONDS.toMillis(
+            ConfigReader.getLongConfig(REFRESH_INTERVAL, DEFAULT_REFRESH_INTERVAL));
+  }
+
+  public static LocationTree getInstance() {
+    return Holder.instance;
+  }
+
+  /**
+   * This method will return location with given id.
+   *
+   * @param id Location id
+   * @return Copy of location details, or null if location is not in the tree
+   */
+  public Map<String, Object> getById(String id) {
+    Index current = getIndex();
+    if (current == null || id == null) {
+      return null;
+    }
+    return copy(current.byId.get(id));
+  }
+
+  /**
+   * This method will return location with given code.
+   *
+   * @param code Location code
+   * @return Copy of location details, or null if location is not in the tree
+   */
+  public Map<String, Object> getByCode(String code) {
+    Index current = getIndex();
+    if (current == null || code == null) {
+      return null;
+    }
+    String id = current.idByCode.get(code);
+    return id == null ? null : copy(current.byId.get(id));
+  }
+
+  /**
+   * This method will check whether given location has any child. Children in the tree may have
+   * been deleted or moved on other instances since it was loaded, so each one is read back from
+   * the location table before it is counted, and the tree is corrected for those which are not.
+   *
+   * @param id Location id
+   * @return true if at least one location in the location table has given location as parent
+   */
+  public boolean hasChildren(String id) {
+    Index current = getIndex();
+    if (current == null || id == null) {
+      return false;
+    }
+    Set<String> childIds = current.childIds.get(id);
+    if (CollectionUtils.isEmpty(childIds)) {
+      return false;
+    }
+    for (String childId : new HashSet<>(childIds)) {
+      Map<String, Object> child = read(childId);
+      if (child == null) {
+        remove(childId);
+      } else {
+        put(child);
+        if (id.equals(child.get(GeoLocationJsonKey.PARENT_ID))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * This method will add a location to the tree, or update it if it already exists. Fields absent
+   * in given location keep their current value.
+   *
+   * @param location Location details
+   */
+  public void put(Map<String, Object> location) {
+    lock.lock();
+    try {
+      if (index != null) {
+        index.put(location);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void remove(String id) {
+    lock.lock();
+    try {
+      if (index != null) {
+        index.remove(id);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** This method will drop the tree, it is loaded again on next lookup. */
+  public void invalidate() {
+    lock.lock();
+    try {
+      index = null;
+      nextLoadTime = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Index getIndex() {
+    if (System.currentTimeMillis() >= nextLoadTime && lock.tryLock()) {
+      try {
+        if (System.currentTimeMillis() >= nextLoadTime) {
+          load();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return index;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void load() {
+    long startTime = System.currentTimeMillis();
+    try {
+      Response response = locationDao.readAll();
+      List<Map<String, Object>> locations =
+          response == null ? null : (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+      if (locations == null) {
+        throw new IllegalStateException("No response from location table");
+      }
+      Index loaded = new Index();
+      locations.forEach(loaded::put);
+      index = loaded;
+      nextLoadTime = System.currentTimeMillis() + refreshIntervalMillis;
+      ProjectLogger.log(
+          "LocationTree:load: Loaded "
+              + loaded.byId.size()
+              + " locations in "
+              + (System.currentTimeMillis() - startTime)
+              + " ms",
+          LoggerEnum.INFO.name());
+    } catch (Exception e) {
+      nextLoadTime = System.currentTimeMillis() + RETRY_INTERVAL_MILLIS;
+      ProjectLogger.log(
+          "LocationTree:load: Failed to load locations with error = " + e.getMessage(),
+          LoggerEnum.ERROR.name());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> read(String id) {
+    Response response = locationDao.read(id);
+    List<Map<String, Object>> locations =
+        response == null ? null : (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (locations == null) {
+      throw new IllegalStateException("No response from location table for id " + id);
+    }
+    return locations.isEmpty() ? null : locations.get(0);
+  }
+
+  private static Map<String, Object> copy(Map<String, Object> location) {
+    return location == null ? null : new HashMap<>(location);
+  }
+
+  /** Location maps keyed by id along with code and parent lookups; updated under tree lock. */
+  private static class Index {
+    private final Map<String, Map<String, Object>> byId = new ConcurrentHashMap<>();
+    private final Map<String, String> idByCode = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> childIds = new ConcurrentHashMap<>();
+
+    private void put(Map<String, Object> location) {
+      String id = (String) location.get(JsonKey.ID);
+      if (StringUtils.isBlank(id)) {
+        return;
+      }
+      Map<String, Object> current = byId.get(id);
+      Map<String, Object> updated = current == null ? new HashMap<>() : new HashMap<>(current);
+      for (String field : FIELDS) {
+        if (location.get(field) != null) {
+          updated.put(field, location.get(field));
+        }
+      }
+      if (current != null) {
+        unlink(id, current);
+      }
+      byId.put(id, Collections.unmodifiableMap(updated));
+      String code = (String) updated.get(GeoLocationJsonKey.CODE);
+      if (code != null) {
+        idByCode.put(code, id);
+      }
+      String parentId = (String) updated.get(GeoLocationJsonKey.PARENT_ID);
+      if (StringUtils.isNotBlank(parentId)) {
+        childIds.computeIfAbsent(parentId, key -> ConcurrentHashMap.newKeySet()).add(id);
+      }
+    }
+
+    private void remove(String id) {
+      Map<String, Object> current = id == null ? null : byId.remove(id);
+      if (current != null) {
+        unlink(id, current);
+      }
+    }
+
+    private void unlink(String id, Map<String, Object> location) {
+      String code = (String) location.get(GeoLocationJsonKey.CODE);
+      if (code != null) {
+        idByCode.remove(code, id);
+      }
+      String parentId = (String) location.get(GeoLocationJsonKey.PARENT_ID);
+      if (parentId != null) {
+        Set<String> siblings = childIds.get(parentId);
+        if (siblings != null) {
+          siblings.remove(id);
+          if (siblings.isEmpty()) {
+            childIds.remove(parentId);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package org.sunbird.location.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.GeoLocationJsonKey;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.location.dao.LocationDao;
+
+public class LocationTreeTest {
+
+  private LocationDao locationDao;
+  private LocationTree locationTree;
+  private final Map<String, Map<String, Object>> table = new HashMap<>();
+
+  @Before
+  public void setUp() {
+    table.clear();
+    table.put("state1", getLocation("state1", "stateCode1", "state", null));
+    table.put("district1", getLocation("district1", "districtCode1", "district", "state1"));
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, new ArrayList<>(table.values()));
+    locationDao = Mockito.mock(LocationDao.class);
+    Mockito.when(locationDao.readAll()).thenReturn(response);
+    Mockito.when(locationDao.read(Mockito.anyString()))
+        .thenAnswer(
+            invocation -> {
+              Map<String, Object> location = table.get(invocation.getArguments()[0]);
+              List<Map<String, Object>> locations = new ArrayList<>();
+              if (location != null) {
+                locations.add(location);
+              }
+              Response readResponse = new Response();
+              readResponse.put(JsonKey.RESPONSE, locations);
+              return readResponse;
+            });
+    locationTree = new LocationTree(locationDao);
+  }
+
+  @Test
+  public void testLookupsLoadTreeOnce() {
+    assertEquals("state1", locationTree.getByCode("stateCode1").get(JsonKey.ID));
+    assertEquals("districtCode1", locationTree.getById("district1").get(GeoLocationJsonKey.CODE));
+    assertTrue(locationTree.hasChildren("state1"));
+    assertFalse(locationTree.hasChildren("district1"));
+    assertNull(locationTree.getByCode("invalid"));
+    Mockito.verify(locationDao, Mockito.times(1)).readAll();
+  }
+
+  @Test
+  public void testPutUpdatesCodeAndParentLinks() {
+    locationTree.getById("state1");
+    locationTree.put(getLocation("state2", "stateCode2", "state", null));
+    Map<String, Object> district = new HashMap<>();
+    district.put(JsonKey.ID, "district1");
+    district.put(GeoLocationJsonKey.CODE, "districtCode2");
+    district.put(GeoLocationJsonKey.PARENT_ID, "state2");
+    locationTree.put(district);
+    table.put("district1", getLocation("district1", "districtCode2", "district", "state2"));
+
+    assertNull(locationTree.getByCode("districtCode1"));
+    assertEquals(
+        "district",
+        locationTree.getByCode("districtCode2").get(GeoLocationJsonKey.LOCATION_TYPE));
+    assertFalse(locationTree.hasChildren("state1"));
+    assertTrue(locationTree.hasChildren("state2"));
+  }
+
+  @Test
+  public void testRemoveDropsLocationAndChildLink() {
+    locationTree.getById("state1");
+    locationTree.remove("district1");
+    assertNull(locationTree.getById("district1"));
+    assertNull(locationTree.getByCode("districtCode1"));
+    assertFalse(locationTree.hasChildren("state1"));
+  }
+
+  @Test
+  public void testLookupsReturnNullWhenLoadFails() {
+    Mockito.when(locationDao.readAll()).thenReturn(null);
+    locationTree.invalidate();
+    locationTree.put(getLocation("state2", "stateCode2", "state", null));
+    assertNull(locationTree.getById("state1"));
+    assertNull(locationTree.getById("state2"));
+  }
+
+  @Test
+  public void testHasChildrenIgnoresChildDeletedOnOtherInstance() {
+    locationTree.getById("state1");
+    table.remove("district1");
+
+    assertFalse(locationTree.hasChildren("state1"));
+    assertNull(locationTree.getById("district1"));
+  }
+
+  @Test
+  public void testHasChildrenIgnoresChildMovedOnOtherInstance() {
+    locationTree.getById("state1");
+    table.put("state2", getLocation("state2", "stateCode2", "state", null));
+    table.put("district1", getLocation("district1", "districtCode1", "district", "state2"));
+
+    assertFalse(locationTree.hasChildren("state1"));
+    assertEquals("state2", locationTree.getById("district1").get(GeoLocationJsonKey.PARENT_ID));
+  }
+
+  private Map<String, Object> getLocation(String id, String code, String type, String parentId) {
+    Map<String, Object> location = new HashMap<>();
+    location.put(JsonKey.ID, id);
+    location.put(GeoLocationJsonKey.CODE, code);
+    location.put(JsonKey.NAME, id);
+    location.put(GeoLocationJsonKey.LOCATION_TYPE, type);
+    location.put(GeoLocationJsonKey.PARENT_ID, parentId);
+    return location;
+  }
+}
@@ -16,6 +16,7 @@ import org.sunbird.common.request.ExecutionContext;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.SystemSettingCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.systemsetting.SystemSetting;
 import org.sunbird.systemsettings.dao.impl.SystemSettingDaoImpl;
@@ -137,6 +138,7 @@ public class SystemSettingsActor extends BaseActor {
     Response response = systemSettingDaoImpl.write(systemSetting);
     if (response != null) {
       cache.put(ActorOperations.GET_SYSTEM_SETTING.getValue(), field, systemSetting);
+      SystemSettingCache.getInstance().invalidate(field);
     }
     sender().tell(response, self());
   }
@@ -15,6 +15,7 @@ import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.extension.user.UserExtension;
 import org.sunbird.extension.user.impl.UserProviderRegistryImpl;
+import org.sunbird.learner.actors.user.service.UserProfileCache;
 import org.sunbird.models.user.User;
 import org.sunbird.user.util.UserUtil;
 
@@ -130,6 +131,7 @@ public class UserBackgroundJobActor extends BaseActor {
   private void upsertDataToElastic(
       String indexName, String typeName, String id, Map<String, Object> userDetails) {
     Boolean bool = ElasticSearchUtil.upsertData(indexName, typeName, id, userDetails);
+    UserProfileCache.getInstance().invalidate(id);
     ProjectLogger.log(
         "Getting ES save response for type , identifier==" + typeName + "  " + id + "  " + bool,
         LoggerEnum.INFO.name());
@@ -0,0 +1,408 @@
+package org.sunbird.user.actors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.dto.SearchDTO;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.checkpoint.dao.JobCheckpointDao;
+import org.sunbird.learner.actors.checkpoint.dao.impl.JobCheckpointDaoImpl;
+import org.sunbird.learner.actors.checkpoint.model.JobCheckpoint;
+import org.sunbird.learner.actors.user.service.UserProfileCache;
+import org.sunbird.learner.util.ConfigReader;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.UserUtility;
+import org.sunbird.learner.util.Util;
+import org.sunbird.user.service.UserEncryptionService;
+import org.sunbird.user.service.impl.UserEncryptionServiceImpl;
+
+/**
+ * Encryption or decryption of the sensitive data of a list of users. Users are processed in chunks
+ * of ids with a bounded number of chunks in flight; for each chunk the users and their addresses
+ * are written with one batch per table and the users are indexed with one ES bulk request. The
+ * last id up to which all chunks are done is checkpointed per list of users, so that a job which
+ * is submitted again for the same users after a crash resumes after it.
+ */
+public class UserDataEncryptionJob {
+
+  private static final String CHUNK_SIZE = "sunbird_user_encryption_chunk_size";
+  private static final String MAX_IN_FLIGHT = "sunbird_user_encryption_max_in_flight";
+  private static final int DEFAULT_CHUNK_SIZE = 50;
+  private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+  private static final String POOL = "userDataEncryption";
+  private static final int POOL_QUEUE_SIZE = 256;
+
+  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private JobCheckpointDao checkpointDao = JobCheckpointDaoImpl.getInstance();
+  private UserEncryptionService userEncryptionService = UserEncryptionServiceImpl.getInstance();
+  private Util.DbInfo usrDbInfo = Util.dbInfoMap.get(JsonKey.USER_DB);
+  private Util.DbInfo addrDbInfo = Util.dbInfoMap.get(JsonKey.ADDRESS_DB);
+  private final String operation;
+  private final boolean encrypt;
+  private final int chunkSize;
+  private final int maxInFlight;
+
+  private JobCheckpoint checkpoint;
+  private List<List<String>> chunks;
+  private boolean[] completedChunks;
+  private long[] failedUsersOfChunks;
+  private int nextChunkToCommit;
+  private long startTime;
+  private long processedAtStart;
+
+  public UserDataEncryptionJob(String operation, boolean encrypt) {
+    this.operation = operation;
+    this.encrypt = encrypt;
+    this.chunkSize = Math.max(1, ConfigReader.getIntConfig(CHUNK_SIZE, DEFAULT_CHUNK_SIZE));
+    this.maxInFlight = Math.max(1, ConfigReader.getIntConfig(MAX_IN_FLIGHT, DEFAULT_MAX_IN_FLIGHT));
+  }
+
+  /**
+   * This method will encrypt or decrypt the data of given users, resuming from the last checkpoint
+   * if a previous run for the same users did not complete.
+   *
+   * @param userIds Ids of the users
+   * @return Checkpoint with final status and counts
+   */
+  public JobCheckpoint run(List<String> userIds) {
+    startTime = System.currentTimeMillis();
+    List<String> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+    Collections.sort(ids);
+    String jobId = getJobId(ids);
+    checkpoint = checkpointDao.read(jobId);
+    if (null != checkpoint && JobCheckpoint.STATUS_COMPLETED.equals(checkpoint.getStatus())) {
+      ProjectLogger.log(
+          "UserDataEncryptionJob:run: Job " + jobId + " is already completed",
+          LoggerEnum.INFO.name());
+      return checkpoint;
+    }
+    if (null != checkpoint && checkpoint.isResumable()) {
+      String lastProcessedId = checkpoint.getLastProcessedId();
+      ids =
+          ids.stream().filter(id -> id.compareTo(lastProcessedId) > 0).collect(Collectors.toList());
+      ProjectLogger.log(
+          "UserDataEncryptionJob:run: Resuming job "
+              + jobId
+              + " after id = "
+              + lastProcessedId
+              + " remaining = "
+              + ids.size(),
+          LoggerEnum.INFO.name());
+      // failures of the previous run are either redone now or were committed with it
+      checkpoint.setFailedCount(0L);
+    } else {
+      checkpoint = new JobCheckpoint(jobId, operation);
+    }
+    checkpoint.setStatus(JobCheckpoint.STATUS_IN_PROGRESS);
+    processedAtStart = checkpoint.getProcessedCount();
+    checkpoint.setTotalCount(processedAtStart + ids.size());
+    checkpointDao.save(checkpoint);
+
+    chunks = partition(ids);
+    completedChunks = new boolean[chunks.size()];
+    failedUsersOfChunks = new long[chunks.size()];
+    nextChunkToCommit = 0;
+    // the pool is shared by the jobs running on this instance, each bounded by its own semaphore
+    ExecutorService executor = ExecutorManager.getExecutor(POOL, maxInFlight, POOL_QUEUE_SIZE);
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    try {
+      for (int i = 0; i < chunks.size(); i++) {
+        inFlight.acquire();
+        final int chunkIndex = i;
+        try {
+          executor.execute(
+              () -> {
+                try {
+                  processChunk(chunkIndex);
+                } finally {
+                  inFlight.release();
+                }
+              });
+        } catch (RejectedExecutionException e) {
+          try {
+            processChunk(chunkIndex);
+          } finally {
+            inFlight.release();
+          }
+        }
+      }
+      inFlight.acquire(maxInFlight);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ProjectLogger.log("UserDataEncryptionJob:run: Job " + jobId + " interrupted", e);
+    } catch (Exception e) {
+      ProjectLogger.log(
+          "UserDataEncryptionJob:run: Exception in job " + jobId + " " + e.getMessage(), e);
+    }
+    return finish();
+  }
+
+  /** Same users give the same job id whatever their order, so that a job can be resumed. */
+  private String getJobId(List<String> sortedIds) {
+    String digest =
+        UUID.nameUUIDFromBytes(String.join(",", sortedIds).getBytes(StandardCharsets.UTF_8))
+            .toString();
+    return operation + "_" + digest;
+  }
+
+  private List<List<String>> partition(List<String> ids) {
+    List<List<String>> result = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i += chunkSize) {
+      result.add(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+    }
+    return result;
+  }
+
+  private void processChunk(int chunkIndex) {
+    List<String> chunk = chunks.get(chunkIndex);
+    long failed = 0;
+    boolean success = true;
+    try {
+      List<Map<String, Map<String, Object>>> users = new ArrayList<>();
+      List<Map<String, Map<String, Object>>> addresses = new ArrayList<>();
+      Map<String, Map<String, Object>> esUpdates = new HashMap<>();
+      for (Map<String, Object> userMap : getUsers(chunk)) {
+        try {
+          String userId = (String) userMap.get(JsonKey.ID);
+          Map<String, Object> esUpdate = new HashMap<>();
+          // addresses are looked at whatever the state of their user: a chunk redone after its
+          // address batch failed finds the user done but some of its addresses not
+          List<Map<String, Map<String, Object>>> addressUpdates = new ArrayList<>();
+          List<Map<String, Object>> addressList = getAddressList(userId);
+          for (Map<String, Object> address : addressList) {
+            List<String> addressFields =
+                encrypt
+                    ? userEncryptionService.getDecryptedAddressFields(address)
+                    : userEncryptionService.getEncryptedAddressFields(address);
+            if (CollectionUtils.isNotEmpty(addressFields)) {
+              process(address, addressFields);
+              addressUpdates.add(getUpdate(address, addressFields));
+            }
+          }
+          List<String> fields =
+              encrypt
+                  ? userEncryptionService.getDecryptedFields(userMap)
+                  : userEncryptionService.getEncryptedFields(userMap);
+          if (CollectionUtils.isNotEmpty(fields)) {
+            process(userMap, fields);
+            users.add(getUpdate(userMap, fields));
+            for (String field : fields) {
+              esUpdate.put(field, userMap.get(field));
+            }
+          }
+          if (!addressUpdates.isEmpty()) {
+            addresses.addAll(addressUpdates);
+            esUpdate.put(JsonKey.ADDRESS, addressList);
+          }
+          if (!esUpdate.isEmpty()) {
+            esUpdates.put(userId, esUpdate);
+          }
+        } catch (Exception e) {
+          failed++;
+          ProjectLogger.log(
+              "UserDataEncryptionJob:processChunk: Exception for userId = "
+                  + userMap.get(JsonKey.ID)
+                  + " "
+                  + e.getMessage(),
+              e);
+        }
+      }
+      // each address is encrypted or decrypted as per its own state, so when one of the batches
+      // fails the whole chunk can be redone
+      batchUpdate(usrDbInfo, users);
+      batchUpdate(addrDbInfo, addresses);
+      syncToES(esUpdates);
+    } catch (Exception e) {
+      success = false;
+      ProjectLogger.log(
+          "UserDataEncryptionJob:processChunk: Exception in chunk = "
+              + chunkIndex
+              + " "
+              + e.getMessage(),
+          e);
+    }
+    commit(chunkIndex, success, failed);
+  }
+
+  private void process(Map<String, Object> record, List<String> fields) throws Exception {
+    if (encrypt) {
+      UserUtility.encryptSpecificUserData(record, fields);
+    } else {
+      UserUtility.decryptSpecificUserData(record, fields);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Map<String, Object>> getUsers(List<String> userIds) {
+    Response response =
+        cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
+            usrDbInfo.getKeySpace(), usrDbInfo.getTableName(), null, new ArrayList<>(userIds));
+    List<Map<String, Object>> userList = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    return userList != null ? userList : new ArrayList<>();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Map<String, Object>> getAddressList(String userId) {
+    Response response =
+        cassandraOperation.getRecordsByProperty(
+            addrDbInfo.getKeySpace(), addrDbInfo.getTableName(), JsonKey.USER_ID, userId);
+    List<Map<String, Object>> addressList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    return addressList != null ? addressList : new ArrayList<>();
+  }
+
+  /** Batch update which sets only the given fields of the row with the id of given record. */
+  private Map<String, Map<String, Object>> getUpdate(
+      Map<String, Object> record, List<String> fields) {
+    Map<String, Object> primaryKey = Collections.singletonMap(JsonKey.ID, record.get(JsonKey.ID));
+    Map<String, Object> values = new HashMap<>();
+    for (String field : fields) {
+      if (!JsonKey.ID.equals(field) && record.containsKey(field)) {
+        values.put(field, record.get(field));
+      }
+    }
+    Map<String, Map<String, Object>> update = new HashMap<>();
+    update.put(JsonKey.PRIMARY_KEY, primaryKey);
+    update.put(JsonKey.NON_PRIMARY_KEY, values);
+    return update;
+  }
+
+  private void batchUpdate(Util.DbInfo dbInfo, List<Map<String, Map<String, Object>>> updates) {
+    if (CollectionUtils.isEmpty(updates)) {
+      return;
+    }
+    Response response =
+        cassandraOperation.batchUpdate(dbInfo.getKeySpace(), dbInfo.getTableName(), updates);
+    if (!JsonKey.SUCCESS.equalsIgnoreCase((String) response.get(JsonKey.RESPONSE))) {
+      throw new IllegalStateException("Batch update failed for table " + dbInfo.getTableName());
+    }
+  }
+
+  /**
+   * ES has no partial bulk update through ElasticSearchUtil, so the documents of the chunk are read
+   * with one search, given the changed fields and written back with one bulk request.
+   */
+  @SuppressWarnings("unchecked")
+  private void syncToES(Map<String, Map<String, Object>> esUpdates) {
+    if (esUpdates.isEmpty()) {
+      return;
+    }
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.ID, new ArrayList<>(esUpdates.keySet()));
+    SearchDTO searchDTO = new SearchDTO();
+    searchDTO.getAdditionalProperties().put(JsonKey.FILTERS, filters);
+    searchDTO.setLimit(esUpdates.size());
+    Map<String, Object> result =
+        ElasticSearchUtil.complexSearch(
+            searchDTO,
+            ProjectUtil.EsIndex.sunbird.getIndexName(),
+            ProjectUtil.EsType.user.getTypeName());
+    List<Map<String, Object>> documents =
+        MapUtils.isNotEmpty(result)
+            ? (List<Map<String, Object>>) result.get(JsonKey.CONTENT)
+            : null;
+    if (CollectionUtils.isEmpty(documents)) {
+      return;
+    }
+    for (Map<String, Object> document : documents) {
+      Map<String, Object> esUpdate = esUpdates.get((String) document.get(JsonKey.ID));
+      if (esUpdate != null) {
+        document.putAll(esUpdate);
+      }
+    }
+    boolean indexed =
+        ElasticSearchUtil.bulkInsertData(
+            ProjectUtil.EsIndex.sunbird.getIndexName(),
+            ProjectUtil.EsType.user.getTypeName(),
+            documents);
+    for (String userId : esUpdates.keySet()) {
+      UserProfileCache.getInstance().invalidate(userId);
+    }
+    if (!indexed) {
+      throw new IllegalStateException("Bulk insert to ES failed");
+    }
+  }
+
+  /**
+   * Chunks complete out of order. The checkpoint only moves over a contiguous prefix of successful
+   * chunks, so a failed chunk is retried when the job is submitted again. Users of a successful
+   * chunk are counted once the checkpoint moves over it, as chunks after a failed one are redone.
+   */
+  private synchronized void commit(int chunkIndex, boolean success, long failedUsers) {
+    int chunkCount = chunks.get(chunkIndex).size();
+    if (!success) {
+      checkpoint.setFailedCount(checkpoint.getFailedCount() + chunkCount);
+      ProjectLogger.log(
+          "UserDataEncryptionJob:commit: Job " + checkpoint.getId() + " failed chunk " + chunkIndex,
+          LoggerEnum.ERROR.name());
+      return;
+    }
+    completedChunks[chunkIndex] = true;
+    failedUsersOfChunks[chunkIndex] = failedUsers;
+    while (nextChunkToCommit < chunks.size() && completedChunks[nextChunkToCommit]) {
+      List<String> chunk = chunks.get(nextChunkToCommit);
+      long failed = failedUsersOfChunks[nextChunkToCommit];
+      checkpoint.setProcessedCount(checkpoint.getProcessedCount() + chunk.size() - failed);
+      checkpoint.setFailedCount(checkpoint.getFailedCount() + failed);
+      checkpoint.setLastProcessedId(chunk.get(chunk.size() - 1));
+      nextChunkToCommit++;
+    }
+    checkpointDao.save(checkpoint);
+    logProgress();
+  }
+
+  private void logProgress() {
+    long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+    long processed = checkpoint.getProcessedCount();
+    ProjectLogger.log(
+        "UserDataEncryptionJob: job = "
+            + checkpoint.getId()
+            + " processed = "
+            + processed
+            + "/"
+            + checkpoint.getTotalCount()
+            + " failed = "
+            + checkpoint.getFailedCount()
+            + " rate = "
+            + (processed - processedAtStart) * 1000 / elapsed
+            + " users/sec",
+        LoggerEnum.INFO.name());
+  }
+
+  private synchronized JobCheckpoint finish() {
+    if (nextChunkToCommit == chunks.size()) {
+      checkpoint.setStatus(JobCheckpoint.STATUS_COMPLETED);
+    } else {
+      checkpoint.setStatus(JobCheckpoint.STATUS_FAILED);
+    }
+    checkpointDao.save(checkpoint);
+    ProjectLogger.log(
+        "UserDataEncryptionJob:finish: Job "
+            + checkpoint.getId()
+            + " finished with status = "
+            + checkpoint.getStatus()
+            + " in "
+            + (System.currentTimeMillis() - startTime)
+            + " ms",
+        LoggerEnum.INFO.name());
+    return checkpoint;
+  }
+}
@@ -3,6 +3,7 @@ package org.sunbird.user.actors;
 import akka.actor.ActorRef;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -44,7 +46,9 @@ import org.sunbird.extension.user.UserExtension;
 import org.sunbird.extension.user.impl.UserProviderRegistryImpl;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.role.service.RoleService;
+import org.sunbird.learner.actors.user.service.UserProfileCache;
 import org.sunbird.learner.organisation.external.identity.service.OrgExternalService;
+import org.sunbird.learner.util.ActorPipeUtil;
 import org.sunbird.learner.util.DataCacheHandler;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.organisation.Organisation;
@@ -113,10 +117,10 @@ public class UserManagementActor extends BaseActor {
 
   @SuppressWarnings("unchecked")
   private void updateUser(Request actorMessage) {
-    Map<String, Object> targetObject = null;
-    List<Map<String, Object>> correlatedObject = new ArrayList<>();
     actorMessage.toLower();
-    Util.getUserProfileConfig(systemSettingActorRef);
+    // validated before the user is written, looked up while the request is validated
+    CompletionStage<Config> userProfileConfig =
+        Util.getUserProfileConfigAsync(systemSettingActorRef);
     String callerId = (String) actorMessage.getContext().get(JsonKey.CALLER_ID);
     boolean isPrivate = false;
     if (actorMessage.getContext().containsKey(JsonKey.PRIVATE)) {
@@ -151,6 +155,28 @@ public class UserManagementActor extends BaseActor {
     if (StringUtils.isBlank(callerId)) {
       userMap.put(JsonKey.UPDATED_BY, actorMessage.getContext().get(JsonKey.REQUESTED_BY));
     }
+    boolean isPrivateUpdate = isPrivate;
+    ActorPipeUtil.pipe(
+        userProfileConfig,
+        config -> writeUserUpdate(actorMessage, userMap, userDbRecord, callerId, isPrivateUpdate),
+        sender(),
+        self(),
+        getContext().dispatcher());
+  }
+
+  /**
+   * Writes a validated user update once user profile configuration is validated, see {@link
+   * #updateUser(Request)}.
+   */
+  @SuppressWarnings("unchecked")
+  private Response writeUserUpdate(
+      Request actorMessage,
+      Map<String, Object> userMap,
+      Map<String, Object> userDbRecord,
+      String callerId,
+      boolean isPrivate) {
+    Map<String, Object> targetObject = null;
+    List<Map<String, Object>> correlatedObject = new ArrayList<>();
     Map<String, Object> requestMap = UserUtil.encryptUserData(userMap);
     UserUtil.addMaskEmailAndMaskPhone(requestMap);
     removeUnwanted(requestMap);
@@ -167,6 +193,7 @@ public class UserManagementActor extends BaseActor {
     }
     Response resp = null;
     if (((String) response.get(JsonKey.RESPONSE)).equalsIgnoreCase(JsonKey.SUCCESS)) {
+      UserProfileCache.getInstance().invalidate((String) userMap.get(JsonKey.ID));
       if (isPrivate) {
         updateUserOrganisations(actorMessage);
       }
@@ -179,7 +206,6 @@ public class UserManagementActor extends BaseActor {
     response.put(
         JsonKey.ERRORS,
         ((Map<String, Object>) resp.getResult().get(JsonKey.RESPONSE)).get(JsonKey.ERRORS));
-    sender().tell(response, self());
     if (null != resp) {
       Map<String, Object> completeUserDetails = new HashMap<>(userDbRecord);
       completeUserDetails.putAll(requestMap);
@@ -189,6 +215,7 @@ public class UserManagementActor extends BaseActor {
         TelemetryUtil.generateTargetObject(
             (String) userMap.get(JsonKey.USER_ID), TelemetryEnvKey.USER, JsonKey.UPDATE, null);
     TelemetryUtil.telemetryProcessingCall(userMap, targetObject, correlatedObject);
+    return response;
   }
 
   @SuppressWarnings("unchecked")
@@ -421,7 +448,8 @@ public class UserManagementActor extends BaseActor {
     userMap.remove(JsonKey.ENC_EMAIL);
     userMap.remove(JsonKey.ENC_PHONE);
     actorMessage.getRequest().putAll(userMap);
-    Util.getUserProfileConfig(systemSettingActorRef);
+    CompletionStage<Config> userProfileConfig =
+        Util.getUserProfileConfigAsync(systemSettingActorRef);
     boolean isCustodianOrg = false;
     if (StringUtils.isBlank(callerId)) {
       userMap.put(JsonKey.CREATED_BY, actorMessage.getContext().get(JsonKey.REQUESTED_BY));
@@ -476,7 +504,12 @@ public class UserManagementActor extends BaseActor {
       userMap.remove(JsonKey.ORG_EXTERNAL_ID);
       userMap.put(JsonKey.ORGANISATION_ID, orgId);
     }
-    processUserRequest(userMap, callerId, signupType, source);
+    ActorPipeUtil.pipe(
+        userProfileConfig,
+        config -> processUserRequest(userMap, callerId, signupType, source),
+        sender(),
+        self(),
+        getContext().dispatcher());
   }
 
   private void validateUserType(Map<String, Object> userMap, boolean isCustodianOrg) {
@@ -559,7 +592,7 @@ public class UserManagementActor extends BaseActor {
   }
 
   @SuppressWarnings("unchecked")
-  private void processUserRequest(
+  private Response processUserRequest(
       Map<String, Object> userMap, String callerId, String signupType, String source) {
     Map<String, Object> requestMap = null;
     UserUtil.setUserDefaultValue(userMap, callerId);
@@ -619,7 +652,6 @@ public class UserManagementActor extends BaseActor {
     response.put(
         JsonKey.ERRORS,
         ((Map<String, Object>) resp.getResult().get(JsonKey.RESPONSE)).get(JsonKey.ERRORS));
-    sender().tell(response, self());
     if (null != resp) {
       saveUserDetailsToEs(esResponse);
     }
@@ -650,6 +682,7 @@ public class UserManagementActor extends BaseActor {
     }
 
     TelemetryUtil.telemetryProcessingCall(userMap, targetObject, correlatedObject);
+    return response;
   }
 
   @SuppressWarnings("unchecked")
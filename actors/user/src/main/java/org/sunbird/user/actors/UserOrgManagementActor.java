@@ -10,6 +10,7 @@ import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
+import org.sunbird.learner.actors.user.service.UserProfileCache;
 import org.sunbird.learner.util.Util;
 
 @ActorConfig(
@@ -59,6 +60,7 @@ public class UserOrgManagementActor extends BaseActor {
       requestMap.put(JsonKey.HASHTAGID, hashTagId);
       Util.registerUserToOrg(requestMap);
     }
+    UserProfileCache.getInstance().invalidate((String) requestMap.get(JsonKey.USER_ID));
     Response response = new Response();
     response.put(JsonKey.RESPONSE, JsonKey.SUCCESS);
     sender().tell(response, self());
@@ -82,6 +84,7 @@ public class UserOrgManagementActor extends BaseActor {
       addPublicRole(requestMap);
       Util.upsertUserOrgData(requestMap);
     }
+    UserProfileCache.getInstance().invalidate((String) requestMap.get(JsonKey.USER_ID));
     Response response = new Response();
     response.put(JsonKey.RESPONSE, JsonKey.SUCCESS);
     sender().tell(response, self());
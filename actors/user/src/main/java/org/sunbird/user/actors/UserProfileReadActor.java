@@ -15,10 +15,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.actor.router.ActorConfig;
 import org.sunbird.actorutil.systemsettings.SystemSettingClient;
@@ -42,7 +50,12 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.user.service.UserProfileCache;
+import org.sunbird.learner.util.ActorPipeUtil;
+import org.sunbird.learner.util.ConfigReader;
 import org.sunbird.learner.util.DataCacheHandler;
+import org.sunbird.learner.util.ExecutorManager;
+import org.sunbird.learner.util.SystemSettingCache;
 import org.sunbird.learner.util.UserUtility;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.systemsetting.SystemSetting;
@@ -59,6 +72,13 @@ import org.sunbird.user.dao.impl.UserExternalIdentityDaoImpl;
 )
 public class UserProfileReadActor extends BaseActor {
 
+  private static final String PROFILE_READ_PARALLEL = "sunbird_user_profile_read_parallel";
+  private static final String PROFILE_READ_TIMEOUT = "sunbird_user_profile_read_timeout_ms";
+  private static final long DEFAULT_PROFILE_READ_TIMEOUT = 5000;
+  private static final String PROFILE_READ_POOL = "userProfileRead";
+  private static final int DEFAULT_PROFILE_READ_POOL_SIZE = 16;
+  private static final int PROFILE_READ_QUEUE_SIZE = 1024;
+
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private DecryptionService decryptionService =
       org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.getDecryptionServiceInstance(
@@ -71,6 +91,9 @@ public class UserProfileReadActor extends BaseActor {
   private SSOManager ssoManager = SSOServiceFactory.getInstance();
   private ActorRef systemSettingActorRef = null;
   private UserExternalIdentityDaoImpl userExternalIdentityDao = new UserExternalIdentityDaoImpl();
+  private boolean parallelRead = ConfigReader.getBooleanConfig(PROFILE_READ_PARALLEL, true);
+  private long profileReadTimeout =
+      ConfigReader.getLongConfig(PROFILE_READ_TIMEOUT, DEFAULT_PROFILE_READ_TIMEOUT);
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -109,6 +132,7 @@ public class UserProfileReadActor extends BaseActor {
   }
 
   private Response getUserProfileData(Request actorMessage) {
+    long deadline = System.currentTimeMillis() + profileReadTimeout;
     Map<String, Object> userMap = actorMessage.getRequest();
     String id = (String) userMap.get(JsonKey.USER_ID);
     String userId;
@@ -138,6 +162,24 @@ public class UserProfileReadActor extends BaseActor {
       showMaskedData = false;
     }
     boolean isPrivate = (boolean) actorMessage.getContext().get(JsonKey.PRIVATE);
+    // having check for removing private filed from user , if call user and response
+    // user data id is not same.
+    String requestedById =
+        (String) actorMessage.getContext().getOrDefault(JsonKey.REQUESTED_BY, "");
+    boolean isSelfRead = userId.equalsIgnoreCase(requestedById) || showMaskedData;
+    String requestFields = (String) actorMessage.getContext().get(JsonKey.FIELDS);
+    // only the public profile, as seen by other users, is cached
+    boolean cacheable = !isPrivate && !isSelfRead;
+    long cacheVersion = 0;
+    if (cacheable) {
+      Map<String, Object> cachedResult = UserProfileCache.getInstance().get(userId, requestFields);
+      if (cachedResult != null) {
+        Response response = new Response();
+        response.put(JsonKey.RESPONSE, cachedResult);
+        return response;
+      }
+      cacheVersion = UserProfileCache.getInstance().getVersion(userId);
+    }
     Map<String, Object> result;
     if (!isPrivate) {
       result =
@@ -173,41 +215,37 @@ public class UserProfileReadActor extends BaseActor {
         && (Boolean) result.get(JsonKey.IS_DELETED)) {
       ProjectCommonException.throwClientErrorException(ResponseCode.userAccountlocked);
     }
-    fetchRootAndRegisterOrganisation(result);
-    // having check for removing private filed from user , if call user and response
-    // user data id is not same.
-    String requestedById =
-        (String) actorMessage.getContext().getOrDefault(JsonKey.REQUESTED_BY, "");
+    ProfileLookups lookups = startProfileLookups(result, userId, isSelfRead, requestFields);
+    awaitLookups(lookups, deadline);
+    if (lookups.rootOrg != null) {
+      try {
+        result.put(JsonKey.ROOT_ORG, getResult(lookups.rootOrg));
+      } catch (Exception ex) {
+        ProjectLogger.log(ex.getMessage(), ex);
+      }
+    }
     ProjectLogger.log(
         "requested By and requested user id == " + requestedById + "  " + (String) userId);
     try {
-      if (!(userId).equalsIgnoreCase(requestedById) && !showMaskedData) {
+      if (!isSelfRead) {
         result = removeUserPrivateField(result);
       } else {
         // These values are set to ensure backward compatibility post introduction of global
         // settings in user profile visibility
-        setCompleteProfileVisibilityMap(result);
+        result.put(JsonKey.PROFILE_VISIBILITY, getResult(lookups.profileVisibility));
         setDefaultUserProfileVisibility(result);
 
         // If the user requests his data then we are fetching the private data from
         // userprofilevisibility index
         // and merge it with user index data
-        Map<String, Object> privateResult =
-            ElasticSearchUtil.getDataByIdentifier(
-                ProjectUtil.EsIndex.sunbird.getIndexName(),
-                ProjectUtil.EsType.userprofilevisibility.getTypeName(),
-                userId);
-        // fetch user external identity
-        List<Map<String, String>> dbResExternalIds = fetchUserExternalIdentity(userId);
-        result.put(JsonKey.EXTERNAL_IDS, dbResExternalIds);
-        result.putAll(privateResult);
+        result.put(JsonKey.EXTERNAL_IDS, getResult(lookups.externalIds));
+        result.putAll(getResult(lookups.privateResult));
       }
     } catch (Exception e) {
       ProjectCommonException.throwServerErrorException(ResponseCode.userDataEncryptionError);
     }
-    if (null != actorMessage.getContext().get(JsonKey.FIELDS)) {
-      String requestFields = (String) actorMessage.getContext().get(JsonKey.FIELDS);
-      addExtraFieldsInUserProfileResponse(result, requestFields, userId);
+    if (null != requestFields) {
+      addExtraFieldsInUserProfileResponse(result, requestFields, lookups);
     } else {
       result.remove(JsonKey.MISSING_FIELDS);
       result.remove(JsonKey.COMPLETENESS);
@@ -218,13 +256,16 @@ public class UserProfileReadActor extends BaseActor {
     if (null != result) {
       UserUtility.decryptUserDataFrmES(result);
       updateSkillWithEndoresmentCount(result);
-      updateTncInfo(result);
+      updateTncInfo(result, getResult(lookups.tncSystemSetting));
       // loginId is used internally for checking the duplicate user
       result.remove(JsonKey.LOGIN_ID);
       result.remove(JsonKey.ENC_EMAIL);
       result.remove(JsonKey.ENC_PHONE);
       // String username = ssoManager.getUsernameById(userId);
       //  result.put(JsonKey.USERNAME, username);
+      if (cacheable) {
+        UserProfileCache.getInstance().put(userId, requestFields, result, cacheVersion);
+      }
       response.put(JsonKey.RESPONSE, result);
     } else {
       result = new HashMap<>();
@@ -307,23 +348,132 @@ public class UserProfileReadActor extends BaseActor {
   private void fetchRootAndRegisterOrganisation(Map<String, Object> result) {
     try {
       if (isNotNull(result.get(JsonKey.ROOT_ORG_ID))) {
-
-        String rootOrgId = (String) result.get(JsonKey.ROOT_ORG_ID);
-        Map<String, Object> esResult =
-            ElasticSearchUtil.getDataByIdentifier(
-                ProjectUtil.EsIndex.sunbird.getIndexName(),
-                ProjectUtil.EsType.organisation.getTypeName(),
-                rootOrgId);
-        result.put(JsonKey.ROOT_ORG, esResult);
+        result.put(JsonKey.ROOT_ORG, fetchOrganisation((String) result.get(JsonKey.ROOT_ORG_ID)));
       }
     } catch (Exception ex) {
       ProjectLogger.log(ex.getMessage(), ex);
     }
   }
 
+  private Map<String, Object> fetchOrganisation(String orgId) {
+    return ElasticSearchUtil.getDataByIdentifier(
+        ProjectUtil.EsIndex.sunbird.getIndexName(),
+        ProjectUtil.EsType.organisation.getTypeName(),
+        orgId);
+  }
+
+  /**
+   * This method will start the lookups needed to build the profile response from the user
+   * document. Lookups which need a field of the user which may be in the private data of the user
+   * start once the private data is read; all others start immediately.
+   *
+   * @param result User document, not modified
+   * @param userId User ID
+   * @param isSelfRead Whether the private data of the user is to be returned
+   * @param fields Comma separated extra fields requested
+   * @return Lookups in progress
+   */
+  @SuppressWarnings("unchecked")
+  private ProfileLookups startProfileLookups(
+      Map<String, Object> result, String userId, boolean isSelfRead, String fields) {
+    ProfileLookups lookups = new ProfileLookups();
+    ActorRef actorRef = systemSettingActorRef;
+    String rootOrgId = (String) result.get(JsonKey.ROOT_ORG_ID);
+    if (isNotNull(rootOrgId)) {
+      lookups.rootOrg = lookups.add(supplyAsync(() -> fetchOrganisation(rootOrgId)));
+    }
+    // copy, as the result is modified on this thread while the lookups read the profile
+    Map<String, Object> profile = new HashMap<>(result);
+    CompletableFuture<Map<String, Object>> profileFuture;
+    if (isSelfRead) {
+      Map<String, String> profileVisibility =
+          (Map<String, String>) result.get(JsonKey.PROFILE_VISIBILITY);
+      lookups.profileVisibility =
+          lookups.add(
+              Util.getCompleteProfileVisibilityMapAsync(profileVisibility, actorRef)
+                  .toCompletableFuture());
+      lookups.privateResult =
+          lookups.add(
+              supplyAsync(
+                  () ->
+                      ElasticSearchUtil.getDataByIdentifier(
+                          ProjectUtil.EsIndex.sunbird.getIndexName(),
+                          ProjectUtil.EsType.userprofilevisibility.getTypeName(),
+                          userId)));
+      lookups.externalIds = lookups.add(supplyAsync(() -> fetchUserExternalIdentity(userId)));
+      profileFuture =
+          lookups.privateResult.thenApply(
+              privateResult -> {
+                profile.putAll(privateResult);
+                return profile;
+              });
+    } else {
+      profileFuture = CompletableFuture.completedFuture(removeUserPrivateField(profile));
+    }
+    lookups.tncSystemSetting = lookups.add(getTncSystemSetting(actorRef));
+    startExtraFieldLookups(lookups, fields, userId, profileFuture);
+    return lookups;
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
+  private void startExtraFieldLookups(
+      ProfileLookups lookups,
+      String fields,
+      String userId,
+      CompletableFuture<Map<String, Object>> profileFuture) {
+    if (StringUtils.isBlank(fields)) {
+      return;
+    }
+    if (fields.contains(JsonKey.LAST_LOGIN_TIME)) {
+      lookups.lastLoginTime =
+          lookups.add(
+              profileFuture.thenCompose(
+                  profile ->
+                      supplyAsync(
+                          () ->
+                              getLastLoginTime(
+                                  userId, (String) profile.get(JsonKey.LAST_LOGIN_TIME)))));
+    }
+    if (fields.contains(JsonKey.TOPIC)) {
+      lookups.topics =
+          lookups.add(
+              profileFuture.thenCompose(
+                  profile ->
+                      supplyAsync(
+                          () -> fetchTopicOfAssociatedOrgs((String) profile.get(JsonKey.ID)))));
+    }
+    if (fields.contains(JsonKey.ORGANISATIONS)) {
+      lookups.orgInfo =
+          lookups.add(
+              profileFuture.thenCompose(
+                  profile ->
+                      supplyAsync(
+                          () -> fetchUserOrgInfo((List) profile.get(JsonKey.ORGANISATIONS)))));
+    }
+    if (fields.contains(JsonKey.LOCATIONS)) {
+      lookups.locations =
+          lookups.add(
+              profileFuture.thenCompose(
+                  profile ->
+                      supplyAsync(
+                          () ->
+                              getUserLocations(
+                                  (List<String>) profile.get(JsonKey.LOCATION_IDS)))));
+    }
+  }
+
   private void addExtraFieldsInUserProfileResponse(
       Map<String, Object> result, String fields, String userId) {
+    ProfileLookups lookups = new ProfileLookups();
+    startExtraFieldLookups(
+        lookups, fields, userId, CompletableFuture.completedFuture(new HashMap<>(result)));
+    awaitLookups(lookups, System.currentTimeMillis() + profileReadTimeout);
+    addExtraFieldsInUserProfileResponse(result, fields, lookups);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void addExtraFieldsInUserProfileResponse(
+      Map<String, Object> result, String fields, ProfileLookups lookups) {
     if (!StringUtils.isBlank(fields)) {
       if (!fields.contains(JsonKey.COMPLETENESS)) {
         result.remove(JsonKey.COMPLETENESS);
@@ -332,26 +482,25 @@ public class UserProfileReadActor extends BaseActor {
         result.remove(JsonKey.MISSING_FIELDS);
       }
       if (fields.contains(JsonKey.LAST_LOGIN_TIME)) {
-        result.put(
-            JsonKey.LAST_LOGIN_TIME,
-            Long.parseLong(getLastLoginTime(userId, (String) result.get(JsonKey.LAST_LOGIN_TIME))));
+        result.put(JsonKey.LAST_LOGIN_TIME, Long.parseLong(getResult(lookups.lastLoginTime)));
       } else {
         result.remove(JsonKey.LAST_LOGIN_TIME);
       }
       if (fields.contains(JsonKey.TOPIC)) {
         // fetch the topic details of all user associated orgs and append in the result
-        fetchTopicOfAssociatedOrgs(result);
+        result.put(JsonKey.TOPICS, getResult(lookups.topics));
       }
       if (fields.contains(JsonKey.ORGANISATIONS)) {
-        updateUserOrgInfo((List) result.get(JsonKey.ORGANISATIONS));
+        Pair<Map<String, Map<String, Object>>, Map<String, Map<String, Object>>> orgInfo =
+            getResult(lookups.orgInfo);
+        prepUserOrgInfoWithAdditionalData(
+            (List) result.get(JsonKey.ORGANISATIONS), orgInfo.getLeft(), orgInfo.getRight());
       }
       if (fields.contains(JsonKey.ROLES)) {
         updateRoleMasterInfo(result);
       }
       if (fields.contains(JsonKey.LOCATIONS)) {
-        result.put(
-            JsonKey.USER_LOCATIONS,
-            getUserLocations((List<String>) result.get(JsonKey.LOCATION_IDS)));
+        result.put(JsonKey.USER_LOCATIONS, getResult(lookups.locations));
         result.remove(JsonKey.LOCATION_IDS);
       }
     }
@@ -387,9 +536,7 @@ public class UserProfileReadActor extends BaseActor {
   }
 
   @SuppressWarnings("unchecked")
-  private void fetchTopicOfAssociatedOrgs(Map<String, Object> result) {
-
-    String userId = (String) result.get(JsonKey.ID);
+  private Set<String> fetchTopicOfAssociatedOrgs(String userId) {
     Map<String, Object> locationCache = new HashMap<>();
     Set<String> topicSet = new HashSet<>();
 
@@ -458,13 +605,14 @@ public class UserProfileReadActor extends BaseActor {
         }
       }
     }
-    result.put(JsonKey.TOPICS, topicSet);
+    return topicSet;
   }
 
-  private void updateUserOrgInfo(List<Map<String, Object>> userOrgs) {
+  private Pair<Map<String, Map<String, Object>>, Map<String, Map<String, Object>>>
+      fetchUserOrgInfo(List<Map<String, Object>> userOrgs) {
     Map<String, Map<String, Object>> orgInfoMap = fetchAllOrgsById(userOrgs);
     Map<String, Map<String, Object>> locationInfoMap = fetchAllLocationsById(orgInfoMap);
-    prepUserOrgInfoWithAdditionalData(userOrgs, orgInfoMap, locationInfoMap);
+    return Pair.of(orgInfoMap, locationInfoMap);
   }
 
   private Map<String, Map<String, Object>> fetchAllOrgsById(List<Map<String, Object>> userOrgs) {
@@ -766,48 +914,64 @@ public class UserProfileReadActor extends BaseActor {
       return;
     }
 
-    Response response = new Response();
     if (null != result) {
       // remove email and phone no from response
       result.remove(JsonKey.ENC_EMAIL);
       result.remove(JsonKey.ENC_PHONE);
-      updateTncInfo(result);
-      if (null != actorMessage.getRequest().get(JsonKey.FIELDS)) {
-        List<String> requestFields = (List<String>) actorMessage.getRequest().get(JsonKey.FIELDS);
-        if (requestFields != null) {
-          addExtraFieldsInUserProfileResponse(
-              result, String.join(",", requestFields), (String) result.get(JsonKey.USER_ID));
-        } else {
-          result.remove(JsonKey.MISSING_FIELDS);
-          result.remove(JsonKey.COMPLETENESS);
-        }
+      Map<String, Object> profile = result;
+      ActorPipeUtil.pipe(
+          getTncSystemSetting(systemSettingActorRef),
+          tncSystemSetting -> getProfileResponse(actorMessage, profile, tncSystemSetting),
+          sender(),
+          self(),
+          getContext().dispatcher());
+    } else {
+      Response response = new Response();
+      response.put(JsonKey.RESPONSE, new HashMap<>());
+      sender().tell(response, self());
+    }
+  }
+
+  /** Completes the response of {@link #sendResponse} once the TnC system setting is read. */
+  @SuppressWarnings("unchecked")
+  private Response getProfileResponse(
+      Request actorMessage, Map<String, Object> result, SystemSetting tncSystemSetting) {
+    updateTncInfo(result, tncSystemSetting);
+    if (null != actorMessage.getRequest().get(JsonKey.FIELDS)) {
+      List<String> requestFields = (List<String>) actorMessage.getRequest().get(JsonKey.FIELDS);
+      if (requestFields != null) {
+        addExtraFieldsInUserProfileResponse(
+            result, String.join(",", requestFields), (String) result.get(JsonKey.USER_ID));
       } else {
         result.remove(JsonKey.MISSING_FIELDS);
         result.remove(JsonKey.COMPLETENESS);
       }
-      response.put(JsonKey.RESPONSE, result);
-      UserUtility.decryptUserDataFrmES(result);
     } else {
-      result = new HashMap<>();
-      response.put(JsonKey.RESPONSE, result);
+      result.remove(JsonKey.MISSING_FIELDS);
+      result.remove(JsonKey.COMPLETENESS);
     }
-    sender().tell(response, self());
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, result);
+    UserUtility.decryptUserDataFrmES(result);
+    return response;
   }
 
-  private void updateTncInfo(Map<String, Object> result) {
-    SystemSettingClient systemSettingClient = new SystemSettingClientImpl();
-    SystemSetting tncSystemSetting = null;
-    try {
-      tncSystemSetting =
-          systemSettingClient.getSystemSettingByField(
-              getActorRef(ActorOperations.GET_SYSTEM_SETTING.getValue()), JsonKey.TNC_CONFIG);
-    } catch (Exception e) {
-      ProjectLogger.log(
-          "UserManagementActor:updateTncInfo: Exception occurred while getting system setting for"
-              + JsonKey.TNC_CONFIG
-              + e.getMessage(),
-          LoggerEnum.ERROR.name());
-    }
+  private CompletableFuture<SystemSetting> getTncSystemSetting(ActorRef actorRef) {
+    return SystemSettingCache.getInstance()
+        .getSystemSetting(actorRef, JsonKey.TNC_CONFIG)
+        .exceptionally(
+            e -> {
+              ProjectLogger.log(
+                  "UserManagementActor:updateTncInfo: Exception occurred while getting system setting for"
+                      + JsonKey.TNC_CONFIG
+                      + e.getMessage(),
+                  LoggerEnum.ERROR.name());
+              return null;
+            })
+        .toCompletableFuture();
+  }
+
+  private void updateTncInfo(Map<String, Object> result, SystemSetting tncSystemSetting) {
     if (tncSystemSetting != null) {
       try {
         ObjectMapper mapper = new ObjectMapper();
@@ -855,4 +1019,89 @@ public class UserProfileReadActor extends BaseActor {
     }
     return new ArrayList<>();
   }
+
+  /**
+   * This method will run the lookup on the profile read pool, or on the calling thread if
+   * parallel read is disabled or the pool is saturated.
+   */
+  private <T> CompletableFuture<T> supplyAsync(Supplier<T> lookup) {
+    if (parallelRead) {
+      try {
+        return CompletableFuture.supplyAsync(
+            lookup,
+            ExecutorManager.getExecutor(
+                PROFILE_READ_POOL, DEFAULT_PROFILE_READ_POOL_SIZE, PROFILE_READ_QUEUE_SIZE));
+      } catch (RejectedExecutionException e) {
+        ProjectLogger.log(
+            "UserProfileReadActor:supplyAsync: Profile read pool is saturated",
+            LoggerEnum.INFO.name());
+      }
+    }
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      future.complete(lookup.get());
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * This method will wait for all lookups to complete, successfully or not. Failures are thrown
+   * when the result of the failed lookup is read.
+   */
+  private void awaitLookups(ProfileLookups lookups, long deadline) {
+    if (lookups.all.isEmpty()) {
+      return;
+    }
+    try {
+      CompletableFuture.allOf(lookups.all.toArray(new CompletableFuture[0]))
+          .get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      // reported by getResult
+    } catch (TimeoutException e) {
+      lookups.all.forEach(future -> future.cancel(true));
+      ProjectLogger.log(
+          "UserProfileReadActor:awaitLookups: Lookups not completed in "
+              + profileReadTimeout
+              + " ms",
+          LoggerEnum.ERROR.name());
+      ProjectCommonException.throwServerErrorException(ResponseCode.SERVER_ERROR);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ProjectCommonException.throwServerErrorException(ResponseCode.SERVER_ERROR);
+    }
+  }
+
+  private <T> T getResult(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /** Lookups of a profile read, see {@link #startProfileLookups}. */
+  private static class ProfileLookups {
+    private final List<CompletableFuture<?>> all = new ArrayList<>();
+    private CompletableFuture<Map<String, Object>> rootOrg;
+    private CompletableFuture<Map<String, String>> profileVisibility;
+    private CompletableFuture<Map<String, Object>> privateResult;
+    private CompletableFuture<List<Map<String, String>>> externalIds;
+    private CompletableFuture<SystemSetting> tncSystemSetting;
+    private CompletableFuture<String> lastLoginTime;
+    private CompletableFuture<Set<String>> topics;
+    private CompletableFuture<
+            Pair<Map<String, Map<String, Object>>, Map<String, Map<String, Object>>>>
+        orgInfo;
+    private CompletableFuture<List<Map<String, Object>>> locations;
+
+    private <T> CompletableFuture<T> add(CompletableFuture<T> future) {
+      all.add(future);
+      return future;
+    }
+  }
 }
@@ -20,6 +20,7 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.common.responsecode.ResponseMessage;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.role.service.RoleService;
+import org.sunbird.learner.actors.user.service.UserProfileCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.organisation.Organisation;
 import org.sunbird.models.user.org.UserOrg;
@@ -97,6 +98,7 @@ public class UserRoleActor extends UserBaseActor {
     Response response = userOrgDao.updateUserOrg(userOrg);
     sender().tell(response, self());
     if (((String) response.get(JsonKey.RESPONSE)).equalsIgnoreCase(JsonKey.SUCCESS)) {
+      UserProfileCache.getInstance().invalidate(userId);
       syncUserRoles(requestMap, JsonKey.ORGANISATION, userId, organisationId);
     } else {
       ProjectLogger.log("UserRoleActor: No ES call to save user roles");
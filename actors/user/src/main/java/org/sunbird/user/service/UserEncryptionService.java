@@ -8,4 +8,8 @@ public interface UserEncryptionService {
   List<String> getDecryptedFields(Map<String, Object> userMap);
 
   List<String> getEncryptedFields(Map<String, Object> userMap);
+
+  List<String> getDecryptedAddressFields(Map<String, Object> addressMap);
+
+  List<String> getEncryptedAddressFields(Map<String, Object> addressMap);
 }
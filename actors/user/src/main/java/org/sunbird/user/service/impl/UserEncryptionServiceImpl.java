@@ -11,6 +11,7 @@ import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.PhoneValidator;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.models.util.datasecurity.DecryptionService;
 import org.sunbird.common.models.util.datasecurity.EncryptionService;
 import org.sunbird.common.models.util.datasecurity.impl.ServiceFactory;
@@ -22,6 +23,12 @@ public class UserEncryptionServiceImpl implements UserEncryptionService {
   private EncryptionService encryptionService = ServiceFactory.getEncryptionServiceInstance(null);
   private List<String> userEncryptedFieldList =
       Arrays.asList(JsonKey.USERNAME, JsonKey.LOGIN_ID, JsonKey.LOCATION);
+  private List<String> addressEncryptedFieldList =
+      Arrays.asList(
+          StringUtils.split(
+              StringUtils.defaultString(
+                  PropertiesCache.getInstance().getProperty("addresskey.encryption")),
+              ","));
 
   private UserEncryptionServiceImpl() {};
 
@@ -43,7 +50,7 @@ public class UserEncryptionServiceImpl implements UserEncryptionService {
     if (PhoneValidator.validatePhoneNumber((String) userMap.get(JsonKey.PHONE))) {
       decryptedFields.add(JsonKey.PHONE);
     }
-    List<String> otherDecryptedFields = getOtherDecryptedFields(userMap);
+    List<String> otherDecryptedFields = getOtherDecryptedFields(userMap, userEncryptedFieldList);
     decryptedFields.addAll(otherDecryptedFields);
     return decryptedFields;
   }
@@ -61,14 +68,26 @@ public class UserEncryptionServiceImpl implements UserEncryptionService {
       encryptedFields.add(JsonKey.PHONE);
     }
 
-    List<String> otherEncryptedFields = getOtherEncryptedFields(userMap);
+    List<String> otherEncryptedFields = getOtherEncryptedFields(userMap, userEncryptedFieldList);
     encryptedFields.addAll(otherEncryptedFields);
     return encryptedFields;
   }
 
-  private List<String> getOtherEncryptedFields(Map<String, Object> userMap) {
+  @Override
+  public List<String> getDecryptedAddressFields(Map<String, Object> addressMap) {
+    List<String> decryptedFields = getOtherDecryptedFields(addressMap, addressEncryptedFieldList);
+    decryptedFields.removeIf(field -> StringUtils.isBlank((String) addressMap.get(field)));
+    return decryptedFields;
+  }
+
+  @Override
+  public List<String> getEncryptedAddressFields(Map<String, Object> addressMap) {
+    return getOtherEncryptedFields(addressMap, addressEncryptedFieldList);
+  }
+
+  private List<String> getOtherEncryptedFields(Map<String, Object> userMap, List<String> fields) {
     List<String> decryptedFields = new ArrayList<>();
-    for (String field : userEncryptedFieldList) {
+    for (String field : fields) {
       try {
         if (StringUtils.isNotBlank((String) userMap.get(field))) {
           decryptionService.decryptData((String) userMap.get(field), true);
@@ -83,9 +102,9 @@ public class UserEncryptionServiceImpl implements UserEncryptionService {
     return decryptedFields;
   }
 
-  private List<String> getOtherDecryptedFields(Map<String, Object> userMap) {
+  private List<String> getOtherDecryptedFields(Map<String, Object> userMap, List<String> fields) {
     List<String> decryptedFields = new ArrayList<>();
-    for (String field : userEncryptedFieldList) {
+    for (String field : fields) {
       try {
         if (StringUtils.isNotBlank((String) userMap.get(field))
             && ((String) userMap.get(field))
@@ -10,8 +10,6 @@ import java.util.Map;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.actorutil.systemsettings.SystemSettingClient;
-import org.sunbird.actorutil.systemsettings.impl.SystemSettingClientImpl;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchUtil;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -30,6 +28,7 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.SystemSettingCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.systemsetting.SystemSetting;
 import org.sunbird.models.user.User;
@@ -150,9 +149,10 @@ public class UserServiceImpl implements UserService {
   public String getValidatedCustodianOrgId(Map<String, Object> userMap, ActorRef actorRef) {
     String custodianOrgId = "";
     try {
-      SystemSettingClient client = SystemSettingClientImpl.getInstance();
       SystemSetting systemSetting =
-          client.getSystemSettingByField(actorRef, JsonKey.CUSTODIAN_ORG_ID);
+          Util.await(
+              SystemSettingCache.getInstance()
+                  .getSystemSetting(actorRef, JsonKey.CUSTODIAN_ORG_ID));
       if (null != systemSetting && StringUtils.isNotBlank(systemSetting.getValue())) {
         custodianOrgId = systemSetting.getValue();
       }
@@ -265,25 +265,7 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public String getCustodianChannel(Map<String, Object> userMap, ActorRef actorRef) {
-    String channel = (String) userMap.get(JsonKey.CHANNEL);
-    if (StringUtils.isBlank(channel)) {
-      try {
-        SystemSettingClient client = SystemSettingClientImpl.getInstance();
-        SystemSetting systemSetting =
-            client.getSystemSettingByField(actorRef, JsonKey.CUSTODIAN_ORG_CHANNEL);
-        if (null != systemSetting && StringUtils.isNotBlank(systemSetting.getValue())) {
-          channel = systemSetting.getValue();
-        }
-      } catch (Exception ex) {
-        ProjectLogger.log(
-            "Util:getCustodianChannel: Exception occurred while fetching custodian channel from system setting.",
-            ex);
-      }
-    }
-    if (StringUtils.isBlank(channel)) {
-      channel = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL);
-      userMap.put(JsonKey.CHANNEL, channel);
-    }
+    String channel = Util.getCustodianChannel(userMap, actorRef);
     if (StringUtils.isBlank(channel)) {
       throw new ProjectCommonException(
           ResponseCode.mandatoryParamsMissing.getErrorCode(),
@@ -0,0 +1,215 @@
+package org.sunbird.user;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ActorOperations;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.dto.SearchDTO;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.checkpoint.dao.JobCheckpointDao;
+import org.sunbird.learner.actors.checkpoint.dao.impl.JobCheckpointDaoImpl;
+import org.sunbird.learner.actors.checkpoint.model.JobCheckpoint;
+import org.sunbird.learner.util.UserUtility;
+import org.sunbird.learner.util.Util;
+import org.sunbird.user.actors.UserDataEncryptionJob;
+import org.sunbird.user.service.UserEncryptionService;
+import org.sunbird.user.service.impl.UserEncryptionServiceImpl;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+  ServiceFactory.class,
+  ElasticSearchUtil.class,
+  JobCheckpointDaoImpl.class,
+  UserEncryptionServiceImpl.class,
+  UserUtility.class,
+  Util.class
+})
+@PowerMockIgnore({"javax.management.*"})
+public class UserDataEncryptionJobTest {
+
+  private static final String OPERATION = ActorOperations.BACKGROUND_ENCRYPTION.getValue();
+  private static final List<String> USER_IDS = Arrays.asList("user3", "user1", "user2");
+  private static final String USER_TABLE = "user";
+  private static final String ADDRESS_TABLE = "address";
+
+  private CassandraOperationImpl cassandraOperation;
+  private JobCheckpointDao checkpointDao;
+  private UserEncryptionService userEncryptionService;
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ServiceFactory.class);
+    cassandraOperation = mock(CassandraOperationImpl.class);
+    when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
+    PowerMockito.mockStatic(JobCheckpointDaoImpl.class);
+    checkpointDao = mock(JobCheckpointDao.class);
+    when(JobCheckpointDaoImpl.getInstance()).thenReturn(checkpointDao);
+    PowerMockito.mockStatic(UserEncryptionServiceImpl.class);
+    userEncryptionService = mock(UserEncryptionService.class);
+    when(UserEncryptionServiceImpl.getInstance()).thenReturn(userEncryptionService);
+    when(userEncryptionService.getDecryptedFields(Mockito.anyMap()))
+        .thenReturn(Arrays.asList(JsonKey.EMAIL));
+    PowerMockito.mockStatic(UserUtility.class);
+    PowerMockito.mockStatic(Util.class);
+    PowerMockito.mockStatic(ElasticSearchUtil.class);
+    when(ElasticSearchUtil.complexSearch(
+            Mockito.any(SearchDTO.class), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(invocation -> getSearchResult(invocation.getArgumentAt(0, SearchDTO.class)));
+    when(ElasticSearchUtil.bulkInsertData(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList()))
+        .thenReturn(true);
+
+    when(cassandraOperation.getRecordsByIdsWithSpecifiedColumns(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList(), Mockito.anyList()))
+        .thenAnswer(invocation -> getResponse(invocation.getArgumentAt(3, List.class)));
+    when(cassandraOperation.getRecordsByProperty(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(getResponse(new ArrayList<>()));
+    when(cassandraOperation.batchUpdate(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList()))
+        .thenReturn(getBatchResponse(JsonKey.SUCCESS));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRunUpdatesUsersInOneBatch() {
+    JobCheckpoint checkpoint = new UserDataEncryptionJob(OPERATION, true).run(USER_IDS);
+    assertEquals(JobCheckpoint.STATUS_COMPLETED, checkpoint.getStatus());
+    assertEquals(3L, (long) checkpoint.getProcessedCount());
+    assertEquals("user3", checkpoint.getLastProcessedId());
+    Mockito.verify(cassandraOperation, Mockito.times(1))
+        .batchUpdate(Mockito.anyString(), Mockito.anyString(), Mockito.anyList());
+    ArgumentCaptor<List> documents = ArgumentCaptor.forClass(List.class);
+    PowerMockito.verifyStatic(Mockito.times(1));
+    ElasticSearchUtil.bulkInsertData(
+        Mockito.anyString(), Mockito.anyString(), documents.capture());
+    assertEquals(3, documents.getValue().size());
+  }
+
+  @Test
+  public void testRunResumesAfterCheckpoint() {
+    JobCheckpoint previous = new JobCheckpoint("someJobId", OPERATION);
+    previous.setStatus(JobCheckpoint.STATUS_FAILED);
+    previous.setLastProcessedId("user1");
+    previous.setProcessedCount(1L);
+    previous.setFailedCount(2L);
+    when(checkpointDao.read(Mockito.anyString())).thenReturn(previous);
+
+    JobCheckpoint checkpoint = new UserDataEncryptionJob(OPERATION, true).run(USER_IDS);
+    assertEquals(JobCheckpoint.STATUS_COMPLETED, checkpoint.getStatus());
+    assertEquals(3L, (long) checkpoint.getProcessedCount());
+    assertEquals(0L, (long) checkpoint.getFailedCount());
+    Mockito.verify(cassandraOperation)
+        .getRecordsByIdsWithSpecifiedColumns(
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyList(),
+            Mockito.eq(Arrays.asList("user2", "user3")));
+  }
+
+  @Test
+  public void testRunFailsWhenBatchUpdateFails() {
+    when(cassandraOperation.batchUpdate(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList()))
+        .thenReturn(getBatchResponse("FAILED"));
+    JobCheckpoint checkpoint = new UserDataEncryptionJob(OPERATION, true).run(USER_IDS);
+    assertEquals(JobCheckpoint.STATUS_FAILED, checkpoint.getStatus());
+    assertEquals(3L, (long) checkpoint.getFailedCount());
+    assertNull(checkpoint.getLastProcessedId());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRedoneChunkEncryptsAddressesOfDoneUsers() {
+    when(cassandraOperation.getRecordsByProperty(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(invocation -> getAddressResponse(invocation.getArgumentAt(3, String.class)));
+    when(userEncryptionService.getDecryptedAddressFields(Mockito.anyMap()))
+        .thenReturn(Arrays.asList(JsonKey.CITY));
+    when(cassandraOperation.batchUpdate(
+            Mockito.anyString(), Mockito.eq(ADDRESS_TABLE), Mockito.anyList()))
+        .thenReturn(getBatchResponse("FAILED"))
+        .thenReturn(getBatchResponse(JsonKey.SUCCESS));
+
+    JobCheckpoint checkpoint = new UserDataEncryptionJob(OPERATION, true).run(USER_IDS);
+    assertEquals(JobCheckpoint.STATUS_FAILED, checkpoint.getStatus());
+    assertNull(checkpoint.getLastProcessedId());
+
+    // users were written before the address batch failed
+    when(userEncryptionService.getDecryptedFields(Mockito.anyMap())).thenReturn(new ArrayList<>());
+    checkpoint = new UserDataEncryptionJob(OPERATION, true).run(USER_IDS);
+    assertEquals(JobCheckpoint.STATUS_COMPLETED, checkpoint.getStatus());
+    ArgumentCaptor<List> addresses = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(cassandraOperation, Mockito.times(2))
+        .batchUpdate(Mockito.anyString(), Mockito.eq(ADDRESS_TABLE), addresses.capture());
+    assertEquals(3, addresses.getAllValues().get(1).size());
+    Mockito.verify(cassandraOperation, Mockito.times(1))
+        .batchUpdate(Mockito.anyString(), Mockito.eq(USER_TABLE), Mockito.anyList());
+  }
+
+  private Map<String, Object> getUser(String userId) {
+    Map<String, Object> user = new HashMap<>();
+    user.put(JsonKey.ID, userId);
+    user.put(JsonKey.EMAIL, userId + "@test.com");
+    return user;
+  }
+
+  private Response getResponse(List<String> userIds) {
+    List<Map<String, Object>> users = new ArrayList<>();
+    for (String userId : userIds) {
+      users.add(getUser(userId));
+    }
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, users);
+    return response;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getSearchResult(SearchDTO searchDTO) {
+    Map<String, Object> filters =
+        (Map<String, Object>) searchDTO.getAdditionalProperties().get(JsonKey.FILTERS);
+    List<Map<String, Object>> users = new ArrayList<>();
+    for (String userId : (List<String>) filters.get(JsonKey.ID)) {
+      users.add(getUser(userId));
+    }
+    Map<String, Object> result = new HashMap<>();
+    result.put(JsonKey.CONTENT, users);
+    return result;
+  }
+
+  private Response getAddressResponse(String userId) {
+    Map<String, Object> address = new HashMap<>();
+    address.put(JsonKey.ID, "address-" + userId);
+    address.put(JsonKey.USER_ID, userId);
+    address.put(JsonKey.CITY, "Bangalore");
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, new ArrayList<>(Arrays.asList(address)));
+    return response;
+  }
+
+  private Response getBatchResponse(String result) {
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, result);
+    return response;
+  }
+}
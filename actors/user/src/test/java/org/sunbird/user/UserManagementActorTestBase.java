@@ -9,6 +9,7 @@ import akka.actor.ActorSystem;
 import akka.actor.Props;
 import akka.testkit.javadsl.TestKit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -109,7 +110,8 @@ public abstract class UserManagementActorTestBase {
         .thenReturn(getEsResponseMap());
 
     PowerMockito.mockStatic(Util.class);
-    Util.getUserProfileConfig(Mockito.any(ActorRef.class));
+    when(Util.getUserProfileConfigAsync(Mockito.any(ActorRef.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
 
     PowerMockito.mockStatic(UserUtil.class);
     UserUtil.setUserDefaultValue(Mockito.anyMap(), Mockito.anyString());
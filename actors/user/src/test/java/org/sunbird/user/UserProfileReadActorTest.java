@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -30,11 +31,13 @@ import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.datasecurity.impl.DefaultDecryptionServiceImpl;
 import org.sunbird.common.models.util.datasecurity.impl.DefaultEncryptionServivceImpl;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.user.service.UserProfileCache;
 import org.sunbird.learner.util.DataCacheHandler;
 import org.sunbird.learner.util.Util;
 import org.sunbird.services.sso.SSOServiceFactory;
@@ -120,6 +123,8 @@ public class UserProfileReadActorTest {
 
     PowerMockito.mockStatic(Util.class);
     Util.getUserProfileConfig(Mockito.any(ActorRef.class));
+    when(Util.getCompleteProfileVisibilityMapAsync(Mockito.anyMap(), Mockito.any(ActorRef.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
 
     PowerMockito.mockStatic(UserUtil.class);
     UserUtil.setUserDefaultValue(Mockito.anyMap(), Mockito.anyString());
@@ -129,6 +134,7 @@ public class UserProfileReadActorTest {
     when(UserUtil.encryptUserData(Mockito.anyMap())).thenReturn(requestMap);
     PowerMockito.mockStatic(DataCacheHandler.class);
     when(ssoManager.getUsernameById(Mockito.anyString())).thenReturn(VALID_USERNAME);
+    UserProfileCache.getInstance().invalidateAll();
   }
 
   @Test
@@ -149,6 +155,19 @@ public class UserProfileReadActorTest {
     assertTrue(result);
   }
 
+  @Test
+  public void testGetUserProfileSuccessFromCache() {
+    reqMap = getUserProfileRequest(VALID_USER_ID);
+    setEsResponse(getUserResponseMap());
+    assertTrue(testScenario(getRequest(reqMap, ActorOperations.GET_USER_PROFILE), null));
+    assertTrue(testScenario(getRequest(reqMap, ActorOperations.GET_USER_PROFILE), null));
+    PowerMockito.verifyStatic(Mockito.times(1));
+    ElasticSearchUtil.getDataByIdentifier(
+        Mockito.anyString(),
+        Mockito.eq(ProjectUtil.EsType.user.getTypeName()),
+        Mockito.eq(VALID_USER_ID));
+  }
+
   @Test
   public void testGetUserByEmailKeyFailureWithInvalidEmail() {
     reqMap = getUserProfileByKeyRequest(JsonKey.EMAIL, INVALID_EMAIL);
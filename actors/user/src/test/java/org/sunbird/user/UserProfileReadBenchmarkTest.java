@@ -0,0 +1,252 @@
+package org.sunbird.user;
+
+import static akka.testkit.JavaTestKit.duration;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.testkit.javadsl.TestKit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+import org.sunbird.actor.router.RequestRouter;
+import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.common.ElasticSearchUtil;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ActorOperations;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.datasecurity.impl.DefaultDecryptionServiceImpl;
+import org.sunbird.common.models.util.datasecurity.impl.DefaultEncryptionServivceImpl;
+import org.sunbird.common.request.Request;
+import org.sunbird.dto.SearchDTO;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.DataCacheHandler;
+import org.sunbird.learner.util.OperationMetrics;
+import org.sunbird.learner.util.SystemSettingCache;
+import org.sunbird.learner.util.Util;
+import org.sunbird.services.sso.SSOServiceFactory;
+import org.sunbird.services.sso.impl.KeyCloakServiceImpl;
+import org.sunbird.user.actors.UserProfileReadActor;
+
+/**
+ * Compares serial and parallel profile read against ES and Cassandra stubs which take {@link
+ * #BACKEND_LATENCY} ms per call. Serial read makes one backend call at a time, while parallel read
+ * overlaps the lookups which follow the user document. Latency percentiles of both are logged.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+  ServiceFactory.class,
+  org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.class,
+  SSOServiceFactory.class,
+  ElasticSearchUtil.class,
+  Util.class,
+  RequestRouter.class,
+  DataCacheHandler.class,
+  SystemSettingCache.class
+})
+@PowerMockIgnore({"javax.management.*"})
+public class UserProfileReadBenchmarkTest {
+
+  private static final long BACKEND_LATENCY = 5;
+  private static final int WARMUP_REQUESTS = 5;
+  private static final int REQUESTS = 20;
+  private static final String USER_ID = "userId";
+  private static final String ORG_ID = "orgId";
+  private static final String LOCATION_ID = "locationId";
+
+  private ActorSystem system = ActorSystem.create("system");
+  private final AtomicInteger backendCallsInFlight = new AtomicInteger();
+  private final AtomicInteger maxBackendCallsInFlight = new AtomicInteger();
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(RequestRouter.class);
+    when(RequestRouter.getActor(Mockito.anyString())).thenReturn(mock(ActorRef.class));
+
+    PowerMockito.mockStatic(ServiceFactory.class);
+    CassandraOperationImpl cassandraOperation = mock(CassandraOperationImpl.class);
+    when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
+    PowerMockito.mockStatic(org.sunbird.common.models.util.datasecurity.impl.ServiceFactory.class);
+    when(org.sunbird.common.models.util.datasecurity.impl.ServiceFactory
+            .getEncryptionServiceInstance(null))
+        .thenReturn(mock(DefaultEncryptionServivceImpl.class));
+    when(org.sunbird.common.models.util.datasecurity.impl.ServiceFactory
+            .getDecryptionServiceInstance(null))
+        .thenReturn(mock(DefaultDecryptionServiceImpl.class));
+    PowerMockito.mockStatic(SSOServiceFactory.class);
+    KeyCloakServiceImpl ssoManager = mock(KeyCloakServiceImpl.class);
+    when(SSOServiceFactory.getInstance()).thenReturn(ssoManager);
+    when(ssoManager.getLastLoginTime(Mockito.anyString())).thenAnswer(delayed(() -> "0"));
+    PowerMockito.mockStatic(Util.class);
+    when(Util.getCompleteProfileVisibilityMapAsync(Mockito.anyMap(), Mockito.any(ActorRef.class)))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(call(HashMap::new)));
+    PowerMockito.mockStatic(DataCacheHandler.class);
+    when(DataCacheHandler.getRoleMap()).thenReturn(new HashMap<>());
+    PowerMockito.mockStatic(SystemSettingCache.class);
+    SystemSettingCache systemSettingCache = mock(SystemSettingCache.class);
+    when(SystemSettingCache.getInstance()).thenReturn(systemSettingCache);
+    when(systemSettingCache.getSystemSetting(Mockito.any(ActorRef.class), Mockito.anyString()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    PowerMockito.mockStatic(ElasticSearchUtil.class);
+    when(ElasticSearchUtil.getDataByIdentifier(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(delayed(this::getUser));
+    when(ElasticSearchUtil.complexSearch(
+            Mockito.any(SearchDTO.class), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(delayed(this::getOrgSearchResult));
+    when(cassandraOperation.getRecordsByIndexedProperty(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(delayed(() -> getCassandraResponse(new HashMap<>())));
+    Map<String, Object> userOrg = new HashMap<>();
+    userOrg.put(JsonKey.ORGANISATION_ID, ORG_ID);
+    when(cassandraOperation.getRecordsByProperty(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(delayed(() -> getCassandraResponse(userOrg)));
+    Map<String, Object> location = new HashMap<>();
+    location.put(JsonKey.TOPIC, "topic");
+    when(cassandraOperation.getRecordById(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+        .thenAnswer(delayed(() -> getCassandraResponse(location)));
+  }
+
+  @After
+  public void afterEachTest() {
+    TestKit.shutdownActorSystem(system);
+  }
+
+  @Test
+  public void testParallelProfileReadOverlapsBackendCalls() {
+    Map<String, Object> serial = run(false).getMetrics();
+    int serialMaxInFlight = maxBackendCallsInFlight.getAndSet(0);
+    Map<String, Object> parallel = run(true).getMetrics();
+    int parallelMaxInFlight = maxBackendCallsInFlight.get();
+    ProjectLogger.log(
+        "UserProfileReadBenchmarkTest: serial p50 = "
+            + serial.get("p50InMs")
+            + " p99 = "
+            + serial.get("p99InMs")
+            + ", parallel p50 = "
+            + parallel.get("p50InMs")
+            + " p99 = "
+            + parallel.get("p99InMs"),
+        LoggerEnum.INFO.name());
+    Assert.assertEquals(1, serialMaxInFlight);
+    Assert.assertTrue(parallelMaxInFlight > 1);
+  }
+
+  private OperationMetrics run(boolean parallelRead) {
+    Props props =
+        Props.create(
+            UserProfileReadActor.class,
+            () -> {
+              UserProfileReadActor actor = new UserProfileReadActor();
+              Whitebox.setInternalState(actor, "parallelRead", parallelRead);
+              return actor;
+            });
+    ActorRef subject = system.actorOf(props);
+    TestKit probe = new TestKit(system);
+    OperationMetrics metrics = new OperationMetrics("profileRead", REQUESTS, Integer.MAX_VALUE);
+    for (int i = 0; i < WARMUP_REQUESTS + REQUESTS; i++) {
+      long start = System.currentTimeMillis();
+      subject.tell(getRequest(), probe.getRef());
+      probe.expectMsgClass(duration("10 second"), Response.class);
+      if (i >= WARMUP_REQUESTS) {
+        metrics.record(System.currentTimeMillis() - start, 0);
+      }
+    }
+    return metrics;
+  }
+
+  private Request getRequest() {
+    Request request = new Request();
+    Map<String, Object> requestMap = new HashMap<>();
+    requestMap.put(JsonKey.USER_ID, USER_ID);
+    request.setRequest(requestMap);
+    HashMap<String, Object> context = new HashMap<>();
+    context.put(JsonKey.REQUESTED_BY, USER_ID);
+    context.put(JsonKey.PRIVATE, false);
+    context.put(
+        JsonKey.FIELDS,
+        String.join(
+            ",",
+            JsonKey.LAST_LOGIN_TIME,
+            JsonKey.TOPIC,
+            JsonKey.ORGANISATIONS,
+            JsonKey.ROLES,
+            JsonKey.LOCATIONS));
+    request.setContext(context);
+    request.setOperation(ActorOperations.GET_USER_PROFILE.getValue());
+    return request;
+  }
+
+  private Map<String, Object> getUser() {
+    Map<String, Object> user = new HashMap<>();
+    user.put(JsonKey.ID, USER_ID);
+    user.put(JsonKey.USER_ID, USER_ID);
+    user.put(JsonKey.ROOT_ORG_ID, ORG_ID);
+    Map<String, Object> userOrg = new HashMap<>();
+    userOrg.put(JsonKey.ORGANISATION_ID, ORG_ID);
+    user.put(JsonKey.ORGANISATIONS, new ArrayList<>(Arrays.asList(userOrg)));
+    user.put(JsonKey.LOCATION_IDS, Arrays.asList(LOCATION_ID));
+    return user;
+  }
+
+  private Map<String, Object> getOrgSearchResult() {
+    Map<String, Object> org = new HashMap<>();
+    org.put(JsonKey.ID, ORG_ID);
+    org.put(JsonKey.LOCATION_ID, LOCATION_ID);
+    org.put(JsonKey.LOCATION_IDS, Arrays.asList(LOCATION_ID));
+    List<Map<String, Object>> content = new ArrayList<>();
+    content.add(org);
+    Map<String, Object> result = new HashMap<>();
+    result.put(JsonKey.CONTENT, content);
+    return result;
+  }
+
+  private Response getCassandraResponse(Map<String, Object> record) {
+    List<Map<String, Object>> records = new ArrayList<>();
+    if (!record.isEmpty()) {
+      records.add(record);
+    }
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, records);
+    return response;
+  }
+
+  private <T> Answer<T> delayed(Supplier<T> supplier) {
+    return invocation -> call(supplier);
+  }
+
+  /** Stands for a backend call, counting the calls in flight. */
+  private <T> T call(Supplier<T> supplier) throws InterruptedException {
+    maxBackendCallsInFlight.accumulateAndGet(backendCallsInFlight.incrementAndGet(), Math::max);
+    try {
+      Thread.sleep(BACKEND_LATENCY);
+      return supplier.get();
+    } finally {
+      backendCallsInFlight.decrementAndGet();
+    }
+  }
+}